@@ -0,0 +1,349 @@
+package org.kohsuke.github;
+
+import com.fasterxml.jackson.core.Base64Variants;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import org.kohsuke.github.function.SupplierThrows;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.annotation.Nonnull;
+import javax.annotation.WillClose;
+
+/**
+ * Decodes and encodes base64 content, such as the content of a blob or a file, as it is read rather than all at once.
+ *
+ * <p>
+ * Reading the JSON of a blob into an object holds the encoded content as a string, and decoding it holds the decoded
+ * bytes next to it. These streams instead hand the decoded bytes to the reader as the encoded ones come from the
+ * connection, or from the string. In the other direction, {@link #encode(byte[])} and its siblings make request
+ * arguments that are encoded straight into the JSON body of the request, without a base64 string in between.
+ */
+final class Base64Streams {
+
+    private Base64Streams() {
+    }
+
+    /**
+     * Decodes base64 content, which may be broken into lines, as it is read.
+     *
+     * @param encoded
+     *            the encoded content, such as the content of a file returned by GitHub
+     * @return the decoded content
+     */
+    @Nonnull
+    static InputStream decode(@Nonnull CharSequence encoded) {
+        return Base64.getMimeDecoder().wrap(new CharSequenceStream(encoded));
+    }
+
+    /**
+     * Makes a request argument that is written to the JSON body as the base64 encoding of some bytes.
+     *
+     * @param content
+     *            the bytes, which are not copied
+     * @return the argument
+     */
+    @Nonnull
+    static Object encode(@Nonnull byte[] content) {
+        return new Encoded(() -> new ByteArrayInputStream(content), content.length);
+    }
+
+    /**
+     * Makes a request argument that is written to the JSON body as the base64 encoding of a file. The file is read
+     * when the request is sent.
+     *
+     * @param content
+     *            the file
+     * @return the argument
+     */
+    @Nonnull
+    static Object encode(@Nonnull Path content) {
+        return new Encoded(() -> Files.newInputStream(content), -1);
+    }
+
+    /**
+     * Makes a request argument that is written to the JSON body as the base64 encoding of a stream. The stream is read
+     * and closed when the request is sent, so the request can only be sent once.
+     *
+     * @param content
+     *            the stream
+     * @return the argument
+     */
+    @Nonnull
+    static Object encode(@Nonnull @WillClose InputStream content) {
+        AtomicBoolean read = new AtomicBoolean();
+        return new Encoded(() -> {
+            if (read.getAndSet(true)) {
+                throw new IOException("The content stream has already been sent");
+            }
+            return content;
+        }, -1);
+    }
+
+    /**
+     * Finds a string field of a JSON object and decodes its value as base64 as it is read. The fields before it are
+     * skipped; the rest of the object is not read.
+     *
+     * @param json
+     *            the stream of a JSON object, such as the response for a blob
+     * @param field
+     *            the name of the field, such as {@code content}
+     * @return the decoded value of the field
+     * @throws IOException
+     *             if the field is missing, is not a string, or the JSON is malformed
+     */
+    @Nonnull
+    static InputStream decodeField(@Nonnull InputStream json, @Nonnull String field) throws IOException {
+        InputStream in = new BufferedInputStream(json, 8192);
+        if (next(in) != '{') {
+            throw new IOException("Expected a JSON object");
+        }
+        int c = next(in);
+        while (c == '"') {
+            String name = readString(in);
+            if (next(in) != ':') {
+                throw new IOException("Expected : after " + name);
+            }
+            c = next(in);
+            if (name.equals(field)) {
+                if (c != '"') {
+                    throw new IOException("Field " + field + " is not a string");
+                }
+                return Base64.getMimeDecoder().wrap(new StringValueStream(in));
+            }
+            c = skipValue(in, c);
+            if (c == ',') {
+                c = next(in);
+            }
+        }
+        throw new IOException("Missing field " + field);
+    }
+
+    /**
+     * Reads the next character that is not white space.
+     */
+    private static int next(InputStream in) throws IOException {
+        int c = in.read();
+        while (c == ' ' || c == '\n' || c == '\r' || c == '\t') {
+            c = in.read();
+        }
+        if (c == -1) {
+            throw new EOFException("Unexpected end of JSON");
+        }
+        return c;
+    }
+
+    /**
+     * Reads the rest of a string whose opening quote was read. Field names are short, so they are read into memory.
+     */
+    private static String readString(InputStream in) throws IOException {
+        StringBuilder s = new StringBuilder();
+        for (int c = read(in); c != '"'; c = read(in)) {
+            if (c == '\\') {
+                c = read(in);
+                switch (c) {
+                    case 'b' :
+                        c = '\b';
+                        break;
+                    case 'f' :
+                        c = '\f';
+                        break;
+                    case 'n' :
+                        c = '\n';
+                        break;
+                    case 'r' :
+                        c = '\r';
+                        break;
+                    case 't' :
+                        c = '\t';
+                        break;
+                    case 'u' :
+                        c = 0;
+                        for (int i = 0; i < 4; i++) {
+                            c = c * 16 + Character.digit(read(in), 16);
+                        }
+                        break;
+                    default :
+                        // \" \\ and \/ stand for the character itself
+                }
+            }
+            s.append((char) c);
+        }
+        return s.toString();
+    }
+
+    /**
+     * Skips a value whose first character was read, and returns the first character after it that is not white space.
+     */
+    private static int skipValue(InputStream in, int first) throws IOException {
+        if (first == '"') {
+            skipString(in);
+        } else if (first == '{' || first == '[') {
+            int depth = 1;
+            while (depth > 0) {
+                int c = read(in);
+                if (c == '"') {
+                    skipString(in);
+                } else if (c == '{' || c == '[') {
+                    depth++;
+                } else if (c == '}' || c == ']') {
+                    depth--;
+                }
+            }
+        } else {
+            // a number, true, false or null runs up to the next separator
+            int c = first;
+            while (c != ',' && c != '}' && c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+                c = read(in);
+            }
+            return c == ',' || c == '}' ? c : next(in);
+        }
+        return next(in);
+    }
+
+    private static void skipString(InputStream in) throws IOException {
+        for (int c = read(in); c != '"'; c = read(in)) {
+            if (c == '\\') {
+                read(in);
+            }
+        }
+    }
+
+    private static int read(InputStream in) throws IOException {
+        int c = in.read();
+        if (c == -1) {
+            throw new EOFException("Unexpected end of JSON");
+        }
+        return c;
+    }
+
+    /**
+     * Reads the characters of a JSON string value up to its closing quote. Base64 only needs the line breaks GitHub
+     * puts in it to be unescaped, and the slashes some encoders escape.
+     */
+    private static final class StringValueStream extends InputStream {
+
+        private final InputStream in;
+        private boolean closed;
+
+        StringValueStream(InputStream in) {
+            this.in = in;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (closed) {
+                return -1;
+            }
+            int c = Base64Streams.read(in);
+            while (c == '\\') {
+                int escaped = Base64Streams.read(in);
+                if (escaped == '/') {
+                    return '/';
+                } else if (escaped != 'n' && escaped != 'r') {
+                    throw new IOException("Unexpected escape \\" + (char) escaped + " in base64 content");
+                }
+                c = Base64Streams.read(in);
+            }
+            if (c == '"') {
+                closed = true;
+                return -1;
+            }
+            return c;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            int n = 0;
+            while (n < len) {
+                int c = read();
+                if (c == -1) {
+                    break;
+                }
+                b[off + n++] = (byte) c;
+            }
+            return n == 0 ? -1 : n;
+        }
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+            in.close();
+        }
+    }
+
+    /**
+     * Reads the characters of a string as bytes. Base64 only uses ASCII characters; any other is passed on truncated,
+     * and skipped by the MIME decoder like any character outside of the alphabet.
+     */
+    private static final class CharSequenceStream extends InputStream {
+
+        private final CharSequence chars;
+        private int position;
+
+        CharSequenceStream(CharSequence chars) {
+            this.chars = chars;
+        }
+
+        @Override
+        public int read() {
+            return position < chars.length() ? chars.charAt(position++) & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (position >= chars.length()) {
+                return -1;
+            }
+            int n = Math.min(len, chars.length() - position);
+            for (int i = 0; i < n; i++) {
+                b[off + i] = (byte) chars.charAt(position++);
+            }
+            return n;
+        }
+    }
+
+    /**
+     * A request argument that the JSON writer writes as the base64 encoding of a stream, as the stream is read.
+     */
+    private static final class Encoded extends JsonSerializable.Base {
+
+        private final SupplierThrows<InputStream, IOException> content;
+        private final int length;
+
+        Encoded(SupplierThrows<InputStream, IOException> content, int length) {
+            this.content = content;
+            this.length = length;
+        }
+
+        @Override
+        public void serialize(JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            try (InputStream in = content.get()) {
+                // the same encoding as Base64.getEncoder(), which GitHub expects
+                gen.writeBinary(Base64Variants.MIME_NO_LINEFEEDS, in, length);
+            }
+        }
+
+        @Override
+        public void serializeWithType(JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer)
+                throws IOException {
+            serialize(gen, serializers);
+        }
+    }
+}
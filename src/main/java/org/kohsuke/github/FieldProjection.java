@@ -0,0 +1,242 @@
+package org.kohsuke.github;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.JsonParserDelegate;
+import org.kohsuke.github.connector.GitHubConnectorRequest;
+import org.kohsuke.github.connector.GitHubConnectorResponse;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+
+/**
+ * Restricts deserialization to a set of JSON fields.
+ *
+ * <p>
+ * Fields are named as they appear in the JSON, with dots for nested objects, such as {@code full_name} or
+ * {@code owner.login}. The other fields are skipped token by token as the response is parsed, so they are never bound,
+ * and objects with a lot of fields cost only what was asked for. The getters of skipped fields return their default
+ * value, and methods that rely on them may not work.
+ *
+ * <p>
+ * A projection reaches {@link GitHubResponse#parseBody(GitHubConnectorResponse, Class)} as an injected mapping value
+ * of the request.
+ */
+final class FieldProjection {
+
+    /** The name under which a projection is injected into a request. */
+    static final String INJECTED_VALUE_NAME = FieldProjection.class.getName();
+
+    private final Node item;
+    private final boolean paged;
+
+    private FieldProjection(Node item, boolean paged) {
+        this.item = item;
+        this.paged = paged;
+    }
+
+    /**
+     * Creates a projection of a single object.
+     *
+     * @param fields
+     *            the fields to keep
+     * @return the projection
+     */
+    @Nonnull
+    static FieldProjection of(@Nonnull Collection<String> fields) {
+        if (fields.isEmpty()) {
+            throw new IllegalArgumentException("At least one field is required");
+        }
+        Node item = new Node();
+        for (String field : fields) {
+            Node node = item;
+            for (String name : field.split("\\.")) {
+                if (name.isEmpty()) {
+                    throw new IllegalArgumentException("Invalid field: " + field);
+                }
+                node = node.children.computeIfAbsent(name, k -> new Node());
+            }
+        }
+        return new FieldProjection(item, false);
+    }
+
+    /**
+     * Applies this projection to the items of a page rather than to the response itself.
+     *
+     * <p>
+     * A page is either an array of items, or an object that wraps arrays of items next to fields such as
+     * {@code total_count}, which are kept.
+     *
+     * @return the projection
+     */
+    @Nonnull
+    FieldProjection forPages() {
+        return new FieldProjection(item, true);
+    }
+
+    /**
+     * Gets the projection injected into the request of a response, if any.
+     *
+     * @param connectorResponse
+     *            the response
+     * @return the projection, or null
+     */
+    @CheckForNull
+    static FieldProjection from(@Nonnull GitHubConnectorResponse connectorResponse) {
+        GitHubConnectorRequest request = connectorResponse.request();
+        if (request instanceof GitHubRequest) {
+            Object projection = ((GitHubRequest) request).injectedMappingValues().get(INJECTED_VALUE_NAME);
+            if (projection instanceof FieldProjection) {
+                return (FieldProjection) projection;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Wraps a parser so it skips the fields outside this projection.
+     *
+     * @param parser
+     *            the parser
+     * @return the wrapped parser
+     */
+    @Nonnull
+    JsonParser filter(@Nonnull JsonParser parser) {
+        Node root = paged ? Node.page(item) : item;
+        return new ProjectingParser(parser, root);
+    }
+
+    /**
+     * Which fields of an object, and which elements of an array, are kept.
+     */
+    private static class Node {
+        /** Keeps everything. */
+        static final Node ALL = new Node(null, null, null);
+
+        /** Fields to keep, or null to keep every field. */
+        @CheckForNull
+        final Map<String, Node> children;
+
+        /** What is kept of every field when there is no list of fields, or null to keep them whole. */
+        @CheckForNull
+        private final Node anyField;
+
+        /** What is kept of array elements, or null for the same as this node. */
+        @CheckForNull
+        private final Node element;
+
+        Node() {
+            this(new HashMap<>(), null, null);
+        }
+
+        private Node(Map<String, Node> children, Node anyField, Node element) {
+            this.children = children;
+            this.anyField = anyField;
+            this.element = element;
+        }
+
+        /**
+         * Keeps every field of a page, and applies {@code item} to the elements of the arrays it holds.
+         */
+        static Node page(Node item) {
+            return new Node(null, new Node(null, null, item), item);
+        }
+
+        /**
+         * Gets what is kept of a field, or null to skip it.
+         */
+        @CheckForNull
+        Node child(String name) {
+            if (children == null) {
+                return anyField != null ? anyField : ALL;
+            }
+            Node child = children.get(name);
+            if (child == null) {
+                return null;
+            }
+            return child.children.isEmpty() ? ALL : child;
+        }
+
+        Node element() {
+            return element != null ? element : this;
+        }
+    }
+
+    /**
+     * Parser that drops the fields outside a projection, skipping their values without reading them into tokens of
+     * the parsed object.
+     */
+    private static class ProjectingParser extends JsonParserDelegate {
+        private final Node root;
+        private final Deque<Node> open = new ArrayDeque<>();
+        private Node pending;
+
+        ProjectingParser(JsonParser parser, Node root) {
+            super(parser);
+            this.root = root;
+        }
+
+        @Override
+        public JsonToken nextToken() throws IOException {
+            while (true) {
+                JsonToken token = delegate.nextToken();
+                if (token == null) {
+                    return null;
+                }
+                switch (token) {
+                    case FIELD_NAME :
+                        pending = open.peek().child(delegate.getCurrentName());
+                        if (pending == null) {
+                            delegate.nextToken();
+                            delegate.skipChildren();
+                            continue;
+                        }
+                        return token;
+                    case START_OBJECT :
+                    case START_ARRAY :
+                        open.push(valueNode());
+                        return token;
+                    case END_OBJECT :
+                    case END_ARRAY :
+                        open.pop();
+                        return token;
+                    default :
+                        return token;
+                }
+            }
+        }
+
+        @Override
+        public JsonToken nextValue() throws IOException {
+            JsonToken token = nextToken();
+            if (token == JsonToken.FIELD_NAME) {
+                token = nextToken();
+            }
+            return token;
+        }
+
+        @Override
+        public JsonParser skipChildren() throws IOException {
+            JsonToken token = delegate.currentToken();
+            if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+                delegate.skipChildren();
+                open.pop();
+            }
+            return this;
+        }
+
+        private Node valueNode() {
+            if (open.isEmpty()) {
+                return root;
+            }
+            return delegate.getParsingContext().getParent().inArray() ? open.peek().element() : pending;
+        }
+    }
+}
@@ -0,0 +1,437 @@
+package org.kohsuke.github;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import javax.annotation.Nonnull;
+
+import static java.util.logging.Level.FINE;
+import static java.util.logging.Level.WARNING;
+
+/**
+ * A local copy of who belongs to an organization and its teams, and who can access some of its repositories, to answer
+ * membership and permission checks without a request each.
+ *
+ * <p>
+ * {@link GHOrganization#hasMember(GHUser)}, {@link GHTeam#hasMember(GHUser)},
+ * {@link GHRepository#hasPermission(String, GHPermissionType)} and the like send a request for every check. The index
+ * instead lists the members of the organization and of each team, the repositories of each team with their permission,
+ * and the collaborators of the given repositories with theirs. Each login gets a small number, and every list is held
+ * as a {@link BitSet} of those numbers, so a check is a map lookup and a bit test.
+ *
+ * <pre>
+ * GHAccessIndex index = new GHAccessIndex(organization, repositories);
+ * index.refresh();
+ * index.scheduleRefresh(executor, Duration.ofMinutes(10));
+ * if (index.hasPermission(repository, "octocat", GHPermissionType.WRITE)) {
+ *     // ...
+ * }
+ * </pre>
+ *
+ * <p>
+ * Every page listed is kept with its ETag. A refresh sends each page again with its ETag, and pages that did not change
+ * come back as {@code 304 Not Modified}, which costs no rate limit. Checks keep answering from the previous snapshot
+ * while a refresh runs, and a refresh that fails leaves it in place. Logins are compared without regard to case, as on
+ * GitHub.
+ */
+public class GHAccessIndex {
+
+    private static final Logger LOGGER = Logger.getLogger(GHAccessIndex.class.getName());
+
+    private static final int PAGE_SIZE = 100;
+
+    private final GHOrganization organization;
+    private final Set<String> repositories = new LinkedHashSet<>();
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private Map<String, List<Page<?>>> pages = new HashMap<>();
+    private volatile Snapshot snapshot;
+
+    /**
+     * Instantiates an index of the members and teams of an organization, and of the collaborators of some of its
+     * repositories. Nothing is listed until {@link #refresh()} is called.
+     *
+     * @param organization
+     *            the organization
+     * @param repositories
+     *            the repositories whose permissions are checked
+     */
+    public GHAccessIndex(@Nonnull GHOrganization organization, @Nonnull Collection<GHRepository> repositories) {
+        this.organization = organization;
+        for (GHRepository repository : repositories) {
+            this.repositories.add(repository.getFullName());
+        }
+    }
+
+    /**
+     * Lists everything again, sending the ETag of each page seen before, and replaces the snapshot that checks are
+     * answered from.
+     *
+     * @return the number of pages that changed since the previous refresh, which is every page the first time
+     * @throws IOException
+     *             the io exception
+     */
+    public synchronized int refresh() throws IOException {
+        Listing listing = new Listing();
+        Snapshot next = new Snapshot();
+        String org = "/orgs/" + organization.getLogin();
+        next.members = logins(listing.list(org + "/members", Member[].class));
+        next.publicMembers = logins(listing.list(org + "/public_members", Member[].class));
+        for (Team team : listing.list(org + "/teams", Team[].class)) {
+            String path = org + "/teams/" + team.slug;
+            next.teams.put(team.slug, logins(listing.list(path + "/members", Member[].class)));
+            Map<String, GHPermissionType> teamRepositories = new HashMap<>();
+            for (TeamRepository repository : listing.list(path + "/repos", TeamRepository[].class)) {
+                teamRepositories.put(repository.fullName, permission(repository.permissions));
+            }
+            next.teamRepositories.put(team.slug, teamRepositories);
+        }
+        for (String repository : repositories) {
+            Access access = new Access();
+            for (Collaborator collaborator : listing.list("/repos/" + repository + "/collaborators",
+                    Collaborator[].class)) {
+                access.grant(id(collaborator.login), permission(collaborator.permissions));
+            }
+            next.repositories.put(repository, access);
+        }
+        // members of a team get at least the permission of the team
+        for (Map.Entry<String, Map<String, GHPermissionType>> team : next.teamRepositories.entrySet()) {
+            BitSet members = next.teams.get(team.getKey());
+            for (Map.Entry<String, GHPermissionType> repository : team.getValue().entrySet()) {
+                Access access = next.repositories.get(repository.getKey());
+                if (access != null) {
+                    access.grant(members, repository.getValue());
+                }
+            }
+        }
+
+        this.pages = listing.pages;
+        this.snapshot = next;
+        int changed = listing.changed;
+        LOGGER.log(FINE,
+                () -> String.format("Refreshed access to %s: %d of %d pages changed",
+                        organization.getLogin(),
+                        changed,
+                        listing.total));
+        return changed;
+    }
+
+    /**
+     * Refreshes the index periodically. A refresh that fails is logged, and the next one runs as scheduled.
+     *
+     * @param executor
+     *            the executor to run the refreshes on
+     * @param period
+     *            the delay between the end of a refresh and the start of the next one
+     * @return the scheduled refreshes, to cancel them
+     */
+    @Nonnull
+    public ScheduledFuture<?> scheduleRefresh(@Nonnull ScheduledExecutorService executor, @Nonnull Duration period) {
+        return executor.scheduleWithFixedDelay(() -> {
+            try {
+                refresh();
+            } catch (IOException | RuntimeException e) {
+                LOGGER.log(WARNING, "Failed to refresh access to " + organization.getLogin(), e);
+            }
+        }, period.toMillis(), period.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Checks if a user is a member of the organization.
+     *
+     * @param login
+     *            the login of the user
+     * @return true if the user is a member
+     */
+    public boolean hasMember(@Nonnull String login) {
+        return contains(snapshot().members, login);
+    }
+
+    /**
+     * Checks if a user is a public member of the organization.
+     *
+     * @param login
+     *            the login of the user
+     * @return true if the user is a public member
+     */
+    public boolean hasPublicMember(@Nonnull String login) {
+        return contains(snapshot().publicMembers, login);
+    }
+
+    /**
+     * Checks if a user is a member of a team of the organization.
+     *
+     * @param teamSlug
+     *            the slug of the team
+     * @param login
+     *            the login of the user
+     * @return true if the user is a member of the team, false if not or if there is no such team
+     */
+    public boolean isTeamMember(@Nonnull String teamSlug, @Nonnull String login) {
+        BitSet members = snapshot().teams.get(teamSlug);
+        return members != null && contains(members, login);
+    }
+
+    /**
+     * Checks if a user has access to a repository, directly or through a team.
+     *
+     * @param repository
+     *            the repository, which must be one of those indexed
+     * @param login
+     *            the login of the user
+     * @return true if the user has access to the repository
+     */
+    public boolean isCollaborator(@Nonnull GHRepository repository, @Nonnull String login) {
+        return getPermission(repository, login) != GHPermissionType.NONE;
+    }
+
+    /**
+     * Gets the permission of a user in a repository.
+     *
+     * @param repository
+     *            the repository, which must be one of those indexed
+     * @param login
+     *            the login of the user
+     * @return the permission, or {@link GHPermissionType#NONE} if the user has no access
+     */
+    @Nonnull
+    public GHPermissionType getPermission(@Nonnull GHRepository repository, @Nonnull String login) {
+        Access access = snapshot().repositories.get(repository.getFullName());
+        if (access == null) {
+            throw new IllegalArgumentException("Repository is not indexed: " + repository.getFullName());
+        }
+        Integer id = ids.get(normalize(login));
+        if (id == null) {
+            return GHPermissionType.NONE;
+        }
+        return access.permission(id);
+    }
+
+    /**
+     * Checks if a user has at least the given permission in a repository.
+     *
+     * @param repository
+     *            the repository, which must be one of those indexed
+     * @param login
+     *            the login of the user
+     * @param permission
+     *            the permission to check
+     * @return true if the user has at least this permission level
+     */
+    public boolean hasPermission(@Nonnull GHRepository repository,
+            @Nonnull String login,
+            @Nonnull GHPermissionType permission) {
+        return getPermission(repository, login).implies(permission);
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            throw new IllegalStateException("The index has not been refreshed yet");
+        }
+        return current;
+    }
+
+    private boolean contains(BitSet set, String login) {
+        Integer id = ids.get(normalize(login));
+        return id != null && set.get(id);
+    }
+
+    private BitSet logins(List<Member> members) {
+        BitSet set = new BitSet();
+        for (Member member : members) {
+            set.set(id(member.login));
+        }
+        return set;
+    }
+
+    /**
+     * Gets the number of a login, giving it the next one the first time. Numbers are never reused, so snapshots taken
+     * earlier stay valid.
+     */
+    private int id(String login) {
+        return ids.computeIfAbsent(normalize(login), key -> ids.size());
+    }
+
+    private static String normalize(String login) {
+        return login.toLowerCase(Locale.ROOT);
+    }
+
+    private static GHPermissionType permission(GHRepository.GHRepoPermission permissions) {
+        if (permissions == null) {
+            return GHPermissionType.NONE;
+        } else if (permissions.admin) {
+            return GHPermissionType.ADMIN;
+        } else if (permissions.push) {
+            return GHPermissionType.WRITE;
+        } else if (permissions.pull) {
+            return GHPermissionType.READ;
+        }
+        return GHPermissionType.NONE;
+    }
+
+    /**
+     * Lists pages for one refresh, reusing the pages of the previous refresh that did not change.
+     */
+    private class Listing {
+        final Map<String, List<Page<?>>> pages = new HashMap<>();
+        int changed;
+        int total;
+
+        <T> List<T> list(String path, Class<T[]> type) throws IOException {
+            GitHubClient client = organization.root().getClient();
+            List<Page<?>> previous = GHAccessIndex.this.pages.getOrDefault(path, Collections.emptyList());
+            List<Page<?>> listed = new ArrayList<>();
+            List<T> items = new ArrayList<>();
+            GitHubRequest request = organization.root()
+                    .createRequest()
+                    .withUrlPath(path)
+                    .with("per_page", PAGE_SIZE)
+                    .build();
+            while (request != null) {
+                String url = request.url().toString();
+                int index = listed.size();
+                @SuppressWarnings("unchecked")
+                Page<T> cached = index < previous.size() && previous.get(index).url.equals(url)
+                        ? (Page<T>) previous.get(index)
+                        : null;
+                GitHubRequest sent = request;
+                if (cached != null && cached.etag != null) {
+                    sent = request.toBuilder().setHeader("If-None-Match", cached.etag).build();
+                }
+                GitHubResponse<T[]> response = client.sendRequest(sent,
+                        (connectorResponse) -> GitHubResponse.parseBody(connectorResponse, type));
+                Page<T> page;
+                if (cached != null && response.statusCode() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+                    page = cached;
+                } else {
+                    GitHubRequest next = GitHubPageIterator.findNextURL(request, response);
+                    page = new Page<>(url,
+                            response.header("ETag"),
+                            response.body(),
+                            next != null ? next.url().toString() : null);
+                    changed++;
+                }
+                total++;
+                listed.add(page);
+                Collections.addAll(items, page.items);
+                request = page.next != null ? request.toBuilder().setRawUrlPath(page.next).build() : null;
+            }
+            pages.put(path, listed);
+            return items;
+        }
+    }
+
+    /**
+     * One page of a listing, as last received.
+     */
+    private static class Page<T> {
+        final String url;
+        final String etag;
+        final T[] items;
+        final String next;
+
+        Page(String url, String etag, T[] items, String next) {
+            this.url = url;
+            this.etag = etag;
+            this.items = items;
+            this.next = next;
+        }
+    }
+
+    /**
+     * The state checks are answered from, replaced as a whole by each refresh.
+     */
+    private static class Snapshot {
+        BitSet members;
+        BitSet publicMembers;
+        final Map<String, BitSet> teams = new HashMap<>();
+        final Map<String, Map<String, GHPermissionType>> teamRepositories = new HashMap<>();
+        final Map<String, Access> repositories = new HashMap<>();
+    }
+
+    /**
+     * Who can read, write and administer a repository. Each set includes the ones above it.
+     */
+    private static class Access {
+        final BitSet read = new BitSet();
+        final BitSet write = new BitSet();
+        final BitSet admin = new BitSet();
+
+        void grant(int id, GHPermissionType permission) {
+            switch (permission) {
+                case ADMIN :
+                    admin.set(id);
+                    // fall through
+                case WRITE :
+                    write.set(id);
+                    // fall through
+                case READ :
+                    read.set(id);
+                    break;
+                default :
+                    break;
+            }
+        }
+
+        void grant(BitSet ids, GHPermissionType permission) {
+            switch (permission) {
+                case ADMIN :
+                    admin.or(ids);
+                    // fall through
+                case WRITE :
+                    write.or(ids);
+                    // fall through
+                case READ :
+                    read.or(ids);
+                    break;
+                default :
+                    break;
+            }
+        }
+
+        GHPermissionType permission(int id) {
+            if (admin.get(id)) {
+                return GHPermissionType.ADMIN;
+            } else if (write.get(id)) {
+                return GHPermissionType.WRITE;
+            } else if (read.get(id)) {
+                return GHPermissionType.READ;
+            }
+            return GHPermissionType.NONE;
+        }
+    }
+
+    private static class Member {
+        String login;
+    }
+
+    private static class Team {
+        String slug;
+    }
+
+    private static class TeamRepository {
+        String fullName;
+        GHRepository.GHRepoPermission permissions;
+    }
+
+    private static class Collaborator {
+        String login;
+        GHRepository.GHRepoPermission permissions;
+    }
+}
@@ -125,6 +125,15 @@ public class GHArtifact extends GHObject {
         return root().createRequest().method("GET").withUrlPath(getApiRoute(), "zip").fetchStream(streamFunction);
     }
 
+    /**
+     * Creates the request that downloads the artifact.
+     *
+     * @return the request
+     */
+    Requester downloadRequest() {
+        return root().createRequest().method("GET").withUrlPath(getApiRoute(), "zip");
+    }
+
     private String getApiRoute() {
         if (owner == null) {
             // Workflow runs returned from search to do not have an owner. Attempt to use url.
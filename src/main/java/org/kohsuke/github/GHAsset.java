@@ -147,6 +147,18 @@ public class GHAsset extends GHObject {
         root().createRequest().method("DELETE").withUrlPath(getApiRoute()).send();
     }
 
+    /**
+     * Creates the request that downloads the content of the asset.
+     *
+     * @return the request
+     */
+    Requester downloadRequest() {
+        return root().createRequest()
+                .method("GET")
+                .setHeader("Accept", "application/octet-stream")
+                .withUrlPath(getApiRoute());
+    }
+
     private String getApiRoute() {
         return "/repos/" + owner.getOwnerName() + "/" + owner.getName() + "/releases/assets/" + getId();
     }
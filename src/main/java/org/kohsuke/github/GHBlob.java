@@ -1,9 +1,7 @@
 package org.kohsuke.github;
 
-import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.net.URL;
-import java.util.Base64;
 
 // TODO: Auto-generated Javadoc
 /**
@@ -71,12 +69,8 @@ public class GHBlob {
      */
     public InputStream read() {
         if (encoding.equals("base64")) {
-            try {
-                Base64.Decoder decoder = Base64.getMimeDecoder();
-                return new ByteArrayInputStream(decoder.decode(content));
-            } catch (IllegalArgumentException e) {
-                throw new AssertionError(e); // US-ASCII is mandatory
-            }
+            // decoded as it is read, rather than into a copy of the whole blob
+            return Base64Streams.decode(content);
         }
 
         throw new UnsupportedOperationException("Unrecognized encoding: " + encoding);
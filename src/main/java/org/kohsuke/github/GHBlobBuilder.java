@@ -1,7 +1,10 @@
 package org.kohsuke.github;
 
 import java.io.IOException;
-import java.util.Base64;
+import java.io.InputStream;
+import java.nio.file.Path;
+
+import javax.annotation.WillClose;
 
 // TODO: Auto-generated Javadoc
 /**
@@ -43,8 +46,35 @@ public class GHBlobBuilder {
      * @return a GHBlobBuilder
      */
     public GHBlobBuilder binaryContent(byte[] content) {
-        String base64Content = Base64.getEncoder().encodeToString(content);
-        req.with("content", base64Content);
+        req.with("content", Base64Streams.encode(content));
+        req.with("encoding", "base64");
+        return this;
+    }
+
+    /**
+     * Configures a blob with the binary content of a stream. The stream is encoded straight into the request as it is
+     * read when the blob is {@link #create() created}, and closed afterwards.
+     *
+     * @param content
+     *            the stream of the blob
+     * @return a GHBlobBuilder
+     */
+    public GHBlobBuilder binaryContent(@WillClose InputStream content) {
+        req.with("content", Base64Streams.encode(content));
+        req.with("encoding", "base64");
+        return this;
+    }
+
+    /**
+     * Configures a blob with the binary content of a file. The file is encoded straight into the request as it is read
+     * when the blob is {@link #create() created}.
+     *
+     * @param content
+     *            the file of the blob
+     * @return a GHBlobBuilder
+     */
+    public GHBlobBuilder binaryContent(Path content) {
+        req.with("content", Base64Streams.encode(content));
         req.with("encoding", "base64");
         return this;
     }
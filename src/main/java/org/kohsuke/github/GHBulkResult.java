@@ -0,0 +1,85 @@
+package org.kohsuke.github;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+
+/**
+ * The result of looking up several objects at once, such as with {@link GitHub#getRepositories(java.util.Collection)}.
+ *
+ * <p>
+ * Every key that was asked for ends up either in {@link #getValues()} or in {@link #getFailures()}. Only failures that
+ * concern a single key are reported this way: an object that does not exist (404), is gone (410) or is unavailable for
+ * legal reasons (451). Other errors, such as bad credentials, fail the whole lookup.
+ *
+ * @param <T>
+ *            the type of the objects
+ */
+public class GHBulkResult<T> {
+
+    private final Map<String, T> values;
+    private final Map<String, IOException> failures;
+
+    /**
+     * Instantiates a new result.
+     *
+     * @param values
+     *            the objects found, by key
+     * @param failures
+     *            the failures, by key
+     */
+    GHBulkResult(@Nonnull Map<String, T> values, @Nonnull Map<String, IOException> failures) {
+        this.values = Collections.unmodifiableMap(values);
+        this.failures = Collections.unmodifiableMap(failures);
+    }
+
+    /**
+     * Gets the objects found, by key, in the order the keys were given.
+     *
+     * @return the objects
+     */
+    @Nonnull
+    public Map<String, T> getValues() {
+        return values;
+    }
+
+    /**
+     * Gets the failures, by key, in the order the keys were given.
+     *
+     * @return the failures
+     */
+    @Nonnull
+    public Map<String, IOException> getFailures() {
+        return failures;
+    }
+
+    /**
+     * Checks whether every key was found.
+     *
+     * @return true if there are no failures
+     */
+    public boolean isComplete() {
+        return failures.isEmpty();
+    }
+
+    /**
+     * Gets the object found for a key.
+     *
+     * @param key
+     *            the key
+     * @return the object, or null if the key was not looked up
+     * @throws IOException
+     *             the failure of the key, if it was not found
+     */
+    @CheckForNull
+    public T get(@Nonnull String key) throws IOException {
+        IOException failure = failures.get(key);
+        if (failure != null) {
+            throw failure;
+        }
+        return values.get(key);
+    }
+}
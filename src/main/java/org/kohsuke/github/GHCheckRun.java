@@ -35,7 +35,9 @@ public class GHCheckRun extends GHObject {
     private String nodeId;
     private String externalId;
     private String startedAt;
+    private transient long startedAtEpochMillis;
     private String completedAt;
+    private transient long completedAtEpochMillis;
     private String htmlUrl;
     private String detailsUrl;
     private Output output;
@@ -278,7 +280,22 @@ public class GHCheckRun extends GHObject {
      * @return Timestamp of the start time
      */
     public Date getStartedAt() {
-        return GitHubClient.parseDate(startedAt);
+        return startedAtEpochMillis != 0 ? new Date(startedAtEpochMillis) : GitHubClient.parseDate(startedAt);
+    }
+
+    /**
+     * When was this check run started, without allocating a {@link Date}.
+     *
+     * @return milliseconds since the epoch, or 0 if not known
+     */
+    public long getStartedAtEpochMillis() {
+        return startedAtEpochMillis;
+    }
+
+    @JsonProperty("started_at")
+    private void setStartedAt(String startedAt) {
+        this.startedAt = startedAt;
+        this.startedAtEpochMillis = GitHubClient.toEpochMillis(startedAt);
     }
 
     /**
@@ -287,7 +304,22 @@ public class GHCheckRun extends GHObject {
      * @return Timestamp of the completed time
      */
     public Date getCompletedAt() {
-        return GitHubClient.parseDate(completedAt);
+        return completedAtEpochMillis != 0 ? new Date(completedAtEpochMillis) : GitHubClient.parseDate(completedAt);
+    }
+
+    /**
+     * When was this check run completed, without allocating a {@link Date}.
+     *
+     * @return milliseconds since the epoch, or 0 if not known
+     */
+    public long getCompletedAtEpochMillis() {
+        return completedAtEpochMillis;
+    }
+
+    @JsonProperty("completed_at")
+    private void setCompletedAt(String completedAt) {
+        this.completedAt = completedAt;
+        this.completedAtEpochMillis = GitHubClient.toEpochMillis(completedAt);
     }
 
     /**
@@ -400,4 +432,16 @@ public class GHCheckRun extends GHObject {
         return new GHCheckRunBuilder(owner, getId());
     }
 
+    /**
+     * Adds annotations to this check run as they are found, in batches sent a few at a time.
+     *
+     * @param output
+     *            the title, summary and text sent with each batch, and the images sent when the run is finished
+     * @return a writer which you should add annotations to, then call
+     *         {@link GHCheckRunAnnotationWriter#finish(Conclusion)}
+     */
+    public @NonNull GHCheckRunAnnotationWriter writeAnnotations(@NonNull GHCheckRunBuilder.Output output) {
+        return new GHCheckRunAnnotationWriter(this, output);
+    }
+
 }
@@ -0,0 +1,339 @@
+package org.kohsuke.github;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import org.kohsuke.github.GHCheckRunBuilder.Annotation;
+import org.kohsuke.github.GHCheckRunBuilder.Output;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Adds annotations to a check run as they are found, in batches sent a few at a time.
+ *
+ * <p>
+ * {@link GHCheckRunBuilder#create()} needs every annotation up front, and sends those past the first fifty one batch
+ * after the other. The writer instead keeps at most one batch of annotations, and sends each batch once it is full,
+ * while the caller goes on adding annotations. Up to {@link #withMaxInFlight(int) a few} batches are sent at a time;
+ * {@link #add(Annotation)} blocks while that many are outstanding, so that a fast analyzer waits for the API rather
+ * than piling up annotations in memory.
+ *
+ * <p>
+ * An annotation that points to the same lines with the same level, title and message as an earlier one is dropped, as
+ * are the annotations of a level past its {@link #withLimit(GHCheckRun.AnnotationLevel, int) limit}. Annotations are
+ * recognized by a 64-bit hash, kept in a table of primitive longs, so the writer remembers a few bytes per annotation
+ * rather than the annotation itself.
+ *
+ * <pre>
+ * try (GHCheckRunAnnotationWriter writer = checkRun.writeAnnotations(new Output("Lint", "Lint findings"))) {
+ *     for (Finding finding : findings) {
+ *         writer.add(finding.toAnnotation());
+ *     }
+ *     writer.finish(writer.getAccepted(AnnotationLevel.FAILURE) == 0 ? Conclusion.SUCCESS : Conclusion.FAILURE);
+ * }
+ * </pre>
+ *
+ * @see GHCheckRun#writeAnnotations(Output)
+ */
+public class GHCheckRunAnnotationWriter implements Closeable {
+
+    /** The number of batches sent at a time, unless set otherwise. */
+    public static final int DEFAULT_MAX_IN_FLIGHT = 4;
+
+    private static final int BATCH_SIZE = GHCheckRunBuilder.MAX_ANNOTATIONS;
+
+    private static final String FAILURE = "Failed to send annotations";
+
+    private final GHCheckRun checkRun;
+    private final Output output;
+    private final Map<GHCheckRun.AnnotationLevel, Integer> limits = new EnumMap<>(GHCheckRun.AnnotationLevel.class);
+    private final Map<GHCheckRun.AnnotationLevel, Integer> accepted = new EnumMap<>(GHCheckRun.AnnotationLevel.class);
+    private final Map<GHCheckRun.AnnotationLevel, Integer> dropped = new EnumMap<>(GHCheckRun.AnnotationLevel.class);
+    private final FingerprintSet seen = new FingerprintSet();
+
+    private int maxInFlight = DEFAULT_MAX_IN_FLIGHT;
+    private List<Annotation> batch = new ArrayList<>(BATCH_SIZE);
+    private RateLimitedExecutor executor;
+    private Semaphore permits;
+    private volatile Throwable failure;
+    private boolean closed;
+
+    /**
+     * Instantiates a new writer.
+     *
+     * @param checkRun
+     *            the check run
+     * @param output
+     *            the output sent with each batch
+     */
+    GHCheckRunAnnotationWriter(@NonNull GHCheckRun checkRun, @NonNull Output output) {
+        this.checkRun = checkRun;
+        this.output = output;
+    }
+
+    /**
+     * Sets the number of batches sent at a time. Must be called before the first annotation is added.
+     *
+     * @param maxInFlight
+     *            the number of batches, at least 1
+     * @return this writer
+     */
+    @NonNull
+    public synchronized GHCheckRunAnnotationWriter withMaxInFlight(int maxInFlight) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("maxInFlight must be at least 1");
+        }
+        if (executor != null) {
+            throw new IllegalStateException("Batches have already been sent");
+        }
+        this.maxInFlight = maxInFlight;
+        return this;
+    }
+
+    /**
+     * Sets the most annotations of a level that are sent. The ones past the limit are counted by
+     * {@link #getDropped(GHCheckRun.AnnotationLevel)}.
+     *
+     * @param level
+     *            the annotation level
+     * @param limit
+     *            the most annotations of that level
+     * @return this writer
+     */
+    @NonNull
+    public synchronized GHCheckRunAnnotationWriter withLimit(@NonNull GHCheckRun.AnnotationLevel level, int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("limit must not be negative");
+        }
+        limits.put(level, limit);
+        return this;
+    }
+
+    /**
+     * Adds an annotation, sending the current batch if it is full. Blocks while the most batches are being sent.
+     *
+     * @param annotation
+     *            the annotation
+     * @return {@code true} if the annotation is sent, {@code false} if it was dropped as a duplicate or past the limit
+     *         of its level
+     * @throws IOException
+     *             if an earlier batch could not be sent
+     */
+    public synchronized boolean add(@NonNull Annotation annotation) throws IOException {
+        ensureOpen();
+        GHCheckRun.AnnotationLevel level = annotation.level();
+        if (!seen.add(fingerprint(annotation.key()))) {
+            return false;
+        }
+        int count = accepted.getOrDefault(level, 0);
+        if (count >= limits.getOrDefault(level, Integer.MAX_VALUE)) {
+            dropped.merge(level, 1, Integer::sum);
+            return false;
+        }
+        accepted.put(level, count + 1);
+        batch.add(annotation);
+        if (batch.size() == BATCH_SIZE) {
+            send();
+        }
+        return true;
+    }
+
+    /**
+     * Sends the current batch, even if it is not full, and waits until every batch has been sent.
+     *
+     * @throws IOException
+     *             if a batch could not be sent
+     */
+    public synchronized void flush() throws IOException {
+        ensureOpen();
+        if (!batch.isEmpty()) {
+            send();
+        }
+        if (permits != null) {
+            RateLimitedExecutor.acquire(permits, maxInFlight);
+            permits.release(maxInFlight);
+        }
+        RateLimitedExecutor.rethrow(failure, FAILURE);
+    }
+
+    /**
+     * Sends the remaining annotations, then completes the check run with a conclusion and closes the writer.
+     *
+     * @param conclusion
+     *            the conclusion
+     * @return the completed check run
+     * @throws IOException
+     *             if a batch or the completion could not be sent
+     */
+    @NonNull
+    public synchronized GHCheckRun finish(@NonNull GHCheckRun.Conclusion conclusion) throws IOException {
+        flush();
+        try {
+            return checkRun.update()
+                    .withStatus(GHCheckRun.Status.COMPLETED)
+                    .withConclusion(conclusion)
+                    .withCompletedAt(new Date())
+                    .add(output.copy(null, true))
+                    .create();
+        } finally {
+            closed = true;
+            shutdown();
+        }
+    }
+
+    /**
+     * Gets the number of annotations of a level that were accepted so far.
+     *
+     * @param level
+     *            the annotation level
+     * @return the count
+     */
+    public synchronized int getAccepted(@NonNull GHCheckRun.AnnotationLevel level) {
+        return accepted.getOrDefault(level, 0);
+    }
+
+    /**
+     * Gets the number of annotations of a level that were dropped for being past its limit. Duplicates are not counted.
+     *
+     * @param level
+     *            the annotation level
+     * @return the count
+     */
+    public synchronized int getDropped(@NonNull GHCheckRun.AnnotationLevel level) {
+        return dropped.getOrDefault(level, 0);
+    }
+
+    /**
+     * Sends the remaining annotations, without completing the check run, unless {@link #finish} was called.
+     *
+     * @throws IOException
+     *             if a batch could not be sent
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        try {
+            flush();
+        } finally {
+            closed = true;
+            shutdown();
+        }
+    }
+
+    private void send() throws IOException {
+        if (executor == null) {
+            executor = new RateLimitedExecutor(checkRun.root(),
+                    RateLimitTarget.CORE,
+                    maxInFlight,
+                    "github-api-annotations");
+            permits = new Semaphore(maxInFlight);
+        }
+        RateLimitedExecutor.acquire(permits, 1);
+        RateLimitedExecutor.rethrow(failure, FAILURE);
+        Output body = output.copy(batch, false);
+        batch = new ArrayList<>(BATCH_SIZE);
+        executor.submit(() -> {
+            executor.awaitBudget();
+            checkRun.root()
+                    .createRequest()
+                    .method("PATCH")
+                    .with("output", body)
+                    .withUrlPath(checkRun.owner.getApiTailUrl("check-runs/" + checkRun.getId()))
+                    .send();
+            return null;
+        }).whenComplete((result, e) -> {
+            if (e != null && failure == null) {
+                failure = e;
+            }
+            permits.release();
+        });
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("The writer is closed");
+        }
+    }
+
+    private void shutdown() {
+        if (executor != null) {
+            executor.close();
+        }
+    }
+
+    /**
+     * Hashes a key with 64-bit FNV-1a.
+     */
+    private static long fingerprint(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * A set of fingerprints, in an open addressing table of longs that is at most three quarters full. Zero marks an
+     * empty slot, so a fingerprint of zero is tracked on its own.
+     */
+    private static final class FingerprintSet {
+        private long[] slots = new long[64];
+        private int size;
+        private boolean containsZero;
+
+        /**
+         * Adds a fingerprint.
+         *
+         * @return true if the fingerprint was not in the set
+         */
+        boolean add(long fingerprint) {
+            if (fingerprint == 0) {
+                boolean added = !containsZero;
+                containsZero = true;
+                return added;
+            }
+            int mask = slots.length - 1;
+            for (int i = slot(fingerprint, mask);; i = (i + 1) & mask) {
+                if (slots[i] == fingerprint) {
+                    return false;
+                } else if (slots[i] == 0) {
+                    slots[i] = fingerprint;
+                    if (++size * 4 > slots.length * 3) {
+                        grow();
+                    }
+                    return true;
+                }
+            }
+        }
+
+        private void grow() {
+            long[] old = slots;
+            slots = new long[old.length * 2];
+            int mask = slots.length - 1;
+            for (long fingerprint : old) {
+                if (fingerprint != 0) {
+                    int i = slot(fingerprint, mask);
+                    while (slots[i] != 0) {
+                        i = (i + 1) & mask;
+                    }
+                    slots[i] = fingerprint;
+                }
+            }
+        }
+
+        private static int slot(long fingerprint, int mask) {
+            // spread the high bits of the hash into the low ones that pick the slot
+            long mixed = fingerprint * 0x9e3779b97f4a7c15L;
+            return (int) (mixed ^ (mixed >>> 32)) & mask;
+        }
+    }
+}
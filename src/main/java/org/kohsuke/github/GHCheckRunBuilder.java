@@ -223,7 +223,9 @@ public final class GHCheckRunBuilder {
         return this;
     }
 
-    private static final int MAX_ANNOTATIONS = 50;
+    /** The most annotations a single create or update request may carry. */
+    static final int MAX_ANNOTATIONS = 50;
+
     /**
      * Actually creates the check run. (If more than fifty annotations were requested, this is done in batches.)
      *
@@ -325,6 +327,23 @@ public final class GHCheckRunBuilder {
             return this;
         }
 
+        /**
+         * Copies the title, summary and text of this output.
+         *
+         * @param annotations
+         *            the annotations of the copy, or {@code null} for none
+         * @param withImages
+         *            whether the copy carries the images of this output
+         * @return the copy
+         */
+        @NonNull
+        Output copy(@CheckForNull List<Annotation> annotations, boolean withImages) {
+            Output copy = new Output(title, summary).withText(text);
+            copy.annotations = annotations;
+            copy.images = withImages ? images : null;
+            return copy;
+        }
+
     }
 
     /**
@@ -438,6 +457,35 @@ public final class GHCheckRunBuilder {
             return this;
         }
 
+        /**
+         * Gets the annotation level.
+         *
+         * @return the annotation level
+         */
+        @NonNull
+        GHCheckRun.AnnotationLevel level() {
+            return GHCheckRun.AnnotationLevel.valueOf(annotation_level.toUpperCase(Locale.ROOT));
+        }
+
+        /**
+         * Describes where the annotation points and what it says, so that the same finding reported twice can be
+         * recognized.
+         *
+         * @return the key
+         */
+        @NonNull
+        String key() {
+            return String.join("\0",
+                    path,
+                    Integer.toString(start_line),
+                    Integer.toString(end_line),
+                    String.valueOf(start_column),
+                    String.valueOf(end_column),
+                    annotation_level,
+                    String.valueOf(title),
+                    message);
+        }
+
     }
 
     /**
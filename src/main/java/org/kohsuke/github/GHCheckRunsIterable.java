@@ -38,7 +38,10 @@ class GHCheckRunsIterable extends PagedIterable<GHCheckRun> {
     @Override
     public PagedIterator<GHCheckRun> _iterator(int pageSize) {
         return new PagedIterator<>(
-                adapt(GitHubPageIterator.create(owner.root().getClient(), GHCheckRunsPage.class, request, pageSize)),
+                adapt(GitHubPageIterator.create(owner.root().getClient(),
+                        GHCheckRunsPage.class,
+                        project(request),
+                        pageSize)),
                 null);
     }
 
@@ -647,8 +647,10 @@ public class GHCommit {
      *             on error
      */
     void populate() throws IOException {
-        if (files == null && stats == null)
+        if (files == null && stats == null) {
+            owner.root().getPopulateMonitor().record(this);
             owner.root().createRequest().withUrlPath(owner.getApiTailUrl("commits/" + sha)).fetchInto(this);
+        }
     }
 
     /**
@@ -67,7 +67,10 @@ class GHCommitFileIterable extends PagedIterable<GHCommit.File> {
                     .build();
 
             pageIterator = adapt(
-                    GitHubPageIterator.create(owner.root().getClient(), GHCommitFilesPage.class, request, pageSize));
+                    GitHubPageIterator.create(owner.root().getClient(),
+                            GHCommitFilesPage.class,
+                            project(request),
+                            pageSize));
         }
 
         return new PagedIterator<>(pageIterator, null);
@@ -4,6 +4,7 @@ import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.apache.commons.lang3.StringUtils;
 
 import java.io.IOException;
+import java.time.LocalDate;
 
 // TODO: Auto-generated Javadoc
 /**
@@ -14,6 +15,9 @@ import java.io.IOException;
  */
 public class GHCommitSearchBuilder extends GHSearchBuilder<GHCommit> {
 
+    /** Commits can carry any date, so splitting on committer date starts at the epoch. */
+    private static final LocalDate COMMITS_FLOOR = LocalDate.of(1970, 1, 1);
+
     /**
      * Instantiates a new GH commit search builder.
      *
@@ -236,6 +240,17 @@ public class GHCommitSearchBuilder extends GHSearchBuilder<GHCommit> {
         return this;
     }
 
+    /**
+     * Performs the search and returns every result, not just the first 1000.
+     *
+     * The search is split on the {@code committer-date} qualifier as needed. See {@link PartitionedSearchIterable}.
+     *
+     * @return the partitioned search iterable
+     */
+    public PartitionedSearchIterable<GHCommit> listExhaustively() {
+        return listPartitioned("committer-date", COMMITS_FLOOR, GHCommit::getSHA1);
+    }
+
     /**
      * The enum Sort.
      */
@@ -67,6 +67,26 @@ public class GHCompare {
         return GitHubClient.parseURL(diff_url);
     }
 
+    /**
+     * Reads the diff of this comparison as it is downloaded, without holding it in memory.
+     *
+     * @param listener
+     *            receives each file and hunk of the diff
+     * @throws IOException
+     *             the io exception
+     * @see GHDiffParser
+     */
+    public void readDiff(@Nonnull GHDiffParser.Listener listener) throws IOException {
+        owner.root()
+                .createRequest()
+                .withUrlPath(owner.getApiTailUrl(url.substring(url.lastIndexOf("/compare/"))))
+                .withAccept("application/vnd.github.diff")
+                .fetchUnbufferedStream((stream) -> {
+                    GHDiffParser.parse(stream, listener);
+                    return null;
+                });
+    }
+
     /**
      * Gets patch url.
      *
@@ -394,7 +414,10 @@ public class GHCompare {
                 pageSize = 10;
             }
             return new PagedIterator<>(
-                    adapt(GitHubPageIterator.create(owner.root().getClient(), GHCompare.class, request, pageSize)),
+                    adapt(GitHubPageIterator.create(owner.root().getClient(),
+                            GHCompare.class,
+                            project(request),
+                            pageSize)),
                     item -> item.wrapUp(owner));
         }
 
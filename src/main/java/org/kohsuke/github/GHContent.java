@@ -2,10 +2,8 @@ package org.kohsuke.github;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.charset.StandardCharsets;
 import java.util.Base64;
 
 // TODO: Auto-generated Javadoc
@@ -187,12 +185,8 @@ public class GHContent extends GitHubInteractiveObject implements Refreshable {
     public InputStream read() throws IOException {
         refresh(content);
         if (encoding.equals("base64")) {
-            try {
-                Base64.Decoder decoder = Base64.getMimeDecoder();
-                return new ByteArrayInputStream(decoder.decode(content.getBytes(StandardCharsets.US_ASCII)));
-            } catch (IllegalArgumentException e) {
-                throw new AssertionError(e); // US-ASCII is mandatory
-            }
+            // decoded as it is read, rather than into a copy of the whole file
+            return Base64Streams.decode(content);
         }
 
         throw new UnsupportedOperationException("Unrecognized encoding: " + encoding);
@@ -237,6 +231,7 @@ public class GHContent extends GitHubInteractiveObject implements Refreshable {
      *             the io exception
      */
     protected synchronized void populate() throws IOException {
+        root().getPopulateMonitor().record(this);
         root().createRequest().withUrlPath(url).fetchInto(this);
     }
 
@@ -1,8 +1,11 @@
 package org.kohsuke.github;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
-import java.util.Base64;
+import java.nio.file.Path;
+
+import javax.annotation.WillClose;
 
 // TODO: Auto-generated Javadoc
 /**
@@ -75,7 +78,33 @@ public final class GHContentBuilder {
      * @return the gh content builder
      */
     public GHContentBuilder content(byte[] content) {
-        req.with("content", Base64.getEncoder().encodeToString(content));
+        req.with("content", Base64Streams.encode(content));
+        return this;
+    }
+
+    /**
+     * Sets the content to that of a stream. The stream is encoded straight into the request as it is read when the
+     * content is {@link #commit() committed}, and closed afterwards.
+     *
+     * @param content
+     *            the stream
+     * @return the gh content builder
+     */
+    public GHContentBuilder content(@WillClose InputStream content) {
+        req.with("content", Base64Streams.encode(content));
+        return this;
+    }
+
+    /**
+     * Sets the content to that of a file. The file is encoded straight into the request as it is read when the content
+     * is {@link #commit() committed}.
+     *
+     * @param content
+     *            the file
+     * @return the gh content builder
+     */
+    public GHContentBuilder content(Path content) {
+        req.with("content", Base64Streams.encode(content));
         return this;
     }
 
@@ -0,0 +1,371 @@
+package org.kohsuke.github;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+
+/**
+ * Finds the files under a directory of a repository whose paths match a few globs, and reads their contents.
+ *
+ * <p>
+ * {@link GHRepository#getDirectoryContent(String, String)} lists one directory per request. The crawler lists the
+ * whole repository with a single {@link GHRepository#getTreeRecursive(String, int) recursive tree} request, and only
+ * if GitHub truncates the tree, or if {@link #withRecursiveTree(boolean) asked to}, lists the directories one by one,
+ * several at a time.
+ *
+ * <p>
+ * The files are then read as blobs, several at a time. Their base64 content is decoded as it comes from the
+ * connection, rather than read into a string and decoded all at once.
+ *
+ * <pre>
+ * repository.crawlContent(".github", "main").withFilter("**&#47;*.{yml,yaml}").forEach((entry, content) -&gt; {
+ *     check(entry.getPath(), content);
+ * });
+ * </pre>
+ *
+ * @see GHRepository#crawlContent(String, String)
+ */
+public class GHContentCrawler {
+
+    /** The number of requests made at a time, unless set otherwise. */
+    public static final int DEFAULT_PARALLELISM = 4;
+
+    private static final String FAILURE = "Failed to crawl repository content";
+
+    private final GHRepository repository;
+    private final String path;
+    private final String ref;
+    private final List<Predicate<String>> filters = new ArrayList<>();
+    private int parallelism = DEFAULT_PARALLELISM;
+    private boolean recursiveTree = true;
+
+    /**
+     * Instantiates a new crawler.
+     *
+     * @param repository
+     *            the repository
+     * @param path
+     *            the directory to crawl, or an empty string for the whole repository
+     * @param ref
+     *            the ref, or {@code null} for the default branch
+     */
+    GHContentCrawler(@Nonnull GHRepository repository, @Nonnull String path, @CheckForNull String ref) {
+        this.repository = repository;
+        this.path = trim(path);
+        this.ref = ref;
+    }
+
+    /**
+     * Adds a glob the path of a file may match, such as {@code src/**}{@code /*.java}. A file is crawled if it matches
+     * any of the filters, or if there are none.
+     *
+     * @param glob
+     *            the glob, which is matched against the path of the file in the repository
+     * @return this crawler
+     */
+    @Nonnull
+    public GHContentCrawler withFilter(@Nonnull String glob) {
+        return withFilter(new PathGlob(glob));
+    }
+
+    /**
+     * Adds a filter the path of a file may match. A file is crawled if it matches any of the filters, or if there are
+     * none.
+     *
+     * @param filter
+     *            tests the path of a file, as returned by {@link Entry#getPath()}
+     * @return this crawler
+     */
+    @Nonnull
+    public GHContentCrawler withFilter(@Nonnull Predicate<String> filter) {
+        filters.add(filter);
+        return this;
+    }
+
+    /**
+     * Sets the number of requests made at a time.
+     *
+     * @param parallelism
+     *            the parallelism
+     * @return this crawler
+     */
+    @Nonnull
+    public GHContentCrawler withParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1");
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * Sets whether the files are found with a single recursive tree request. Listing the directories one by one makes
+     * more requests, but each of them is small.
+     *
+     * @param recursiveTree
+     *            true to request the recursive tree, which is the default, false to list the directories
+     * @return this crawler
+     */
+    @Nonnull
+    public GHContentCrawler withRecursiveTree(boolean recursiveTree) {
+        this.recursiveTree = recursiveTree;
+        return this;
+    }
+
+    /**
+     * Finds the files that match the filters.
+     *
+     * @return the files, ordered by path
+     * @throws IOException
+     *             if a tree or directory could not be listed
+     */
+    @Nonnull
+    public List<Entry> list() throws IOException {
+        List<Entry> entries = null;
+        if (recursiveTree) {
+            entries = listTree();
+        }
+        if (entries == null) {
+            entries = listDirectories();
+        }
+        entries.sort(Comparator.comparing(Entry::getPath));
+        return entries;
+    }
+
+    /**
+     * Finds the files that match the filters, and hands each of them to a handler with its content. The handler is
+     * called from several threads at a time, in no particular order.
+     *
+     * @param handler
+     *            the handler
+     * @throws IOException
+     *             if a file could not be found or read, or the handler failed
+     */
+    public void forEach(@Nonnull FileHandler handler) throws IOException {
+        List<Entry> entries = list();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        try (RateLimitedExecutor executor = new RateLimitedExecutor(repository.root(),
+                RateLimitTarget.CORE,
+                parallelism,
+                "github-api-crawler")) {
+            int maxInFlight = executor.maxQueued();
+            Semaphore inFlight = new Semaphore(maxInFlight);
+            for (Entry entry : entries) {
+                RateLimitedExecutor.acquire(inFlight, 1);
+                if (failure.get() != null) {
+                    inFlight.release();
+                    break;
+                }
+                executor.submit(() -> {
+                    executor.awaitBudget();
+                    read(entry, handler);
+                    return null;
+                }).whenComplete((result, e) -> {
+                    if (e != null) {
+                        failure.compareAndSet(null, e);
+                    }
+                    inFlight.release();
+                });
+            }
+            RateLimitedExecutor.acquire(inFlight, maxInFlight);
+        }
+        RateLimitedExecutor.rethrow(failure.get(), FAILURE);
+    }
+
+    /**
+     * Lists the files with a recursive tree request.
+     *
+     * @return the files, or {@code null} if the tree was truncated
+     */
+    @CheckForNull
+    private List<Entry> listTree() throws IOException {
+        String treeish = ref;
+        if (treeish == null) {
+            treeish = repository.getDefaultBranch() != null ? repository.getDefaultBranch() : "HEAD";
+        }
+        GHTree tree = repository.getTreeRecursive(treeish, 1);
+        if (tree.isTruncated()) {
+            return null;
+        }
+        String prefix = path.isEmpty() ? "" : path + "/";
+        List<Entry> entries = new ArrayList<>();
+        for (GHTreeEntry entry : tree.getTree()) {
+            if ("blob".equals(entry.getType()) && entry.getPath().startsWith(prefix) && matches(entry.getPath())) {
+                entries.add(new Entry(entry.getPath(), entry.getSha(), entry.getSize()));
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Lists the directories one by one, several at a time, listing each subdirectory as soon as it is found.
+     */
+    private List<Entry> listDirectories() throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        BlockingQueue<Listing> done = new LinkedBlockingQueue<>();
+        try (RateLimitedExecutor executor = new RateLimitedExecutor(repository.root(),
+                RateLimitTarget.CORE,
+                parallelism,
+                "github-api-crawler")) {
+            int pending = 0;
+            listDirectory(executor, path, done);
+            pending++;
+            while (pending > 0) {
+                Listing listing = RateLimitedExecutor.take(done);
+                pending--;
+                RateLimitedExecutor.rethrow(listing.failure, FAILURE);
+                for (GHContent content : listing.contents) {
+                    if (content.isDirectory()) {
+                        listDirectory(executor, content.getPath(), done);
+                        pending++;
+                    } else if (content.isFile() && matches(content.getPath())) {
+                        entries.add(new Entry(content.getPath(), content.getSha(), content.getSize()));
+                    }
+                }
+            }
+        }
+        return entries;
+    }
+
+    private void listDirectory(RateLimitedExecutor executor, String directory, BlockingQueue<Listing> done) {
+        executor.submit(() -> {
+            executor.awaitBudget();
+            return repository.getDirectoryContent(directory, ref);
+        }).whenComplete((contents, failure) -> done.add(new Listing(contents, failure)));
+    }
+
+    /**
+     * Reads the blob of a file, decoding its content as it is read.
+     */
+    private void read(Entry entry, FileHandler handler) throws IOException {
+        repository.root()
+                .createRequest()
+                .withUrlPath(repository.getApiTailUrl("git/blobs/" + entry.getSha()))
+                .fetchUnbufferedStream(stream -> {
+                    try (InputStream content = Base64Streams.decodeField(stream, "content")) {
+                        handler.handle(entry, content);
+                    }
+                    return null;
+                });
+    }
+
+    private boolean matches(String path) {
+        if (filters.isEmpty()) {
+            return true;
+        }
+        for (Predicate<String> filter : filters) {
+            if (filter.test(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String trim(String path) {
+        int start = 0;
+        int end = path.length();
+        while (start < end && path.charAt(start) == '/') {
+            start++;
+        }
+        while (end > start && path.charAt(end - 1) == '/') {
+            end--;
+        }
+        return path.substring(start, end);
+    }
+
+    /**
+     * The contents of a directory, or the failure to list them.
+     */
+    private static final class Listing {
+        final List<GHContent> contents;
+        final Throwable failure;
+
+        Listing(List<GHContent> contents, Throwable failure) {
+            this.contents = contents;
+            this.failure = failure;
+        }
+    }
+
+    /**
+     * Handles the files found by a crawler.
+     */
+    @FunctionalInterface
+    public interface FileHandler {
+
+        /**
+         * Handles a file.
+         *
+         * @param entry
+         *            the file
+         * @param content
+         *            the decoded content of the file, which can only be read until the method returns
+         * @throws IOException
+         *             the io exception
+         */
+        void handle(@Nonnull Entry entry, @Nonnull InputStream content) throws IOException;
+    }
+
+    /**
+     * A file found by a crawler.
+     */
+    public static class Entry {
+        private final String path;
+        private final String sha;
+        private final long size;
+
+        private Entry(String path, String sha, long size) {
+            this.path = path;
+            this.sha = sha;
+            this.size = size;
+        }
+
+        /**
+         * Gets the path of the file in the repository.
+         *
+         * @return the path, without a leading {@code /}
+         */
+        @Nonnull
+        public String getPath() {
+            return path;
+        }
+
+        /**
+         * Gets the name of the file.
+         *
+         * @return the last segment of the path
+         */
+        @Nonnull
+        public String getName() {
+            return path.substring(path.lastIndexOf('/') + 1);
+        }
+
+        /**
+         * Gets the SHA of the blob of the file.
+         *
+         * @return the sha
+         */
+        @Nonnull
+        public String getSha() {
+            return sha;
+        }
+
+        /**
+         * Gets the size of the file.
+         *
+         * @return the size in bytes
+         */
+        public long getSize() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,686 @@
+package org.kohsuke.github;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+
+/**
+ * Parses a unified diff in git format, such as the {@code application/vnd.github.diff} media type, as it is read.
+ *
+ * <p>
+ * Each file and hunk is passed to a {@link Listener} as soon as it has been read. The content of the lines is never
+ * kept: a hunk only records which lines were added and removed, as ranges of line numbers. Memory use therefore
+ * depends on the size of the largest hunk header, not on the size of the diff.
+ * </p>
+ *
+ * @see GHPullRequest#readDiff(Listener)
+ * @see GHCompare#readDiff(Listener)
+ */
+public class GHDiffParser {
+
+    /** Longer header lines are cut, which can only happen for binary patch data. */
+    private static final int MAX_HEADER_LINE = 64 * 1024;
+
+    private static final String DEV_NULL = "/dev/null";
+
+    private final InputStream in;
+    private final Listener listener;
+    private final ByteArrayOutputStream line = new ByteArrayOutputStream(256);
+
+    private FileHeader file;
+    private boolean fileReported;
+
+    private GHDiffParser(InputStream in, Listener listener) {
+        this.in = in instanceof BufferedInputStream ? in : new BufferedInputStream(in);
+        this.listener = listener;
+    }
+
+    /**
+     * Parses a diff until the end of the stream. The stream is not closed.
+     *
+     * @param in
+     *            the diff
+     * @param listener
+     *            receives the files and hunks
+     * @throws IOException
+     *             if the stream cannot be read or the diff is malformed
+     */
+    public static void parse(@Nonnull InputStream in, @Nonnull Listener listener) throws IOException {
+        new GHDiffParser(in, listener).parse();
+    }
+
+    private void parse() throws IOException {
+        String text;
+        while ((text = readLine()) != null) {
+            if (text.startsWith("diff --git ")) {
+                endFile();
+                file = FileHeader.fromGitLine(text.substring("diff --git ".length()));
+            } else if (file == null) {
+                continue;
+            } else if (text.startsWith("@@ ")) {
+                reportFile();
+                readHunk(text);
+            } else if (!fileReported) {
+                file.readHeaderLine(text);
+            }
+        }
+        endFile();
+    }
+
+    private void reportFile() throws IOException {
+        if (!fileReported) {
+            listener.file(file.toFile());
+            fileReported = true;
+        }
+    }
+
+    private void endFile() throws IOException {
+        if (file != null) {
+            reportFile();
+        }
+        file = null;
+        fileReported = false;
+    }
+
+    private void readHunk(String header) throws IOException {
+        Hunk.Builder hunk = Hunk.Builder.fromHeader(file.toFile(), header);
+        int oldLine = hunk.oldStart;
+        int newLine = hunk.newStart;
+        int oldRemaining = hunk.oldCount;
+        int newRemaining = hunk.newCount;
+        while (oldRemaining > 0 || newRemaining > 0) {
+            int c = in.read();
+            if (c < 0) {
+                throw new IOException("Diff ends inside a hunk of " + hunk.file.getPath());
+            }
+            if (c == '-') {
+                hunk.deleted(oldLine++);
+                oldRemaining--;
+            } else if (c == '+') {
+                hunk.added(newLine++);
+                newRemaining--;
+            } else if (c == ' ' || c == '\n' || c == '\r') {
+                // some tools strip the space of empty context lines
+                oldLine++;
+                newLine++;
+                oldRemaining--;
+                newRemaining--;
+            } else if (c != '\\') {
+                throw new IOException("Unexpected line in a hunk of " + hunk.file.getPath());
+            }
+            if (c != '\n') {
+                skipLine();
+            }
+        }
+        listener.hunk(hunk.build());
+    }
+
+    @CheckForNull
+    private String readLine() throws IOException {
+        line.reset();
+        int c = in.read();
+        if (c < 0) {
+            return null;
+        }
+        while (c >= 0 && c != '\n') {
+            if (line.size() < MAX_HEADER_LINE) {
+                line.write(c);
+            }
+            c = in.read();
+        }
+        int length = line.size();
+        byte[] bytes = line.toByteArray();
+        if (length > 0 && bytes[length - 1] == '\r') {
+            length--;
+        }
+        return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private void skipLine() throws IOException {
+        int c;
+        do {
+            c = in.read();
+        } while (c >= 0 && c != '\n');
+    }
+
+    /**
+     * Receives the parts of a diff in the order they appear.
+     */
+    public interface Listener {
+
+        /**
+         * Called once per file, after its header and before its hunks.
+         *
+         * @param file
+         *            the file
+         * @throws IOException
+         *             to stop parsing
+         */
+        default void file(@Nonnull File file) throws IOException {
+        }
+
+        /**
+         * Called once per hunk.
+         *
+         * @param hunk
+         *            the hunk
+         * @throws IOException
+         *             to stop parsing
+         */
+        default void hunk(@Nonnull Hunk hunk) throws IOException {
+        }
+    }
+
+    /**
+     * What happened to a file.
+     */
+    public enum Status {
+        /** The file was added. */
+        ADDED,
+        /** The file was removed. */
+        REMOVED,
+        /** The file was modified in place. */
+        MODIFIED,
+        /** The file was renamed, and maybe modified. */
+        RENAMED,
+        /** The file was copied, and maybe modified. */
+        COPIED
+    }
+
+    /**
+     * A file in a diff.
+     */
+    public static class File {
+        private final String oldPath;
+        private final String newPath;
+        private final Status status;
+        private final boolean binary;
+
+        private File(String oldPath, String newPath, Status status, boolean binary) {
+            this.oldPath = oldPath;
+            this.newPath = newPath;
+            this.status = status;
+            this.binary = binary;
+        }
+
+        /**
+         * Gets the path before the change.
+         *
+         * @return the old path, or {@code null} if the file was added
+         */
+        @CheckForNull
+        public String getOldPath() {
+            return oldPath;
+        }
+
+        /**
+         * Gets the path after the change.
+         *
+         * @return the new path, or {@code null} if the file was removed
+         */
+        @CheckForNull
+        public String getNewPath() {
+            return newPath;
+        }
+
+        /**
+         * Gets the path after the change, or before it if the file was removed.
+         *
+         * @return the path
+         */
+        @Nonnull
+        public String getPath() {
+            return newPath != null ? newPath : oldPath;
+        }
+
+        /**
+         * Gets the status.
+         *
+         * @return the status
+         */
+        @Nonnull
+        public Status getStatus() {
+            return status;
+        }
+
+        /**
+         * Checks if the file is binary, in which case it has no hunks.
+         *
+         * @return true if the file is binary
+         */
+        public boolean isBinary() {
+            return binary;
+        }
+
+        /**
+         * To string.
+         *
+         * @return the string
+         */
+        @Override
+        public String toString() {
+            return status + " " + getPath();
+        }
+    }
+
+    /**
+     * A hunk, with the lines it adds and removes as ranges of line numbers.
+     *
+     * Ranges are stored as pairs of ints: the first and the last line of each range.
+     */
+    public static class Hunk {
+        private final File file;
+        private final int oldStart, oldCount, newStart, newCount;
+        private final String section;
+        private final int[] added;
+        private final int[] deleted;
+        private final int additions, deletions;
+
+        private Hunk(Builder builder) {
+            this.file = builder.file;
+            this.oldStart = builder.oldStart;
+            this.oldCount = builder.oldCount;
+            this.newStart = builder.newStart;
+            this.newCount = builder.newCount;
+            this.section = builder.section;
+            this.added = Arrays.copyOf(builder.added, builder.addedSize);
+            this.deleted = Arrays.copyOf(builder.deleted, builder.deletedSize);
+            this.additions = builder.additions;
+            this.deletions = builder.deletions;
+        }
+
+        /**
+         * Gets the file this hunk belongs to.
+         *
+         * @return the file
+         */
+        @Nonnull
+        public File getFile() {
+            return file;
+        }
+
+        /**
+         * Gets the first line of the hunk in the old file.
+         *
+         * @return the old start
+         */
+        public int getOldStart() {
+            return oldStart;
+        }
+
+        /**
+         * Gets the number of lines of the hunk in the old file.
+         *
+         * @return the old count
+         */
+        public int getOldCount() {
+            return oldCount;
+        }
+
+        /**
+         * Gets the first line of the hunk in the new file.
+         *
+         * @return the new start
+         */
+        public int getNewStart() {
+            return newStart;
+        }
+
+        /**
+         * Gets the number of lines of the hunk in the new file.
+         *
+         * @return the new count
+         */
+        public int getNewCount() {
+            return newCount;
+        }
+
+        /**
+         * Gets the text after the second {@code @@} of the hunk header, usually the enclosing function.
+         *
+         * @return the section heading, or an empty string
+         */
+        @Nonnull
+        public String getSection() {
+            return section;
+        }
+
+        /**
+         * Gets the number of added lines.
+         *
+         * @return the additions
+         */
+        public int getAdditions() {
+            return additions;
+        }
+
+        /**
+         * Gets the number of removed lines.
+         *
+         * @return the deletions
+         */
+        public int getDeletions() {
+            return deletions;
+        }
+
+        /**
+         * Gets the number of ranges of added lines.
+         *
+         * @return the number of ranges
+         */
+        public int getAddedRangeCount() {
+            return added.length / 2;
+        }
+
+        /**
+         * Gets the first line of a range of added lines, in the new file.
+         *
+         * @param range
+         *            the range index
+         * @return the first line
+         */
+        public int getAddedRangeStart(int range) {
+            return added[range * 2];
+        }
+
+        /**
+         * Gets the last line of a range of added lines, in the new file.
+         *
+         * @param range
+         *            the range index
+         * @return the last line, inclusive
+         */
+        public int getAddedRangeEnd(int range) {
+            return added[range * 2 + 1];
+        }
+
+        /**
+         * Gets the number of ranges of removed lines.
+         *
+         * @return the number of ranges
+         */
+        public int getDeletedRangeCount() {
+            return deleted.length / 2;
+        }
+
+        /**
+         * Gets the first line of a range of removed lines, in the old file.
+         *
+         * @param range
+         *            the range index
+         * @return the first line
+         */
+        public int getDeletedRangeStart(int range) {
+            return deleted[range * 2];
+        }
+
+        /**
+         * Gets the last line of a range of removed lines, in the old file.
+         *
+         * @param range
+         *            the range index
+         * @return the last line, inclusive
+         */
+        public int getDeletedRangeEnd(int range) {
+            return deleted[range * 2 + 1];
+        }
+
+        /**
+         * Checks if a line of the new file was added by this hunk.
+         *
+         * @param newLine
+         *            the line in the new file
+         * @return true if the line was added
+         */
+        public boolean isAdded(int newLine) {
+            return contains(added, newLine);
+        }
+
+        /**
+         * Checks if a line of the old file was removed by this hunk.
+         *
+         * @param oldLine
+         *            the line in the old file
+         * @return true if the line was removed
+         */
+        public boolean isDeleted(int oldLine) {
+            return contains(deleted, oldLine);
+        }
+
+        private static boolean contains(int[] ranges, int line) {
+            for (int i = 0; i < ranges.length; i += 2) {
+                if (line >= ranges[i] && line <= ranges[i + 1]) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * To string.
+         *
+         * @return the string
+         */
+        @Override
+        public String toString() {
+            return file.getPath() + " @@ -" + oldStart + "," + oldCount + " +" + newStart + "," + newCount + " @@";
+        }
+
+        private static class Builder {
+            private final File file;
+            private final int oldStart, oldCount, newStart, newCount;
+            private final String section;
+            private int[] added = new int[8];
+            private int[] deleted = new int[8];
+            private int addedSize, deletedSize;
+            private int additions, deletions;
+
+            private Builder(File file, int oldStart, int oldCount, int newStart, int newCount, String section) {
+                this.file = file;
+                this.oldStart = oldStart;
+                this.oldCount = oldCount;
+                this.newStart = newStart;
+                this.newCount = newCount;
+                this.section = section;
+            }
+
+            /**
+             * Parses a header such as {@code @@ -1,5 +1,6 @@ section}.
+             */
+            static Builder fromHeader(File file, String header) throws IOException {
+                int end = header.indexOf(" @@", 3);
+                String[] ranges = end < 0 ? new String[0] : header.substring(3, end).split(" ");
+                if (ranges.length != 2 || !ranges[0].startsWith("-") || !ranges[1].startsWith("+")) {
+                    throw new IOException("Malformed hunk header in " + file.getPath() + ": " + header);
+                }
+                try {
+                    String oldRange = ranges[0].substring(1);
+                    String newRange = ranges[1].substring(1);
+                    String section = header.substring(end + 3).trim();
+                    return new Builder(file,
+                            start(oldRange),
+                            count(oldRange),
+                            start(newRange),
+                            count(newRange),
+                            section);
+                } catch (NumberFormatException e) {
+                    throw new IOException("Malformed hunk header in " + file.getPath() + ": " + header, e);
+                }
+            }
+
+            private static int start(String range) {
+                int comma = range.indexOf(',');
+                return Integer.parseInt(comma < 0 ? range : range.substring(0, comma));
+            }
+
+            private static int count(String range) {
+                int comma = range.indexOf(',');
+                return comma < 0 ? 1 : Integer.parseInt(range.substring(comma + 1));
+            }
+
+            void added(int line) {
+                additions++;
+                if (addedSize > 0 && added[addedSize - 1] == line - 1) {
+                    added[addedSize - 1] = line;
+                    return;
+                }
+                if (addedSize == added.length) {
+                    added = Arrays.copyOf(added, addedSize * 2);
+                }
+                added[addedSize++] = line;
+                added[addedSize++] = line;
+            }
+
+            void deleted(int line) {
+                deletions++;
+                if (deletedSize > 0 && deleted[deletedSize - 1] == line - 1) {
+                    deleted[deletedSize - 1] = line;
+                    return;
+                }
+                if (deletedSize == deleted.length) {
+                    deleted = Arrays.copyOf(deleted, deletedSize * 2);
+                }
+                deleted[deletedSize++] = line;
+                deleted[deletedSize++] = line;
+            }
+
+            Hunk build() {
+                return new Hunk(this);
+            }
+        }
+    }
+
+    /**
+     * The header of the file being read.
+     */
+    private static class FileHeader {
+        private String oldPath;
+        private String newPath;
+        private Status status = Status.MODIFIED;
+        private boolean binary;
+        private File file;
+
+        /**
+         * Guesses the paths from {@code a/path b/path}. The {@code ---}, {@code +++} and rename lines that may follow
+         * are more reliable, since paths can contain spaces.
+         */
+        static FileHeader fromGitLine(String paths) {
+            FileHeader header = new FileHeader();
+            String oldPath;
+            String newPath;
+            if (paths.startsWith("\"")) {
+                int end = closingQuote(paths);
+                oldPath = paths.substring(0, end + 1);
+                newPath = paths.substring(Math.min(end + 2, paths.length()));
+            } else if (paths.endsWith("\"") && paths.contains(" \"")) {
+                oldPath = paths.substring(0, paths.lastIndexOf(" \""));
+                newPath = paths.substring(paths.lastIndexOf(" \"") + 1);
+            } else {
+                // without a rename both halves are the same length
+                int half = (paths.length() - 1) / 2;
+                if (paths.length() % 2 == 1 && half >= 2
+                        && paths.substring(2, half).equals(paths.substring(half + 3))) {
+                    oldPath = paths.substring(0, half);
+                    newPath = paths.substring(half + 1);
+                } else {
+                    int separator = Math.max(paths.lastIndexOf(" b/"), 0);
+                    oldPath = paths.substring(0, separator);
+                    newPath = paths.substring(Math.min(separator + 1, paths.length()));
+                }
+            }
+            header.oldPath = stripPrefix(unquote(oldPath));
+            header.newPath = stripPrefix(unquote(newPath));
+            return header;
+        }
+
+        void readHeaderLine(String text) {
+            if (text.startsWith("new file mode ")) {
+                status = Status.ADDED;
+                oldPath = null;
+            } else if (text.startsWith("deleted file mode ")) {
+                status = Status.REMOVED;
+                newPath = null;
+            } else if (text.startsWith("rename from ")) {
+                status = Status.RENAMED;
+                oldPath = unquote(text.substring("rename from ".length()));
+            } else if (text.startsWith("rename to ")) {
+                newPath = unquote(text.substring("rename to ".length()));
+            } else if (text.startsWith("copy from ")) {
+                status = Status.COPIED;
+                oldPath = unquote(text.substring("copy from ".length()));
+            } else if (text.startsWith("copy to ")) {
+                newPath = unquote(text.substring("copy to ".length()));
+            } else if (text.startsWith("--- ")) {
+                oldPath = diffPath(text.substring(4));
+            } else if (text.startsWith("+++ ")) {
+                newPath = diffPath(text.substring(4));
+            } else if (text.startsWith("Binary files ") || text.equals("GIT binary patch")) {
+                binary = true;
+            }
+        }
+
+        File toFile() {
+            if (file == null) {
+                file = new File(oldPath, newPath, status, binary);
+            }
+            return file;
+        }
+
+        private static String diffPath(String value) {
+            int tab = value.indexOf('\t');
+            String path = unquote(tab < 0 ? value : value.substring(0, tab));
+            return DEV_NULL.equals(path) ? null : stripPrefix(path);
+        }
+
+        private static String stripPrefix(String path) {
+            return path.startsWith("a/") || path.startsWith("b/") ? path.substring(2) : path;
+        }
+
+        private static int closingQuote(String value) {
+            for (int i = 1; i < value.length(); i++) {
+                if (value.charAt(i) == '\\') {
+                    i++;
+                } else if (value.charAt(i) == '"') {
+                    return i;
+                }
+            }
+            return value.length() - 1;
+        }
+
+        /**
+         * Removes the quotes git puts around paths with special characters, decoding C-style escapes.
+         */
+        private static String unquote(String value) {
+            if (value.length() < 2 || value.charAt(0) != '"' || value.charAt(value.length() - 1) != '"') {
+                return value;
+            }
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(value.length());
+            for (int i = 1; i < value.length() - 1; i++) {
+                char c = value.charAt(i);
+                if (c != '\\' || i + 1 >= value.length() - 1) {
+                    byte[] encoded = String.valueOf(c).getBytes(StandardCharsets.UTF_8);
+                    bytes.write(encoded, 0, encoded.length);
+                    continue;
+                }
+                char escaped = value.charAt(++i);
+                if (escaped >= '0' && escaped <= '7' && i + 2 < value.length() - 1) {
+                    bytes.write(Integer.parseInt(value.substring(i, i + 3), 8));
+                    i += 2;
+                } else if (escaped == 't') {
+                    bytes.write('\t');
+                } else if (escaped == 'n') {
+                    bytes.write('\n');
+                } else {
+                    bytes.write(escaped);
+                }
+            }
+            return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,476 @@
+package org.kohsuke.github;
+
+import org.kohsuke.github.connector.GitHubConnectorResponse;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+
+import static java.net.HttpURLConnection.HTTP_OK;
+import static java.net.HttpURLConnection.HTTP_PARTIAL;
+import static java.util.logging.Level.FINE;
+
+/**
+ * Downloads workflow artifacts and release assets to files, several at a time, resuming interrupted transfers.
+ *
+ * <p>
+ * {@link GHArtifact#download(org.kohsuke.github.function.InputStreamFunction)} reads a download in a single request,
+ * and starts over if it fails. The manager writes each download to a {@code .part} file next to its target as it is
+ * received, named after the id of the artifact or asset so that it is never mistaken for part of another one. If the
+ * transfer breaks off, it asks for the rest with a {@code Range} request, up to {@link #withMaxAttempts(int) a number
+ * of attempts}. Once the file has the size GitHub reported for the artifact or asset, it is moved to its target.
+ *
+ * <p>
+ * At most {@link #withMaxConnections(int) a few} downloads run at a time, and all of them together can be held to
+ * {@link #withBandwidthLimit(long) a number of bytes per second}.
+ *
+ * <pre>
+ * List&lt;GHDownloadManager.Result&gt; results = new GHDownloadManager().withMaxConnections(2)
+ *         .withBandwidthLimit(10 * 1024 * 1024)
+ *         .downloadArtifacts(run, Paths.get("artifacts"));
+ * </pre>
+ */
+public class GHDownloadManager {
+
+    private static final Logger LOGGER = Logger.getLogger(GHDownloadManager.class.getName());
+
+    /** The number of downloads run at a time, unless set otherwise. */
+    public static final int DEFAULT_MAX_CONNECTIONS = 4;
+
+    /** The number of requests made for one download, unless set otherwise. */
+    public static final int DEFAULT_MAX_ATTEMPTS = 5;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final int HTTP_RANGE_NOT_SATISFIABLE = 416;
+
+    private int maxConnections = DEFAULT_MAX_CONNECTIONS;
+    private int maxAttempts = DEFAULT_MAX_ATTEMPTS;
+    private long bandwidthLimit;
+
+    /**
+     * Instantiates a new download manager.
+     */
+    public GHDownloadManager() {
+    }
+
+    /**
+     * Sets the number of downloads run at a time.
+     *
+     * @param maxConnections
+     *            the number of downloads, at least 1
+     * @return this manager
+     */
+    @Nonnull
+    public GHDownloadManager withMaxConnections(int maxConnections) {
+        if (maxConnections < 1) {
+            throw new IllegalArgumentException("maxConnections must be at least 1");
+        }
+        this.maxConnections = maxConnections;
+        return this;
+    }
+
+    /**
+     * Sets the number of requests made for one download before it is given up.
+     *
+     * @param maxAttempts
+     *            the number of requests, at least 1
+     * @return this manager
+     */
+    @Nonnull
+    public GHDownloadManager withMaxAttempts(int maxAttempts) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts must be at least 1");
+        }
+        this.maxAttempts = maxAttempts;
+        return this;
+    }
+
+    /**
+     * Sets the number of bytes per second all downloads together may receive.
+     *
+     * @param bytesPerSecond
+     *            the bandwidth, or 0 for no limit
+     * @return this manager
+     */
+    @Nonnull
+    public GHDownloadManager withBandwidthLimit(long bytesPerSecond) {
+        if (bytesPerSecond < 0) {
+            throw new IllegalArgumentException("bytesPerSecond must not be negative");
+        }
+        this.bandwidthLimit = bytesPerSecond;
+        return this;
+    }
+
+    /**
+     * Downloads the artifacts of a workflow run to a directory, each to a file named after the artifact.
+     *
+     * @param run
+     *            the workflow run
+     * @param directory
+     *            the directory, which is created if needed
+     * @return the result of each download, in the order the artifacts are listed
+     * @throws IOException
+     *             if the artifacts could not be listed, or the downloads were interrupted
+     */
+    @Nonnull
+    public List<Result> downloadArtifacts(@Nonnull GHWorkflowRun run, @Nonnull Path directory) throws IOException {
+        List<Download> downloads = new ArrayList<>();
+        Iterator<GHArtifact> artifacts = run.listArtifacts().iterator();
+        while (RateLimitedExecutor.hasNext(artifacts)) {
+            GHArtifact artifact = artifacts.next();
+            downloads.add(Download.of(artifact, directory.resolve(artifact.getName() + ".zip")));
+        }
+        return download(downloads);
+    }
+
+    /**
+     * Runs downloads, at most {@link #withMaxConnections(int) a few} at a time.
+     *
+     * @param downloads
+     *            the downloads
+     * @return the result of each download, in the order they were given
+     * @throws IOException
+     *             if the downloads were interrupted
+     */
+    @Nonnull
+    public List<Result> download(@Nonnull Collection<Download> downloads) throws IOException {
+        List<Download> pending = new ArrayList<>(downloads);
+        Result[] results = new Result[pending.size()];
+        if (pending.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Bandwidth bandwidth = new Bandwidth(bandwidthLimit);
+        BlockingQueue<Integer> done = new LinkedBlockingQueue<>();
+        try (RateLimitedExecutor executor = new RateLimitedExecutor(pending.get(0).root,
+                RateLimitTarget.CORE,
+                maxConnections,
+                "github-api-download")) {
+            for (int i = 0; i < pending.size(); i++) {
+                Download download = pending.get(i);
+                int index = i;
+                executor.submit(() -> {
+                    executor.awaitBudget();
+                    return run(download, bandwidth);
+                }).whenComplete((size, failure) -> {
+                    results[index] = new Result(download, size == null ? -1 : size, failure);
+                    done.add(index);
+                });
+            }
+            for (int i = 0; i < pending.size(); i++) {
+                RateLimitedExecutor.take(done);
+            }
+        }
+        List<Result> list = new ArrayList<>();
+        for (Result result : results) {
+            list.add(result);
+        }
+        return list;
+    }
+
+    /**
+     * Downloads to the part file, resuming after failed attempts, then moves it to the target.
+     */
+    private long run(Download download, Bandwidth bandwidth) throws IOException {
+        Path target = download.target.toAbsolutePath();
+        Files.createDirectories(target.getParent());
+        Path part = target.resolveSibling(target.getFileName() + "." + download.id + ".part");
+        try (FileChannel channel = FileChannel.open(part, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            IOException last = null;
+            for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+                long position = channel.size();
+                if (download.size > 0 && position > download.size) {
+                    // longer than the artifact or asset, so what it holds cannot be part of it
+                    channel.truncate(0);
+                    position = 0;
+                }
+                if (download.size > 0 && position == download.size) {
+                    break;
+                }
+                try {
+                    if (transfer(download, channel, position, bandwidth)) {
+                        break;
+                    }
+                    last = new EOFException(
+                            "Download of " + download.name + " ended at " + channel.size() + " of " + download.size);
+                } catch (HttpException e) {
+                    if (e.getResponseCode() == HTTP_RANGE_NOT_SATISFIABLE && position > 0) {
+                        // the part file reaches past the end of the content, so the download starts over
+                        channel.truncate(0);
+                    } else if (e.getResponseCode() >= 400 && e.getResponseCode() < 500) {
+                        throw e;
+                    }
+                    last = e;
+                } catch (InterruptedIOException | GHFileNotFoundException e) {
+                    throw e;
+                } catch (IOException e) {
+                    last = e;
+                }
+                LOGGER.log(FINE, "Attempt " + attempt + " to download " + download.name + " failed", last);
+                if (attempt == maxAttempts) {
+                    throw last;
+                }
+            }
+            if (download.size > 0 && channel.size() != download.size) {
+                throw new IOException("Downloaded " + channel.size() + " bytes of " + download.name + " instead of "
+                        + download.size);
+            }
+            channel.force(false);
+        }
+        long size = Files.size(part);
+        try {
+            Files.move(part, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(part, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return size;
+    }
+
+    /**
+     * Requests the content from a position, and appends what is received to the channel.
+     *
+     * @return true if the whole content was received
+     */
+    private boolean transfer(Download download, FileChannel channel, long position, Bandwidth bandwidth)
+            throws IOException {
+        Requester request = download.request.get();
+        if (position > 0) {
+            request.setHeader("Range", "bytes=" + position + "-");
+        }
+        Boolean complete = download.root.getClient()
+                .sendStreamingRequest(request.build(),
+                        response -> receive(response, channel, position, download.size, bandwidth));
+        return complete != null && complete;
+    }
+
+    private static boolean receive(GitHubConnectorResponse response,
+            FileChannel channel,
+            long position,
+            long size,
+            Bandwidth bandwidth) throws IOException {
+        long offset = position;
+        if (response.statusCode() == HTTP_PARTIAL) {
+            long start = rangeStart(response.header("Content-Range"));
+            if (start != position) {
+                throw new IOException("Asked for bytes from " + position + " but received them from " + start);
+            }
+        } else if (response.statusCode() == HTTP_OK) {
+            // the range was ignored, so the content starts over
+            channel.truncate(0);
+            offset = 0;
+        } else {
+            throw new IOException("Unexpected status " + response.statusCode());
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        try (InputStream in = response.unbufferedBodyStream()) {
+            for (int read = in.read(buffer.array()); read != -1; read = in.read(buffer.array())) {
+                bandwidth.acquire(read);
+                buffer.clear().limit(read);
+                while (buffer.hasRemaining()) {
+                    offset += channel.write(buffer, offset);
+                }
+            }
+        }
+        return size <= 0 || offset == size;
+    }
+
+    private static long rangeStart(@CheckForNull String contentRange) throws IOException {
+        // bytes 100-999/1000
+        if (contentRange != null && contentRange.startsWith("bytes ")) {
+            int dash = contentRange.indexOf('-');
+            if (dash > 6) {
+                try {
+                    return Long.parseLong(contentRange.substring(6, dash).trim());
+                } catch (NumberFormatException e) {
+                    // reported below
+                }
+            }
+        }
+        throw new IOException("Invalid Content-Range " + contentRange);
+    }
+
+    /**
+     * Spaces out the bytes received by all downloads, so that they add up to at most a number of bytes per second.
+     */
+    private static final class Bandwidth {
+        private final long bytesPerSecond;
+        private long next = System.nanoTime();
+
+        Bandwidth(long bytesPerSecond) {
+            this.bytesPerSecond = bytesPerSecond;
+        }
+
+        void acquire(int bytes) throws InterruptedIOException {
+            if (bytesPerSecond == 0) {
+                return;
+            }
+            long wait;
+            synchronized (this) {
+                long now = System.nanoTime();
+                // time not used in the last second is not carried over, so a pause is not followed by a burst
+                long start = Math.max(next, now - TimeUnit.SECONDS.toNanos(1));
+                next = start + TimeUnit.SECONDS.toNanos(1) * bytes / bytesPerSecond;
+                wait = start - now;
+            }
+            if (wait > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(wait);
+                } catch (InterruptedException e) {
+                    throw (InterruptedIOException) new InterruptedIOException().initCause(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Something to download, and the file to write it to.
+     */
+    public static class Download {
+        private final GitHub root;
+        private final Supplier<Requester> request;
+        private final long id;
+        private final String name;
+        private final long size;
+        private final Path target;
+
+        private Download(GitHub root, Supplier<Requester> request, long id, String name, long size, Path target) {
+            this.root = root;
+            this.request = request;
+            this.id = id;
+            this.name = name;
+            this.size = size;
+            this.target = target;
+        }
+
+        /**
+         * Creates the download of a workflow artifact.
+         *
+         * @param artifact
+         *            the artifact
+         * @param target
+         *            the file to write the zip archive to
+         * @return the download
+         */
+        @Nonnull
+        public static Download of(@Nonnull GHArtifact artifact, @Nonnull Path target) {
+            return new Download(artifact.root(),
+                    artifact::downloadRequest,
+                    artifact.getId(),
+                    artifact.getName(),
+                    artifact.getSizeInBytes(),
+                    target);
+        }
+
+        /**
+         * Creates the download of a release asset.
+         *
+         * @param asset
+         *            the asset
+         * @param target
+         *            the file to write the asset to
+         * @return the download
+         */
+        @Nonnull
+        public static Download of(@Nonnull GHAsset asset, @Nonnull Path target) {
+            return new Download(asset.root(),
+                    asset::downloadRequest,
+                    asset.getId(),
+                    asset.getName(),
+                    asset.getSize(),
+                    target);
+        }
+
+        /**
+         * Gets the name of the artifact or asset.
+         *
+         * @return the name
+         */
+        @Nonnull
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Gets the file the download is written to.
+         *
+         * @return the target
+         */
+        @Nonnull
+        public Path getTarget() {
+            return target;
+        }
+    }
+
+    /**
+     * The outcome of a download.
+     */
+    public static class Result {
+        private final Download download;
+        private final long size;
+        private final Throwable failure;
+
+        private Result(Download download, long size, Throwable failure) {
+            this.download = download;
+            this.size = size;
+            this.failure = failure;
+        }
+
+        /**
+         * Gets the download.
+         *
+         * @return the download
+         */
+        @Nonnull
+        public Download getDownload() {
+            return download;
+        }
+
+        /**
+         * Gets the size of the file that was written.
+         *
+         * @return the number of bytes, or -1 if the download failed
+         */
+        public long getSize() {
+            return size;
+        }
+
+        /**
+         * Gets the failure.
+         *
+         * @return the exception, or {@code null} if the download succeeded
+         */
+        @CheckForNull
+        public Throwable getFailure() {
+            return failure;
+        }
+
+        /**
+         * Checks if the download succeeded.
+         *
+         * @return true if the file was written
+         */
+        public boolean isSuccessful() {
+            return failure == null;
+        }
+    }
+}
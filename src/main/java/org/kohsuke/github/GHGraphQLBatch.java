@@ -0,0 +1,412 @@
+package org.kohsuke.github;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Fetches many repositories, pull requests or users with a few GraphQL requests rather than one REST request each.
+ *
+ * <p>
+ * Lookups are packed as aliased fields into queries of at most {@link #withBatchSize(int) batch size} lookups. The
+ * fields requested are scalars and connection counts, so each query costs a single point of the GraphQL rate limit,
+ * which is tracked as {@link RateLimitTarget#GRAPHQL}.
+ *
+ * <p>
+ * The results are read into the usual {@link GHRepository}, {@link GHPullRequest} and {@link GHUser} objects, with
+ * GraphQL fields aliased to the names used by the REST API. Only the common fields are filled in. Fields the GraphQL
+ * API does not return, such as permissions or the review comment count, keep their default value, and the objects can
+ * be refreshed with {@link Refreshable#refresh()} where more is needed.
+ *
+ * <p>
+ * Lookups that find nothing, because the object does not exist or is not visible, are left out of the result.
+ *
+ * <pre>
+ * Map&lt;Integer, GHPullRequest&gt; pullRequests = new GHGraphQLBatch(gitHub).getPullRequests(repository, numbers);
+ * </pre>
+ */
+public class GHGraphQLBatch {
+
+    /** The default number of lookups per query. */
+    static final int DEFAULT_BATCH_SIZE = 100;
+
+    /**
+     * The most lookups per query. A query whose fields are all scalars and counts costs one point up to 100 nodes.
+     */
+    static final int MAX_BATCH_SIZE = 100;
+
+    private static final String REPOSITORY_FRAGMENT = "fragment repository on Repository {"
+            + " node_id: id id: databaseId name full_name: nameWithOwner description html_url: url"
+            + " homepage: homepageUrl private: isPrivate fork: isFork archived: isArchived disabled: isDisabled"
+            + " is_template: isTemplate visibility stargazers_count: stargazerCount forks_count: forkCount"
+            + " created_at: createdAt updated_at: updatedAt pushed_at: pushedAt has_issues: hasIssuesEnabled"
+            + " has_wiki: hasWikiEnabled owner { login type: __typename } defaultBranchRef { name }"
+            + " primaryLanguage { name } }";
+
+    private static final String USER_FRAGMENT = "fragment user on User {"
+            + " node_id: id id: databaseId login name email company location bio html_url: url"
+            + " avatar_url: avatarUrl blog: websiteUrl twitter_username: twitterUsername site_admin: isSiteAdmin"
+            + " hireable: isHireable created_at: createdAt updated_at: updatedAt followers { totalCount }"
+            + " following { totalCount } public_repos: repositories(privacy: PUBLIC) { totalCount } }";
+
+    private static final String PULL_REQUEST_FRAGMENT = "fragment pullRequest on PullRequest {"
+            + " node_id: id id: databaseId number title body state html_url: url created_at: createdAt"
+            + " updated_at: updatedAt closed_at: closedAt merged_at: mergedAt merged draft: isDraft locked"
+            + " additions deletions changed_files: changedFiles maintainer_can_modify: maintainerCanModify mergeable"
+            + " mergeable_state: mergeStateStatus"
+            + " commits { totalCount } comments { totalCount } author { login type: __typename }"
+            + " mergedBy { login type: __typename } headRefName headRefOid baseRefName baseRefOid"
+            + " mergeCommit { oid } repository { name full_name: nameWithOwner owner { login type: __typename } } }";
+
+    /** Makes {@code mergeStateStatus} available, which stands in for the REST mergeable state. */
+    private static final String MERGE_INFO_PREVIEW = "application/vnd.github.merge-info-preview+json";
+
+    private final GitHub root;
+    private int batchSize = DEFAULT_BATCH_SIZE;
+
+    /**
+     * Creates a batch loader.
+     *
+     * @param root
+     *            the git hub to send the queries with
+     */
+    public GHGraphQLBatch(@Nonnull GitHub root) {
+        this.root = root;
+    }
+
+    /**
+     * Sets the number of lookups packed into each query.
+     *
+     * @param batchSize
+     *            the number of lookups, from 1 to 100
+     * @return this batch loader
+     */
+    public GHGraphQLBatch withBatchSize(int batchSize) {
+        if (batchSize < 1 || batchSize > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Batch size must be between 1 and " + MAX_BATCH_SIZE);
+        }
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    /**
+     * Gets repositories by full name.
+     *
+     * @param fullNames
+     *            the full names, such as "hub4j/github-api"
+     * @return the repositories found, by full name, in the order of the names
+     * @throws IOException
+     *             the io exception
+     */
+    @Nonnull
+    public Map<String, GHRepository> getRepositories(@Nonnull Collection<String> fullNames) throws IOException {
+        Map<String, JsonNode> found = execute(fullNames, REPOSITORY_FRAGMENT, null, (fullName, query) -> {
+            int slash = fullName.indexOf('/');
+            if (slash <= 0 || slash != fullName.lastIndexOf('/') || slash == fullName.length() - 1) {
+                throw new IllegalArgumentException("Invalid repository name: " + fullName);
+            }
+            return "repository(owner: " + query.variable("String!", fullName.substring(0, slash)) + ", name: "
+                    + query.variable("String!", fullName.substring(slash + 1)) + ") { ...repository }";
+        });
+        Map<String, GHRepository> result = new LinkedHashMap<>();
+        for (Map.Entry<String, JsonNode> entry : found.entrySet()) {
+            result.put(entry.getKey(), toRepository((ObjectNode) entry.getValue()));
+        }
+        return result;
+    }
+
+    /**
+     * Gets pull requests of a repository by number.
+     *
+     * @param repository
+     *            the repository
+     * @param numbers
+     *            the pull request numbers
+     * @return the pull requests found, by number, in the order of the numbers
+     * @throws IOException
+     *             the io exception
+     */
+    @Nonnull
+    public Map<Integer, GHPullRequest> getPullRequests(@Nonnull GHRepository repository,
+            @Nonnull Collection<Integer> numbers) throws IOException {
+        String owner = repository.getOwnerName();
+        String name = repository.getName();
+        Map<Integer, JsonNode> found = execute(numbers,
+                PULL_REQUEST_FRAGMENT,
+                "pullRequest",
+                (number, query) -> "repository(owner: " + query.variable("String!", owner) + ", name: "
+                        + query.variable("String!", name) + ") { pullRequest(number: "
+                        + query.variable("Int!", number) + ") { ...pullRequest } }");
+        Map<Integer, GHPullRequest> result = new LinkedHashMap<>();
+        for (Map.Entry<Integer, JsonNode> entry : found.entrySet()) {
+            result.put(entry.getKey(), toPullRequest((ObjectNode) entry.getValue(), repository));
+        }
+        return result;
+    }
+
+    /**
+     * Gets users by login.
+     *
+     * <p>
+     * The users found are also remembered by {@link GitHub#getUser(String)}.
+     *
+     * @param logins
+     *            the logins
+     * @return the users found, by login, in the order of the logins
+     * @throws IOException
+     *             the io exception
+     */
+    @Nonnull
+    public Map<String, GHUser> getUsers(@Nonnull Collection<String> logins) throws IOException {
+        Map<String, JsonNode> found = execute(logins,
+                USER_FRAGMENT,
+                null,
+                (login, query) -> "user(login: " + query.variable("String!", login) + ") { ...user }");
+        Map<String, GHUser> result = new LinkedHashMap<>();
+        for (Map.Entry<String, JsonNode> entry : found.entrySet()) {
+            result.put(entry.getKey(), toUser((ObjectNode) entry.getValue()));
+        }
+        return result;
+    }
+
+    /**
+     * Gets repositories, pull requests and users by node id, as returned by {@link GHObject#getNodeId()}.
+     *
+     * <p>
+     * Node ids of other types are left out of the result.
+     *
+     * @param nodeIds
+     *            the node ids
+     * @return the objects found, by node id, in the order of the ids
+     * @throws IOException
+     *             the io exception
+     */
+    @Nonnull
+    public Map<String, GHObject> getNodes(@Nonnull Collection<String> nodeIds) throws IOException {
+        Map<String, JsonNode> found = execute(nodeIds,
+                REPOSITORY_FRAGMENT + " " + PULL_REQUEST_FRAGMENT + " " + USER_FRAGMENT,
+                null,
+                (nodeId, query) -> "node(id: " + query.variable("ID!", nodeId)
+                        + ") { __typename ...repository ...pullRequest ...user }");
+        Map<String, GHObject> result = new LinkedHashMap<>();
+        for (Map.Entry<String, JsonNode> entry : found.entrySet()) {
+            ObjectNode node = (ObjectNode) entry.getValue();
+            switch (node.path("__typename").asText()) {
+                case "Repository" :
+                    result.put(entry.getKey(), toRepository(node));
+                    break;
+                case "PullRequest" :
+                    result.put(entry.getKey(), toPullRequest(node, null));
+                    break;
+                case "User" :
+                    result.put(entry.getKey(), toUser(node));
+                    break;
+                default :
+                    break;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Runs the lookups of a set of keys, a batch per query.
+     *
+     * @param keys
+     *            the keys, duplicates are looked up once
+     * @param fragments
+     *            the fragment definitions the lookups use
+     * @param nested
+     *            the field that holds the result within the field of a lookup, or null if the field is the result
+     * @param lookup
+     *            writes the field that looks up a key, with its selection, declaring its arguments as query variables
+     * @return the results found, by key
+     */
+    private <K> Map<K, JsonNode> execute(Collection<K> keys,
+            String fragments,
+            String nested,
+            BiFunction<K, Query, String> lookup) throws IOException {
+        List<K> unique = new ArrayList<>(new LinkedHashSet<>(keys));
+        Map<K, JsonNode> result = new LinkedHashMap<>();
+        for (int start = 0; start < unique.size(); start += batchSize) {
+            List<K> batch = unique.subList(start, Math.min(start + batchSize, unique.size()));
+            Query query = new Query();
+            StringBuilder selection = new StringBuilder();
+            for (int i = 0; i < batch.size(); i++) {
+                selection.append(" r").append(i).append(": ").append(lookup.apply(batch.get(i), query));
+            }
+            JsonNode data = send(query.toString(selection, fragments), query.variables);
+            for (int i = 0; i < batch.size(); i++) {
+                JsonNode value = data.path("r" + i);
+                if (nested != null) {
+                    value = value.path(nested);
+                }
+                if (value.isObject()) {
+                    result.put(batch.get(i), value);
+                }
+            }
+        }
+        return result;
+    }
+
+    private JsonNode send(String query, Map<String, Object> variables) throws IOException {
+        JsonNode response = root.createRequest()
+                .method("POST")
+                .withUrlPath(getGraphQLUrl())
+                .withHeader("Accept", MERGE_INFO_PREVIEW)
+                .rateLimit(RateLimitTarget.GRAPHQL)
+                .with("query", query)
+                .with("variables", variables)
+                .fetch(JsonNode.class);
+        for (JsonNode error : response.path("errors")) {
+            // lookups that find nothing come back as null with a NOT_FOUND error
+            if (!"NOT_FOUND".equals(error.path("type").asText())) {
+                throw new GHIOException("GraphQL query failed: " + error.path("message").asText());
+            }
+        }
+        JsonNode data = response.path("data");
+        if (!data.isObject()) {
+            throw new GHIOException("GraphQL query returned no data");
+        }
+        return data;
+    }
+
+    /**
+     * Gets the GraphQL endpoint, which sits next to the REST API rather than under it on GitHub Enterprise.
+     */
+    private String getGraphQLUrl() {
+        String apiUrl = root.getApiUrl();
+        if (apiUrl.endsWith("/api/v3")) {
+            return apiUrl.substring(0, apiUrl.length() - "/v3".length()) + "/graphql";
+        }
+        return apiUrl + "/graphql";
+    }
+
+    private GHRepository toRepository(ObjectNode node) throws IOException {
+        node.put("url", root.getApiUrl() + "/repos/" + node.path("full_name").asText());
+        node.put("default_branch", text(node.path("defaultBranchRef").path("name")));
+        node.put("language", text(node.path("primaryLanguage").path("name")));
+        String visibility = text(node.path("visibility"));
+        node.put("visibility", visibility != null ? visibility.toLowerCase(Locale.ENGLISH) : null);
+        toPerson(node.get("owner"));
+        return reader().forType(GHRepository.class).readValue(node);
+    }
+
+    private GHPullRequest toPullRequest(ObjectNode node, GHRepository repository) throws IOException {
+        JsonNode repositoryNode = node.remove("repository");
+        if (repository == null) {
+            repository = toRepository((ObjectNode) repositoryNode);
+        }
+        String url = root.getApiUrl() + "/repos/" + repositoryNode.path("full_name").asText();
+        int number = node.path("number").asInt();
+        node.put("url", url + "/pulls/" + number);
+        node.put("issue_url", url + "/issues/" + number);
+        String state = node.path("state").asText();
+        node.put("state", "MERGED".equals(state) ? "closed" : state.toLowerCase(Locale.ENGLISH));
+        node.set("user", toPerson(node.get("author")));
+        node.set("merged_by", toPerson(node.get("mergedBy")));
+        node.set("head", commitPointer(node, "head"));
+        node.set("base", commitPointer(node, "base"));
+        node.put("merge_commit_sha", text(node.path("mergeCommit").path("oid")));
+        String mergeable = node.path("mergeable").asText();
+        node.put("mergeable", "UNKNOWN".equals(mergeable) ? null : Boolean.valueOf("MERGEABLE".equals(mergeable)));
+        String mergeableState = text(node.path("mergeable_state"));
+        node.put("mergeable_state", mergeableState != null ? mergeableState.toLowerCase(Locale.ENGLISH) : null);
+        flattenCounts(node);
+        return reader().forType(GHPullRequest.class).<GHPullRequest>readValue(node).wrapUp(repository);
+    }
+
+    private GHUser toUser(ObjectNode node) throws IOException {
+        toPerson(node);
+        flattenCounts(node);
+        return root.intern(reader().forType(GHUser.class).readValue(node));
+    }
+
+    /**
+     * Adds the api url to a user or organization so it can populate itself later. Deleted accounts are null.
+     */
+    private JsonNode toPerson(JsonNode node) {
+        if (node == null || !node.isObject()) {
+            return null;
+        }
+        ObjectNode person = (ObjectNode) node;
+        if (!person.has("type")) {
+            person.put("type", "User");
+        }
+        String path = "Organization".equals(person.get("type").asText()) ? "/orgs/" : "/users/";
+        person.put("url", root.getApiUrl() + path + person.path("login").asText());
+        return person;
+    }
+
+    private static ObjectNode commitPointer(ObjectNode node, String side) {
+        ObjectNode pointer = node.objectNode();
+        pointer.put("ref", text(node.path(side + "RefName")));
+        pointer.put("sha", text(node.path(side + "RefOid")));
+        return pointer;
+    }
+
+    /**
+     * Replaces connections that only hold a {@code totalCount} with the count.
+     */
+    private static void flattenCounts(ObjectNode node) {
+        List<String> names = new ArrayList<>();
+        Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            if (field.getValue().size() == 1 && field.getValue().has("totalCount")) {
+                names.add(field.getKey());
+            }
+        }
+        for (String name : names) {
+            node.set(name, node.get(name).get("totalCount"));
+        }
+    }
+
+    private static String text(JsonNode node) {
+        return node.isValueNode() && !node.isNull() ? node.asText() : null;
+    }
+
+    private ObjectReader reader() {
+        return GitHubClient.getMappingObjectReader(root);
+    }
+
+    /**
+     * The variables of a query being written. Arguments are passed as variables so keys never need escaping.
+     */
+    private static class Query {
+        private final Map<String, Object> variables = new LinkedHashMap<>();
+        private final Map<String, String> names = new HashMap<>();
+        private final StringBuilder declarations = new StringBuilder();
+
+        /**
+         * Declares a variable, or reuses the one declared for the same value.
+         *
+         * @return the reference to the variable
+         */
+        String variable(String type, Object value) {
+            return names.computeIfAbsent(type + ":" + value, k -> {
+                String name = "v" + variables.size();
+                variables.put(name, value);
+                declarations.append(declarations.length() == 0 ? "$" : ", $").append(name).append(": ").append(type);
+                return "$" + name;
+            });
+        }
+
+        String toString(CharSequence selection, String fragments) {
+            return "query(" + declarations + ") {" + selection + " } " + fragments;
+        }
+    }
+}
@@ -24,6 +24,7 @@
 
 package org.kohsuke.github;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.infradna.tool.bridge_method_injector.WithBridgeMethods;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.apache.commons.lang3.StringUtils;
@@ -76,6 +77,7 @@ public class GHIssue extends GHObject implements Reactable {
 
     /** The closed at. */
     protected String closed_at;
+    private transient long closedAtEpochMillis;
 
     /** The comments. */
     protected int comments;
@@ -229,7 +231,22 @@ public class GHIssue extends GHObject implements Reactable {
      * @return the closed at
      */
     public Date getClosedAt() {
-        return GitHubClient.parseDate(closed_at);
+        return closedAtEpochMillis != 0 ? new Date(closedAtEpochMillis) : GitHubClient.parseDate(closed_at);
+    }
+
+    /**
+     * When was this issue closed, without allocating a {@link Date}.
+     *
+     * @return milliseconds since the epoch, or 0 if not known
+     */
+    public long getClosedAtEpochMillis() {
+        return closedAtEpochMillis;
+    }
+
+    @JsonProperty("closed_at")
+    private void setClosedAt(String closed_at) {
+        this.closed_at = closed_at;
+        this.closedAtEpochMillis = GitHubClient.toEpochMillis(closed_at);
     }
 
     /**
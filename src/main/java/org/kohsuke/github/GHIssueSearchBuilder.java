@@ -106,6 +106,17 @@ public class GHIssueSearchBuilder extends GHSearchBuilder<GHIssue> {
         return this;
     }
 
+    /**
+     * Performs the search and returns every result, not just the first 1000.
+     *
+     * The search is split on the {@code created} qualifier as needed. See {@link PartitionedSearchIterable}.
+     *
+     * @return the partitioned search iterable
+     */
+    public PartitionedSearchIterable<GHIssue> listExhaustively() {
+        return listPartitioned("created", GITHUB_LAUNCH, GHIssue::getId);
+    }
+
     /**
      * The enum Sort.
      */
@@ -211,6 +211,7 @@ public class GHLicense extends GHObject {
 
         URL url = getUrl();
         if (url != null) {
+            root().getPopulateMonitor().record(this);
             root().createRequest().setRawUrlPath(url.toString()).fetchInto(this);
         }
     }
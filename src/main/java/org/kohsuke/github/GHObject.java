@@ -1,6 +1,7 @@
 package org.kohsuke.github;
 
 import com.fasterxml.jackson.annotation.JacksonInject;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.infradna.tool.bridge_method_injector.WithBridgeMethods;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.apache.commons.lang3.builder.ReflectionToStringBuilder;
@@ -28,12 +29,19 @@ public abstract class GHObject extends GitHubInteractiveObject {
      */
     protected transient Map<String, List<String>> responseHeaderFields;
 
+    /**
+     * Name of the injected value that {@link #setResponseHeaderFields(GitHubConnectorResponse)} reads headers from.
+     */
+    static final String RESPONSE_HEADER_SOURCE = "org.kohsuke.github.GHObject.responseHeaderSource";
+
     private String url;
 
     private long id;
     private String nodeId;
     private String createdAt;
     private String updatedAt;
+    private transient long createdAtEpochMillis;
+    private transient long updatedAtEpochMillis;
 
     /**
      * Instantiates a new GH object.
@@ -42,12 +50,13 @@ public abstract class GHObject extends GitHubInteractiveObject {
     }
 
     /**
-     * Called by Jackson.
+     * Called by Jackson, with {@code null} unless objects keep response headers.
      *
      * @param connectorResponse
      *            the {@link GitHubConnectorResponse} to get headers from.
+     * @see ResponseHeaderMode
      */
-    @JacksonInject
+    @JacksonInject(RESPONSE_HEADER_SOURCE)
     protected void setResponseHeaderFields(@CheckForNull GitHubConnectorResponse connectorResponse) {
         if (connectorResponse != null) {
             responseHeaderFields = connectorResponse.allHeaders();
@@ -64,7 +73,8 @@ public abstract class GHObject extends GitHubInteractiveObject {
      * This method was added as a kind of hack to allow the caller to retrieve OAuth scopes and such. Use with caution.
      * The method might be removed in the future.
      *
-     * @return a map of header names to value lists
+     * @return a map of header names to value lists, or null if the client was built to not keep them
+     * @see GitHubBuilder#withResponseHeaderMode(ResponseHeaderMode)
      */
     @CheckForNull
     @Deprecated
@@ -81,7 +91,24 @@ public abstract class GHObject extends GitHubInteractiveObject {
      */
     @WithBridgeMethods(value = String.class, adapterMethod = "createdAtStr")
     public Date getCreatedAt() throws IOException {
-        return GitHubClient.parseDate(createdAt);
+        return createdAtEpochMillis != 0 ? new Date(createdAtEpochMillis) : GitHubClient.parseDate(createdAt);
+    }
+
+    /**
+     * When was this resource created, without allocating a {@link Date}.
+     *
+     * @return milliseconds since the epoch, or 0 if not known
+     * @throws IOException
+     *             on error
+     */
+    public long getCreatedAtEpochMillis() throws IOException {
+        return createdAtEpochMillis;
+    }
+
+    @JsonProperty("created_at")
+    private void setCreatedAt(String createdAt) {
+        this.createdAt = createdAt;
+        this.createdAtEpochMillis = GitHubClient.toEpochMillis(createdAt);
     }
 
     @SuppressFBWarnings(value = "UPM_UNCALLED_PRIVATE_METHOD", justification = "Bridge method of getCreatedAt")
@@ -117,7 +144,24 @@ public abstract class GHObject extends GitHubInteractiveObject {
      *             on error
      */
     public Date getUpdatedAt() throws IOException {
-        return GitHubClient.parseDate(updatedAt);
+        return updatedAtEpochMillis != 0 ? new Date(updatedAtEpochMillis) : GitHubClient.parseDate(updatedAt);
+    }
+
+    /**
+     * When was this resource last updated, without allocating a {@link Date}.
+     *
+     * @return milliseconds since the epoch, or 0 if not known
+     * @throws IOException
+     *             on error
+     */
+    public long getUpdatedAtEpochMillis() throws IOException {
+        return updatedAtEpochMillis;
+    }
+
+    @JsonProperty("updated_at")
+    private void setUpdatedAt(String updatedAt) {
+        this.updatedAt = updatedAt;
+        this.updatedAtEpochMillis = GitHubClient.toEpochMillis(updatedAt);
     }
 
     /**
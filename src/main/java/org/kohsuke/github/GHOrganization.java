@@ -1,5 +1,7 @@
 package org.kohsuke.github;
 
+import org.kohsuke.github.function.FunctionThrows;
+
 import java.io.IOException;
 import java.net.URL;
 import java.util.*;
@@ -727,11 +729,11 @@ public class GHOrganization extends GHPerson {
      *             the io exception
      */
     public List<GHRepository> getRepositoriesWithOpenPullRequests() throws IOException {
+        List<GHOrganizationScan.Result<Boolean>> results = scanAll(GHOrganization::hasOpenPullRequests);
         List<GHRepository> r = new ArrayList<GHRepository>();
-        for (GHRepository repository : listRepositories(100)) {
-            List<GHPullRequest> pullRequests = repository.getPullRequests(GHIssueState.OPEN);
-            if (pullRequests.size() > 0) {
-                r.add(repository);
+        for (GHOrganizationScan.Result<Boolean> result : results) {
+            if (result.getValue()) {
+                r.add(result.getRepository());
             }
         }
         return r;
@@ -745,13 +747,51 @@ public class GHOrganization extends GHPerson {
      *             the io exception
      */
     public List<GHPullRequest> getPullRequests() throws IOException {
+        List<GHOrganizationScan.Result<List<GHPullRequest>>> results = scanAll(
+                repository -> repository.getPullRequests(GHIssueState.OPEN));
         List<GHPullRequest> all = new ArrayList<GHPullRequest>();
-        for (GHRepository r : getRepositoriesWithOpenPullRequests()) {
-            all.addAll(r.getPullRequests(GHIssueState.OPEN));
+        for (GHOrganizationScan.Result<List<GHPullRequest>> result : results) {
+            all.addAll(result.getValue());
         }
         return all;
     }
 
+    /**
+     * Prepares a query to run against every repository of this organization, several repositories at a time.
+     *
+     * @param <T>
+     *            the type of the query results
+     * @param query
+     *            the query run against each repository
+     * @return the scan, which runs when its results are asked for
+     */
+    public <T> GHOrganizationScan<T> scanRepositories(FunctionThrows<GHRepository, T, IOException> query) {
+        return new GHOrganizationScan<>(this, query);
+    }
+
+    private static boolean hasOpenPullRequests(GHRepository repository) throws IOException {
+        // a single pull request is enough to tell whether there are any
+        return RateLimitedExecutor
+                .hasNext(repository.queryPullRequests().state(GHIssueState.OPEN).list().withPageSize(1).iterator());
+    }
+
+    /**
+     * Scans every repository, failing on the first repository the query failed on, and returns the results in the
+     * order of the repositories.
+     */
+    private <T> List<GHOrganizationScan.Result<T>> scanAll(FunctionThrows<GHRepository, T, IOException> query)
+            throws IOException {
+        List<GHOrganizationScan.Result<T>> results = new ArrayList<>();
+        scanRepositories(query).forEach(results::add);
+        results.sort(Comparator.comparingInt(GHOrganizationScan.Result::getPosition));
+        for (GHOrganizationScan.Result<T> result : results) {
+            if (!result.isSuccessful()) {
+                throw result.getFailure();
+            }
+        }
+        return results;
+    }
+
     /**
      * Lists events performed by a user (this includes private events if the caller is authenticated.
      *
@@ -0,0 +1,191 @@
+package org.kohsuke.github;
+
+import org.kohsuke.github.function.FunctionThrows;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+
+/**
+ * Runs a query against every repository of an organization, several repositories at a time.
+ *
+ * <p>
+ * Repositories are listed page by page while the query runs on the repositories already listed, on a fixed number of
+ * threads that share the core rate limit, as {@link GitHub#getRepositories(java.util.Collection)} does. Results are
+ * handed to the consumer on the calling thread as soon as they are ready, so the results of a large organization never
+ * need to be held in memory at once.
+ *
+ * <p>
+ * A query that fails on one repository does not stop the scan: its {@link Result} carries the failure instead of a
+ * value. Failing to list the repositories fails the scan.
+ *
+ * <pre>
+ * organization.scanRepositories(repository -&gt; repository.getBranches().size())
+ *         .withParallelism(16)
+ *         .forEach(result -&gt; System.out.println(result.getRepository().getName() + ": " + result.getValue()));
+ * </pre>
+ *
+ * @param <T>
+ *            the type of the query results
+ * @see GHOrganization#scanRepositories(FunctionThrows)
+ */
+public class GHOrganizationScan<T> {
+
+    /** The default number of repositories queried at a time. */
+    public static final int DEFAULT_PARALLELISM = 8;
+
+    private static final int PAGE_SIZE = 100;
+
+    private final GHOrganization organization;
+    private final FunctionThrows<GHRepository, T, IOException> query;
+    private int parallelism = DEFAULT_PARALLELISM;
+
+    /**
+     * Instantiates a new scan.
+     *
+     * @param organization
+     *            the organization
+     * @param query
+     *            the query run against each repository
+     */
+    GHOrganizationScan(@Nonnull GHOrganization organization,
+            @Nonnull FunctionThrows<GHRepository, T, IOException> query) {
+        this.organization = organization;
+        this.query = query;
+    }
+
+    /**
+     * Sets the number of repositories queried at a time.
+     *
+     * @param parallelism
+     *            the number of repositories, at least 1
+     * @return this scan
+     */
+    @Nonnull
+    public GHOrganizationScan<T> withParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1");
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * Runs the query against every repository, handing each result to the consumer in the order the queries finish.
+     *
+     * @param consumer
+     *            the consumer of the results, called on the calling thread
+     * @throws IOException
+     *             if the repositories cannot be listed
+     */
+    public void forEach(@Nonnull Consumer<? super Result<T>> consumer) throws IOException {
+        BlockingQueue<Result<T>> done = new LinkedBlockingQueue<>();
+        int inFlight = 0;
+        int position = 0;
+        try (RateLimitedExecutor executor = new RateLimitedExecutor(organization.root(),
+                RateLimitTarget.CORE,
+                parallelism,
+                "github-api-scan")) {
+            int maxInFlight = executor.maxQueued();
+            Iterator<GHRepository> repositories = organization.listRepositories(PAGE_SIZE).iterator();
+            while (RateLimitedExecutor.hasNext(repositories)) {
+                GHRepository repository = repositories.next();
+                int index = position++;
+                executor.submit(() -> {
+                    executor.awaitBudget();
+                    return query.apply(repository);
+                }).whenComplete((value, failure) -> done.add(new Result<>(repository, index, value, failure)));
+                inFlight++;
+                while (inFlight >= maxInFlight || (inFlight > 0 && !done.isEmpty())) {
+                    deliver(RateLimitedExecutor.take(done), consumer);
+                    inFlight--;
+                }
+            }
+            for (; inFlight > 0; inFlight--) {
+                deliver(RateLimitedExecutor.take(done), consumer);
+            }
+        }
+    }
+
+    private static <T> void deliver(Result<T> result, Consumer<? super Result<T>> consumer) {
+        Throwable failure = result.throwable;
+        if (failure != null && !(failure instanceof IOException)) {
+            throw new GHException("Failed to scan " + result.getRepository().getFullName(), failure);
+        }
+        consumer.accept(result);
+    }
+
+    /**
+     * The outcome of the query against one repository.
+     *
+     * @param <T>
+     *            the type of the query results
+     */
+    public static class Result<T> {
+
+        private final GHRepository repository;
+        private final int position;
+        private final T value;
+        private final Throwable throwable;
+
+        private Result(GHRepository repository, int position, T value, Throwable throwable) {
+            this.repository = repository;
+            this.position = position;
+            this.value = value;
+            this.throwable = throwable;
+        }
+
+        /**
+         * Gets the repository the query ran against.
+         *
+         * @return the repository
+         */
+        @Nonnull
+        public GHRepository getRepository() {
+            return repository;
+        }
+
+        /**
+         * Gets the position of the repository in the listing of the organization.
+         *
+         * @return the position, starting at 0
+         */
+        public int getPosition() {
+            return position;
+        }
+
+        /**
+         * Gets the result of the query.
+         *
+         * @return the result, or null if the query failed
+         */
+        @CheckForNull
+        public T getValue() {
+            return value;
+        }
+
+        /**
+         * Gets the failure of the query.
+         *
+         * @return the failure, or null if the query succeeded
+         */
+        @CheckForNull
+        public IOException getFailure() {
+            return (IOException) throwable;
+        }
+
+        /**
+         * Checks whether the query succeeded.
+         *
+         * @return true if the query succeeded
+         */
+        public boolean isSuccessful() {
+            return throwable == null;
+        }
+    }
+}
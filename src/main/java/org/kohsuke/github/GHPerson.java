@@ -57,6 +57,7 @@ public abstract class GHPerson extends GHObject {
         }
         URL url = getUrl();
         if (url != null) {
+            root().getPopulateMonitor().record(this);
             root().createRequest().setRawUrlPath(url.toString()).fetchInto(this);
         }
     }
@@ -257,6 +258,19 @@ public abstract class GHPerson extends GHObject {
         return super.getCreatedAt();
     }
 
+    /**
+     * Gets the created at, without allocating a {@link Date}.
+     *
+     * @return milliseconds since the epoch, or 0 if not known
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    @Override
+    public long getCreatedAtEpochMillis() throws IOException {
+        populate();
+        return super.getCreatedAtEpochMillis();
+    }
+
     /**
      * Gets the updated at.
      *
@@ -269,6 +283,19 @@ public abstract class GHPerson extends GHObject {
         return super.getUpdatedAt();
     }
 
+    /**
+     * Gets the updated at, without allocating a {@link Date}.
+     *
+     * @return milliseconds since the epoch, or 0 if not known
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    @Override
+    public long getUpdatedAtEpochMillis() throws IOException {
+        populate();
+        return super.getUpdatedAtEpochMillis();
+    }
+
     /**
      * Gets the blog URL of this user.
      *
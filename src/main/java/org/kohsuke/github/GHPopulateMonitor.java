@@ -0,0 +1,146 @@
+package org.kohsuke.github;
+
+import org.kohsuke.github.function.SupplierThrows;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+import javax.annotation.Nonnull;
+
+import static java.util.logging.Level.WARNING;
+
+/**
+ * Counts the requests made to fill in objects one at a time, by the code that asked for them, to find loops that send a
+ * request per item.
+ *
+ * <p>
+ * Objects in lists are often summaries: getters such as {@link GHPerson#getName()}, {@link GHCommit#getFiles()} or
+ * {@link GHLicense#getBody()} fetch the rest of the object the first time they are called. Reading such a getter for
+ * every item of a list of a thousand stargazers sends a thousand requests, one after the other. The monitor records the
+ * line of calling code that triggered each of these requests, and logs a warning when one line reaches
+ * {@value #WARNING_THRESHOLD} requests, and again each time its count doubles. Such loops are usually better served by
+ * {@link PagedIterable#withHydration(int)}, which fills in the items of each page concurrently, or by a request that
+ * returns the full objects.
+ *
+ * @see GitHub#getPopulateMonitor()
+ */
+public class GHPopulateMonitor {
+
+    private static final Logger LOGGER = Logger.getLogger(GHPopulateMonitor.class.getName());
+
+    /** The number of requests from one line of code that is reported first. */
+    public static final int WARNING_THRESHOLD = 20;
+
+    /** Set on the threads that fill in objects on purpose, whose requests are not counted. */
+    private static final ThreadLocal<Boolean> HYDRATING = new ThreadLocal<>();
+
+    private final Map<String, AtomicLong> callSites = new ConcurrentHashMap<>();
+
+    /**
+     * Instantiates a new monitor.
+     */
+    GHPopulateMonitor() {
+    }
+
+    /**
+     * Gets the number of requests made to fill in objects, by the line of code that triggered them, most first.
+     *
+     * @return the counts by call site, such as {@code com.example.Report.run(Report.java:42)}
+     */
+    @Nonnull
+    public Map<String, Long> getCallSites() {
+        List<Map.Entry<String, AtomicLong>> entries = new ArrayList<>(callSites.entrySet());
+        entries.sort((a, b) -> Long.compare(b.getValue().get(), a.getValue().get()));
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (Map.Entry<String, AtomicLong> entry : entries) {
+            result.put(entry.getKey(), entry.getValue().get());
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * Forgets the counts so far.
+     */
+    public void reset() {
+        callSites.clear();
+    }
+
+    /**
+     * Records a request made to fill in an object.
+     *
+     * @param populated
+     *            the object being filled in
+     */
+    void record(@Nonnull Object populated) {
+        if (HYDRATING.get() != null) {
+            return;
+        }
+        String callSite = callSite(populated.getClass());
+        long count = callSites.computeIfAbsent(callSite, key -> new AtomicLong()).incrementAndGet();
+        // report at the threshold and at each doubling after it
+        if (count % WARNING_THRESHOLD == 0 && Long.bitCount(count / WARNING_THRESHOLD) == 1) {
+            LOGGER.log(WARNING,
+                    () -> String.format(
+                            "%d %s objects were populated one request at a time from %s. "
+                                    + "Consider PagedIterable.withHydration(int) to populate them concurrently.",
+                            count,
+                            populated.getClass().getSimpleName(),
+                            callSite));
+        }
+    }
+
+    /**
+     * Runs a task whose requests to fill in objects are not counted.
+     *
+     * @param <R>
+     *            the type of the result
+     * @param task
+     *            the task
+     * @return the result of the task
+     * @throws IOException
+     *             the io exception
+     */
+    static <R> R hydrating(@Nonnull SupplierThrows<R, IOException> task) throws IOException {
+        HYDRATING.set(Boolean.TRUE);
+        try {
+            return task.get();
+        } finally {
+            HYDRATING.remove();
+        }
+    }
+
+    /**
+     * Finds the first frame of the stack that is not in the monitor or in the object that is being filled in, which is
+     * the code that called the getter.
+     */
+    private static String callSite(Class<?> type) {
+        Set<String> skipped = new HashSet<>();
+        skipped.add(Thread.class.getName());
+        skipped.add(GHPopulateMonitor.class.getName());
+        addTypes(type, skipped);
+        for (StackTraceElement frame : Thread.currentThread().getStackTrace()) {
+            if (!skipped.contains(frame.getClassName())) {
+                return frame.toString();
+            }
+        }
+        return type.getName();
+    }
+
+    private static void addTypes(Class<?> type, Set<String> names) {
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            names.add(c.getName());
+            for (Class<?> i : c.getInterfaces()) {
+                addTypes(i, names);
+            }
+        }
+    }
+}
@@ -23,6 +23,7 @@
  */
 package org.kohsuke.github;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.apache.commons.lang3.StringUtils;
 
@@ -36,6 +37,7 @@ import java.util.List;
 import java.util.Objects;
 
 import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
 
 // TODO: Auto-generated Javadoc
 /**
@@ -53,6 +55,7 @@ public class GHPullRequest extends GHIssue implements Refreshable {
     private String patch_url, diff_url, issue_url;
     private GHCommitPointer base;
     private String merged_at;
+    private transient long mergedAtEpochMillis;
     private GHCommitPointer head;
 
     // details that are only available when obtained from ID
@@ -173,13 +176,47 @@ public class GHPullRequest extends GHIssue implements Refreshable {
         return GitHubClient.parseURL(diff_url);
     }
 
+    /**
+     * Reads the diff of this pull request as it is downloaded, without holding it in memory.
+     *
+     * @param listener
+     *            receives each file and hunk of the diff
+     * @throws IOException
+     *             the io exception
+     * @see GHDiffParser
+     */
+    public void readDiff(@Nonnull GHDiffParser.Listener listener) throws IOException {
+        root().createRequest()
+                .withUrlPath(getApiRoute())
+                .withAccept("application/vnd.github.diff")
+                .fetchUnbufferedStream((stream) -> {
+                    GHDiffParser.parse(stream, listener);
+                    return null;
+                });
+    }
+
     /**
      * Gets merged at.
      *
      * @return the merged at
      */
     public Date getMergedAt() {
-        return GitHubClient.parseDate(merged_at);
+        return mergedAtEpochMillis != 0 ? new Date(mergedAtEpochMillis) : GitHubClient.parseDate(merged_at);
+    }
+
+    /**
+     * When was this pull request merged, without allocating a {@link Date}.
+     *
+     * @return milliseconds since the epoch, or 0 if not known
+     */
+    public long getMergedAtEpochMillis() {
+        return mergedAtEpochMillis;
+    }
+
+    @JsonProperty("merged_at")
+    private void setMergedAt(String merged_at) {
+        this.merged_at = merged_at;
+        this.mergedAtEpochMillis = GitHubClient.toEpochMillis(merged_at);
     }
 
     /**
@@ -395,9 +432,12 @@ public class GHPullRequest extends GHIssue implements Refreshable {
      * <p>
      * Depending on the original API call where this object is created, it may not contain everything.
      */
-    private void populate() throws IOException {
+    void populate() throws IOException {
         if (mergeable_state != null)
             return; // already populated
+        if (!isOffline()) {
+            root().getPopulateMonitor().record(this);
+        }
         refresh();
     }
 
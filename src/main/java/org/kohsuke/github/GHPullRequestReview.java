@@ -23,6 +23,7 @@
  */
 package org.kohsuke.github;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
 import java.io.IOException;
@@ -49,6 +50,7 @@ public class GHPullRequestReview extends GHObject {
     private String commit_id;
     private GHPullRequestReviewState state;
     private String submitted_at;
+    private transient long submittedAtEpochMillis;
     private String html_url;
 
     /**
@@ -142,7 +144,22 @@ public class GHPullRequestReview extends GHObject {
      *             the io exception
      */
     public Date getSubmittedAt() throws IOException {
-        return GitHubClient.parseDate(submitted_at);
+        return submittedAtEpochMillis != 0 ? new Date(submittedAtEpochMillis) : GitHubClient.parseDate(submitted_at);
+    }
+
+    /**
+     * When was this review submitted, without allocating a {@link Date}.
+     *
+     * @return milliseconds since the epoch, or 0 if not known
+     */
+    public long getSubmittedAtEpochMillis() {
+        return submittedAtEpochMillis;
+    }
+
+    @JsonProperty("submitted_at")
+    private void setSubmittedAt(String submitted_at) {
+        this.submitted_at = submitted_at;
+        this.submittedAtEpochMillis = GitHubClient.toEpochMillis(submitted_at);
     }
 
     /**
@@ -157,6 +174,16 @@ public class GHPullRequestReview extends GHObject {
         return getSubmittedAt();
     }
 
+    /**
+     * Since this method does not exist, we forward this value.
+     *
+     * @return the created at
+     */
+    @Override
+    public long getCreatedAtEpochMillis() {
+        return getSubmittedAtEpochMillis();
+    }
+
     /**
      * Submit.
      *
@@ -451,6 +451,18 @@ public class GHPullRequestSearchBuilder extends GHSearchBuilder<GHPullRequest> {
         return super.list();
     }
 
+    /**
+     * Performs the search and returns every result, not just the first 1000.
+     *
+     * The search is split on the {@code created} qualifier as needed. See {@link PartitionedSearchIterable}.
+     *
+     * @return the partitioned search iterable
+     */
+    public PartitionedSearchIterable<GHPullRequest> listExhaustively() {
+        this.q("is:pr");
+        return listPartitioned("created", GITHUB_LAUNCH, GHPullRequest::getId);
+    }
+
     @Override
     protected String getApiUrl() {
         return "/search/issues";
@@ -108,6 +108,7 @@ public class GHRepository extends GHObject {
     private int forks_count, stargazers_count, watchers_count, size, open_issues_count, subscribers_count;
 
     private String pushed_at;
+    private transient long pushedAtEpochMillis;
 
     private Map<Integer, GHMilestone> milestones = Collections.synchronizedMap(new WeakHashMap<>());
 
@@ -912,7 +913,22 @@ public class GHRepository extends GHObject {
      * @return null if the repository was never pushed at.
      */
     public Date getPushedAt() {
-        return GitHubClient.parseDate(pushed_at);
+        return pushedAtEpochMillis != 0 ? new Date(pushedAtEpochMillis) : GitHubClient.parseDate(pushed_at);
+    }
+
+    /**
+     * When was this repository last pushed to, without allocating a {@link Date}.
+     *
+     * @return milliseconds since the epoch, or 0 if not known
+     */
+    public long getPushedAtEpochMillis() {
+        return pushedAtEpochMillis;
+    }
+
+    @JsonProperty("pushed_at")
+    private void setPushedAt(String pushed_at) {
+        this.pushed_at = pushed_at;
+        this.pushedAtEpochMillis = GitHubClient.toEpochMillis(pushed_at);
     }
 
     /**
@@ -3521,6 +3537,32 @@ public class GHRepository extends GHObject {
         return downloadArchive("tar", ref, streamFunction);
     }
 
+    /**
+     * Reads the tarball of the repository as it is downloaded, entry by entry.
+     *
+     * @param ref
+     *            if <code>null</code> the repository's default branch, usually <code>main</code>,
+     * @return a reader which you should customize, then call {@link GHTarballReader#forEach} or
+     *         {@link GHTarballReader#extractTo}
+     */
+    public GHTarballReader readTarball(@CheckForNull String ref) {
+        return new GHTarballReader(this, ref);
+    }
+
+    /**
+     * Finds the files under a directory, and reads their contents, several at a time.
+     *
+     * @param path
+     *            the directory, or an empty string for the whole repository
+     * @param ref
+     *            if <code>null</code> the repository's default branch, usually <code>main</code>,
+     * @return a crawler which you should customize, then call {@link GHContentCrawler#list} or
+     *         {@link GHContentCrawler#forEach}
+     */
+    public GHContentCrawler crawlContent(@Nonnull String path, @CheckForNull String ref) {
+        return new GHContentCrawler(this, path, ref);
+    }
+
     /**
      * Create a repository dispatch event, which can be used to start a workflow/action from outside github, as
      * described on https://docs.github.com/en/rest/reference/repos#create-a-repository-dispatch-event
@@ -3547,12 +3589,25 @@ public class GHRepository extends GHObject {
             @CheckForNull String ref,
             @Nonnull InputStreamFunction<T> streamFunction) throws IOException {
         requireNonNull(streamFunction, "Sink must not be null");
+        final Requester builder = archiveRequest(type, ref);
+        return builder.fetchStream(streamFunction);
+    }
+
+    /**
+     * Creates the request that downloads an archive of the repository.
+     *
+     * @param type
+     *            {@code zip} or {@code tar}
+     * @param ref
+     *            if <code>null</code> the repository's default branch
+     * @return the request
+     */
+    Requester archiveRequest(@Nonnull String type, @CheckForNull String ref) {
         String tailUrl = getApiTailUrl(type + "ball");
         if (ref != null) {
             tailUrl += "/" + ref;
         }
-        final Requester builder = root().createRequest().method("GET").withUrlPath(tailUrl);
-        return builder.fetchStream(streamFunction);
+        return root().createRequest().method("GET").withUrlPath(tailUrl);
     }
 
     /**
@@ -3572,6 +3627,7 @@ public class GHRepository extends GHObject {
         // All other occurrences of "url" take the form "https://api.github.com/...".
         // 2. For Installation event payloads, the URL is not provided at all.
 
+        root().getPopulateMonitor().record(this);
         root().createRequest().withUrlPath(getApiTailUrl("")).fetchInto(this);
     }
 
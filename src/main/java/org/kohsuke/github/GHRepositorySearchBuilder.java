@@ -265,6 +265,17 @@ public class GHRepositorySearchBuilder extends GHSearchBuilder<GHRepository> {
         return this;
     }
 
+    /**
+     * Performs the search and returns every result, not just the first 1000.
+     *
+     * The search is split on the {@code created} qualifier as needed. See {@link PartitionedSearchIterable}.
+     *
+     * @return the partitioned search iterable
+     */
+    public PartitionedSearchIterable<GHRepository> listExhaustively() {
+        return listPartitioned("created", GITHUB_LAUNCH, GHRepository::getId);
+    }
+
     /**
      * The enum Sort.
      */
@@ -1,16 +1,24 @@
 package org.kohsuke.github;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.exc.MismatchedInputException;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import org.kohsuke.github.function.FunctionThrows;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
 import java.net.URL;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.NoSuchElementException;
 
+import javax.annotation.CheckForNull;
+
 // TODO: Auto-generated Javadoc
 /**
  * Statistics for a GitHub repository.
@@ -500,6 +508,778 @@ public class GHRepositoryStatistics extends GitHubInteractiveObject {
         }
     }
 
+    /**
+     * Get contributors list with additions, deletions, and commit count in columnar form. See
+     * https://developer.github.com/v3/repos/statistics/#get-contributors-list-with-additions-deletions-and-commit-counts
+     *
+     * Unlike {@link #getContributorStats()}, the response is read straight from the JSON stream into primitive arrays,
+     * without creating an object per week.
+     *
+     * @return the contributor stats, or {@code null} if GitHub is still computing them.
+     * @throws IOException
+     *             the io exception
+     */
+    @CheckForNull
+    public ContributorStatsTable getContributorStatsTable() throws IOException {
+        return fetchTableIfReady("contributors", ContributorStatsTable::read);
+    }
+
+    /**
+     * Get the last year of commit activity data in columnar form. See
+     * https://developer.github.com/v3/repos/statistics/#get-the-last-year-of-commit-activity-data
+     *
+     * @return the commit activity, or {@code null} if GitHub is still computing it.
+     * @throws IOException
+     *             the io exception
+     */
+    @CheckForNull
+    public CommitActivityTable getCommitActivityTable() throws IOException {
+        return fetchTableIfReady("commit_activity", CommitActivityTable::read);
+    }
+
+    /**
+     * Get the number of additions and deletions per week in columnar form. See
+     * https://developer.github.com/v3/repos/statistics/#get-the-number-of-additions-and-deletions-per-week
+     *
+     * @return the code frequency, or {@code null} if GitHub is still computing it.
+     * @throws IOException
+     *             the io exception
+     */
+    @CheckForNull
+    public CodeFrequencyTable getCodeFrequencyTable() throws IOException {
+        return fetchTableIfReady("code_frequency", CodeFrequencyTable::read);
+    }
+
+    /**
+     * Contributor statistics stored as primitive arrays, one row per contributor.
+     *
+     * Week timestamps are UNIX timestamps in seconds. Range arguments include {@code from} and exclude {@code to}.
+     */
+    public static class ContributorStatsTable {
+
+        private final String[] logins;
+        private final long[] authorIds;
+        private final int[] totals;
+        private final long[][] weeks;
+        private final int[][] additions;
+        private final int[][] deletions;
+        private final int[][] commits;
+
+        private ContributorStatsTable(String[] logins,
+                long[] authorIds,
+                int[] totals,
+                long[][] weeks,
+                int[][] additions,
+                int[][] deletions,
+                int[][] commits) {
+            this.logins = logins;
+            this.authorIds = authorIds;
+            this.totals = totals;
+            this.weeks = weeks;
+            this.additions = additions;
+            this.deletions = deletions;
+            this.commits = commits;
+        }
+
+        /**
+         * Gets the number of contributors.
+         *
+         * @return the number of contributors
+         */
+        public int size() {
+            return logins.length;
+        }
+
+        /**
+         * Finds a contributor by login.
+         *
+         * @param login
+         *            the login
+         * @return the contributor index, or -1 if there is no such contributor
+         */
+        public int indexOf(String login) {
+            for (int i = 0; i < logins.length; i++) {
+                if (login.equalsIgnoreCase(logins[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Gets the login of a contributor.
+         *
+         * @param contributor
+         *            the contributor index
+         * @return the login, or {@code null} if the author is unknown
+         */
+        public String getLogin(int contributor) {
+            return logins[contributor];
+        }
+
+        /**
+         * Gets the user id of a contributor.
+         *
+         * @param contributor
+         *            the contributor index
+         * @return the user id, or 0 if the author is unknown
+         */
+        public long getAuthorId(int contributor) {
+            return authorIds[contributor];
+        }
+
+        /**
+         * Gets the total number of commits authored by a contributor.
+         *
+         * @param contributor
+         *            the contributor index
+         * @return the total
+         */
+        public int getTotal(int contributor) {
+            return totals[contributor];
+        }
+
+        /**
+         * Gets the number of weeks recorded for a contributor.
+         *
+         * @param contributor
+         *            the contributor index
+         * @return the number of weeks
+         */
+        public int getWeekCount(int contributor) {
+            return weeks[contributor].length;
+        }
+
+        /**
+         * Gets the start of a week.
+         *
+         * @param contributor
+         *            the contributor index
+         * @param week
+         *            the week index
+         * @return the start of the week as a UNIX timestamp
+         */
+        public long getWeekTimestamp(int contributor, int week) {
+            return weeks[contributor][week];
+        }
+
+        /**
+         * Gets the number of additions in a week.
+         *
+         * @param contributor
+         *            the contributor index
+         * @param week
+         *            the week index
+         * @return the number of additions
+         */
+        public int getAdditions(int contributor, int week) {
+            return additions[contributor][week];
+        }
+
+        /**
+         * Gets the number of deletions in a week.
+         *
+         * @param contributor
+         *            the contributor index
+         * @param week
+         *            the week index
+         * @return the number of deletions
+         */
+        public int getDeletions(int contributor, int week) {
+            return deletions[contributor][week];
+        }
+
+        /**
+         * Gets the number of commits in a week.
+         *
+         * @param contributor
+         *            the contributor index
+         * @param week
+         *            the week index
+         * @return the number of commits
+         */
+        public int getCommits(int contributor, int week) {
+            return commits[contributor][week];
+        }
+
+        /**
+         * Sums the additions of a contributor over the weeks starting in a range.
+         *
+         * @param contributor
+         *            the contributor index
+         * @param from
+         *            the first UNIX timestamp included
+         * @param to
+         *            the first UNIX timestamp excluded
+         * @return the sum
+         */
+        public long sumAdditions(int contributor, long from, long to) {
+            return sum(weeks[contributor], additions[contributor], from, to);
+        }
+
+        /**
+         * Sums the deletions of a contributor over the weeks starting in a range.
+         *
+         * @param contributor
+         *            the contributor index
+         * @param from
+         *            the first UNIX timestamp included
+         * @param to
+         *            the first UNIX timestamp excluded
+         * @return the sum
+         */
+        public long sumDeletions(int contributor, long from, long to) {
+            return sum(weeks[contributor], deletions[contributor], from, to);
+        }
+
+        /**
+         * Sums the commits of a contributor over the weeks starting in a range.
+         *
+         * @param contributor
+         *            the contributor index
+         * @param from
+         *            the first UNIX timestamp included
+         * @param to
+         *            the first UNIX timestamp excluded
+         * @return the sum
+         */
+        public long sumCommits(int contributor, long from, long to) {
+            return sum(weeks[contributor], commits[contributor], from, to);
+        }
+
+        /**
+         * Sums the commits of all contributors over the weeks starting in a range.
+         *
+         * @param from
+         *            the first UNIX timestamp included
+         * @param to
+         *            the first UNIX timestamp excluded
+         * @return the sum
+         */
+        public long sumCommits(long from, long to) {
+            long total = 0;
+            for (int i = 0; i < logins.length; i++) {
+                total += sumCommits(i, from, to);
+            }
+            return total;
+        }
+
+        /**
+         * Finds the contributors with the most commits over the weeks starting in a range.
+         *
+         * @param n
+         *            the maximum number of contributors to return
+         * @param from
+         *            the first UNIX timestamp included
+         * @param to
+         *            the first UNIX timestamp excluded
+         * @return contributor indexes, most commits first. Contributors without commits in the range are left out.
+         */
+        public int[] topContributorsByCommits(int n, long from, long to) {
+            int[] top = new int[Math.max(0, Math.min(n, logins.length))];
+            if (top.length == 0) {
+                return top;
+            }
+            long[] topCommits = new long[top.length];
+            int count = 0;
+            for (int i = 0; i < logins.length; i++) {
+                long value = sumCommits(i, from, to);
+                if (value == 0 || (count == top.length && value <= topCommits[count - 1])) {
+                    continue;
+                }
+                // insertion into the sorted prefix, dropping the smallest when full
+                int position = count < top.length ? count++ : count - 1;
+                while (position > 0 && topCommits[position - 1] < value) {
+                    top[position] = top[position - 1];
+                    topCommits[position] = topCommits[position - 1];
+                    position--;
+                }
+                top[position] = i;
+                topCommits[position] = value;
+            }
+            return Arrays.copyOf(top, count);
+        }
+
+        /**
+         * Reads the response of the contributors endpoint.
+         */
+        static ContributorStatsTable read(JsonParser parser) throws IOException {
+            Rows rows = new Rows();
+            if (parser.nextToken() == JsonToken.START_ARRAY) {
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    String login = null;
+                    long authorId = 0;
+                    int total = 0;
+                    WeekColumns columns = new WeekColumns();
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String field = parser.getCurrentName();
+                        JsonToken value = parser.nextToken();
+                        if ("total".equals(field)) {
+                            total = parser.getValueAsInt();
+                        } else if ("author".equals(field) && value == JsonToken.START_OBJECT) {
+                            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                                String authorField = parser.getCurrentName();
+                                parser.nextToken();
+                                if ("login".equals(authorField)) {
+                                    login = parser.getValueAsString();
+                                } else if ("id".equals(authorField)) {
+                                    authorId = parser.getValueAsLong();
+                                } else {
+                                    parser.skipChildren();
+                                }
+                            }
+                        } else if ("weeks".equals(field) && value == JsonToken.START_ARRAY) {
+                            columns.read(parser);
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                    rows.add(login, authorId, total, columns);
+                }
+            }
+            return rows.toTable();
+        }
+
+        private static long sum(long[] weeks, int[] values, long from, long to) {
+            long total = 0;
+            for (int i = 0; i < weeks.length; i++) {
+                if (weeks[i] >= from && weeks[i] < to) {
+                    total += values[i];
+                }
+            }
+            return total;
+        }
+
+        /**
+         * The weeks of one contributor while they are being read.
+         */
+        private static class WeekColumns {
+            private long[] weeks = new long[64];
+            private int[] additions = new int[64];
+            private int[] deletions = new int[64];
+            private int[] commits = new int[64];
+            private int size = 0;
+
+            void read(JsonParser parser) throws IOException {
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    if (size == weeks.length) {
+                        int capacity = size * 2;
+                        weeks = Arrays.copyOf(weeks, capacity);
+                        additions = Arrays.copyOf(additions, capacity);
+                        deletions = Arrays.copyOf(deletions, capacity);
+                        commits = Arrays.copyOf(commits, capacity);
+                    }
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String field = parser.getCurrentName();
+                        parser.nextToken();
+                        if ("w".equals(field)) {
+                            weeks[size] = parser.getValueAsLong();
+                        } else if ("a".equals(field)) {
+                            additions[size] = parser.getValueAsInt();
+                        } else if ("d".equals(field)) {
+                            deletions[size] = parser.getValueAsInt();
+                        } else if ("c".equals(field)) {
+                            commits[size] = parser.getValueAsInt();
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                    size++;
+                }
+            }
+        }
+
+        /**
+         * The contributors while they are being read.
+         */
+        private static class Rows {
+            private String[] logins = new String[16];
+            private long[] authorIds = new long[16];
+            private int[] totals = new int[16];
+            private long[][] weeks = new long[16][];
+            private int[][] additions = new int[16][];
+            private int[][] deletions = new int[16][];
+            private int[][] commits = new int[16][];
+            private int size = 0;
+
+            void add(String login, long authorId, int total, WeekColumns columns) {
+                if (size == logins.length) {
+                    int capacity = size * 2;
+                    logins = Arrays.copyOf(logins, capacity);
+                    authorIds = Arrays.copyOf(authorIds, capacity);
+                    totals = Arrays.copyOf(totals, capacity);
+                    weeks = Arrays.copyOf(weeks, capacity);
+                    additions = Arrays.copyOf(additions, capacity);
+                    deletions = Arrays.copyOf(deletions, capacity);
+                    commits = Arrays.copyOf(commits, capacity);
+                }
+                logins[size] = login;
+                authorIds[size] = authorId;
+                totals[size] = total;
+                weeks[size] = Arrays.copyOf(columns.weeks, columns.size);
+                additions[size] = Arrays.copyOf(columns.additions, columns.size);
+                deletions[size] = Arrays.copyOf(columns.deletions, columns.size);
+                commits[size] = Arrays.copyOf(columns.commits, columns.size);
+                size++;
+            }
+
+            ContributorStatsTable toTable() {
+                return new ContributorStatsTable(Arrays.copyOf(logins, size),
+                        Arrays.copyOf(authorIds, size),
+                        Arrays.copyOf(totals, size),
+                        Arrays.copyOf(weeks, size),
+                        Arrays.copyOf(additions, size),
+                        Arrays.copyOf(deletions, size),
+                        Arrays.copyOf(commits, size));
+            }
+        }
+    }
+
+    /**
+     * Commit activity stored as primitive arrays, one row per week.
+     *
+     * Week timestamps are UNIX timestamps in seconds. Range arguments include {@code from} and exclude {@code to}.
+     */
+    public static class CommitActivityTable {
+
+        private static final int DAYS_PER_WEEK = 7;
+
+        private final long[] weeks;
+        private final int[] totals;
+        private final int[] days;
+
+        private CommitActivityTable(long[] weeks, int[] totals, int[] days) {
+            this.weeks = weeks;
+            this.totals = totals;
+            this.days = days;
+        }
+
+        /**
+         * Gets the number of weeks.
+         *
+         * @return the number of weeks
+         */
+        public int size() {
+            return weeks.length;
+        }
+
+        /**
+         * Gets the start of a week.
+         *
+         * @param week
+         *            the week index
+         * @return the start of the week as a UNIX timestamp
+         */
+        public long getWeekTimestamp(int week) {
+            return weeks[week];
+        }
+
+        /**
+         * Gets the total number of commits in a week.
+         *
+         * @param week
+         *            the week index
+         * @return the total
+         */
+        public int getTotal(int week) {
+            return totals[week];
+        }
+
+        /**
+         * Gets the number of commits on one day of a week.
+         *
+         * @param week
+         *            the week index
+         * @param dayOfWeek
+         *            the day of the week. 0 = Sunday, 1 = Monday, etc.
+         * @return the number of commits
+         */
+        public int getDay(int week, int dayOfWeek) {
+            if (dayOfWeek < 0 || dayOfWeek >= DAYS_PER_WEEK) {
+                throw new IndexOutOfBoundsException("dayOfWeek: " + dayOfWeek);
+            }
+            return days[week * DAYS_PER_WEEK + dayOfWeek];
+        }
+
+        /**
+         * Sums the commits over the weeks starting in a range.
+         *
+         * @param from
+         *            the first UNIX timestamp included
+         * @param to
+         *            the first UNIX timestamp excluded
+         * @return the sum
+         */
+        public long sumCommits(long from, long to) {
+            long total = 0;
+            for (int i = 0; i < weeks.length; i++) {
+                if (weeks[i] >= from && weeks[i] < to) {
+                    total += totals[i];
+                }
+            }
+            return total;
+        }
+
+        /**
+         * Sums the commits made on each day of the week over the weeks starting in a range.
+         *
+         * @param from
+         *            the first UNIX timestamp included
+         * @param to
+         *            the first UNIX timestamp excluded
+         * @return seven sums. 0 = Sunday, 1 = Monday, etc.
+         */
+        public long[] sumByDayOfWeek(long from, long to) {
+            long[] result = new long[DAYS_PER_WEEK];
+            for (int i = 0; i < weeks.length; i++) {
+                if (weeks[i] >= from && weeks[i] < to) {
+                    for (int day = 0; day < DAYS_PER_WEEK; day++) {
+                        result[day] += days[i * DAYS_PER_WEEK + day];
+                    }
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Reads the response of the commit activity endpoint.
+         */
+        static CommitActivityTable read(JsonParser parser) throws IOException {
+            long[] weeks = new long[64];
+            int[] totals = new int[64];
+            int[] days = new int[64 * DAYS_PER_WEEK];
+            int size = 0;
+            if (parser.nextToken() == JsonToken.START_ARRAY) {
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    if (size == weeks.length) {
+                        weeks = Arrays.copyOf(weeks, size * 2);
+                        totals = Arrays.copyOf(totals, size * 2);
+                        days = Arrays.copyOf(days, size * 2 * DAYS_PER_WEEK);
+                    }
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String field = parser.getCurrentName();
+                        JsonToken value = parser.nextToken();
+                        if ("week".equals(field)) {
+                            weeks[size] = parser.getValueAsLong();
+                        } else if ("total".equals(field)) {
+                            totals[size] = parser.getValueAsInt();
+                        } else if ("days".equals(field) && value == JsonToken.START_ARRAY) {
+                            int day = 0;
+                            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                                if (day < DAYS_PER_WEEK) {
+                                    days[size * DAYS_PER_WEEK + day] = parser.getValueAsInt();
+                                }
+                                day++;
+                            }
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                    size++;
+                }
+            }
+            return new CommitActivityTable(Arrays.copyOf(weeks, size),
+                    Arrays.copyOf(totals, size),
+                    Arrays.copyOf(days, size * DAYS_PER_WEEK));
+        }
+    }
+
+    /**
+     * Code frequency stored as primitive arrays, one row per week.
+     *
+     * Week timestamps are UNIX timestamps in seconds. Range arguments include {@code from} and exclude {@code to}.
+     */
+    public static class CodeFrequencyTable {
+
+        private final long[] weeks;
+        private final int[] additions;
+        private final int[] deletions;
+
+        private CodeFrequencyTable(long[] weeks, int[] additions, int[] deletions) {
+            this.weeks = weeks;
+            this.additions = additions;
+            this.deletions = deletions;
+        }
+
+        /**
+         * Gets the number of weeks.
+         *
+         * @return the number of weeks
+         */
+        public int size() {
+            return weeks.length;
+        }
+
+        /**
+         * Gets the start of a week.
+         *
+         * @param week
+         *            the week index
+         * @return the start of the week as a UNIX timestamp
+         */
+        public long getWeekTimestamp(int week) {
+            return weeks[week];
+        }
+
+        /**
+         * Gets the number of additions in a week.
+         *
+         * @param week
+         *            the week index
+         * @return the number of additions
+         */
+        public int getAdditions(int week) {
+            return additions[week];
+        }
+
+        /**
+         * Gets the number of deletions in a week.
+         *
+         * @param week
+         *            the week index
+         * @return the number of deletions. NOTE: This will be a NEGATIVE number.
+         */
+        public int getDeletions(int week) {
+            return deletions[week];
+        }
+
+        /**
+         * Sums the additions over the weeks starting in a range.
+         *
+         * @param from
+         *            the first UNIX timestamp included
+         * @param to
+         *            the first UNIX timestamp excluded
+         * @return the sum
+         */
+        public long sumAdditions(long from, long to) {
+            return sum(additions, from, to);
+        }
+
+        /**
+         * Sums the deletions over the weeks starting in a range.
+         *
+         * @param from
+         *            the first UNIX timestamp included
+         * @param to
+         *            the first UNIX timestamp excluded
+         * @return the sum. NOTE: This will be a NEGATIVE number.
+         */
+        public long sumDeletions(long from, long to) {
+            return sum(deletions, from, to);
+        }
+
+        private long sum(int[] values, long from, long to) {
+            long total = 0;
+            for (int i = 0; i < weeks.length; i++) {
+                if (weeks[i] >= from && weeks[i] < to) {
+                    total += values[i];
+                }
+            }
+            return total;
+        }
+
+        /**
+         * Reads the response of the code frequency endpoint.
+         */
+        static CodeFrequencyTable read(JsonParser parser) throws IOException {
+            long[] weeks = new long[64];
+            int[] additions = new int[64];
+            int[] deletions = new int[64];
+            int size = 0;
+            if (parser.nextToken() == JsonToken.START_ARRAY) {
+                while (parser.nextToken() == JsonToken.START_ARRAY) {
+                    if (size == weeks.length) {
+                        weeks = Arrays.copyOf(weeks, size * 2);
+                        additions = Arrays.copyOf(additions, size * 2);
+                        deletions = Arrays.copyOf(deletions, size * 2);
+                    }
+                    int column = 0;
+                    while (parser.nextToken() != JsonToken.END_ARRAY) {
+                        if (column == 0) {
+                            weeks[size] = parser.getValueAsLong();
+                        } else if (column == 1) {
+                            additions[size] = parser.getValueAsInt();
+                        } else if (column == 2) {
+                            deletions[size] = parser.getValueAsInt();
+                        }
+                        column++;
+                    }
+                    size++;
+                }
+            }
+            return new CodeFrequencyTable(Arrays.copyOf(weeks, size),
+                    Arrays.copyOf(additions, size),
+                    Arrays.copyOf(deletions, size));
+        }
+    }
+
+    /**
+     * Fetches a statistics endpoint once, without waiting.
+     *
+     * GitHub computes statistics lazily and answers {@code 202 Accepted} while it does so. The first call for a
+     * repository triggers that computation.
+     *
+     * @param <T>
+     *            the type of the response body
+     * @param tail
+     *            the statistics endpoint, such as "contributors"
+     * @param type
+     *            the type of the response body
+     * @return the parsed statistics, or {@code null} if they are still being computed.
+     * @throws IOException
+     *             the io exception
+     */
+    @CheckForNull
+    <T> T fetchIfReady(String tail, Class<T> type) throws IOException {
+        return fetchIfReady(tail, (connectorResponse) -> GitHubResponse.parseBody(connectorResponse, type));
+    }
+
+    /**
+     * Fetches a statistics endpoint once, without waiting, and reads the response body token by token.
+     *
+     * @param <T>
+     *            the type of the result
+     * @param tail
+     *            the statistics endpoint, such as "contributors"
+     * @param reader
+     *            reads the result from a parser positioned before the first token
+     * @return the result, or {@code null} if the statistics are still being computed.
+     * @throws IOException
+     *             the io exception
+     */
+    @CheckForNull
+    private <T> T fetchTableIfReady(String tail, FunctionThrows<JsonParser, T, IOException> reader)
+            throws IOException {
+        return fetchIfReady(tail, (connectorResponse) -> {
+            InputStream body = connectorResponse.statusCode() == HttpURLConnection.HTTP_NO_CONTENT
+                    ? new ByteArrayInputStream(new byte[0])
+                    : connectorResponse.bodyStream();
+            try (JsonParser parser = GitHubClient.createParser(body)) {
+                return reader.apply(parser);
+            }
+        });
+    }
+
+    @CheckForNull
+    private <T> T fetchIfReady(String tail, GitHubClient.BodyHandler<T> handler) throws IOException {
+        GitHubResponse<T> response = root().getClient()
+                .sendRequest(root().createRequest().withUrlPath(getApiTailUrl(tail)), handler);
+        if (response.statusCode() == HttpURLConnection.HTTP_ACCEPTED) {
+            return null;
+        }
+        return response.body();
+    }
+
+    /**
+     * Gets the repository these statistics belong to.
+     *
+     * @return the repository
+     */
+    GHRepository getRepository() {
+        return repo;
+    }
+
     /**
      * Gets the api tail url.
      *
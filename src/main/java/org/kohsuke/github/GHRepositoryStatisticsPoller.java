@@ -0,0 +1,333 @@
+package org.kohsuke.github;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.logging.Logger;
+
+import javax.annotation.Nonnull;
+
+import static java.util.logging.Level.FINE;
+
+/**
+ * Polls the statistics endpoints of many repositories without blocking the caller.
+ *
+ * <p>
+ * GitHub computes repository statistics lazily. The first request for a repository answers {@code 202 Accepted} and
+ * starts the computation, and later requests return the data once it is ready. Waiting for each repository in turn
+ * makes the total wall time the sum of every wait. This poller instead triggers the computation for every repository
+ * up front, then re-checks each one on a scheduler with exponential backoff. Each repository and metric gets its own
+ * {@link CompletableFuture}, so the total wall time is roughly the longest single wait.
+ * </p>
+ *
+ * <pre>
+ * try (GHRepositoryStatisticsPoller poller = new GHRepositoryStatisticsPoller()) {
+ *     Map&lt;GHRepository, CompletableFuture&lt;List&lt;ContributorStats&gt;&gt;&gt; stats = poller
+ *             .pollAll(repositories, GHRepositoryStatisticsPoller.Metric.CONTRIBUTOR_STATS);
+ *     CompletableFuture.allOf(stats.values().toArray(new CompletableFuture[0])).join();
+ * }
+ * </pre>
+ *
+ * <p>
+ * A future fails with a {@link TimeoutException} if the statistics are still not ready when the timeout passes, or
+ * with the {@link IOException} thrown by a request.
+ * </p>
+ */
+public class GHRepositoryStatisticsPoller implements Closeable {
+
+    private static final Logger LOGGER = Logger.getLogger(GHRepositoryStatisticsPoller.class.getName());
+
+    private static final int DEFAULT_PARALLELISM = 4;
+    private static final Duration DEFAULT_INITIAL_DELAY = Duration.ofSeconds(1);
+    private static final Duration DEFAULT_MAX_DELAY = Duration.ofSeconds(30);
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofMinutes(5);
+
+    private final ScheduledExecutorService scheduler;
+    private final boolean ownsScheduler;
+    private final Set<CompletableFuture<?>> pending = ConcurrentHashMap.newKeySet();
+
+    private Duration initialDelay = DEFAULT_INITIAL_DELAY;
+    private Duration maxDelay = DEFAULT_MAX_DELAY;
+    private Duration timeout = DEFAULT_TIMEOUT;
+
+    /**
+     * Creates a poller with its own scheduler that sends at most four requests at a time.
+     */
+    public GHRepositoryStatisticsPoller() {
+        this(DEFAULT_PARALLELISM);
+    }
+
+    /**
+     * Creates a poller with its own scheduler.
+     *
+     * @param parallelism
+     *            the maximum number of requests in flight at once
+     */
+    public GHRepositoryStatisticsPoller(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1");
+        }
+        this.scheduler = Executors.newScheduledThreadPool(parallelism,
+                new RateLimitedExecutor.DaemonThreadFactory("github-api-statistics"));
+        this.ownsScheduler = true;
+    }
+
+    /**
+     * Creates a poller that runs on the given scheduler. The scheduler is not shut down by {@link #close()}.
+     *
+     * @param scheduler
+     *            the scheduler used to send requests and to wait between them
+     */
+    public GHRepositoryStatisticsPoller(@Nonnull ScheduledExecutorService scheduler) {
+        this.scheduler = Objects.requireNonNull(scheduler);
+        this.ownsScheduler = false;
+    }
+
+    /**
+     * Sets the delay before the first re-check. Each later re-check waits twice as long as the previous one, up to
+     * {@link #withMaxDelay(Duration)}.
+     *
+     * @param initialDelay
+     *            the initial delay
+     * @return this poller
+     */
+    public GHRepositoryStatisticsPoller withInitialDelay(@Nonnull Duration initialDelay) {
+        this.initialDelay = requirePositive(initialDelay, "initialDelay");
+        return this;
+    }
+
+    /**
+     * Sets the longest delay between two re-checks of the same repository.
+     *
+     * @param maxDelay
+     *            the max delay
+     * @return this poller
+     */
+    public GHRepositoryStatisticsPoller withMaxDelay(@Nonnull Duration maxDelay) {
+        this.maxDelay = requirePositive(maxDelay, "maxDelay");
+        return this;
+    }
+
+    /**
+     * Sets how long to keep re-checking a repository before failing its future with a {@link TimeoutException}.
+     *
+     * @param timeout
+     *            the timeout
+     * @return this poller
+     */
+    public GHRepositoryStatisticsPoller withTimeout(@Nonnull Duration timeout) {
+        this.timeout = requirePositive(timeout, "timeout");
+        return this;
+    }
+
+    /**
+     * Starts polling one metric of one repository.
+     *
+     * @param <T>
+     *            the type of the statistics entries
+     * @param repository
+     *            the repository
+     * @param metric
+     *            the metric to fetch
+     * @return a future completed with the statistics once GitHub has computed them
+     */
+    @Nonnull
+    public <T> CompletableFuture<List<T>> poll(@Nonnull GHRepository repository, @Nonnull Metric<T> metric) {
+        Poll<T> poll = new Poll<>(repository.getStatistics(), metric);
+        pending.add(poll.result);
+        poll.result.whenComplete((items, e) -> pending.remove(poll.result));
+        poll.schedule(0);
+        return poll.result;
+    }
+
+    /**
+     * Starts polling one metric of many repositories.
+     *
+     * The computation is triggered for every repository before any of them is re-checked.
+     *
+     * @param <T>
+     *            the type of the statistics entries
+     * @param repositories
+     *            the repositories
+     * @param metric
+     *            the metric to fetch
+     * @return a future per repository, in the iteration order of {@code repositories}
+     */
+    @Nonnull
+    public <T> Map<GHRepository, CompletableFuture<List<T>>> pollAll(@Nonnull Collection<GHRepository> repositories,
+            @Nonnull Metric<T> metric) {
+        Map<GHRepository, CompletableFuture<List<T>>> results = new LinkedHashMap<>();
+        for (GHRepository repository : repositories) {
+            if (!results.containsKey(repository)) {
+                results.put(repository, poll(repository, metric));
+            }
+        }
+        return Collections.unmodifiableMap(results);
+    }
+
+    /**
+     * Cancels every pending future and shuts down the scheduler if this poller created it.
+     */
+    @Override
+    public void close() {
+        for (CompletableFuture<?> future : pending) {
+            future.cancel(false);
+        }
+        if (ownsScheduler) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Computes the delay before the given re-check.
+     *
+     * @param attempt
+     *            the number of checks already made, starting at 1
+     * @return the delay in milliseconds
+     */
+    long delayMillis(int attempt) {
+        long delay = initialDelay.toMillis();
+        long max = maxDelay.toMillis();
+        for (int i = 1; i < attempt && delay < max; i++) {
+            delay *= 2;
+        }
+        return Math.min(delay, max);
+    }
+
+    private static Duration requirePositive(Duration duration, String name) {
+        if (duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException(name + " must be positive");
+        }
+        return duration;
+    }
+
+    /**
+     * A statistics endpoint that can be polled.
+     *
+     * @param <T>
+     *            the type of the statistics entries
+     */
+    public static final class Metric<T> {
+
+        /** Contributor list with additions, deletions, and commit counts. */
+        public static final Metric<GHRepositoryStatistics.ContributorStats> CONTRIBUTOR_STATS = new Metric<>(
+                "contributors",
+                GHRepositoryStatistics.ContributorStats[].class);
+
+        /** The last year of commit activity, grouped by week. */
+        public static final Metric<GHRepositoryStatistics.CommitActivity> COMMIT_ACTIVITY = new Metric<>(
+                "commit_activity",
+                GHRepositoryStatistics.CommitActivity[].class);
+
+        /** The number of additions and deletions per week. */
+        public static final Metric<GHRepositoryStatistics.CodeFrequency> CODE_FREQUENCY = new Metric<>(
+                "code_frequency",
+                GHRepositoryStatistics.CodeFrequency[].class);
+
+        /** The number of commits per hour in each day. */
+        public static final Metric<GHRepositoryStatistics.PunchCardItem> PUNCH_CARD = new Metric<>("punch_card",
+                GHRepositoryStatistics.PunchCardItem[].class);
+
+        private final String tail;
+        private final Class<T[]> type;
+
+        private Metric(String tail, Class<T[]> type) {
+            this.tail = tail;
+            this.type = type;
+        }
+
+        /**
+         * Fetches this metric once.
+         *
+         * @param statistics
+         *            the statistics of the repository
+         * @return the entries, or {@code null} if they are still being computed
+         * @throws IOException
+         *             the io exception
+         */
+        List<T> fetchIfReady(GHRepositoryStatistics statistics) throws IOException {
+            T[] items = statistics.fetchIfReady(tail, type);
+            return items == null ? null : Collections.unmodifiableList(Arrays.asList(items));
+        }
+
+        /**
+         * To string.
+         *
+         * @return the string
+         */
+        @Override
+        public String toString() {
+            return tail;
+        }
+    }
+
+    /**
+     * The state of one repository and metric being polled.
+     */
+    private class Poll<T> {
+        private final GHRepositoryStatistics statistics;
+        private final Metric<T> metric;
+        private final CompletableFuture<List<T>> result = new CompletableFuture<>();
+        private final long deadline;
+        private int attempts = 0;
+
+        Poll(GHRepositoryStatistics statistics, Metric<T> metric) {
+            this.statistics = statistics;
+            this.metric = metric;
+            this.deadline = System.nanoTime() + timeout.toNanos();
+        }
+
+        void schedule(long delayMillis) {
+            try {
+                scheduler.schedule(this::check, delayMillis, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                result.completeExceptionally(e);
+            }
+        }
+
+        private void check() {
+            if (result.isDone()) {
+                return;
+            }
+            try {
+                attempts++;
+                List<T> items = metric.fetchIfReady(statistics);
+                if (items != null) {
+                    result.complete(items);
+                    return;
+                }
+            } catch (IOException | RuntimeException e) {
+                result.completeExceptionally(e);
+                return;
+            }
+
+            long delay = delayMillis(attempts);
+            if (System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delay) - deadline > 0) {
+                result.completeExceptionally(new TimeoutException("Statistics " + metric + " not ready after "
+                        + attempts + " attempts: " + statistics.getRepository().getFullName()));
+                return;
+            }
+            LOGGER.log(FINE,
+                    () -> String.format("Statistics %s for %s not ready, checking again in %d ms",
+                            metric,
+                            statistics.getRepository().getFullName(),
+                            delay));
+            schedule(delay);
+        }
+    }
+}
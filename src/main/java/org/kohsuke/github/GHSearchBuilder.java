@@ -2,8 +2,10 @@ package org.kohsuke.github;
 
 import org.apache.commons.lang3.StringUtils;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Function;
 
 import javax.annotation.CheckForNull;
 import javax.annotation.Nonnull;
@@ -18,6 +20,9 @@ import javax.annotation.Nonnull;
  */
 public abstract class GHSearchBuilder<T> extends GHQueryBuilder<T> {
 
+    /** No GitHub issue, pull request or repository was created before this date. */
+    static final LocalDate GITHUB_LAUNCH = LocalDate.of(2007, 10, 1);
+
     /** The terms. */
     protected final List<String> terms = new ArrayList<String>();
 
@@ -89,6 +94,21 @@ public abstract class GHSearchBuilder<T> extends GHQueryBuilder<T> {
         return new PagedSearchIterable<>(root(), req.build(), receiverType);
     }
 
+    /**
+     * Performs the search, splitting it on a date qualifier to get past the cap of 1000 results.
+     *
+     * @param qualifier
+     *            the date qualifier to split on
+     * @param floor
+     *            the earliest date any result can have
+     * @param identity
+     *            the value that identifies a result, used to drop duplicates
+     * @return the partitioned search iterable
+     */
+    PartitionedSearchIterable<T> listPartitioned(String qualifier, LocalDate floor, Function<T, Object> identity) {
+        return PartitionedSearchIterable.create(root(), req.build(), receiverType, terms, qualifier, floor, identity);
+    }
+
     /**
      * Gets api url.
      *
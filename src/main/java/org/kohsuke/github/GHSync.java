@@ -0,0 +1,410 @@
+package org.kohsuke.github;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import org.kohsuke.github.connector.GitHubConnectorResponse;
+import org.kohsuke.github.function.FunctionThrows;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.HttpURLConnection;
+import java.net.URLEncoder;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+
+import static java.util.logging.Level.FINE;
+
+/**
+ * Fetches only what changed in a resource since the previous run.
+ *
+ * <p>
+ * Each resource, such as the issues of a repository, has a {@link Cursor} saved in a {@link Store}. The cursor holds
+ * the latest update time seen so far, and the next run asks GitHub for everything updated since then using the
+ * {@code since} parameter. Every new or changed item is passed to a callback, which is expected to insert or update it
+ * in a local copy.
+ * </p>
+ *
+ * <pre>
+ * GHSync sync = new GHSync(Paths.get("sync-state"));
+ * sync.issues(repository, issue -&gt; database.upsert(issue));
+ * </pre>
+ *
+ * <p>
+ * The high-water mark only ever holds timestamps returned by GitHub, so the local clock plays no part. Changes are not
+ * always visible in the order of their timestamps, however, so each run starts a little before the high-water mark
+ * (see {@link #withOverlap(Duration)}). Items returned again in that overlap are only passed to the callback if their
+ * update time changed. When nothing changed since the previous run, GitHub answers {@code 304 Not Modified} to the
+ * stored ETag and the run costs no rate limit.
+ * </p>
+ *
+ * <p>
+ * The cursor is only saved once the run completes. If the callback throws, the next run passes the same items again.
+ * </p>
+ */
+public class GHSync {
+
+    private static final Logger LOGGER = Logger.getLogger(GHSync.class.getName());
+
+    private static final Duration DEFAULT_OVERLAP = Duration.ofMinutes(5);
+    private static final int PAGE_SIZE = 100;
+
+    private final Store store;
+    private Duration overlap = DEFAULT_OVERLAP;
+
+    /**
+     * Creates a sync engine that saves its cursors in a directory, one file per resource.
+     *
+     * @param directory
+     *            the directory
+     */
+    public GHSync(@Nonnull Path directory) {
+        this(new FileStore(directory));
+    }
+
+    /**
+     * Creates a sync engine that saves its cursors in the given store.
+     *
+     * @param store
+     *            the store
+     */
+    public GHSync(@Nonnull Store store) {
+        this.store = Objects.requireNonNull(store);
+    }
+
+    /**
+     * Sets how far before the high-water mark each run starts. Defaults to five minutes.
+     *
+     * @param overlap
+     *            the overlap
+     * @return this sync engine
+     */
+    public GHSync withOverlap(@Nonnull Duration overlap) {
+        if (overlap.isNegative()) {
+            throw new IllegalArgumentException("overlap must not be negative");
+        }
+        this.overlap = overlap;
+        return this;
+    }
+
+    /**
+     * Passes the issues and pull requests of a repository, open or closed, that changed since the previous run.
+     *
+     * @param repository
+     *            the repository
+     * @param upsert
+     *            receives each new or changed issue
+     * @return the number of issues passed to {@code upsert}
+     * @throws IOException
+     *             the io exception
+     */
+    public int issues(@Nonnull GHRepository repository, @Nonnull Consumer<GHIssue> upsert) throws IOException {
+        String path = repository.getApiTailUrl("issues");
+        return run(repository.root(),
+                path,
+                repository.root().createRequest().withUrlPath(path).with("state", GHIssueState.ALL),
+                GHIssue[].class,
+                issue -> issue.wrap(repository),
+                issue -> String.valueOf(issue.getId()),
+                GHObject::getUpdatedAt,
+                upsert);
+    }
+
+    /**
+     * Passes the comments of an issue that changed since the previous run.
+     *
+     * @param issue
+     *            the issue
+     * @param upsert
+     *            receives each new or changed comment
+     * @return the number of comments passed to {@code upsert}
+     * @throws IOException
+     *             the io exception
+     */
+    public int issueComments(@Nonnull GHIssue issue, @Nonnull Consumer<GHIssueComment> upsert) throws IOException {
+        String path = issue.getIssuesApiRoute() + "/comments";
+        return run(issue.root(),
+                path,
+                issue.root().createRequest().withUrlPath(path),
+                GHIssueComment[].class,
+                comment -> comment.wrapUp(issue),
+                comment -> String.valueOf(comment.getId()),
+                GHObject::getUpdatedAt,
+                upsert);
+    }
+
+    /**
+     * Passes the commits of the default branch of a repository that were committed since the previous run.
+     *
+     * Commits are tracked by their commit date, so a commit that is pushed long after it was committed can be missed
+     * if its commit date is older than the overlap.
+     *
+     * @param repository
+     *            the repository
+     * @param upsert
+     *            receives each new commit
+     * @return the number of commits passed to {@code upsert}
+     * @throws IOException
+     *             the io exception
+     */
+    public int commits(@Nonnull GHRepository repository, @Nonnull Consumer<GHCommit> upsert) throws IOException {
+        String path = repository.getApiTailUrl("commits");
+        return run(repository.root(),
+                path,
+                repository.root().createRequest().withUrlPath(path),
+                GHCommit[].class,
+                commit -> commit.wrapUp(repository),
+                GHCommit::getSHA1,
+                GHCommit::getCommitDate,
+                upsert);
+    }
+
+    /**
+     * Runs one incremental fetch.
+     *
+     * @param key
+     *            the key of the cursor
+     * @param requester
+     *            the list request, without {@code since}
+     * @param type
+     *            the type of a page
+     * @param initializer
+     *            wraps up each item
+     * @param identity
+     *            the value that identifies an item
+     * @param timestamp
+     *            the update time of an item, or {@code null} if it has none
+     * @param upsert
+     *            receives each new or changed item
+     * @return the number of items passed to {@code upsert}
+     */
+    private <T> int run(GitHub root,
+            String key,
+            Requester requester,
+            Class<T[]> type,
+            Consumer<T> initializer,
+            Function<T, String> identity,
+            FunctionThrows<T, Date, IOException> timestamp,
+            Consumer<T> upsert) throws IOException {
+        Cursor cursor = store.load(key);
+        long overlapMillis = overlap.toMillis();
+        long highWaterMark = 0;
+        Map<String, Long> seen = new HashMap<>();
+        if (cursor != null) {
+            highWaterMark = cursor.highWaterMark;
+            seen.putAll(cursor.getOverlap());
+        }
+        if (highWaterMark > 0) {
+            requester.with("since", GitHubClient.printDate(new Date(highWaterMark - overlapMillis)));
+        }
+        GitHubRequest request = requester.with("per_page", PAGE_SIZE).build();
+        GitHubRequest next = request;
+        if (cursor != null && cursor.etag != null) {
+            next = request.toBuilder().setHeader("If-None-Match", cursor.etag).build();
+        }
+
+        long startMark = highWaterMark;
+        String etag = null;
+        int upserts = 0;
+        boolean first = true;
+        while (next != null) {
+            GitHubResponse<T[]> response = root.getClient()
+                    .sendRequest(next, (connectorResponse) -> GitHubResponse.parseBody(connectorResponse, type));
+            if (first) {
+                if (response.statusCode() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+                    LOGGER.log(FINE, () -> String.format("%s has not changed", key));
+                    return 0;
+                }
+                etag = response.header("ETag");
+                first = false;
+            }
+            for (T item : response.body()) {
+                initializer.accept(item);
+                String id = identity.apply(item);
+                Date timestampDate = timestamp.apply(item);
+                // an item without a date counts as the oldest update, so it never moves the high-water mark
+                long updatedAt = timestampDate == null ? 0 : timestampDate.getTime();
+                Long previous = seen.get(id);
+                if (previous != null && previous >= updatedAt) {
+                    continue;
+                }
+                upsert.accept(item);
+                upserts++;
+                seen.put(id, updatedAt);
+                highWaterMark = Math.max(highWaterMark, updatedAt);
+            }
+            next = GitHubPageIterator.findNextURL(request, response);
+        }
+
+        long overlapStart = highWaterMark - overlapMillis;
+        seen.values().removeIf(updatedAt -> updatedAt < overlapStart);
+        // the ETag only applies to the same query, which is only sent again if the high-water mark did not move
+        store.save(key, new Cursor(highWaterMark, highWaterMark == startMark ? etag : null, seen));
+        int count = upserts;
+        LOGGER.log(FINE, () -> String.format("%s: %d changed items", key, count));
+        return upserts;
+    }
+
+    /**
+     * The progress of the sync of one resource.
+     */
+    @SuppressFBWarnings(value = { "UWF_UNWRITTEN_FIELD" }, justification = "JSON API")
+    public static class Cursor {
+        private long highWaterMark;
+        private String etag;
+        private Map<String, Long> overlap;
+
+        private Cursor() {
+        }
+
+        /**
+         * Instantiates a new cursor.
+         *
+         * @param highWaterMark
+         *            the latest update time seen, in milliseconds since the epoch
+         * @param etag
+         *            the ETag of the first page of the next run, if known
+         * @param overlap
+         *            the update time of the items seen close to the high-water mark, by item identity
+         */
+        public Cursor(long highWaterMark, @CheckForNull String etag, @Nonnull Map<String, Long> overlap) {
+            this.highWaterMark = highWaterMark;
+            this.etag = etag;
+            this.overlap = new HashMap<>(overlap);
+        }
+
+        /**
+         * Gets the latest update time seen.
+         *
+         * @return the high-water mark, in milliseconds since the epoch
+         */
+        public long getHighWaterMark() {
+            return highWaterMark;
+        }
+
+        /**
+         * Gets the ETag of the first page of the next run.
+         *
+         * @return the ETag, or {@code null} if unknown
+         */
+        @CheckForNull
+        public String getETag() {
+            return etag;
+        }
+
+        /**
+         * Gets the update time of the items seen close to the high-water mark.
+         *
+         * @return the update times in milliseconds since the epoch, by item identity
+         */
+        @Nonnull
+        public Map<String, Long> getOverlap() {
+            return overlap == null ? Collections.emptyMap() : Collections.unmodifiableMap(overlap);
+        }
+    }
+
+    /**
+     * Saves cursors between runs.
+     */
+    public interface Store {
+
+        /**
+         * Loads a cursor.
+         *
+         * @param key
+         *            the key, which is the API path of the resource
+         * @return the cursor, or {@code null} if the resource was never synced
+         * @throws IOException
+         *             the io exception
+         */
+        @CheckForNull
+        Cursor load(@Nonnull String key) throws IOException;
+
+        /**
+         * Saves a cursor.
+         *
+         * @param key
+         *            the key, which is the API path of the resource
+         * @param cursor
+         *            the cursor
+         * @throws IOException
+         *             the io exception
+         */
+        void save(@Nonnull String key, @Nonnull Cursor cursor) throws IOException;
+    }
+
+    /**
+     * Saves each cursor as a JSON file in a directory.
+     *
+     * Files are replaced atomically where the file system allows it, so an interrupted save leaves the previous cursor
+     * in place.
+     */
+    public static class FileStore implements Store {
+
+        private final Path directory;
+
+        /**
+         * Instantiates a new file store.
+         *
+         * @param directory
+         *            the directory, created on the first save if needed
+         */
+        public FileStore(@Nonnull Path directory) {
+            this.directory = Objects.requireNonNull(directory);
+        }
+
+        @Override
+        public Cursor load(@Nonnull String key) throws IOException {
+            try (InputStream in = Files.newInputStream(fileOf(key))) {
+                return GitHubClient.getMappingObjectReader((GitHubConnectorResponse) null)
+                        .forType(Cursor.class)
+                        .readValue(in);
+            } catch (NoSuchFileException | FileNotFoundException e) {
+                return null;
+            }
+        }
+
+        @Override
+        public void save(@Nonnull String key, @Nonnull Cursor cursor) throws IOException {
+            Files.createDirectories(directory);
+            Path file = fileOf(key);
+            Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            try {
+                try (OutputStream out = Files.newOutputStream(temp)) {
+                    GitHubClient.getMappingObjectWriter().writeValue(out, cursor);
+                }
+                try {
+                    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        }
+
+        private Path fileOf(String key) {
+            try {
+                return directory.resolve(URLEncoder.encode(key, "UTF-8") + ".json");
+            } catch (UnsupportedEncodingException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,707 @@
+package org.kohsuke.github;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+import java.util.zip.GZIPInputStream;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+
+/**
+ * Streams the tarball of a repository through gzip and tar decoding, and hands each entry to a handler as it is read.
+ *
+ * <p>
+ * {@link GHRepository#readTar(org.kohsuke.github.function.InputStreamFunction, String)} leaves the decoding to the
+ * caller. The reader decodes the archive as it comes from the connection, without holding it in memory, skips the
+ * entries that do not match its {@link #withFilter(String) filters}, and either hands the others to a
+ * {@link EntryHandler} or {@link #extractTo(Path) writes them to a directory}.
+ *
+ * <p>
+ * Entries are handled on the reading thread by default. With a {@link #withParallelism(int) parallelism} above 1, the
+ * entries of up to {@value #MAX_BUFFERED_ENTRY_SIZE} bytes are read into memory and handled on other threads while
+ * the archive is read on, with at most {@value #MAX_BUFFERED_BYTES} bytes waiting at a time; larger entries are still
+ * handled on the reading thread.
+ *
+ * <pre>
+ * repository.readTarball("main").withFilter("**&#47;*.java").withParallelism(4).forEach((entry, content) -&gt; {
+ *     index(entry.getPath(), content);
+ * });
+ * </pre>
+ *
+ * @see GHRepository#readTarball(String)
+ */
+public class GHTarballReader {
+
+    /** The size of the largest entry handled on another thread. */
+    public static final int MAX_BUFFERED_ENTRY_SIZE = 4 * 1024 * 1024;
+
+    /** The most bytes of entries waiting to be handled on other threads. */
+    public static final int MAX_BUFFERED_BYTES = 32 * 1024 * 1024;
+
+    private static final int BLOCK_SIZE = 512;
+
+    /** Extended headers are small; a larger one is a sign of a corrupt archive. */
+    private static final int MAX_HEADER_DATA_SIZE = 1024 * 1024;
+
+    private static final String FAILURE = "Failed to handle a tarball entry";
+
+    private final GHRepository repository;
+    private final String ref;
+    private final List<Predicate<String>> filters = new ArrayList<>();
+    private int parallelism = 1;
+    private boolean keepRootDirectory;
+
+    /**
+     * Instantiates a new reader.
+     *
+     * @param repository
+     *            the repository
+     * @param ref
+     *            the ref, or {@code null} for the default branch
+     */
+    GHTarballReader(@Nonnull GHRepository repository, @CheckForNull String ref) {
+        this.repository = repository;
+        this.ref = ref;
+    }
+
+    /**
+     * Adds a glob the path of an entry may match, such as {@code src/**}{@code /*.java}. An entry is handled if it
+     * matches any of the filters, or if there are none.
+     *
+     * @param glob
+     *            the glob, see {@link #withFilter(Predicate)} for the path it is matched against
+     * @return this reader
+     */
+    @Nonnull
+    public GHTarballReader withFilter(@Nonnull String glob) {
+        return withFilter(new PathGlob(glob));
+    }
+
+    /**
+     * Adds a filter the path of an entry may match. An entry is handled if it matches any of the filters, or if there
+     * are none.
+     *
+     * @param filter
+     *            tests the path of an entry, as returned by {@link Entry#getPath()}
+     * @return this reader
+     */
+    @Nonnull
+    public GHTarballReader withFilter(@Nonnull Predicate<String> filter) {
+        filters.add(filter);
+        return this;
+    }
+
+    /**
+     * Sets the number of threads that handle entries.
+     *
+     * @param parallelism
+     *            the parallelism, 1 to handle every entry on the reading thread
+     * @return this reader
+     */
+    @Nonnull
+    public GHTarballReader withParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1");
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * Sets whether paths keep the directory GitHub puts every entry in, named after the repository and commit.
+     *
+     * @param keepRootDirectory
+     *            true to keep it, false to remove it from paths, which is the default
+     * @return this reader
+     */
+    @Nonnull
+    public GHTarballReader withRootDirectory(boolean keepRootDirectory) {
+        this.keepRootDirectory = keepRootDirectory;
+        return this;
+    }
+
+    /**
+     * Reads the tarball, and hands each entry that matches the filters to a handler. With a parallelism above 1, the
+     * handler is called from several threads at a time.
+     *
+     * @param handler
+     *            the handler
+     * @throws IOException
+     *             if the tarball could not be read, or the handler failed
+     */
+    public void forEach(@Nonnull EntryHandler handler) throws IOException {
+        repository.archiveRequest("tar", ref).fetchUnbufferedStream(stream -> {
+            read(stream, handler);
+            return null;
+        });
+    }
+
+    /**
+     * Reads the tarball, and writes the directories and regular files that match the filters to a directory. Links and
+     * other special entries are skipped.
+     *
+     * @param directory
+     *            the directory, which is created if needed
+     * @return the number of files written
+     * @throws IOException
+     *             if the tarball could not be read, or a file could not be written
+     */
+    public long extractTo(@Nonnull Path directory) throws IOException {
+        Path root = directory.toAbsolutePath().normalize();
+        Files.createDirectories(root);
+        AtomicLong files = new AtomicLong();
+        forEach((entry, content) -> {
+            Path target = root.resolve(entry.getPath()).normalize();
+            if (!target.startsWith(root) || target.equals(root)) {
+                throw new IOException("Entry " + entry.getPath() + " is outside of " + root);
+            }
+            if (entry.getType() == EntryType.DIRECTORY) {
+                Files.createDirectories(target);
+            } else if (entry.getType() == EntryType.FILE) {
+                Files.createDirectories(target.getParent());
+                write(content, entry.getSize(), target);
+                if ((entry.getMode() & 0111) != 0) {
+                    target.toFile().setExecutable(true);
+                }
+                files.incrementAndGet();
+            }
+        });
+        return files.get();
+    }
+
+    /**
+     * Decodes a gzipped tar stream, handing the entries that match the filters to a handler.
+     *
+     * @param gzipped
+     *            the stream
+     * @param handler
+     *            the handler
+     * @throws IOException
+     *             the io exception
+     */
+    void read(@Nonnull InputStream gzipped, @Nonnull EntryHandler handler) throws IOException {
+        TarStream tar = new TarStream(new GZIPInputStream(gzipped, 64 * 1024));
+        if (parallelism == 1) {
+            for (Entry entry = next(tar); entry != null; entry = next(tar)) {
+                handler.handle(entry, tar.content());
+            }
+            return;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism,
+                new RateLimitedExecutor.DaemonThreadFactory("github-api-tarball"));
+        Semaphore buffered = new Semaphore(MAX_BUFFERED_BYTES);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        try {
+            Entry entry;
+            while ((entry = next(tar)) != null) {
+                RateLimitedExecutor.rethrow(failure.get(), FAILURE);
+                if (entry.getSize() > MAX_BUFFERED_ENTRY_SIZE) {
+                    handler.handle(entry, tar.content());
+                    continue;
+                }
+                Entry bufferedEntry = entry;
+                byte[] content = readFully(tar.content(), (int) entry.getSize());
+                int permits = Math.max(content.length, 1);
+                RateLimitedExecutor.acquire(buffered, permits);
+                try {
+                    executor.execute(() -> {
+                        try {
+                            handler.handle(bufferedEntry, new ByteArrayInputStream(content));
+                        } catch (IOException | RuntimeException e) {
+                            failure.compareAndSet(null, e);
+                        } finally {
+                            buffered.release(permits);
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    buffered.release(permits);
+                    throw e;
+                }
+            }
+            RateLimitedExecutor.acquire(buffered, MAX_BUFFERED_BYTES);
+            RateLimitedExecutor.rethrow(failure.get(), FAILURE);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Reads the next entry that matches the filters, skipping the others.
+     */
+    @CheckForNull
+    private Entry next(TarStream tar) throws IOException {
+        for (Entry entry = tar.next(); entry != null; entry = tar.next()) {
+            String path = entry.path;
+            if (!keepRootDirectory) {
+                int slash = path.indexOf('/');
+                path = slash < 0 ? "" : path.substring(slash + 1);
+            }
+            if (path.endsWith("/")) {
+                path = path.substring(0, path.length() - 1);
+            }
+            if (path.isEmpty() || !matches(path)) {
+                continue;
+            }
+            return new Entry(path, entry.type, entry.size, entry.mode, entry.modifiedAt, entry.linkTarget);
+        }
+        return null;
+    }
+
+    private boolean matches(String path) {
+        if (filters.isEmpty()) {
+            return true;
+        }
+        for (Predicate<String> filter : filters) {
+            if (filter.test(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void write(InputStream content, long size, Path target) throws IOException {
+        try (FileChannel channel = FileChannel.open(target,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE)) {
+            ReadableByteChannel source = Channels.newChannel(content);
+            long position = 0;
+            while (position < size) {
+                long transferred = channel.transferFrom(source, position, size - position);
+                if (transferred <= 0) {
+                    throw new EOFException("Entry ended after " + position + " of " + size + " bytes");
+                }
+                position += transferred;
+            }
+        }
+    }
+
+    private static byte[] readFully(InputStream in, int size) throws IOException {
+        byte[] bytes = new byte[size];
+        int offset = 0;
+        while (offset < size) {
+            int read = in.read(bytes, offset, size - offset);
+            if (read < 0) {
+                throw new EOFException("Unexpected end of tarball");
+            }
+            offset += read;
+        }
+        return bytes;
+    }
+
+    /**
+     * Handles the entries of a tarball.
+     */
+    @FunctionalInterface
+    public interface EntryHandler {
+
+        /**
+         * Handles an entry.
+         *
+         * @param entry
+         *            the entry
+         * @param content
+         *            the content of the entry, which is empty for anything but a file, and can only be read until
+         *            the method returns
+         * @throws IOException
+         *             the io exception
+         */
+        void handle(@Nonnull Entry entry, @Nonnull InputStream content) throws IOException;
+    }
+
+    /**
+     * The type of a tarball entry.
+     */
+    public enum EntryType {
+        /** A regular file. */
+        FILE,
+        /** A directory. */
+        DIRECTORY,
+        /** A symbolic link. */
+        SYMBOLIC_LINK,
+        /** A hard link to an earlier entry. */
+        LINK,
+        /** A device, fifo or other special file. */
+        OTHER
+    }
+
+    /**
+     * An entry of a tarball.
+     */
+    public static class Entry {
+        private final String path;
+        private final EntryType type;
+        private final long size;
+        private final int mode;
+        private final long modifiedAt;
+        private final String linkTarget;
+
+        private Entry(String path, EntryType type, long size, int mode, long modifiedAt, String linkTarget) {
+            this.path = path;
+            this.type = type;
+            this.size = size;
+            this.mode = mode;
+            this.modifiedAt = modifiedAt;
+            this.linkTarget = linkTarget;
+        }
+
+        /**
+         * Gets the path, separated by {@code /}, without a trailing {@code /} for directories.
+         *
+         * @return the path
+         */
+        @Nonnull
+        public String getPath() {
+            return path;
+        }
+
+        /**
+         * Gets the type.
+         *
+         * @return the type
+         */
+        @Nonnull
+        public EntryType getType() {
+            return type;
+        }
+
+        /**
+         * Gets the size of the content.
+         *
+         * @return the number of bytes
+         */
+        public long getSize() {
+            return size;
+        }
+
+        /**
+         * Gets the permission bits.
+         *
+         * @return the mode, such as {@code 0644}
+         */
+        public int getMode() {
+            return mode;
+        }
+
+        /**
+         * Gets the time the entry was last modified.
+         *
+         * @return the epoch millis
+         */
+        public long getModifiedAtEpochMillis() {
+            return modifiedAt;
+        }
+
+        /**
+         * Gets the target of a link.
+         *
+         * @return the target, or {@code null} if the entry is not a link
+         */
+        @CheckForNull
+        public String getLinkTarget() {
+            return linkTarget;
+        }
+    }
+
+    /**
+     * Reads the entries of a POSIX tar stream, including the pax and GNU headers that carry long paths.
+     */
+    private static final class TarStream {
+        private final InputStream in;
+        private final byte[] header = new byte[BLOCK_SIZE];
+        private EntryStream current;
+        private boolean currentIsFile;
+
+        TarStream(InputStream in) {
+            this.in = in;
+        }
+
+        /**
+         * Skips the rest of the current entry, and reads the header of the next one.
+         */
+        @CheckForNull
+        Entry next() throws IOException {
+            String longPath = null;
+            String longLinkTarget = null;
+            long paxSize = -1;
+            while (true) {
+                skipCurrent();
+                if (!readBlock(header) || isZero(header)) {
+                    return null;
+                }
+                checkChecksum();
+                long size = number(124, 12);
+                char typeFlag = (char) header[156];
+                switch (typeFlag) {
+                    case 'x' :
+                        for (String[] record : paxRecords(readData(size))) {
+                            if (record[0].equals("path")) {
+                                longPath = record[1];
+                            } else if (record[0].equals("linkpath")) {
+                                longLinkTarget = record[1];
+                            } else if (record[0].equals("size")) {
+                                paxSize = Long.parseLong(record[1]);
+                            }
+                        }
+                        continue;
+                    case 'g' :
+                        readData(size);
+                        continue;
+                    case 'L' :
+                        longPath = string(readData(size), 0, (int) size);
+                        continue;
+                    case 'K' :
+                        longLinkTarget = string(readData(size), 0, (int) size);
+                        continue;
+                    default :
+                        break;
+                }
+                if (paxSize >= 0) {
+                    size = paxSize;
+                }
+                EntryType type = type(typeFlag);
+                String path = longPath != null ? longPath : path();
+                String linkTarget = null;
+                if (type == EntryType.SYMBOLIC_LINK || type == EntryType.LINK) {
+                    linkTarget = longLinkTarget != null ? longLinkTarget : string(header, 157, 100);
+                }
+                // links and directories have no content, whatever their size field says
+                boolean hasData = type == EntryType.FILE || type == EntryType.OTHER;
+                current = new EntryStream(in, hasData ? size : 0);
+                currentIsFile = type == EntryType.FILE;
+                return new Entry(path,
+                        type,
+                        currentIsFile ? size : 0,
+                        (int) number(100, 8),
+                        number(136, 12) * 1000,
+                        linkTarget);
+            }
+        }
+
+        /**
+         * Gets the content of the current entry, which is empty for anything but a file.
+         */
+        InputStream content() {
+            return currentIsFile ? current : new ByteArrayInputStream(new byte[0]);
+        }
+
+        private void skipCurrent() throws IOException {
+            if (current != null) {
+                current.skipAll();
+                current = null;
+            }
+        }
+
+        private String path() {
+            String name = string(header, 0, 100);
+            if (string(header, 257, 5).equals("ustar")) {
+                String prefix = string(header, 345, 155);
+                if (!prefix.isEmpty()) {
+                    return prefix + "/" + name;
+                }
+            }
+            return name;
+        }
+
+        private byte[] readData(long size) throws IOException {
+            if (size > MAX_HEADER_DATA_SIZE) {
+                throw new IOException("Extended tar header of " + size + " bytes is too large");
+            }
+            EntryStream data = new EntryStream(in, size);
+            byte[] bytes = readFully(data, (int) size);
+            data.skipAll();
+            return bytes;
+        }
+
+        private boolean readBlock(byte[] block) throws IOException {
+            int offset = 0;
+            while (offset < block.length) {
+                int read = in.read(block, offset, block.length - offset);
+                if (read < 0) {
+                    if (offset == 0) {
+                        // some writers leave out the end-of-archive blocks
+                        return false;
+                    }
+                    throw new EOFException("Truncated tar header");
+                }
+                offset += read;
+            }
+            return true;
+        }
+
+        private void checkChecksum() throws IOException {
+            long expected = number(148, 8);
+            long sum = 0;
+            for (int i = 0; i < BLOCK_SIZE; i++) {
+                sum += i >= 148 && i < 156 ? ' ' : header[i] & 0xff;
+            }
+            if (sum != expected) {
+                throw new IOException("Corrupt tar header, checksum " + sum + " instead of " + expected);
+            }
+        }
+
+        /**
+         * Reads an octal number, or a base-256 one if the high bit of its first byte is set.
+         */
+        private long number(int offset, int length) {
+            if ((header[offset] & 0x80) != 0) {
+                long value = header[offset] & 0x7f;
+                for (int i = offset + 1; i < offset + length; i++) {
+                    value = (value << 8) | (header[i] & 0xff);
+                }
+                return value;
+            }
+            long value = 0;
+            int i = offset;
+            int end = offset + length;
+            while (i < end && (header[i] == ' ' || header[i] == 0)) {
+                i++;
+            }
+            for (; i < end && header[i] >= '0' && header[i] <= '7'; i++) {
+                value = value * 8 + (header[i] - '0');
+            }
+            return value;
+        }
+
+        private static EntryType type(char typeFlag) {
+            switch (typeFlag) {
+                case '0' :
+                case '\0' :
+                case '7' :
+                    return EntryType.FILE;
+                case '1' :
+                    return EntryType.LINK;
+                case '2' :
+                    return EntryType.SYMBOLIC_LINK;
+                case '5' :
+                    return EntryType.DIRECTORY;
+                default :
+                    return EntryType.OTHER;
+            }
+        }
+
+        private static String string(byte[] bytes, int offset, int length) {
+            int end = offset;
+            while (end < offset + length && bytes[end] != 0) {
+                end++;
+            }
+            return new String(bytes, offset, end - offset, StandardCharsets.UTF_8);
+        }
+
+        private static boolean isZero(byte[] block) {
+            for (byte b : block) {
+                if (b != 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Splits the records of a pax header, each of the form {@code "<length> <key>=<value>\n"}.
+         */
+        private static List<String[]> paxRecords(byte[] data) throws IOException {
+            List<String[]> records = new ArrayList<>();
+            int offset = 0;
+            while (offset < data.length) {
+                int space = offset;
+                while (space < data.length && data[space] != ' ') {
+                    space++;
+                }
+                int length;
+                try {
+                    length = Integer.parseInt(new String(data, offset, space - offset, StandardCharsets.US_ASCII));
+                } catch (NumberFormatException e) {
+                    throw new IOException("Corrupt pax header", e);
+                }
+                if (length <= space - offset || offset + length > data.length) {
+                    throw new IOException("Corrupt pax header");
+                }
+                String record = new String(data, space + 1, offset + length - space - 2, StandardCharsets.UTF_8);
+                int equals = record.indexOf('=');
+                if (equals > 0) {
+                    records.add(new String[]{ record.substring(0, equals), record.substring(equals + 1) });
+                }
+                offset += length;
+            }
+            return records;
+        }
+    }
+
+    /**
+     * The content of one entry, followed by the padding up to the next block.
+     */
+    private static final class EntryStream extends InputStream {
+        private final InputStream in;
+        private long remaining;
+        private long padding;
+
+        EntryStream(InputStream in, long size) {
+            this.in = in;
+            this.remaining = size;
+            this.padding = (BLOCK_SIZE - size % BLOCK_SIZE) % BLOCK_SIZE;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            return read(b, 0, 1) < 0 ? -1 : b[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (remaining <= 0) {
+                return -1;
+            }
+            int read = in.read(b, off, (int) Math.min(len, remaining));
+            if (read < 0) {
+                throw new EOFException("Unexpected end of tarball");
+            }
+            remaining -= read;
+            return read;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return (int) Math.min(in.available(), remaining);
+        }
+
+        /**
+         * Skips the rest of the content and the padding.
+         */
+        void skipAll() throws IOException {
+            long toSkip = remaining + padding;
+            remaining = 0;
+            padding = 0;
+            byte[] buffer = new byte[BLOCK_SIZE * 16];
+            while (toSkip > 0) {
+                int read = in.read(buffer, 0, (int) Math.min(buffer.length, toSkip));
+                if (read < 0) {
+                    throw new EOFException("Unexpected end of tarball");
+                }
+                toSkip -= read;
+            }
+        }
+    }
+}
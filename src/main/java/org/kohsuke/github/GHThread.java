@@ -1,5 +1,6 @@
 package org.kohsuke.github;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
 import java.io.FileNotFoundException;
@@ -23,6 +24,7 @@ public class GHThread extends GHObject {
     private String reason;
     private boolean unread;
     private String last_read_at;
+    private transient long lastReadAtEpochMillis;
     private String url, subscription_url;
 
     /**
@@ -52,7 +54,22 @@ public class GHThread extends GHObject {
      * @return the last read at
      */
     public Date getLastReadAt() {
-        return GitHubClient.parseDate(last_read_at);
+        return lastReadAtEpochMillis != 0 ? new Date(lastReadAtEpochMillis) : GitHubClient.parseDate(last_read_at);
+    }
+
+    /**
+     * When was this thread last read, without allocating a {@link Date}.
+     *
+     * @return milliseconds since the epoch, or 0 if not known
+     */
+    public long getLastReadAtEpochMillis() {
+        return lastReadAtEpochMillis;
+    }
+
+    @JsonProperty("last_read_at")
+    private void setLastReadAt(String last_read_at) {
+        this.last_read_at = last_read_at;
+        this.lastReadAtEpochMillis = GitHubClient.toEpochMillis(last_read_at);
     }
 
     /**
@@ -1,6 +1,7 @@
 package org.kohsuke.github;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.apache.commons.lang3.StringUtils;
 import org.kohsuke.github.GHWorkflowRun.Conclusion;
@@ -34,7 +35,9 @@ public class GHWorkflowJob extends GHObject {
     private String headSha;
 
     private String startedAt;
+    private transient long startedAtEpochMillis;
     private String completedAt;
+    private transient long completedAtEpochMillis;
 
     private String status;
     private String conclusion;
@@ -78,7 +81,22 @@ public class GHWorkflowJob extends GHObject {
      * @return start date
      */
     public Date getStartedAt() {
-        return GitHubClient.parseDate(startedAt);
+        return startedAtEpochMillis != 0 ? new Date(startedAtEpochMillis) : GitHubClient.parseDate(startedAt);
+    }
+
+    /**
+     * When was this job started, without allocating a {@link Date}.
+     *
+     * @return milliseconds since the epoch, or 0 if not known
+     */
+    public long getStartedAtEpochMillis() {
+        return startedAtEpochMillis;
+    }
+
+    @JsonProperty("started_at")
+    private void setStartedAt(String startedAt) {
+        this.startedAt = startedAt;
+        this.startedAtEpochMillis = GitHubClient.toEpochMillis(startedAt);
     }
 
     /**
@@ -87,7 +105,22 @@ public class GHWorkflowJob extends GHObject {
      * @return completion date
      */
     public Date getCompletedAt() {
-        return GitHubClient.parseDate(completedAt);
+        return completedAtEpochMillis != 0 ? new Date(completedAtEpochMillis) : GitHubClient.parseDate(completedAt);
+    }
+
+    /**
+     * When was this job completed, without allocating a {@link Date}.
+     *
+     * @return milliseconds since the epoch, or 0 if not known
+     */
+    public long getCompletedAtEpochMillis() {
+        return completedAtEpochMillis;
+    }
+
+    @JsonProperty("completed_at")
+    private void setCompletedAt(String completedAt) {
+        this.completedAt = completedAt;
+        this.completedAtEpochMillis = GitHubClient.toEpochMillis(completedAt);
     }
 
     /**
@@ -229,7 +262,16 @@ public class GHWorkflowJob extends GHObject {
     public <T> T downloadLogs(InputStreamFunction<T> streamFunction) throws IOException {
         requireNonNull(streamFunction, "Stream function must not be null");
 
-        return root().createRequest().method("GET").withUrlPath(getApiRoute(), "logs").fetchStream(streamFunction);
+        return downloadLogsRequest().fetchStream(streamFunction);
+    }
+
+    /**
+     * Creates the request that downloads the logs.
+     *
+     * @return the request
+     */
+    Requester downloadLogsRequest() {
+        return root().createRequest().method("GET").withUrlPath(getApiRoute(), "logs");
     }
 
     private String getApiRoute() {
@@ -0,0 +1,198 @@
+package org.kohsuke.github;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import org.kohsuke.github.GHWorkflowRun.Conclusion;
+import org.kohsuke.github.GHWorkflowRun.Status;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Lists the jobs of the workflow runs of several repositories into a {@link GHWorkflowJobTable}.
+ *
+ * <p>
+ * Going through {@link GHWorkflowRunQueryBuilder#list()} and {@link GHWorkflowRun#listJobs()} builds the full object of
+ * every run, job and step. The extractor reads only the fields the table keeps, and lists the jobs of several runs at a
+ * time, across the repositories, while the runs of each query are listed page after page.
+ *
+ * <pre>
+ * GHWorkflowJobTable jobs = new GHWorkflowJobExtractor(
+ *         Arrays.asList(repo1.queryWorkflowRuns().created("&gt;=2024-01-01"), repo2.queryWorkflowRuns())).extract();
+ * long p95 = jobs.getDurationPercentile(row -&gt; jobs.getConclusion(row) == Conclusion.SUCCESS, 95);
+ * </pre>
+ *
+ * @see GHWorkflowJobTable
+ */
+public class GHWorkflowJobExtractor {
+
+    /** The number of job listings run at a time, unless set otherwise. */
+    public static final int DEFAULT_PARALLELISM = 8;
+
+    private static final int PAGE_SIZE = 100;
+
+    private static final String FAILURE = "Failed to list workflow jobs";
+
+    private final List<GHWorkflowRunQueryBuilder> queries;
+    private int parallelism = DEFAULT_PARALLELISM;
+
+    /**
+     * Instantiates a new extractor.
+     *
+     * @param queries
+     *            the queries that select the runs, one per repository
+     */
+    public GHWorkflowJobExtractor(@Nonnull Collection<GHWorkflowRunQueryBuilder> queries) {
+        this.queries = new ArrayList<>(queries);
+    }
+
+    /**
+     * Sets the number of job listings run at a time.
+     *
+     * @param parallelism
+     *            the parallelism, at least 1
+     * @return this extractor
+     */
+    @Nonnull
+    public GHWorkflowJobExtractor withParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1");
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * Lists the jobs into a table.
+     *
+     * @return the table
+     * @throws IOException
+     *             the io exception
+     */
+    @Nonnull
+    public GHWorkflowJobTable extract() throws IOException {
+        GHWorkflowJobTable table = new GHWorkflowJobTable();
+        run(table::add);
+        return table;
+    }
+
+    /**
+     * Writes the jobs to a stream as they are listed, without keeping them in memory. The stream can be read back with
+     * {@link GHWorkflowJobTable#readFrom(java.io.InputStream)}.
+     *
+     * @param out
+     *            the stream, which is left open
+     * @throws IOException
+     *             the io exception
+     */
+    public void extractTo(@Nonnull OutputStream out) throws IOException {
+        GHWorkflowJobTable.Writer writer = new GHWorkflowJobTable.Writer(out);
+        run(writer::accept);
+        writer.flush();
+    }
+
+    private void run(Sink sink) throws IOException {
+        if (queries.isEmpty()) {
+            return;
+        }
+        GitHub root = queries.get(0).getRepository().root();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        try (RateLimitedExecutor executor = new RateLimitedExecutor(root,
+                RateLimitTarget.CORE,
+                parallelism,
+                "github-api-workflow-jobs")) {
+            int permitCount = executor.maxQueued();
+            Semaphore permits = new Semaphore(permitCount);
+            for (GHWorkflowRunQueryBuilder query : queries) {
+                GHRepository repository = query.getRepository();
+                Iterator<RunsPage> pages = GitHubPageIterator
+                        .create(root.getClient(), RunsPage.class, query.buildRequest(), PAGE_SIZE);
+                while (RateLimitedExecutor.hasNext(pages)) {
+                    for (Run run : pages.next().workflowRuns) {
+                        RateLimitedExecutor.acquire(permits, 1);
+                        RateLimitedExecutor.rethrow(failure.get(), FAILURE);
+                        executor.submit(() -> {
+                            executor.awaitBudget();
+                            listJobs(repository, run, sink);
+                            return null;
+                        }).whenComplete((result, e) -> {
+                            if (e != null) {
+                                failure.compareAndSet(null, e);
+                            }
+                            permits.release();
+                        });
+                    }
+                }
+            }
+            RateLimitedExecutor.acquire(permits, permitCount);
+            RateLimitedExecutor.rethrow(failure.get(), FAILURE);
+        }
+    }
+
+    private static void listJobs(GHRepository repository, Run run, Sink sink) throws IOException {
+        GitHubRequest request = repository.root()
+                .createRequest()
+                .withUrlPath(repository.getApiTailUrl("actions/runs/" + run.id + "/jobs"))
+                .build();
+        Iterator<JobsPage> pages = GitHubPageIterator
+                .create(repository.root().getClient(), JobsPage.class, request, PAGE_SIZE);
+        while (RateLimitedExecutor.hasNext(pages)) {
+            for (Job job : pages.next().jobs) {
+                sink.accept(new GHWorkflowJobTable.Row(repository.getFullName(),
+                        run.name,
+                        run.id,
+                        job.runAttempt,
+                        job.id,
+                        job.name,
+                        Status.from(job.status),
+                        Conclusion.from(job.conclusion),
+                        GitHubClient.toEpochMillis(job.startedAt),
+                        GitHubClient.toEpochMillis(job.completedAt),
+                        job.labels == null ? Collections.emptyList() : job.labels));
+            }
+        }
+    }
+
+    /**
+     * Receives the jobs as they are listed, from several threads.
+     */
+    private interface Sink {
+        void accept(GHWorkflowJobTable.Row job) throws IOException;
+    }
+
+    @SuppressFBWarnings(value = { "UWF_UNWRITTEN_FIELD", "NP_UNWRITTEN_FIELD" }, justification = "JSON API")
+    private static class RunsPage {
+        private List<Run> workflowRuns = Collections.emptyList();
+    }
+
+    @SuppressFBWarnings(value = { "UWF_UNWRITTEN_FIELD", "NP_UNWRITTEN_FIELD" }, justification = "JSON API")
+    private static class Run {
+        private long id;
+        private String name;
+    }
+
+    @SuppressFBWarnings(value = { "UWF_UNWRITTEN_FIELD", "NP_UNWRITTEN_FIELD" }, justification = "JSON API")
+    private static class JobsPage {
+        private List<Job> jobs = Collections.emptyList();
+    }
+
+    @SuppressFBWarnings(value = { "UWF_UNWRITTEN_FIELD", "NP_UNWRITTEN_FIELD" }, justification = "JSON API")
+    private static class Job {
+        private long id;
+        private int runAttempt;
+        private String name;
+        private String status;
+        private String conclusion;
+        private String startedAt;
+        private String completedAt;
+        private List<String> labels;
+    }
+}
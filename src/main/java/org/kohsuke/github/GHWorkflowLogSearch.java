@@ -0,0 +1,493 @@
+package org.kohsuke.github;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+
+/**
+ * Downloads the logs of several workflow jobs at a time, and looks for known signatures in them as they are read.
+ *
+ * <p>
+ * Each log is read line by line from the connection, without being held in memory. Literal signatures are looked for
+ * all at once, in a single pass over the bytes of the log; {@link Pattern regular expression} signatures are tried on
+ * each line. Only the first {@value #MAX_LINE_LENGTH} bytes of a line are kept, for the regular expressions and for
+ * the {@link Match#getLine() matching line}, so memory stays bounded by the number of logs read at a time, however
+ * large the logs are.
+ *
+ * <pre>
+ * List&lt;GHWorkflowJob&gt; failed = new ArrayList&lt;&gt;();
+ * for (GHWorkflowJob job : run.listJobs()) {
+ *     if (job.getConclusion() == Conclusion.FAILURE) {
+ *         failed.add(job);
+ *     }
+ * }
+ * for (GHWorkflowLogSearch.Match match : new GHWorkflowLogSearch(failed)
+ *         .withLiteral("oom", "java.lang.OutOfMemoryError")
+ *         .withPattern("timeout", Pattern.compile("timed out after \\d+ ?s"))
+ *         .list()) {
+ *     System.out.println(match.getJob().getName() + ":" + match.getLineNumber() + " " + match.getSignature());
+ * }
+ * </pre>
+ */
+public class GHWorkflowLogSearch {
+
+    /** The number of logs read at a time, unless set otherwise. */
+    public static final int DEFAULT_PARALLELISM = 4;
+
+    /** The number of matches kept for each job, unless set otherwise. */
+    public static final int DEFAULT_MAX_MATCHES = 100;
+
+    /** The number of bytes of each line that are kept. */
+    public static final int MAX_LINE_LENGTH = 4096;
+
+    private final List<GHWorkflowJob> jobs;
+    private final List<String> literalNames = new ArrayList<>();
+    private final List<byte[]> literals = new ArrayList<>();
+    private final List<String> patternNames = new ArrayList<>();
+    private final List<Pattern> patterns = new ArrayList<>();
+    private int parallelism = DEFAULT_PARALLELISM;
+    private int maxMatches = DEFAULT_MAX_MATCHES;
+
+    /**
+     * Instantiates a new search.
+     *
+     * @param jobs
+     *            the jobs whose logs are searched
+     */
+    public GHWorkflowLogSearch(@Nonnull Collection<GHWorkflowJob> jobs) {
+        this.jobs = new ArrayList<>(jobs);
+    }
+
+    /**
+     * Adds a signature that is a literal text.
+     *
+     * @param signature
+     *            the name reported for the matches
+     * @param text
+     *            the text to look for, which cannot span lines
+     * @return this search
+     */
+    @Nonnull
+    public GHWorkflowLogSearch withLiteral(@Nonnull String signature, @Nonnull String text) {
+        if (text.isEmpty() || text.indexOf('\n') >= 0) {
+            throw new IllegalArgumentException("text must be a non-empty single line");
+        }
+        literalNames.add(signature);
+        literals.add(text.getBytes(StandardCharsets.UTF_8));
+        return this;
+    }
+
+    /**
+     * Adds a signature that is a regular expression, which is looked for in each line.
+     *
+     * @param signature
+     *            the name reported for the matches
+     * @param pattern
+     *            the pattern
+     * @return this search
+     */
+    @Nonnull
+    public GHWorkflowLogSearch withPattern(@Nonnull String signature, @Nonnull Pattern pattern) {
+        patternNames.add(signature);
+        patterns.add(pattern);
+        return this;
+    }
+
+    /**
+     * Sets the number of logs read at a time.
+     *
+     * @param parallelism
+     *            the parallelism, at least 1
+     * @return this search
+     */
+    @Nonnull
+    public GHWorkflowLogSearch withParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1");
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * Sets the number of matches kept for each job. The rest of a log is skipped once it is reached.
+     *
+     * @param maxMatches
+     *            the number of matches, at least 1
+     * @return this search
+     */
+    @Nonnull
+    public GHWorkflowLogSearch withMaxMatches(int maxMatches) {
+        if (maxMatches < 1) {
+            throw new IllegalArgumentException("maxMatches must be at least 1");
+        }
+        this.maxMatches = maxMatches;
+        return this;
+    }
+
+    /**
+     * Searches the logs, and hands the matches of each job to a consumer on the calling thread, in the order the logs
+     * are read.
+     *
+     * @param consumer
+     *            receives the matches of each job, or the failure to download its log
+     * @throws IOException
+     *             if the search is interrupted
+     */
+    public void forEach(@Nonnull Consumer<? super Result> consumer) throws IOException {
+        if (jobs.isEmpty()) {
+            return;
+        }
+        Automaton automaton = new Automaton(literals);
+        BlockingQueue<Result> done = new LinkedBlockingQueue<>();
+        int inFlight = 0;
+        try (RateLimitedExecutor executor = new RateLimitedExecutor(jobs.get(0).root(),
+                RateLimitTarget.CORE,
+                parallelism,
+                "github-api-logs")) {
+            int maxInFlight = executor.maxQueued();
+            for (int i = 0; i < jobs.size(); i++) {
+                GHWorkflowJob job = jobs.get(i);
+                int position = i;
+                executor.submit(() -> {
+                    executor.awaitBudget();
+                    return job.downloadLogsRequest().fetchUnbufferedStream(stream -> scan(job, stream, automaton));
+                }).whenComplete((matches, failure) -> done.add(new Result(job, position, matches, failure)));
+                inFlight++;
+                while (inFlight >= maxInFlight || (inFlight > 0 && !done.isEmpty())) {
+                    consumer.accept(RateLimitedExecutor.take(done));
+                    inFlight--;
+                }
+            }
+            for (; inFlight > 0; inFlight--) {
+                consumer.accept(RateLimitedExecutor.take(done));
+            }
+        }
+    }
+
+    /**
+     * Searches the logs.
+     *
+     * @return the matches, grouped by job in the order the jobs were given, and by line within a job
+     * @throws IOException
+     *             if a log could not be downloaded
+     */
+    @Nonnull
+    public List<Match> list() throws IOException {
+        Result[] results = new Result[jobs.size()];
+        forEach(result -> results[result.position] = result);
+        List<Match> matches = new ArrayList<>();
+        for (Result result : results) {
+            Throwable failure = result.getFailure();
+            if (failure instanceof IOException) {
+                throw (IOException) failure;
+            } else if (failure != null) {
+                throw new GHException("Failed to search the log of job " + result.getJob().getId(), failure);
+            }
+            matches.addAll(result.getMatches());
+        }
+        return matches;
+    }
+
+    /**
+     * Reads a log line by line, feeding every byte to the automaton and keeping the start of each line.
+     */
+    private List<Match> scan(GHWorkflowJob job, InputStream stream, Automaton automaton) throws IOException {
+        List<Match> matches = new ArrayList<>();
+        byte[] buffer = new byte[8192];
+        byte[] line = new byte[MAX_LINE_LENGTH];
+        int lineLength = 0;
+        int lineNumber = 1;
+        long lineOffset = 0;
+        long offset = 0;
+        int state = 0;
+        boolean[] found = new boolean[literals.size()];
+        boolean anyFound = false;
+        for (int read = stream.read(buffer); read != -1; read = stream.read(buffer)) {
+            for (int i = 0; i < read; i++, offset++) {
+                byte b = buffer[i];
+                if (b == '\n') {
+                    addMatches(job, lineNumber, lineOffset, line, lineLength, anyFound ? found : null, matches);
+                    if (matches.size() >= maxMatches) {
+                        return matches.subList(0, maxMatches);
+                    }
+                    if (anyFound) {
+                        Arrays.fill(found, false);
+                        anyFound = false;
+                    }
+                    lineNumber++;
+                    lineOffset = offset + 1;
+                    lineLength = 0;
+                    state = 0;
+                    continue;
+                }
+                if (lineLength < MAX_LINE_LENGTH) {
+                    line[lineLength++] = b;
+                }
+                state = automaton.next(state, b);
+                for (int literal : automaton.outputs(state)) {
+                    found[literal] = true;
+                    anyFound = true;
+                }
+            }
+        }
+        if (lineLength > 0 || anyFound) {
+            addMatches(job, lineNumber, lineOffset, line, lineLength, anyFound ? found : null, matches);
+        }
+        return matches.size() > maxMatches ? matches.subList(0, maxMatches) : matches;
+    }
+
+    private void addMatches(GHWorkflowJob job,
+            int lineNumber,
+            long lineOffset,
+            byte[] line,
+            int lineLength,
+            @CheckForNull boolean[] found,
+            List<Match> matches) {
+        String text = null;
+        if (found != null) {
+            for (int i = 0; i < found.length; i++) {
+                if (found[i]) {
+                    text = text != null ? text : decode(line, lineLength);
+                    matches.add(new Match(job, literalNames.get(i), lineNumber, lineOffset, text));
+                }
+            }
+        }
+        for (int i = 0; i < patterns.size(); i++) {
+            text = text != null ? text : decode(line, lineLength);
+            if (patterns.get(i).matcher(text).find()) {
+                matches.add(new Match(job, patternNames.get(i), lineNumber, lineOffset, text));
+            }
+        }
+    }
+
+    private static String decode(byte[] line, int length) {
+        if (length > 0 && line[length - 1] == '\r') {
+            length--;
+        }
+        return new String(line, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * An Aho-Corasick automaton over the bytes of the literals, with a transition for every byte of every state so that
+     * each byte of a log costs one array lookup.
+     */
+    private static final class Automaton {
+        private static final int[] NONE = new int[0];
+
+        private final int[][] transitions;
+        private final int[][] outputs;
+
+        Automaton(List<byte[]> literals) {
+            List<int[]> next = new ArrayList<>();
+            List<int[]> out = new ArrayList<>();
+            next.add(newState());
+            out.add(NONE);
+            for (int literal = 0; literal < literals.size(); literal++) {
+                int state = 0;
+                for (byte b : literals.get(literal)) {
+                    int c = b & 0xff;
+                    if (next.get(state)[c] < 0) {
+                        next.get(state)[c] = next.size();
+                        next.add(newState());
+                        out.add(NONE);
+                    }
+                    state = next.get(state)[c];
+                }
+                out.set(state, append(out.get(state), NONE, literal));
+            }
+            int[] fail = new int[next.size()];
+            Deque<Integer> queue = new ArrayDeque<>();
+            for (int c = 0; c < 256; c++) {
+                int child = next.get(0)[c];
+                if (child < 0) {
+                    next.get(0)[c] = 0;
+                } else {
+                    fail[child] = 0;
+                    queue.add(child);
+                }
+            }
+            // states are reached in order of depth, so the failure state of each one is complete when it is needed
+            while (!queue.isEmpty()) {
+                int state = queue.poll();
+                for (int c = 0; c < 256; c++) {
+                    int child = next.get(state)[c];
+                    int fallback = next.get(fail[state])[c];
+                    if (child < 0) {
+                        next.get(state)[c] = fallback;
+                    } else {
+                        fail[child] = fallback;
+                        out.set(child, append(out.get(child), out.get(fallback), -1));
+                        queue.add(child);
+                    }
+                }
+            }
+            this.transitions = next.toArray(new int[0][]);
+            this.outputs = out.toArray(new int[0][]);
+        }
+
+        int next(int state, byte b) {
+            return transitions[state][b & 0xff];
+        }
+
+        int[] outputs(int state) {
+            return outputs[state];
+        }
+
+        private static int[] newState() {
+            int[] state = new int[256];
+            Arrays.fill(state, -1);
+            return state;
+        }
+
+        private static int[] append(int[] a, int[] b, int literal) {
+            int extra = literal < 0 ? 0 : 1;
+            if (b.length + extra == 0) {
+                return a;
+            }
+            int[] result = Arrays.copyOf(a, a.length + b.length + extra);
+            System.arraycopy(b, 0, result, a.length, b.length);
+            if (literal >= 0) {
+                result[result.length - 1] = literal;
+            }
+            return result;
+        }
+    }
+
+    /**
+     * The matches found in the log of one job.
+     */
+    public static class Result {
+        private final GHWorkflowJob job;
+        private final int position;
+        private final List<Match> matches;
+        private final Throwable failure;
+
+        private Result(GHWorkflowJob job, int position, List<Match> matches, Throwable failure) {
+            this.job = job;
+            this.position = position;
+            this.matches = matches == null ? Collections.emptyList() : Collections.unmodifiableList(matches);
+            this.failure = failure;
+        }
+
+        /**
+         * Gets the job.
+         *
+         * @return the job
+         */
+        @Nonnull
+        public GHWorkflowJob getJob() {
+            return job;
+        }
+
+        /**
+         * Gets the matches, by line.
+         *
+         * @return the matches, empty if the log could not be downloaded
+         */
+        @Nonnull
+        public List<Match> getMatches() {
+            return matches;
+        }
+
+        /**
+         * Gets the failure to download or read the log.
+         *
+         * @return the exception, or {@code null} if the log was searched
+         */
+        @CheckForNull
+        public Throwable getFailure() {
+            return failure;
+        }
+
+        /**
+         * Checks if the log was searched.
+         *
+         * @return true if the log was searched
+         */
+        public boolean isSuccessful() {
+            return failure == null;
+        }
+    }
+
+    /**
+     * A line of a log in which a signature was found.
+     */
+    public static class Match {
+        private final GHWorkflowJob job;
+        private final String signature;
+        private final int lineNumber;
+        private final long offset;
+        private final String line;
+
+        private Match(GHWorkflowJob job, String signature, int lineNumber, long offset, String line) {
+            this.job = job;
+            this.signature = signature;
+            this.lineNumber = lineNumber;
+            this.offset = offset;
+            this.line = line;
+        }
+
+        /**
+         * Gets the job whose log the line is in.
+         *
+         * @return the job
+         */
+        @Nonnull
+        public GHWorkflowJob getJob() {
+            return job;
+        }
+
+        /**
+         * Gets the name of the signature that was found.
+         *
+         * @return the signature
+         */
+        @Nonnull
+        public String getSignature() {
+            return signature;
+        }
+
+        /**
+         * Gets the number of the line, starting at 1.
+         *
+         * @return the line number
+         */
+        public int getLineNumber() {
+            return lineNumber;
+        }
+
+        /**
+         * Gets the position of the line in the log.
+         *
+         * @return the number of bytes before the line
+         */
+        public long getOffset() {
+            return offset;
+        }
+
+        /**
+         * Gets the line, without its line terminator, cut to {@value GHWorkflowLogSearch#MAX_LINE_LENGTH} bytes.
+         *
+         * @return the line
+         */
+        @Nonnull
+        public String getLine() {
+            return line;
+        }
+    }
+}
@@ -36,6 +36,7 @@ public class GHWorkflowRun extends GHObject {
 
     private long runAttempt;
     private String runStartedAt;
+    private transient long runStartedAtEpochMillis;
 
     private String htmlUrl;
     private String jobsUrl;
@@ -110,7 +111,22 @@ public class GHWorkflowRun extends GHObject {
      *             on error
      */
     public Date getRunStartedAt() throws IOException {
-        return GitHubClient.parseDate(runStartedAt);
+        return runStartedAtEpochMillis != 0 ? new Date(runStartedAtEpochMillis) : GitHubClient.parseDate(runStartedAt);
+    }
+
+    /**
+     * When was this run triggered, without allocating a {@link Date}.
+     *
+     * @return milliseconds since the epoch, or 0 if not known
+     */
+    public long getRunStartedAtEpochMillis() {
+        return runStartedAtEpochMillis;
+    }
+
+    @JsonProperty("run_started_at")
+    private void setRunStartedAt(String runStartedAt) {
+        this.runStartedAt = runStartedAt;
+        this.runStartedAtEpochMillis = GitHubClient.toEpochMillis(runStartedAt);
     }
 
     /**
@@ -147,4 +147,22 @@ public class GHWorkflowRunQueryBuilder extends GHQueryBuilder<GHWorkflowRun> {
     public PagedIterable<GHWorkflowRun> list() {
         return new GHWorkflowRunsIterable(repo, req.withUrlPath(repo.getApiTailUrl("actions/runs")));
     }
+
+    /**
+     * Gets the repository whose runs are listed.
+     *
+     * @return the repository
+     */
+    GHRepository getRepository() {
+        return repo;
+    }
+
+    /**
+     * Builds the request that lists the first page of runs.
+     *
+     * @return the request
+     */
+    GitHubRequest buildRequest() {
+        return req.withUrlPath(repo.getApiTailUrl("actions/runs")).build();
+    }
 }
@@ -38,7 +38,10 @@ class GHWorkflowRunsIterable extends PagedIterable<GHWorkflowRun> {
     @Override
     public PagedIterator<GHWorkflowRun> _iterator(int pageSize) {
         return new PagedIterator<>(
-                adapt(GitHubPageIterator.create(owner.root().getClient(), GHWorkflowRunsPage.class, request, pageSize)),
+                adapt(GitHubPageIterator.create(owner.root().getClient(),
+                        GHWorkflowRunsPage.class,
+                        project(request),
+                        pageSize)),
                 null);
     }
 
@@ -39,7 +39,10 @@ class GHWorkflowsIterable extends PagedIterable<GHWorkflow> {
                 .build();
 
         return new PagedIterator<>(
-                adapt(GitHubPageIterator.create(owner.root().getClient(), GHWorkflowsPage.class, request, pageSize)),
+                adapt(GitHubPageIterator.create(owner.root().getClient(),
+                        GHWorkflowsPage.class,
+                        project(request),
+                        pageSize)),
                 null);
     }
 
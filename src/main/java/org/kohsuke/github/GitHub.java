@@ -31,12 +31,17 @@ import org.kohsuke.github.authorization.AuthorizationProvider;
 import org.kohsuke.github.authorization.ImmutableAuthorizationProvider;
 import org.kohsuke.github.authorization.UserAuthorizationProvider;
 import org.kohsuke.github.connector.GitHubConnector;
+import org.kohsuke.github.function.FunctionThrows;
 import org.kohsuke.github.internal.GitHubConnectorHttpConnectorAdapter;
 
 import java.io.*;
+import java.net.HttpURLConnection;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.logging.Logger;
 
@@ -69,6 +74,9 @@ public class GitHub {
     @Nonnull
     private final GitHubSanityCachedValue<GHMeta> sanityCachedMeta = new GitHubSanityCachedValue<>();
 
+    @Nonnull
+    private final GHPopulateMonitor populateMonitor = new GHPopulateMonitor();
+
     /**
      * Creates a client API root object.
      *
@@ -110,6 +118,8 @@ public class GitHub {
      *            rateLimitChecker
      * @param authorizationProvider
      *            a authorization provider
+     * @param responseHeaderMode
+     *            which objects keep response headers
      * @throws IOException
      *             Signals that an I/O exception has occurred.
      */
@@ -119,7 +129,8 @@ public class GitHub {
             GitHubRateLimitHandler rateLimitHandler,
             GitHubAbuseLimitHandler abuseLimitHandler,
             GitHubRateLimitChecker rateLimitChecker,
-            AuthorizationProvider authorizationProvider) throws IOException {
+            AuthorizationProvider authorizationProvider,
+            ResponseHeaderMode responseHeaderMode) throws IOException {
         if (authorizationProvider instanceof DependentAuthorizationProvider) {
             ((DependentAuthorizationProvider) authorizationProvider).bind(this);
         } else if (authorizationProvider instanceof ImmutableAuthorizationProvider
@@ -139,7 +150,8 @@ public class GitHub {
                 rateLimitHandler,
                 abuseLimitHandler,
                 rateLimitChecker,
-                authorizationProvider);
+                authorizationProvider,
+                responseHeaderMode);
 
         // Ensure we have the login if it is available
         // This preserves previously existing behavior. Consider removing in future.
@@ -601,6 +613,26 @@ public class GitHub {
         return u;
     }
 
+    /**
+     * Obtains the objects that represent several users, fetching them concurrently.
+     *
+     * <p>
+     * Users already known to this instance are not fetched again. The others are fetched on a few threads that hold
+     * back when the core rate limit runs low.
+     *
+     * @param logins
+     *            the logins, duplicates are looked up once
+     * @return the users by login, and the logins that were not found
+     * @throws IOException
+     *             if a lookup failed for a reason other than the user not being found
+     */
+    @Nonnull
+    public GHBulkResult<GHUser> getUsers(@Nonnull Collection<String> logins) throws IOException {
+        return bulkLookup(logins,
+                users::get,
+                login -> intern(createRequest().withUrlPath("/users/" + login).fetch(GHUser.class)));
+    }
+
     /**
      * clears all cached data in order for external changes (modifications and del) to be reflected.
      */
@@ -643,6 +675,28 @@ public class GitHub {
         return o;
     }
 
+    /**
+     * Gets several organizations, fetching them concurrently.
+     *
+     * <p>
+     * Organizations already known to this instance are not fetched again. The others are fetched on a few threads that
+     * hold back when the core rate limit runs low.
+     *
+     * @param names
+     *            the names, duplicates are looked up once
+     * @return the organizations by name, and the names that were not found
+     * @throws IOException
+     *             if a lookup failed for a reason other than the organization not being found
+     */
+    @Nonnull
+    public GHBulkResult<GHOrganization> getOrganizations(@Nonnull Collection<String> names) throws IOException {
+        return bulkLookup(names, orgs::get, name -> {
+            GHOrganization o = createRequest().withUrlPath("/orgs/" + name).fetch(GHOrganization.class);
+            GHOrganization existing = orgs.putIfAbsent(name, o);
+            return existing != null ? existing : o;
+        });
+    }
+
     /**
      * Gets a list of all organizations.
      *
@@ -684,6 +738,29 @@ public class GitHub {
         return GHRepository.read(this, tokens[0], tokens[1]);
     }
 
+    /**
+     * Gets several repositories from their 'owner/repo' names, fetching them concurrently.
+     *
+     * <p>
+     * The repositories are fetched on a few threads that hold back when the core rate limit runs low.
+     *
+     * @param names
+     *            the names, duplicates are looked up once
+     * @return the repositories by name, and the names that were not found
+     * @throws IOException
+     *             if a lookup failed for a reason other than the repository not being found
+     * @see #getRepository(String)
+     */
+    @Nonnull
+    public GHBulkResult<GHRepository> getRepositories(@Nonnull Collection<String> names) throws IOException {
+        for (String name : names) {
+            if (name.split("/").length != 2) {
+                throw new IllegalArgumentException("Repository name must be in format owner/repo");
+            }
+        }
+        return bulkLookup(names, name -> null, this::getRepository);
+    }
+
     /**
      * Gets the repository object from its ID.
      *
@@ -1453,6 +1530,16 @@ public class GitHub {
         return GitHubClient.getMappingObjectReader(GitHub.offline());
     }
 
+    /**
+     * Gets the monitor of the requests made to fill in objects one at a time.
+     *
+     * @return the monitor
+     */
+    @Nonnull
+    public GHPopulateMonitor getPopulateMonitor() {
+        return populateMonitor;
+    }
+
     /**
      * Gets the client.
      *
@@ -1500,5 +1587,98 @@ public class GitHub {
         return user;
     }
 
+    /**
+     * Looks up several keys, taking what it can from a cache and fetching the rest on a {@link RateLimitedExecutor}.
+     *
+     * @param keys
+     *            the keys
+     * @param cached
+     *            gets the cached object of a key, or null
+     * @param fetch
+     *            fetches the object of a key
+     * @return the result
+     * @throws IOException
+     *             the first failure that is not about a single key
+     */
+    private <T> GHBulkResult<T> bulkLookup(Collection<String> keys,
+            Function<String, T> cached,
+            FunctionThrows<String, T, IOException> fetch) throws IOException {
+        Set<String> unique = new LinkedHashSet<>(keys);
+        Map<String, T> values = new LinkedHashMap<>();
+        Map<String, IOException> failures = new LinkedHashMap<>();
+        List<String> misses = new ArrayList<>();
+        for (String key : unique) {
+            T value = cached.apply(key);
+            if (value != null) {
+                values.put(key, value);
+            } else {
+                misses.add(key);
+            }
+        }
+        if (misses.isEmpty()) {
+            return new GHBulkResult<>(values, failures);
+        }
+
+        int parallelism = Math.min(BULK_LOOKUP_PARALLELISM, misses.size());
+        try (RateLimitedExecutor executor = new RateLimitedExecutor(this,
+                RateLimitTarget.CORE,
+                parallelism,
+                "github-api-lookup")) {
+            Map<String, CompletableFuture<T>> fetched = new LinkedHashMap<>();
+            for (String key : misses) {
+                fetched.put(key, executor.submit(() -> {
+                    executor.awaitBudget();
+                    return fetch.apply(key);
+                }));
+            }
+            for (Map.Entry<String, CompletableFuture<T>> entry : fetched.entrySet()) {
+                String key = entry.getKey();
+                try {
+                    values.put(key, entry.getValue().get());
+                } catch (InterruptedException e) {
+                    throw (InterruptedIOException) new InterruptedIOException().initCause(e);
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof IOException && isMissing((IOException) cause)) {
+                        failures.put(key, (IOException) cause);
+                    } else if (cause instanceof IOException) {
+                        throw (IOException) cause;
+                    } else {
+                        throw new GHException("Failed to look up " + key, cause);
+                    }
+                }
+            }
+        }
+
+        // keep the order of the keys, wherever their objects came from
+        Map<String, T> ordered = new LinkedHashMap<>();
+        for (String key : unique) {
+            if (values.containsKey(key)) {
+                ordered.put(key, values.get(key));
+            }
+        }
+        return new GHBulkResult<>(ordered, failures);
+    }
+
+    /**
+     * Checks whether a failure means that the object looked up is not available, as opposed to the request failing.
+     */
+    private static boolean isMissing(IOException e) {
+        if (e instanceof FileNotFoundException) {
+            return true;
+        }
+        if (e instanceof HttpException) {
+            int code = ((HttpException) e).getResponseCode();
+            return code == HttpURLConnection.HTTP_NOT_FOUND || code == HttpURLConnection.HTTP_GONE
+                    || code == HTTP_UNAVAILABLE_FOR_LEGAL_REASONS;
+        }
+        return false;
+    }
+
+    /** The most requests the bulk lookups, such as {@link #getRepositories(Collection)}, run at once. */
+    static final int BULK_LOOKUP_PARALLELISM = 8;
+
+    private static final int HTTP_UNAVAILABLE_FOR_LEGAL_REASONS = 451;
+
     private static final Logger LOGGER = Logger.getLogger(GitHub.class.getName());
 }
@@ -16,6 +16,7 @@ import java.net.HttpURLConnection;
 import java.net.Proxy;
 import java.util.Locale;
 import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Properties;
 
 import javax.annotation.Nonnull;
@@ -42,6 +43,8 @@ public class GitHubBuilder implements Cloneable {
     private GitHubAbuseLimitHandler abuseLimitHandler = AbuseLimitHandler.WAIT;
     private GitHubRateLimitChecker rateLimitChecker = new GitHubRateLimitChecker();
 
+    private ResponseHeaderMode responseHeaderMode = ResponseHeaderMode.ALL;
+
     /** The authorization provider. */
     /* private */ AuthorizationProvider authorizationProvider = AuthorizationProvider.ANONYMOUS;
 
@@ -486,6 +489,23 @@ public class GitHubBuilder implements Cloneable {
         return this;
     }
 
+    /**
+     * Sets which objects keep the headers of the response they were read from.
+     * <p>
+     * By default every object keeps them, including each item of a list, which keeps the header map of each response
+     * alive for as long as any of its objects is. Applications that cache many objects and do not use
+     * {@link GHObject#getResponseHeaderFields()} can use {@link ResponseHeaderMode#NONE} instead.
+     * </p>
+     *
+     * @param responseHeaderMode
+     *            the mode
+     * @return the git hub builder
+     */
+    public GitHubBuilder withResponseHeaderMode(@Nonnull ResponseHeaderMode responseHeaderMode) {
+        this.responseHeaderMode = Objects.requireNonNull(responseHeaderMode);
+        return this;
+    }
+
     /**
      * Configures {@linkplain #withConnector(HttpConnector) connector} that uses HTTP library in JRE but use a specific
      * proxy, instead of the system default one.
@@ -511,7 +531,8 @@ public class GitHubBuilder implements Cloneable {
                 rateLimitHandler,
                 abuseLimitHandler,
                 rateLimitChecker,
-                authorizationProvider);
+                authorizationProvider,
+                responseHeaderMode);
     }
 
     /**
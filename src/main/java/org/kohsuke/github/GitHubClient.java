@@ -1,5 +1,6 @@
 package org.kohsuke.github;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.*;
 import com.fasterxml.jackson.databind.introspect.VisibilityChecker;
 import org.apache.commons.io.IOUtils;
@@ -28,7 +29,6 @@ import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.ANY;
 import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.NONE;
 import static java.net.HttpURLConnection.*;
 import static java.util.logging.Level.*;
-import static org.apache.commons.lang3.StringUtils.defaultString;
 
 // TODO: Auto-generated Javadoc
 /**
@@ -63,6 +63,7 @@ class GitHubClient {
     private final GitHubAbuseLimitHandler abuseLimitHandler;
     private final GitHubRateLimitChecker rateLimitChecker;
     private final AuthorizationProvider authorizationProvider;
+    private final ResponseHeaderMode responseHeaderMode;
 
     private GitHubConnector connector;
 
@@ -85,6 +86,17 @@ class GitHubClient {
     private static final DateTimeFormatter DATE_TIME_PARSER_SLASHES = DateTimeFormatter
             .ofPattern("yyyy/MM/dd HH:mm:ss Z");
 
+    /** Returned by the fast timestamp parser for input it does not handle. */
+    private static final long INVALID_TIMESTAMP = Long.MIN_VALUE;
+
+    // Header values added to every request, shared by all of them.
+    private static final List<String> DEFAULT_ACCEPT = Collections.singletonList("application/vnd.github+json");
+    private static final List<String> ACCEPT_ENCODING = Collections.singletonList("gzip");
+    private static final List<String> API_VERSION = Collections.singletonList("2022-11-28");
+    private static final List<String> JSON_CONTENT_TYPE = Collections.singletonList("application/json");
+    private static final List<String> FORM_CONTENT_TYPE = Collections
+            .singletonList("application/x-www-form-urlencoded");
+
     static {
         MAPPER.setVisibility(new VisibilityChecker.Std(NONE, NONE, NONE, NONE, ANY));
         MAPPER.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
@@ -107,6 +119,8 @@ class GitHubClient {
      *            the rate limit checker
      * @param authorizationProvider
      *            the authorization provider
+     * @param responseHeaderMode
+     *            which objects keep response headers
      * @throws IOException
      *             Signals that an I/O exception has occurred.
      */
@@ -115,7 +129,8 @@ class GitHubClient {
             GitHubRateLimitHandler rateLimitHandler,
             GitHubAbuseLimitHandler abuseLimitHandler,
             GitHubRateLimitChecker rateLimitChecker,
-            AuthorizationProvider authorizationProvider) throws IOException {
+            AuthorizationProvider authorizationProvider,
+            ResponseHeaderMode responseHeaderMode) throws IOException {
 
         if (apiUrl.endsWith("/")) {
             apiUrl = apiUrl.substring(0, apiUrl.length() - 1); // normalize
@@ -133,6 +148,7 @@ class GitHubClient {
         this.rateLimitHandler = rateLimitHandler;
         this.abuseLimitHandler = abuseLimitHandler;
         this.rateLimitChecker = rateLimitChecker;
+        this.responseHeaderMode = responseHeaderMode;
     }
 
     /**
@@ -325,6 +341,18 @@ class GitHubClient {
         return rateLimit.get();
     }
 
+    /**
+     * Gets the most recently observed rate limit record for a target, without making a request.
+     *
+     * @param rateLimitTarget
+     *            the rate limit target
+     * @return the record, which may be expired or a {@link GHRateLimit.UnknownLimitRecord}
+     */
+    @Nonnull
+    GHRateLimit.Record lastRateLimitRecord(@Nonnull RateLimitTarget rateLimitTarget) {
+        return rateLimit.get().getRecord(rateLimitTarget);
+    }
+
     /**
      * Gets the current rate limit for an endpoint while trying not to actually make any remote requests unless
      * absolutely necessary.
@@ -452,6 +480,8 @@ class GitHubClient {
 
         int retries = retryCount;
         sendRequestTraceId.set(Integer.toHexString(request.hashCode()));
+        // the request is prepared again for a new token or a redirect, which must not serialize the body again
+        request = withJsonBody(request);
         GitHubConnectorRequest connectorRequest = prepareConnectorRequest(request, authorizationProvider);
         do {
             GitHubConnectorResponse connectorResponse = null;
@@ -486,6 +516,40 @@ class GitHubClient {
         throw new GHIOException("Ran out of retries for URL: " + request.url().toString());
     }
 
+    /**
+     * Sends the {@link GitHubRequest} to the server, and uses the {@link BodyHandler} to read the response body as it
+     * comes from the connection.
+     *
+     * <p>
+     * Failures to connect are retried like in {@link #sendRequest(GitHubRequest, BodyHandler)}, but once the handler
+     * has been called the request is not sent again, since the handler may already have acted on part of the body. An
+     * {@link IOException} thrown by the handler, including a connection reset while it reads, is thrown as it is
+     * rather than reported as a failed request.
+     *
+     * @param <T>
+     *            the type of the parse body data.
+     * @param request
+     *            the request that will be sent to the server.
+     * @param handler
+     *            reads the response body into an instance of {@link T}.
+     * @return the value returned by the handler, or null if the response has no body.
+     * @throws IOException
+     *             if an I/O Exception occurs
+     */
+    <T> T sendStreamingRequest(@Nonnull GitHubRequest request, @Nonnull BodyHandler<T> handler) throws IOException {
+        try {
+            return sendRequest(request, connectorResponse -> {
+                try {
+                    return handler.apply(connectorResponse);
+                } catch (IOException e) {
+                    throw new BodyHandlerException(e);
+                }
+            }).body();
+        } catch (BodyHandlerException e) {
+            throw e.failure;
+        }
+    }
+
     private void detectKnownErrors(GitHubConnectorResponse connectorResponse,
             GitHubRequest request,
             boolean detectStatusCodeError) throws IOException {
@@ -607,39 +671,84 @@ class GitHubClient {
         }
     }
 
-    private static GitHubConnectorRequest prepareConnectorRequest(GitHubRequest request,
+    /**
+     * Adds the headers and body the client sends with every request.
+     *
+     * <p>
+     * The request is copied once, with the headers merged in and the json body, if any, serialized straight into the
+     * copy. This runs for every request and every retry, so it avoids going through a {@link GitHubRequest.Builder},
+     * which would copy the arguments, headers and body and parse the url again.
+     *
+     * @param request
+     *            the request
+     * @param authorizationProvider
+     *            the authorization provider
+     * @return the request to send
+     * @throws IOException
+     *             if the authorization cannot be obtained
+     */
+    static GitHubConnectorRequest prepareConnectorRequest(GitHubRequest request,
             AuthorizationProvider authorizationProvider) throws IOException {
-        GitHubRequest.Builder<?> builder = request.toBuilder();
+        Map<String, List<String>> headers = new HashMap<>();
         // if the authentication is needed but no credential is given, try it anyway (so that some calls
         // that do work with anonymous access in the reduced form should still work.)
         if (!request.allHeaders().containsKey("Authorization")) {
             String authorization = authorizationProvider.getEncodedAuthorization();
             if (authorization != null) {
-                builder.setHeader("Authorization", authorization);
+                headers.put("Authorization", Collections.singletonList(authorization));
             }
         }
         if (request.header("Accept") == null) {
-            builder.setHeader("Accept", "application/vnd.github+json");
+            headers.put("Accept", DEFAULT_ACCEPT);
         }
-        builder.setHeader("Accept-Encoding", "gzip");
-
-        builder.setHeader("X-GitHub-Api-Version", "2022-11-28");
+        headers.put("Accept-Encoding", ACCEPT_ENCODING);
+        headers.put("X-GitHub-Api-Version", API_VERSION);
 
+        byte[] body = null;
         if (request.hasBody()) {
-            if (request.body() != null) {
-                builder.contentType(defaultString(request.contentType(), "application/x-www-form-urlencoded"));
-            } else {
-                builder.contentType("application/json");
-                Map<String, Object> json = new HashMap<>();
-                for (GitHubRequest.Entry e : request.args()) {
-                    json.put(e.key, e.value);
+            body = request.bodyBytes();
+            if (body != null) {
+                String contentType = request.contentType();
+                if (contentType == null) {
+                    headers.put("Content-type", FORM_CONTENT_TYPE);
                 }
-                builder.with(new ByteArrayInputStream(getMappingObjectWriter().writeValueAsBytes(json)));
+            } else {
+                headers.put("Content-type", JSON_CONTENT_TYPE);
+                body = serializeArgs(request);
             }
+        }
+
+        return request.withHeaders(headers, body);
+    }
 
+    /**
+     * Serializes the arguments of a request into its json body, if it has a body and none was set.
+     *
+     * <p>
+     * Arguments such as {@link Base64Streams#encode(java.io.InputStream) a stream} can only be serialized once, so
+     * {@link #sendRequest(GitHubRequest, BodyHandler)} does this before the request is prepared, and prepared again
+     * with a new token or for a redirect.
+     *
+     * @param request
+     *            the request
+     * @return the request with a json body, or the request itself if it has no body or already has one
+     * @throws IOException
+     *             if an argument cannot be serialized
+     */
+    static GitHubRequest withJsonBody(GitHubRequest request) throws IOException {
+        if (!request.hasBody() || request.bodyBytes() != null) {
+            return request;
         }
+        return request.withHeaders(Collections.singletonMap("Content-type", JSON_CONTENT_TYPE),
+                serializeArgs(request));
+    }
 
-        return builder.build();
+    private static byte[] serializeArgs(GitHubRequest request) throws IOException {
+        Map<String, Object> json = new HashMap<>();
+        for (GitHubRequest.Entry e : request.args()) {
+            json.put(e.key, e.value);
+        }
+        return getMappingObjectWriter().writeValueAsBytes(json);
     }
 
     private void logRequest(@Nonnull final GitHubConnectorRequest request) {
@@ -917,7 +1026,132 @@ class GitHubClient {
         if (timestamp == null)
             return null;
 
-        return Date.from(parseInstant(timestamp));
+        return new Date(parseEpochMillis(timestamp));
+    }
+
+    /**
+     * Parses the timestamp into milliseconds since the epoch.
+     *
+     * <p>
+     * The {@code yyyy-MM-dd'T'HH:mm:ss[.SSS](Z|+HH:MM)} form GitHub sends is decoded without allocating, anything else
+     * goes through {@link #parseInstant(String)}.
+     *
+     * @param timestamp
+     *            the timestamp
+     * @return the epoch millis
+     */
+    static long parseEpochMillis(@Nonnull String timestamp) {
+        long millis = parseIsoEpochMillis(timestamp);
+        return millis != INVALID_TIMESTAMP ? millis : parseInstant(timestamp).toEpochMilli();
+    }
+
+    /**
+     * Parses the timestamp into milliseconds since the epoch, for objects that decode their timestamps as they are
+     * deserialized.
+     *
+     * @param timestamp
+     *            the timestamp
+     * @return the epoch millis, or 0 if the timestamp is null or cannot be parsed, in which case
+     *         {@link #parseDate(String)} reports the error when the value is asked for
+     */
+    static long toEpochMillis(@CheckForNull String timestamp) {
+        if (timestamp == null) {
+            return 0;
+        }
+        try {
+            return parseEpochMillis(timestamp);
+        } catch (RuntimeException e) {
+            return 0;
+        }
+    }
+
+    private static long parseIsoEpochMillis(String s) {
+        int length = s.length();
+        if (length < 20 || s.charAt(4) != '-' || s.charAt(7) != '-' || s.charAt(10) != 'T' || s.charAt(13) != ':'
+                || s.charAt(16) != ':') {
+            return INVALID_TIMESTAMP;
+        }
+        int year = digits(s, 0, 4);
+        int month = digits(s, 5, 2);
+        int day = digits(s, 8, 2);
+        int hour = digits(s, 11, 2);
+        int minute = digits(s, 14, 2);
+        int second = digits(s, 17, 2);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month) || hour < 0
+                || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+            return INVALID_TIMESTAMP;
+        }
+
+        int i = 19;
+        int millis = 0;
+        if (s.charAt(i) == '.') {
+            int scale = 100;
+            for (i++; i < length && s.charAt(i) >= '0' && s.charAt(i) <= '9'; i++) {
+                millis += (s.charAt(i) - '0') * scale;
+                scale /= 10;
+            }
+            if (i == 20) {
+                return INVALID_TIMESTAMP;
+            }
+        }
+
+        int offsetSeconds;
+        if (i == length - 1 && s.charAt(i) == 'Z') {
+            offsetSeconds = 0;
+        } else if (i == length - 6 && (s.charAt(i) == '+' || s.charAt(i) == '-') && s.charAt(i + 3) == ':') {
+            int offsetHours = digits(s, i + 1, 2);
+            int offsetMinutes = digits(s, i + 4, 2);
+            if (offsetHours < 0 || offsetHours > 18 || offsetMinutes < 0 || offsetMinutes > 59) {
+                return INVALID_TIMESTAMP;
+            }
+            offsetSeconds = (offsetHours * 3600 + offsetMinutes * 60) * (s.charAt(i) == '-' ? -1 : 1);
+        } else {
+            return INVALID_TIMESTAMP;
+        }
+
+        long seconds = epochDay(year, month, day) * 86400 + hour * 3600 + minute * 60 + second - offsetSeconds;
+        return seconds * 1000 + millis;
+    }
+
+    /**
+     * Parses a run of decimal digits, or returns -1 if one of the characters is not a digit.
+     */
+    private static int digits(String s, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        switch (month) {
+            case 2 :
+                return (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+            case 4 :
+            case 6 :
+            case 9 :
+            case 11 :
+                return 30;
+            default :
+                return 31;
+        }
+    }
+
+    /**
+     * Days since 1970-01-01 of a date in the proleptic Gregorian calendar.
+     */
+    private static long epochDay(int year, int month, int day) {
+        long y = month <= 2 ? year - 1 : year;
+        long era = Math.floorDiv(y, 400);
+        long yearOfEra = y - era * 400;
+        long dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
     }
 
     /**
@@ -960,6 +1194,21 @@ class GitHubClient {
         return MAPPER.writer();
     }
 
+    /**
+     * Creates a streaming {@link JsonParser} over the given input, for callers that read tokens directly instead of
+     * binding whole objects.
+     *
+     * @param input
+     *            the JSON input
+     * @return a parser sharing this client's JSON configuration
+     * @throws IOException
+     *             if the parser cannot be created
+     */
+    @Nonnull
+    static JsonParser createParser(@Nonnull InputStream input) throws IOException {
+        return MAPPER.getFactory().createParser(input);
+    }
+
     /**
      * Helper for {@link #getMappingObjectReader(GitHubConnectorResponse)}.
      *
@@ -996,6 +1245,8 @@ class GitHubClient {
         injected.put(GitHubConnectorResponse.class.getName(), null);
         injected.put(GitHub.class.getName(), null);
 
+        injected.put(GHObject.RESPONSE_HEADER_SOURCE, null);
+
         if (connectorResponse != null) {
             injected.put(GitHubConnectorResponse.class.getName(), connectorResponse);
             GitHubConnectorRequest request = connectorResponse.request();
@@ -1003,10 +1254,32 @@ class GitHubClient {
             if (request instanceof GitHubRequest) {
                 injected.putAll(((GitHubRequest) connectorResponse.request()).injectedMappingValues());
             }
+            if (getResponseHeaderMode(connectorResponse) == ResponseHeaderMode.ALL) {
+                injected.put(GHObject.RESPONSE_HEADER_SOURCE, connectorResponse);
+            }
         }
         return MAPPER.reader(new InjectableValues.Std(injected));
     }
 
+    /**
+     * Gets which objects read from a response keep its headers.
+     *
+     * @param connectorResponse
+     *            the response
+     * @return the mode of the client that sent the request, or {@link ResponseHeaderMode#ALL} if it is not known
+     */
+    @Nonnull
+    static ResponseHeaderMode getResponseHeaderMode(@Nonnull GitHubConnectorResponse connectorResponse) {
+        GitHubConnectorRequest request = connectorResponse.request();
+        if (request instanceof GitHubRequest) {
+            Object root = ((GitHubRequest) request).injectedMappingValues().get(GitHub.class.getName());
+            if (root instanceof GitHub) {
+                return ((GitHub) root).getClient().responseHeaderMode;
+            }
+        }
+        return ResponseHeaderMode.ALL;
+    }
+
     /**
      * Unmodifiable map or null.
      *
@@ -1061,6 +1334,21 @@ class GitHubClient {
         }
     }
 
+    /**
+     * Carries an exception thrown by the handler of a streaming request past the retries of
+     * {@link #sendRequest(GitHubRequest, BodyHandler)}, which pass a {@link GHIOException} through as it is.
+     */
+    private static final class BodyHandlerException extends GHIOException {
+        private static final long serialVersionUID = 1L;
+
+        private final IOException failure;
+
+        BodyHandlerException(IOException failure) {
+            super(failure.getMessage());
+            this.failure = failure;
+        }
+    }
+
     /**
      * Represents a supplier of results that can throw.
      *
@@ -52,7 +52,10 @@ class GitHubPageContentsIterable<T> extends PagedIterable<T> {
     @Override
     @Nonnull
     public PagedIterator<T> _iterator(int pageSize) {
-        final GitHubPageIterator<T[]> iterator = GitHubPageIterator.create(client, receiverType, request, pageSize);
+        final GitHubPageIterator<T[]> iterator = GitHubPageIterator.create(client,
+                receiverType,
+                project(request),
+                pageSize);
         return new GitHubPageContentsIterator(iterator, itemInitializer);
     }
 
@@ -160,8 +160,16 @@ class GitHubPageIterator<T> implements Iterator<T> {
 
     /**
      * Locate the next page from the pagination "Link" tag.
+     *
+     * @param nextRequest
+     *            the request for the current page
+     * @param nextResponse
+     *            the response for the current page
+     * @return the request for the next page, or {@code null} if this is the last page
+     * @throws MalformedURLException
+     *             if the next page URL is invalid
      */
-    private GitHubRequest findNextURL(GitHubRequest nextRequest, GitHubResponse<T> nextResponse)
+    static GitHubRequest findNextURL(GitHubRequest nextRequest, GitHubResponse<?> nextResponse)
             throws MalformedURLException {
         GitHubRequest result = null;
         String link = nextResponse.header("Link");
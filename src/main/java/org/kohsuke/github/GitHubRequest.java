@@ -82,6 +82,25 @@ public class GitHubRequest implements GitHubConnectorRequest {
         url = getApiURL(apiUrl, tailApiUrl);
     }
 
+    /**
+     * Creates a copy of a request with other headers and body. The arguments, injected values and url cannot differ,
+     * so they are shared rather than copied and rebuilt.
+     */
+    private GitHubRequest(@Nonnull GitHubRequest request,
+            @Nonnull Map<String, List<String>> headers,
+            @CheckForNull byte[] body) {
+        this.args = request.args;
+        this.headers = headers;
+        this.injectedMappingValues = request.injectedMappingValues;
+        this.apiUrl = request.apiUrl;
+        this.urlPath = request.urlPath;
+        this.method = request.method;
+        this.rateLimitTarget = request.rateLimitTarget;
+        this.body = body;
+        this.forceBody = request.forceBody;
+        this.url = request.url;
+    }
+
     /**
      * Create a new {@link Builder}.
      *
@@ -249,6 +268,17 @@ public class GitHubRequest implements GitHubConnectorRequest {
         return body != null ? new ByteArrayInputStream(body) : null;
     }
 
+    /**
+     * The body of this request, without copying it.
+     *
+     * @return the body, or null
+     */
+    @SuppressFBWarnings(value = { "EI_EXPOSE_REP" }, justification = "Only read by the client")
+    @CheckForNull
+    byte[] bodyBytes() {
+        return body;
+    }
+
     /**
      * The {@link URL} for this request. This is the actual URL the {@link GitHubClient} will send this request to.
      *
@@ -288,24 +318,41 @@ public class GitHubRequest implements GitHubConnectorRequest {
                 forceBody);
     }
 
+    /**
+     * Creates a copy of this request with more headers and another body, for sending it.
+     *
+     * @param headers
+     *            the headers to set, replacing those of the same name. The values must be unmodifiable.
+     * @param body
+     *            the body, which is not copied
+     * @return the request
+     */
+    GitHubRequest withHeaders(@Nonnull Map<String, List<String>> headers, @CheckForNull byte[] body) {
+        TreeMap<String, List<String>> merged = new TreeMap<>(nullableCaseInsensitiveComparator);
+        merged.putAll(this.headers);
+        merged.putAll(headers);
+        return new GitHubRequest(this, Collections.unmodifiableMap(merged), body);
+    }
+
     private String buildTailApiUrl() {
         String tailApiUrl = urlPath;
         if (!hasBody() && !args.isEmpty() && tailApiUrl.startsWith("/")) {
             try {
-                StringBuilder argString = new StringBuilder();
+                StringBuilder argString = new StringBuilder(tailApiUrl.length() + args.size() * 16);
+                argString.append(tailApiUrl);
                 boolean questionMarkFound = tailApiUrl.indexOf('?') != -1;
                 argString.append(questionMarkFound ? '&' : '?');
 
                 for (Iterator<Entry> it = args.listIterator(); it.hasNext();) {
                     Entry arg = it.next();
-                    argString.append(URLEncoder.encode(arg.key, StandardCharsets.UTF_8.name()));
+                    appendQueryEncoded(argString, arg.key);
                     argString.append('=');
-                    argString.append(URLEncoder.encode(arg.value.toString(), StandardCharsets.UTF_8.name()));
+                    appendQueryEncoded(argString, arg.value.toString());
                     if (it.hasNext()) {
                         argString.append('&');
                     }
                 }
-                tailApiUrl += argString;
+                tailApiUrl = argString.toString();
             } catch (UnsupportedEncodingException e) {
                 throw new GHException("UTF-8 encoding required", e);
             }
@@ -313,6 +360,23 @@ public class GitHubRequest implements GitHubConnectorRequest {
         return tailApiUrl;
     }
 
+    /**
+     * Appends a query parameter name or value, encoded as {@link URLEncoder} does. Most are plain words or numbers
+     * that stay the same, so they are appended as they are.
+     */
+    private static void appendQueryEncoded(StringBuilder builder, String value) throws UnsupportedEncodingException {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            boolean unchanged = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '-'
+                    || c == '_' || c == '.' || c == '*';
+            if (!unchanged) {
+                builder.append(URLEncoder.encode(value, StandardCharsets.UTF_8.name()));
+                return;
+            }
+        }
+        builder.append(value);
+    }
+
     /**
      * Class {@link Builder} follows the builder pattern for {@link GitHubRequest}.
      *
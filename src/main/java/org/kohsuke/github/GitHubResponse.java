@@ -3,6 +3,7 @@ package org.kohsuke.github;
 import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.databind.InjectableValues;
 import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectReader;
 import org.apache.commons.io.IOUtils;
 import org.kohsuke.github.connector.GitHubConnectorResponse;
 
@@ -101,7 +102,12 @@ class GitHubResponse<T> {
             InjectableValues.Std inject = new InjectableValues.Std();
             inject.addValue(GitHubConnectorResponse.class, connectorResponse);
 
-            return GitHubClient.getMappingObjectReader(connectorResponse).forType(type).readValue(data);
+            ObjectReader reader = GitHubClient.getMappingObjectReader(connectorResponse).forType(type);
+            FieldProjection projection = FieldProjection.from(connectorResponse);
+            T result = projection != null
+                    ? reader.readValue(projection.filter(reader.getFactory().createParser(data)))
+                    : reader.readValue(data);
+            return keepTopLevelHeaders(connectorResponse, result);
         } catch (JsonMappingException | JsonParseException e) {
             String message = "Failed to deserialize: " + data;
             LOGGER.log(Level.FINE, message);
@@ -127,7 +133,10 @@ class GitHubResponse<T> {
 
         String data = getBodyAsString(connectorResponse);
         try {
-            return GitHubClient.getMappingObjectReader(connectorResponse).withValueToUpdate(instance).readValue(data);
+            T result = GitHubClient.getMappingObjectReader(connectorResponse)
+                    .withValueToUpdate(instance)
+                    .readValue(data);
+            return keepTopLevelHeaders(connectorResponse, result);
         } catch (JsonMappingException | JsonParseException e) {
             String message = "Failed to deserialize: " + data;
             LOGGER.log(Level.FINE, message);
@@ -135,6 +144,26 @@ class GitHubResponse<T> {
         }
     }
 
+    /**
+     * Gives the headers of the response to the object read from it, when the client only keeps them on top-level
+     * objects.
+     *
+     * @param <T>
+     *            the type
+     * @param connectorResponse
+     *            the response
+     * @param result
+     *            the object read from the response
+     * @return the result
+     */
+    private static <T> T keepTopLevelHeaders(GitHubConnectorResponse connectorResponse, T result) {
+        if (result instanceof GHObject
+                && GitHubClient.getResponseHeaderMode(connectorResponse) == ResponseHeaderMode.TOP_LEVEL) {
+            ((GHObject) result).setResponseHeaderFields(connectorResponse);
+        }
+        return result;
+    }
+
     /**
      * Gets the body of the response as a {@link String}.
      *
@@ -1,13 +1,22 @@
 package org.kohsuke.github;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.lang.reflect.Array;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import javax.annotation.Nonnull;
 
@@ -26,6 +35,16 @@ public abstract class PagedIterable<T> implements Iterable<T> {
      */
     private int pageSize = 0;
 
+    /**
+     * Fields to read from each item. null reads them all.
+     */
+    private FieldProjection projection;
+
+    /**
+     * Number of items populated at a time as each page arrives. 0 leaves them as they are.
+     */
+    private int hydration = 0;
+
     /**
      * Sets the pagination size.
      *
@@ -41,6 +60,66 @@ public abstract class PagedIterable<T> implements Iterable<T> {
         return this;
     }
 
+    /**
+     * Limits the fields that are read from each item.
+     *
+     * <p>
+     * Fields are named as they appear in the JSON returned by GitHub, with dots for fields of nested objects, for
+     * example {@code full_name}, {@code pushed_at} and {@code owner.login}. The other fields are skipped while the
+     * response is parsed, which saves time and memory when listing many items that only a few fields are needed from.
+     * Getters of fields that were not read return their default value, and methods that need them may fail, so
+     * projected items are best used as read-only data.
+     *
+     * @param fields
+     *            the fields to read
+     * @return the paged iterable
+     */
+    public PagedIterable<T> withProjection(String... fields) {
+        this.projection = FieldProjection.of(Arrays.asList(fields)).forPages();
+        return this;
+    }
+
+    /**
+     * Populates the items of each page as it arrives, several at a time, before they are returned.
+     *
+     * <p>
+     * Items in lists are often summaries, and some getters, such as {@link GHPerson#getName()} or
+     * {@link GHCommit#getFiles()}, send a request to fetch the rest of their item the first time they are called. Read
+     * in a loop, that is one request after the other for every item. With hydration, users, organizations, commits,
+     * licenses and pull requests are populated concurrently as soon as their page is fetched, with the given number of
+     * requests at a time, while staying within the core rate limit. Other items are returned as they are.
+     * </p>
+     * <p>
+     * Only use this when the fields that need populating are read for most items: it sends a request for each of them.
+     * </p>
+     *
+     * @param parallelism
+     *            the number of items populated at a time, or 0 to leave items as they are
+     * @return the paged iterable
+     * @see GHPopulateMonitor
+     */
+    public PagedIterable<T> withHydration(int parallelism) {
+        if (parallelism < 0) {
+            throw new IllegalArgumentException("parallelism must not be negative");
+        }
+        this.hydration = parallelism;
+        return this;
+    }
+
+    /**
+     * Applies the projection set by {@link #withProjection(String...)}, if any, to the request of a page.
+     *
+     * @param request
+     *            the request
+     * @return the request to send
+     */
+    GitHubRequest project(GitHubRequest request) {
+        if (projection == null) {
+            return request;
+        }
+        return request.toBuilder().injectMappingValue(FieldProjection.INJECTED_VALUE_NAME, projection).build();
+    }
+
     /**
      * Returns an iterator over elements of type {@code T}.
      *
@@ -48,7 +127,11 @@ public abstract class PagedIterable<T> implements Iterable<T> {
      */
     @Nonnull
     public final PagedIterator<T> iterator() {
-        return _iterator(pageSize);
+        PagedIterator<T> iterator = _iterator(pageSize);
+        if (hydration == 0) {
+            return iterator;
+        }
+        return new PagedIterator<>(new HydratingPages<>(iterator, hydration), null);
     }
 
     /**
@@ -95,6 +178,32 @@ public abstract class PagedIterable<T> implements Iterable<T> {
         }
     }
 
+    /**
+     * Returns a sequential {@link Stream} over the items.
+     *
+     * <p>
+     * Pages are fetched as the stream is consumed, so a short-circuiting operation such as
+     * {@link Stream#findFirst()}, {@link Stream#anyMatch} or {@link Stream#limit(long)} stops fetching once it is
+     * satisfied. The stream splits one page at a time, so work on the items of a {@link Stream#parallel() parallel}
+     * stream overlaps with fetching the next pages. Unlike {@link #toList()}, items that have been consumed can be
+     * garbage collected while later pages are read.
+     * </p>
+     * <p>
+     * As with {@link #iterator()}, an {@link IOException} is thrown wrapped in a {@link GHException}.
+     * </p>
+     * <p>
+     * Closing the stream stops an iterable that fetches pages in the background, such as a
+     * {@link PartitionedSearchIterable}, from fetching more.
+     * </p>
+     *
+     * @return the stream
+     */
+    @Nonnull
+    public Stream<T> stream() {
+        PagedIterator<T> iterator = iterator();
+        return StreamSupport.stream(new PageSpliterator<>(iterator), false).onClose(iterator::close);
+    }
+
     /**
      * Eagerly walk {@link Iterable} and return the result in an array.
      *
@@ -188,4 +297,187 @@ public abstract class PagedIterable<T> implements Iterable<T> {
         return result;
     }
 
+    /**
+     * {@link Spliterator} that reads one page at a time and splits at page boundaries.
+     *
+     * @param <T>
+     *            the type of items on each page
+     */
+    private static class PageSpliterator<T> implements Spliterator<T> {
+        private static final int CHARACTERISTICS = Spliterator.ORDERED | Spliterator.NONNULL;
+
+        private final PagedIterator<T> pages;
+        private T[] page;
+        private int index;
+
+        PageSpliterator(PagedIterator<T> pages) {
+            this.pages = pages;
+        }
+
+        /**
+         * Makes sure there is an item to consume, fetching pages as needed.
+         */
+        private boolean fill() {
+            while (page == null || index >= page.length) {
+                if (!pages.hasNext()) {
+                    return false;
+                }
+                page = pages.nextPageArray();
+                index = 0;
+            }
+            return true;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (!fill()) {
+                return false;
+            }
+            action.accept(page[index++]);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            while (fill()) {
+                T[] items = page;
+                int end = items.length;
+                for (int i = index; i < end; i++) {
+                    action.accept(items[i]);
+                }
+                index = end;
+            }
+        }
+
+        /**
+         * Hands over the rest of the current page, or else the next page, which is fetched by the calling thread.
+         */
+        @Override
+        public Spliterator<T> trySplit() {
+            if (!fill()) {
+                return null;
+            }
+            Spliterator<T> prefix = Spliterators.spliterator(page, index, page.length, CHARACTERISTICS);
+            page = null;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return Long.MAX_VALUE;
+        }
+
+        @Override
+        public int characteristics() {
+            return CHARACTERISTICS;
+        }
+    }
+
+    /**
+     * Pages of another iterator, with their items populated before each page is returned.
+     */
+    private static class HydratingPages<T> implements Iterator<T[]>, Closeable {
+        private final PagedIterator<T> pages;
+        private final int parallelism;
+        private boolean started;
+        // created for the first page with items to populate, and shared by the later pages
+        private RateLimitedExecutor executor;
+
+        HydratingPages(PagedIterator<T> pages, int parallelism) {
+            this.pages = pages;
+            this.parallelism = parallelism;
+        }
+
+        @Override
+        public boolean hasNext() {
+            // the first page is always returned, even if it is empty
+            if (!started || pages.hasNext()) {
+                return true;
+            }
+            close();
+            return false;
+        }
+
+        @Override
+        public T[] next() {
+            started = true;
+            T[] page = pages.nextPageArray();
+            hydrate(page);
+            return page;
+        }
+
+        @Override
+        public void close() {
+            if (executor != null) {
+                executor.close();
+                executor = null;
+            }
+            pages.close();
+        }
+
+        private void hydrate(T[] page) {
+            List<Object> items = new ArrayList<>();
+            GitHub root = null;
+            for (T item : page) {
+                GitHub itemRoot = hydratedRoot(item);
+                if (itemRoot != null) {
+                    items.add(item);
+                    root = itemRoot;
+                }
+            }
+            if (items.isEmpty() || root.isOffline()) {
+                return;
+            }
+            if (executor == null) {
+                executor = new RateLimitedExecutor(root, RateLimitTarget.CORE, parallelism, "github-api-hydrate");
+            }
+            RateLimitedExecutor executor = this.executor;
+            List<CompletableFuture<Object>> populated = new ArrayList<>();
+            for (Object item : items) {
+                populated.add(executor.submit(() -> {
+                    executor.awaitBudget();
+                    return GHPopulateMonitor.hydrating(() -> {
+                        populate(item);
+                        return item;
+                    });
+                }));
+            }
+            for (CompletableFuture<Object> future : populated) {
+                try {
+                    future.get();
+                } catch (InterruptedException e) {
+                    close();
+                    Thread.currentThread().interrupt();
+                    throw new GHException("Interrupted while populating items", e);
+                } catch (ExecutionException e) {
+                    close();
+                    throw new GHException("Failed to populate items", e.getCause());
+                }
+            }
+        }
+
+        /**
+         * Gets the root of an item that can be populated, or null for other items.
+         */
+        private static GitHub hydratedRoot(Object item) {
+            if (item instanceof GHPerson || item instanceof GHLicense || item instanceof GHPullRequest) {
+                return ((GitHubInteractiveObject) item).root();
+            } else if (item instanceof GHCommit && ((GHCommit) item).getOwner() != null) {
+                return ((GHCommit) item).getOwner().root();
+            }
+            return null;
+        }
+
+        private static void populate(Object item) throws IOException {
+            if (item instanceof GHPerson) {
+                ((GHPerson) item).populate();
+            } else if (item instanceof GHLicense) {
+                ((GHLicense) item).populate();
+            } else if (item instanceof GHPullRequest) {
+                ((GHPullRequest) item).populate();
+            } else {
+                ((GHCommit) item).populate();
+            }
+        }
+    }
 }
@@ -1,5 +1,7 @@
 package org.kohsuke.github;
 
+import java.io.Closeable;
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
@@ -62,6 +64,19 @@ public class PagedIterator<T> implements Iterator<T> {
         this.itemInitializer = itemInitializer;
     }
 
+    /**
+     * Stops fetching pages, for a base that fetches them in the background.
+     */
+    void close() {
+        if (base instanceof Closeable) {
+            try {
+                ((Closeable) base).close();
+            } catch (IOException e) {
+                throw new GHException("Failed to close the iterator", e);
+            }
+        }
+    }
+
     /**
      * This poorly named method, initializes items with local data after they are fetched. It is up to the implementer
      * to decide what local data to apply.
@@ -94,7 +94,7 @@ public class PagedSearchIterable<T> extends PagedIterable<T> {
     @Override
     public PagedIterator<T> _iterator(int pageSize) {
         final Iterator<T[]> adapter = adapt(
-                GitHubPageIterator.create(root.getClient(), receiverType, request, pageSize));
+                GitHubPageIterator.create(root.getClient(), receiverType, project(request), pageSize));
         return new PagedIterator<T>(adapter, null);
     }
 
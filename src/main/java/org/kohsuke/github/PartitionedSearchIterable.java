@@ -0,0 +1,466 @@
+package org.kohsuke.github;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.lang.ref.WeakReference;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+import javax.annotation.Nonnull;
+
+import static java.util.logging.Level.WARNING;
+
+/**
+ * {@link PagedIterable} that returns every result of a search, not just the first 1000.
+ *
+ * <p>
+ * GitHub stops returning search results after the first 1000. This iterable works around the cap by splitting the
+ * query on a date qualifier, such as {@code created}. Whenever a date range matches more than 1000 results, it is
+ * split in two halves and each half is searched on its own, until every range fits under the cap. The ranges are
+ * searched concurrently, sharing the {@link RateLimitTarget#SEARCH} budget, and results are returned as soon as their
+ * page arrives. Items that show up in more than one range are only returned once.
+ * </p>
+ *
+ * <p>
+ * The order of the results is not defined. Each iterator searches on its own threads, from the first call to
+ * {@code hasNext()} until it reaches the end of the results. An iterator that is abandoned before that stops searching
+ * once it is garbage collected. Close this iterable, or the {@link #stream() stream} of the iterator, to stop the
+ * searches right away.
+ * </p>
+ *
+ * @param <T>
+ *            the type parameter
+ * @see GHIssueSearchBuilder#listExhaustively()
+ */
+public class PartitionedSearchIterable<T> extends PagedIterable<T> implements Closeable {
+
+    private static final Logger LOGGER = Logger.getLogger(PartitionedSearchIterable.class.getName());
+
+    /** The maximum number of results GitHub returns for one search. */
+    static final int RESULT_CAP = 1000;
+
+    private static final int DEFAULT_PARALLELISM = 2;
+    private static final int MAX_PAGE_SIZE = 100;
+
+    /** How often a search waiting for room in the queue checks whether its scan was abandoned. */
+    private static final long ABANDONED_CHECK_MILLIS = 1000;
+
+    /** Marks the end of the results in a scan queue. */
+    private static final Object END = new Object();
+
+    private final GitHub root;
+    private final GitHubRequest request;
+    private final Class<? extends SearchResult<T>> receiverType;
+    private final String terms;
+    private final String qualifier;
+    private final long fromSecond;
+    private final long toSecond;
+    private final Function<T, Object> identity;
+    private final Set<Search> searches = ConcurrentHashMap.newKeySet();
+
+    private int parallelism = DEFAULT_PARALLELISM;
+
+    /**
+     * Instantiates a new partitioned search iterable.
+     *
+     * @param root
+     *            the root
+     * @param request
+     *            the search request, whose {@code q} parameter is replaced for each range
+     * @param receiverType
+     *            the receiver type
+     * @param terms
+     *            the search terms, other than the ones using {@code qualifier}
+     * @param qualifier
+     *            the date qualifier to split on
+     * @param fromSecond
+     *            the first second to search, inclusive
+     * @param toSecond
+     *            the last second to search, inclusive
+     * @param identity
+     *            the value that identifies an item, used to drop duplicates
+     */
+    PartitionedSearchIterable(GitHub root,
+            GitHubRequest request,
+            Class<? extends SearchResult<T>> receiverType,
+            List<String> terms,
+            String qualifier,
+            long fromSecond,
+            long toSecond,
+            Function<T, Object> identity) {
+        this.root = root;
+        this.request = request;
+        this.receiverType = receiverType;
+        this.terms = StringUtils.join(terms, " ");
+        this.qualifier = qualifier;
+        this.fromSecond = fromSecond;
+        this.toSecond = toSecond;
+        this.identity = identity;
+    }
+
+    /**
+     * Creates an iterable for the terms of a search builder.
+     *
+     * The terms using {@code qualifier} become the initial date range. They can be a date or a date-time, and use the
+     * {@code ..}, {@code >}, {@code >=}, {@code <} and {@code <=} range syntax. Without such a term, the search starts
+     * at {@code floor} and ends now.
+     *
+     * @param <T>
+     *            the type parameter
+     * @param root
+     *            the root
+     * @param request
+     *            the search request
+     * @param receiverType
+     *            the receiver type
+     * @param terms
+     *            all the search terms
+     * @param qualifier
+     *            the date qualifier to split on
+     * @param floor
+     *            the earliest date any item can have
+     * @param identity
+     *            the value that identifies an item
+     * @return the partitioned search iterable
+     */
+    static <T> PartitionedSearchIterable<T> create(GitHub root,
+            GitHubRequest request,
+            Class<? extends SearchResult<T>> receiverType,
+            List<String> terms,
+            String qualifier,
+            LocalDate floor,
+            Function<T, Object> identity) {
+        String prefix = qualifier + ":";
+        List<String> otherTerms = new ArrayList<>();
+        long from = floor.atStartOfDay(ZoneOffset.UTC).toEpochSecond();
+        long to = Instant.now().getEpochSecond();
+        for (String term : terms) {
+            if (!term.startsWith(prefix)) {
+                otherTerms.add(term);
+                continue;
+            }
+            String value = term.substring(prefix.length());
+            try {
+                if (value.contains("..")) {
+                    String start = value.substring(0, value.indexOf(".."));
+                    String end = value.substring(value.indexOf("..") + 2);
+                    from = "*".equals(start) ? from : Math.max(from, firstSecond(start));
+                    to = "*".equals(end) ? to : Math.min(to, lastSecond(end));
+                } else if (value.startsWith(">=")) {
+                    from = Math.max(from, firstSecond(value.substring(2)));
+                } else if (value.startsWith(">")) {
+                    from = Math.max(from, lastSecond(value.substring(1)) + 1);
+                } else if (value.startsWith("<=")) {
+                    to = Math.min(to, lastSecond(value.substring(2)));
+                } else if (value.startsWith("<")) {
+                    to = Math.min(to, firstSecond(value.substring(1)) - 1);
+                } else {
+                    from = Math.max(from, firstSecond(value));
+                    to = Math.min(to, lastSecond(value));
+                }
+            } catch (DateTimeException e) {
+                throw new IllegalArgumentException("Cannot split search on \"" + term + "\"", e);
+            }
+        }
+        return new PartitionedSearchIterable<>(root, request, receiverType, otherTerms, qualifier, from, to, identity);
+    }
+
+    /**
+     * Sets how many date ranges are searched at once. Defaults to 2.
+     *
+     * @param parallelism
+     *            the parallelism
+     * @return the partitioned search iterable
+     */
+    public PartitionedSearchIterable<T> withParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1");
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * With page size.
+     *
+     * @param size
+     *            the size
+     * @return the partitioned search iterable
+     */
+    @Override
+    public PartitionedSearchIterable<T> withPageSize(int size) {
+        return (PartitionedSearchIterable<T>) super.withPageSize(size);
+    }
+
+    /**
+     * Iterator.
+     *
+     * @param pageSize
+     *            the page size
+     * @return the paged iterator
+     */
+    @Nonnull
+    @Override
+    public PagedIterator<T> _iterator(int pageSize) {
+        return new PagedIterator<>(new Scan(pageSize > 0 ? pageSize : MAX_PAGE_SIZE), null);
+    }
+
+    /**
+     * Stops the searches of all iterators that have not reached the end of the results.
+     */
+    @Override
+    public void close() {
+        for (Search search : searches) {
+            search.close();
+        }
+    }
+
+    /**
+     * Builds the search query for a date range.
+     *
+     * @param from
+     *            the first second, inclusive
+     * @param to
+     *            the last second, inclusive
+     * @return the query
+     */
+    String query(long from, long to) {
+        String range = qualifier + ":" + format(from) + ".." + format(to);
+        return terms.isEmpty() ? range : terms + " " + range;
+    }
+
+    private static String format(long epochSecond) {
+        return DateTimeFormatter.ISO_INSTANT.format(Instant.ofEpochSecond(epochSecond));
+    }
+
+    private static long firstSecond(String value) {
+        if (value.indexOf('T') < 0) {
+            return LocalDate.parse(value).atStartOfDay(ZoneOffset.UTC).toEpochSecond();
+        }
+        return OffsetDateTime.parse(value).toEpochSecond();
+    }
+
+    private static long lastSecond(String value) {
+        if (value.indexOf('T') < 0) {
+            return LocalDate.parse(value).plusDays(1).atStartOfDay(ZoneOffset.UTC).toEpochSecond() - 1;
+        }
+        return OffsetDateTime.parse(value).toEpochSecond();
+    }
+
+    /**
+     * One iteration over the results. The searches start when the iterator is first asked for results.
+     */
+    private class Scan implements Iterator<T[]>, Closeable {
+        private final int pageSize;
+        private final Set<Object> seen = new HashSet<>();
+
+        private Search search;
+        private T[] next;
+        private T[] empty;
+        private boolean returnedAny;
+        private boolean closed;
+
+        Scan(int pageSize) {
+            this.pageSize = pageSize;
+        }
+
+        @SuppressWarnings("unchecked")
+        public boolean hasNext() {
+            if (search == null) {
+                if (closed) {
+                    return false;
+                }
+                search = new Search(this, pageSize);
+            }
+            while (next == null && !search.done) {
+                Object item;
+                try {
+                    item = search.queue.take();
+                } catch (InterruptedException e) {
+                    search.close();
+                    Thread.currentThread().interrupt();
+                    throw new GHException("Interrupted while waiting for search results", e);
+                }
+                if (item == END) {
+                    search.close();
+                } else if (item instanceof Throwable) {
+                    search.close();
+                    Throwable e = (Throwable) item;
+                    throw new GHException("Failed to search: " + e.getMessage(), e);
+                } else {
+                    search.buffered.release();
+                    next = withoutDuplicates((T[]) item);
+                }
+            }
+            // the first page is always returned, even if there are no results
+            if (next == null && !returnedAny && empty != null) {
+                next = empty;
+            }
+            return next != null;
+        }
+
+        public T[] next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            T[] result = next;
+            next = null;
+            returnedAny = true;
+            return result;
+        }
+
+        private T[] withoutDuplicates(T[] page) {
+            if (empty == null) {
+                empty = Arrays.copyOf(page, 0);
+            }
+            int size = 0;
+            for (T item : page) {
+                if (seen.add(identity.apply(item))) {
+                    page[size++] = item;
+                }
+            }
+            return size == 0 ? null : Arrays.copyOf(page, size);
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            if (search != null) {
+                search.close();
+            }
+        }
+    }
+
+    /**
+     * The searches of one {@link Scan}. Date ranges are searched on the threads of a {@link RateLimitedExecutor}, which
+     * hand their pages over to the iterating thread through a queue.
+     *
+     * <p>
+     * The threads only hold a weak reference to the scan. When the queue is full and the scan has been garbage
+     * collected, nobody is going to take the pages, so the searches stop.
+     * </p>
+     */
+    private class Search {
+        private final int pageSize;
+        private final WeakReference<Scan> scan;
+        private final RateLimitedExecutor executor;
+        private final BlockingQueue<Object> queue = new LinkedBlockingQueue<>();
+        // bounds the pages waiting in the queue, so searches pause when the caller falls behind
+        private final Semaphore buffered;
+        private final AtomicInteger ranges = new AtomicInteger();
+        private volatile boolean done;
+
+        Search(Scan scan, int pageSize) {
+            this.pageSize = pageSize;
+            this.scan = new WeakReference<>(scan);
+            this.executor = new RateLimitedExecutor(root, RateLimitTarget.SEARCH, parallelism, "github-api-search");
+            this.buffered = new Semaphore(executor.maxQueued());
+            searches.add(this);
+            submit(fromSecond, toSecond);
+        }
+
+        private void submit(long from, long to) {
+            ranges.incrementAndGet();
+            executor.submit(() -> {
+                search(from, to);
+                return null;
+            }).whenComplete((result, e) -> {
+                if (e != null) {
+                    queue.add(e);
+                }
+                if (ranges.decrementAndGet() == 0) {
+                    queue.add(END);
+                }
+            });
+        }
+
+        private void search(long from, long to) throws IOException {
+            try {
+                executor.awaitBudget();
+                GitHubRequest rangeRequest = project(request).toBuilder().set("q", query(from, to)).build();
+                PagedSearchIterable<T> search = new PagedSearchIterable<>(root, rangeRequest, receiverType);
+                PagedIterator<T> pages = search._iterator(pageSize);
+                T[] page = pages.nextPageArray();
+                int totalCount = search.getTotalCount();
+                if (totalCount > RESULT_CAP) {
+                    if (from < to) {
+                        long middle = from + (to - from) / 2;
+                        submit(from, middle);
+                        submit(middle + 1, to);
+                        return;
+                    }
+                    LOGGER.log(WARNING,
+                            () -> String.format("Search for \"%s\" matches %d results, only %d can be returned",
+                                    query(from, to),
+                                    totalCount,
+                                    RESULT_CAP));
+                }
+                if (!emit(page)) {
+                    return;
+                }
+                while (true) {
+                    executor.awaitBudget();
+                    if (!pages.hasNext() || !emit(pages.nextPageArray())) {
+                        break;
+                    }
+                }
+            } catch (GHException e) {
+                if (e.getCause() instanceof IOException) {
+                    throw (IOException) e.getCause();
+                }
+                throw e;
+            }
+        }
+
+        /**
+         * Hands a page over to the scan, once the queue has room for it.
+         *
+         * @return false if the searches were stopped
+         */
+        private boolean emit(T[] page) throws InterruptedIOException {
+            try {
+                while (!buffered.tryAcquire(ABANDONED_CHECK_MILLIS, TimeUnit.MILLISECONDS)) {
+                    if (scan.get() == null) {
+                        close();
+                    }
+                    if (done) {
+                        return false;
+                    }
+                }
+            } catch (InterruptedException e) {
+                throw (InterruptedIOException) new InterruptedIOException().initCause(e);
+            }
+            queue.add(page);
+            return !done;
+        }
+
+        void close() {
+            done = true;
+            searches.remove(this);
+            executor.close();
+            queue.add(END);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package org.kohsuke.github;
+
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Matches repository paths, which are separated by {@code /}, against a glob.
+ *
+ * <p>
+ * {@code *} matches any characters but {@code /}, {@code **} matches any characters, {@code **}{@code /} matches any
+ * number of directories, including none, {@code ?} matches one character but {@code /}, {@code [...]} matches one of
+ * the characters, and {@code {a,b}} matches either alternative. Any other character matches itself.
+ */
+class PathGlob implements Predicate<String> {
+
+    private final String glob;
+    private final Pattern pattern;
+
+    /**
+     * Instantiates a new glob.
+     *
+     * @param glob
+     *            the glob, such as {@code src/**}{@code /*.java}
+     */
+    PathGlob(@Nonnull String glob) {
+        this.glob = glob;
+        this.pattern = Pattern.compile(toRegex(glob));
+    }
+
+    /**
+     * Checks if a path matches the glob.
+     *
+     * @param path
+     *            the path, without a leading {@code /}
+     * @return true if it matches
+     */
+    @Override
+    public boolean test(@Nonnull String path) {
+        return pattern.matcher(path).matches();
+    }
+
+    @Override
+    public String toString() {
+        return glob;
+    }
+
+    private static String toRegex(String glob) {
+        StringBuilder regex = new StringBuilder();
+        boolean inAlternatives = false;
+        for (int i = 0; i < glob.length(); i++) {
+            char c = glob.charAt(i);
+            switch (c) {
+                case '*' :
+                    if (i + 1 < glob.length() && glob.charAt(i + 1) == '*') {
+                        i++;
+                        if (i + 1 < glob.length() && glob.charAt(i + 1) == '/') {
+                            i++;
+                            regex.append("(?:.*/)?");
+                        } else {
+                            regex.append(".*");
+                        }
+                    } else {
+                        regex.append("[^/]*");
+                    }
+                    break;
+                case '?' :
+                    regex.append("[^/]");
+                    break;
+                case '[' :
+                    int end = glob.indexOf(']', i + 1);
+                    if (end < 0) {
+                        throw new IllegalArgumentException("Unclosed [ in glob " + glob);
+                    }
+                    String chars = glob.substring(i + 1, end);
+                    regex.append('[');
+                    if (chars.startsWith("!")) {
+                        regex.append('^');
+                        chars = chars.substring(1);
+                    }
+                    regex.append(chars.replace("\\", "\\\\").replace("[", "\\[")).append(']');
+                    i = end;
+                    break;
+                case '{' :
+                    if (inAlternatives) {
+                        throw new IllegalArgumentException("Nested { in glob " + glob);
+                    }
+                    inAlternatives = true;
+                    regex.append("(?:");
+                    break;
+                case '}' :
+                    if (inAlternatives) {
+                        inAlternatives = false;
+                        regex.append(')');
+                    } else {
+                        regex.append("\\}");
+                    }
+                    break;
+                case ',' :
+                    regex.append(inAlternatives ? "|" : ",");
+                    break;
+                default :
+                    // a backslash makes any character but a letter or digit stand for itself
+                    if (!Character.isLetterOrDigit(c)) {
+                        regex.append('\\');
+                    }
+                    regex.append(c);
+            }
+        }
+        if (inAlternatives) {
+            throw new IllegalArgumentException("Unclosed { in glob " + glob);
+        }
+        return regex.toString();
+    }
+}
@@ -0,0 +1,274 @@
+package org.kohsuke.github;
+
+import org.kohsuke.github.function.SupplierThrows;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Iterator;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+
+import static java.util.logging.Level.FINE;
+
+/**
+ * Runs requests on a fixed number of daemon threads while staying within the budget of one {@link RateLimitTarget}.
+ *
+ * Tasks call {@link #awaitBudget()} before each request. It blocks while the last rate limit record seen by the client
+ * leaves fewer requests than there are threads, and resumes once that record resets. This keeps a burst of concurrent
+ * requests from running into a secondary rate limit, without making an extra call to the rate limit endpoint.
+ */
+class RateLimitedExecutor implements Closeable {
+
+    private static final Logger LOGGER = Logger.getLogger(RateLimitedExecutor.class.getName());
+
+    /** Extra wait after the reset date, to allow for clock differences. */
+    private static final long RESET_MARGIN_MILLIS = 1000;
+
+    /** How long a thread waits for a task before it exits. */
+    private static final long IDLE_TIMEOUT_SECONDS = 30;
+
+    private final GitHubClient client;
+    private final RateLimitTarget rateLimitTarget;
+    private final int parallelism;
+    private final ExecutorService executor;
+
+    /**
+     * Instantiates a new executor.
+     *
+     * @param root
+     *            the root
+     * @param rateLimitTarget
+     *            the rate limit target whose budget is shared by the tasks
+     * @param parallelism
+     *            the number of threads
+     * @param name
+     *            the prefix of the thread names
+     */
+    RateLimitedExecutor(@Nonnull GitHub root,
+            @Nonnull RateLimitTarget rateLimitTarget,
+            int parallelism,
+            @Nonnull String name) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1");
+        }
+        this.client = root.getClient();
+        this.rateLimitTarget = rateLimitTarget;
+        this.parallelism = parallelism;
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(parallelism,
+                parallelism,
+                IDLE_TIMEOUT_SECONDS,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                new DaemonThreadFactory(name));
+        // an executor that is dropped without being closed does not keep its threads
+        executor.allowCoreThreadTimeOut(true);
+        this.executor = executor;
+    }
+
+    /**
+     * Runs a task on one of the threads.
+     *
+     * @param <R>
+     *            the type of the result
+     * @param task
+     *            the task
+     * @return a future completed with the result of the task, or with the exception it threw
+     */
+    @Nonnull
+    <R> CompletableFuture<R> submit(@Nonnull SupplierThrows<R, IOException> task) {
+        Task<R> queued = new Task<>(task);
+        try {
+            executor.execute(queued);
+        } catch (RejectedExecutionException e) {
+            queued.result.completeExceptionally(e);
+        }
+        return queued.result;
+    }
+
+    /**
+     * Blocks until the rate limit leaves room for one request from each thread.
+     *
+     * @throws InterruptedIOException
+     *             if the thread is interrupted while waiting
+     */
+    void awaitBudget() throws InterruptedIOException {
+        while (true) {
+            GHRateLimit.Record record = client.lastRateLimitRecord(rateLimitTarget);
+            if (record.isExpired() || record.getRemaining() >= parallelism) {
+                return;
+            }
+            long wait = record.getResetDate().getTime() - System.currentTimeMillis() + RESET_MARGIN_MILLIS;
+            LOGGER.log(FINE,
+                    () -> String.format("%s rate limit has %d requests left, waiting %d ms for reset",
+                            rateLimitTarget,
+                            record.getRemaining(),
+                            wait));
+            try {
+                Thread.sleep(Math.max(wait, 1));
+            } catch (InterruptedException e) {
+                throw (InterruptedIOException) new InterruptedIOException().initCause(e);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of tasks worth keeping submitted at a time. With two for each thread, a thread that is done finds
+     * the next task waiting, while the caller is still handing over results or finding what to submit next.
+     *
+     * @return the number of tasks
+     */
+    int maxQueued() {
+        return parallelism * 2;
+    }
+
+    /**
+     * Interrupts running tasks and cancels the queued ones, so that the futures of all tasks complete.
+     */
+    @Override
+    public void close() {
+        for (Runnable queued : executor.shutdownNow()) {
+            ((Task<?>) queued).result.cancel(false);
+        }
+    }
+
+    /**
+     * Acquires permits from a semaphore that bounds the tasks or bytes in flight.
+     *
+     * @param semaphore
+     *            the semaphore
+     * @param permits
+     *            the number of permits
+     * @throws InterruptedIOException
+     *             if the thread is interrupted while waiting
+     */
+    static void acquire(@Nonnull Semaphore semaphore, int permits) throws InterruptedIOException {
+        try {
+            semaphore.acquire(permits);
+        } catch (InterruptedException e) {
+            throw (InterruptedIOException) new InterruptedIOException().initCause(e);
+        }
+    }
+
+    /**
+     * Takes the next result handed over by the tasks.
+     *
+     * @param <E>
+     *            the type of the results
+     * @param queue
+     *            the queue the tasks add their results to
+     * @return the result
+     * @throws InterruptedIOException
+     *             if the thread is interrupted while waiting
+     */
+    static <E> E take(@Nonnull BlockingQueue<E> queue) throws InterruptedIOException {
+        try {
+            return queue.take();
+        } catch (InterruptedException e) {
+            throw (InterruptedIOException) new InterruptedIOException().initCause(e);
+        }
+    }
+
+    /**
+     * Throws the failure of a task on the calling thread. An {@link IOException} or {@link RuntimeException} is thrown
+     * as it is, anything else is wrapped.
+     *
+     * @param failure
+     *            the failure, or {@code null} if there was none
+     * @param message
+     *            the message of the {@link GHException} wrapping any other failure
+     * @throws IOException
+     *             the failure
+     */
+    static void rethrow(@CheckForNull Throwable failure, @Nonnull String message) throws IOException {
+        if (failure instanceof IOException) {
+            throw (IOException) failure;
+        } else if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        } else if (failure != null) {
+            throw new GHException(message, failure);
+        }
+    }
+
+    /**
+     * Checks whether an iterator over paged results has more, throwing the failure to fetch a page as the
+     * {@link IOException} it was rather than the {@link GHException} paging wraps it in.
+     *
+     * @param iterator
+     *            the iterator
+     * @return true if the iterator has more
+     * @throws IOException
+     *             if a page could not be fetched
+     */
+    static boolean hasNext(@Nonnull Iterator<?> iterator) throws IOException {
+        try {
+            return iterator.hasNext();
+        } catch (GHException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * A task and the future it completes.
+     */
+    private static final class Task<R> implements Runnable {
+        private final SupplierThrows<R, IOException> task;
+        final CompletableFuture<R> result = new CompletableFuture<>();
+
+        Task(SupplierThrows<R, IOException> task) {
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            if (result.isDone()) {
+                return;
+            }
+            try {
+                result.complete(task.get());
+            } catch (IOException | RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * Creates numbered daemon threads, which do not keep the JVM from exiting.
+     */
+    static class DaemonThreadFactory implements ThreadFactory {
+        private final String name;
+        private final AtomicInteger count = new AtomicInteger();
+
+        /**
+         * Instantiates a new thread factory.
+         *
+         * @param name
+         *            the prefix of the thread names
+         */
+        DaemonThreadFactory(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
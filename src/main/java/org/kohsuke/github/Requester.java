@@ -31,6 +31,7 @@ import org.kohsuke.github.function.InputStreamFunction;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.function.Consumer;
 
@@ -58,6 +59,17 @@ class Requester extends GitHubRequest.Builder<Requester> {
         this.withApiUrl(client.getApiUrl());
     }
 
+    /**
+     * Limits the fields read from the response to the ones listed.
+     *
+     * @param fields
+     *            the fields to read, as described in {@link PagedIterable#withProjection(String...)}
+     * @return this requester
+     */
+    Requester withProjection(String... fields) {
+        return injectMappingValue(FieldProjection.INJECTED_VALUE_NAME, FieldProjection.of(Arrays.asList(fields)));
+    }
+
     /**
      * Sends a request to the specified URL and checks that it is successful.
      *
@@ -131,6 +143,31 @@ class Requester extends GitHubRequest.Builder<Requester> {
         return client.sendRequest(this, (connectorResponse) -> handler.apply(connectorResponse.bodyStream())).body();
     }
 
+    /**
+     * Response input stream, read directly from the connection instead of being copied into memory first. Use this for
+     * bodies that may be too large to hold in memory. The stream is closed once the handler returns.
+     *
+     * <p>
+     * Unlike {@link #fetchStream(InputStreamFunction)}, the request is not sent again if the connection fails while the
+     * handler reads, and an {@link IOException} thrown by the handler is thrown as it is.
+     *
+     * @param <T>
+     *            the generic type
+     * @param handler
+     *            the handler
+     * @return the t
+     * @throws IOException
+     *             the io exception
+     * @see GitHubConnectorResponse#unbufferedBodyStream()
+     */
+    <T> T fetchUnbufferedStream(@Nonnull InputStreamFunction<T> handler) throws IOException {
+        return client.sendStreamingRequest(build(), (connectorResponse) -> {
+            try (InputStream stream = connectorResponse.unbufferedBodyStream()) {
+                return handler.apply(stream);
+            }
+        });
+    }
+
     /**
      * Helper function to make it easy to pull streams.
      *
@@ -0,0 +1,27 @@
+package org.kohsuke.github;
+
+/**
+ * Specifies which objects keep the headers of the response they were read from.
+ *
+ * <p>
+ * The headers are exposed by {@link GHObject#getResponseHeaderFields()}. An object that keeps them also keeps the
+ * header map of its response alive, which adds up when many objects are cached.
+ *
+ * @see GitHubBuilder#withResponseHeaderMode(ResponseHeaderMode)
+ */
+public enum ResponseHeaderMode {
+    /**
+     * Every object keeps the headers, including the items of a list and nested objects. This is the default.
+     */
+    ALL,
+
+    /**
+     * Only an object fetched on its own keeps the headers. Items of a list and nested objects do not.
+     */
+    TOP_LEVEL,
+
+    /**
+     * No object keeps the headers.
+     */
+    NONE
+}
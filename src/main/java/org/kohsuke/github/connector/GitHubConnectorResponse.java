@@ -1,7 +1,6 @@
 package org.kohsuke.github.connector;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
-import org.apache.commons.io.IOUtils;
 
 import java.io.ByteArrayInputStream;
 import java.io.Closeable;
@@ -9,7 +8,6 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.HttpURLConnection;
 import java.util.*;
-import java.util.zip.GZIPInputStream;
 
 import javax.annotation.CheckForNull;
 import javax.annotation.Nonnull;
@@ -101,6 +99,22 @@ public abstract class GitHubConnectorResponse implements Closeable {
     @Nonnull
     public abstract InputStream bodyStream() throws IOException;
 
+    /**
+     * The response body as an {@link InputStream} read directly from the connection, for bodies too large to hold in
+     * memory.
+     *
+     * Unlike {@link #bodyStream()}, the returned stream can only be read once, and {@link #bodyStream()} cannot be
+     * called afterwards. Implementations that cannot stream return {@link #bodyStream()}.
+     *
+     * @return the response body
+     * @throws IOException
+     *             if response stream is null or an I/O Exception occurs.
+     */
+    @Nonnull
+    public InputStream unbufferedBodyStream() throws IOException {
+        return bodyStream();
+    }
+
     /**
      * Gets the {@link GitHubConnectorRequest} for this response.
      *
@@ -133,6 +147,9 @@ public abstract class GitHubConnectorResponse implements Closeable {
 
     /**
      * Handles wrapping the body stream if indicated by the "Content-Encoding" header.
+     * <p>
+     * Gzip is decoded with an inflater and buffer taken from a shared pool, which are returned to it when the stream is
+     * closed.
      *
      * @param stream
      *            the stream to possibly wrap
@@ -145,7 +162,7 @@ public abstract class GitHubConnectorResponse implements Closeable {
         if (encoding == null || stream == null)
             return stream;
         if (encoding.equals("gzip"))
-            return new GZIPInputStream(stream);
+            return new PooledGzipInputStream(stream);
 
         throw new UnsupportedOperationException("Unexpected Content-Encoding: " + encoding);
     }
@@ -173,7 +190,16 @@ public abstract class GitHubConnectorResponse implements Closeable {
      */
     public abstract static class ByteArrayResponse extends GitHubConnectorResponse {
 
+        private static final int DEFAULT_BUFFER_SIZE = 8192;
+
+        /** Caps the buffer allocated up front, so a wrong length header cannot cause a huge allocation. */
+        private static final int MAX_SIZE_HINT = 4 * 1024 * 1024;
+
+        /** How much larger than its encoded length a gzip body is guessed to be; json typically compresses more. */
+        private static final int GZIP_SIZE_RATIO = 4;
+
         private boolean inputStreamRead = false;
+        private boolean inputStreamUnbuffered = false;
         private byte[] inputBytes = null;
         private boolean isClosed = false;
 
@@ -207,13 +233,16 @@ public abstract class GitHubConnectorResponse implements Closeable {
                     InputStream rawStream = rawBodyStream();
                     try (InputStream stream = wrapStream(rawStream)) {
                         if (stream != null) {
-                            inputBytes = IOUtils.toByteArray(stream);
+                            inputBytes = readBody(stream, sizeHint());
                         }
                     }
                     inputStreamRead = true;
                 }
             }
 
+            if (inputStreamUnbuffered) {
+                throw new IOException("Response body was already read without buffering");
+            }
             if (inputBytes == null) {
                 throw new IOException("Response body missing, stream null");
             }
@@ -221,6 +250,72 @@ public abstract class GitHubConnectorResponse implements Closeable {
             return new ByteArrayInputStream(inputBytes);
         }
 
+        /**
+         * Guesses the size of the decoded body from the {@code Content-Length} header. Plain bodies are exactly that
+         * size, so they are read into an array that needs no copy at the end.
+         */
+        private int sizeHint() {
+            String contentLength = header("Content-Length");
+            long hint = DEFAULT_BUFFER_SIZE;
+            if (contentLength != null) {
+                try {
+                    hint = Long.parseLong(contentLength.trim());
+                } catch (NumberFormatException e) {
+                    // fall back to the default
+                }
+                if (header("Content-Encoding") != null) {
+                    hint *= GZIP_SIZE_RATIO;
+                }
+            }
+            return (int) Math.max(1, Math.min(hint, MAX_SIZE_HINT));
+        }
+
+        /**
+         * Reads a stream into an array of the given initial size, which grows as needed.
+         */
+        private static byte[] readBody(InputStream stream, int sizeHint) throws IOException {
+            byte[] bytes = new byte[sizeHint];
+            int count = 0;
+            while (true) {
+                if (count == bytes.length) {
+                    int next = stream.read();
+                    if (next == -1) {
+                        return bytes;
+                    }
+                    bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, DEFAULT_BUFFER_SIZE));
+                    bytes[count++] = (byte) next;
+                }
+                int n = stream.read(bytes, count, bytes.length - count);
+                if (n == -1) {
+                    return count == bytes.length ? bytes : Arrays.copyOf(bytes, count);
+                }
+                count += n;
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        @Nonnull
+        public InputStream unbufferedBodyStream() throws IOException {
+            if (isClosed) {
+                throw new IOException("Response is closed");
+            }
+            synchronized (this) {
+                if (inputStreamRead) {
+                    return bodyStream();
+                }
+                inputStreamRead = true;
+                inputStreamUnbuffered = true;
+            }
+            InputStream stream = wrapStream(rawBodyStream());
+            if (stream == null) {
+                throw new IOException("Response body missing, stream null");
+            }
+            return stream;
+        }
+
         /**
          * Get the raw implementation specific body stream for this response.
          *
@@ -0,0 +1,247 @@
+package org.kohsuke.github.connector;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * Decodes a gzip stream like {@link java.util.zip.GZIPInputStream}, with an {@link Inflater} and input buffer taken
+ * from a pool rather than allocated for every response.
+ * <p>
+ * Each inflater holds native memory until it is ended, so creating one per response churns native memory at high
+ * request rates. Closing this stream resets the inflater and returns it to the pool. The pool is bounded; inflaters
+ * released when it is full are ended.
+ * <p>
+ * Concatenated gzip members are read as one stream, and data after the last member is ignored, as
+ * {@link java.util.zip.GZIPInputStream} does. The optional header checksum is skipped without being verified.
+ */
+final class PooledGzipInputStream extends InputStream {
+
+    /** The most decoders kept for reuse. */
+    static final int POOL_SIZE = 32;
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private static final int GZIP_MAGIC = 0x8b1f;
+    private static final int FHCRC = 2;
+    private static final int FEXTRA = 4;
+    private static final int FNAME = 8;
+    private static final int FCOMMENT = 16;
+
+    private static final BlockingQueue<Decoder> POOL = new ArrayBlockingQueue<>(POOL_SIZE);
+
+    private final InputStream in;
+    private final byte[] single = new byte[1];
+    private Decoder decoder;
+    private int position;
+    private int limit;
+    private boolean eof;
+
+    /**
+     * Instantiates a new stream and reads the gzip header.
+     *
+     * @param in
+     *            the gzip encoded stream
+     * @throws IOException
+     *             if the header cannot be read or is not a gzip header
+     */
+    PooledGzipInputStream(InputStream in) throws IOException {
+        this.in = in;
+        Decoder pooled = POOL.poll();
+        this.decoder = pooled != null ? pooled : new Decoder();
+        try {
+            readHeader();
+        } catch (IOException | RuntimeException e) {
+            release();
+            throw e;
+        }
+    }
+
+    /**
+     * Gets the number of decoders waiting in the pool.
+     *
+     * @return the number of pooled decoders
+     */
+    static int pooled() {
+        return POOL.size();
+    }
+
+    @Override
+    public int read() throws IOException {
+        return read(single, 0, 1) == -1 ? -1 : single[0] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (decoder == null) {
+            throw new IOException("Stream closed");
+        }
+        if (off < 0 || len < 0 || len > b.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (len == 0) {
+            return 0;
+        }
+        Inflater inflater = decoder.inflater;
+        while (!eof) {
+            int n;
+            try {
+                n = inflater.inflate(b, off, len);
+            } catch (DataFormatException e) {
+                String message = e.getMessage();
+                throw new ZipException(message != null ? message : "Invalid ZLIB data format");
+            }
+            if (n > 0) {
+                decoder.crc.update(b, off, n);
+                return n;
+            }
+            if (inflater.finished()) {
+                readTrailer();
+                eof = !nextMember();
+            } else if (inflater.needsDictionary()) {
+                throw new ZipException("Unexpected preset dictionary in GZIP input");
+            } else if (inflater.needsInput()) {
+                if (position == limit && !fill()) {
+                    throw new EOFException("Unexpected end of ZLIB input stream");
+                }
+                inflater.setInput(decoder.buffer, position, limit - position);
+                position = limit;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int available() throws IOException {
+        if (decoder == null) {
+            throw new IOException("Stream closed");
+        }
+        return eof ? 0 : 1;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (decoder != null) {
+            release();
+            in.close();
+        }
+    }
+
+    private void release() {
+        Decoder released = decoder;
+        decoder = null;
+        released.inflater.reset();
+        released.crc.reset();
+        if (!POOL.offer(released)) {
+            released.inflater.end();
+        }
+    }
+
+    /**
+     * Starts the next member of a concatenated stream, if there is one.
+     */
+    private boolean nextMember() throws IOException {
+        if (position == limit && !fill()) {
+            return false;
+        }
+        try {
+            readHeader();
+        } catch (IOException e) {
+            // trailing data that is not another member is ignored, even if it is too short to be a header, as
+            // GZIPInputStream does
+            return false;
+        }
+        decoder.inflater.reset();
+        decoder.crc.reset();
+        return true;
+    }
+
+    private void readHeader() throws IOException {
+        if (readUnsignedShort() != GZIP_MAGIC) {
+            throw new ZipException("Not in GZIP format");
+        }
+        if (readUnsignedByte() != 8) {
+            throw new ZipException("Unsupported compression method");
+        }
+        int flags = readUnsignedByte();
+        // modification time, extra flags and operating system
+        skipBytes(6);
+        if ((flags & FEXTRA) != 0) {
+            skipBytes(readUnsignedShort());
+        }
+        if ((flags & FNAME) != 0) {
+            skipString();
+        }
+        if ((flags & FCOMMENT) != 0) {
+            skipString();
+        }
+        if ((flags & FHCRC) != 0) {
+            skipBytes(2);
+        }
+    }
+
+    private void readTrailer() throws IOException {
+        Inflater inflater = decoder.inflater;
+        // the inflater may have been given more input than the member holds
+        position = limit - inflater.getRemaining();
+        if (readUnsignedInt() != decoder.crc.getValue()
+                || readUnsignedInt() != (inflater.getBytesWritten() & 0xffffffffL)) {
+            throw new ZipException("Corrupt GZIP trailer");
+        }
+    }
+
+    private long readUnsignedInt() throws IOException {
+        return readUnsignedShort() | ((long) readUnsignedShort() << 16);
+    }
+
+    private int readUnsignedShort() throws IOException {
+        return readUnsignedByte() | (readUnsignedByte() << 8);
+    }
+
+    private int readUnsignedByte() throws IOException {
+        if (position == limit && !fill()) {
+            throw new EOFException();
+        }
+        return decoder.buffer[position++] & 0xff;
+    }
+
+    private void skipBytes(int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            readUnsignedByte();
+        }
+    }
+
+    private void skipString() throws IOException {
+        while (readUnsignedByte() != 0) {
+            // skip to the terminating zero
+        }
+    }
+
+    /**
+     * Reads more input into the buffer, returning false at the end of the input.
+     */
+    private boolean fill() throws IOException {
+        int n = in.read(decoder.buffer, 0, decoder.buffer.length);
+        if (n == -1) {
+            return false;
+        }
+        position = 0;
+        limit = n;
+        return true;
+    }
+
+    /**
+     * The state that is reused between streams.
+     */
+    private static final class Decoder {
+        final Inflater inflater = new Inflater(true);
+        final CRC32 crc = new CRC32();
+        final byte[] buffer = new byte[BUFFER_SIZE];
+    }
+}
@@ -6,6 +6,8 @@ import org.kohsuke.github.connector.GitHubConnectorRequest;
 import org.kohsuke.github.connector.GitHubConnectorResponse;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * {@link GitHubConnector} for platforms that do not support Java 11 HttpClient.
@@ -22,6 +24,28 @@ public class HttpClientGitHubConnector implements GitHubConnector {
         throw new UnsupportedOperationException("java.net.http.HttpClient is only supported in Java 11+.");
     }
 
+    /**
+     * Instantiates a new HttpClientGitHubConnector whose client runs its asynchronous work on the given executor.
+     *
+     * @param executor
+     *            the executor for the asynchronous work of the client
+     */
+    public HttpClientGitHubConnector(Executor executor) {
+        throw new UnsupportedOperationException("java.net.http.HttpClient is only supported in Java 11+.");
+    }
+
+    /**
+     * Sends a request without blocking the calling thread. This is for callers that drive the connector themselves;
+     * {@link org.kohsuke.github.GitHub} sends its requests through {@link #send(GitHubConnectorRequest)}.
+     *
+     * @param connectorRequest
+     *            the request data to be sent.
+     * @return a future completed with the response
+     */
+    public CompletableFuture<GitHubConnectorResponse> sendAsync(GitHubConnectorRequest connectorRequest) {
+        throw new UnsupportedOperationException("java.net.http.HttpClient is only supported in Java 11+.");
+    }
+
     @Override
     public GitHubConnectorResponse send(GitHubConnectorRequest connectorRequest) throws IOException {
         throw new UnsupportedOperationException("java.net.http.HttpClient is only supported in Java 11+.");
@@ -0,0 +1,153 @@
+package org.kohsuke.github.extras;
+
+import org.apache.commons.io.IOUtils;
+import org.kohsuke.github.connector.GitHubConnector;
+import org.kohsuke.github.connector.GitHubConnectorRequest;
+import org.kohsuke.github.connector.GitHubConnectorResponse;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nonnull;
+
+import static java.net.HttpURLConnection.HTTP_NOT_MODIFIED;
+import static java.net.HttpURLConnection.HTTP_NO_CONTENT;
+
+/**
+ * {@link GitHubConnector} that sends requests through another connector and records every exchange to a file, to be
+ * replayed by {@link ReplayGitHubConnector}.
+ * <p>
+ * The file holds each exchange as a request key, the status code, the headers and the body, with length-prefixed
+ * fields. Bodies are stored decoded, so the {@code Content-Encoding} and length headers are left out. The connector
+ * must be closed to release the file.
+ *
+ * <pre>
+ * try (RecordingGitHubConnector recorder = new RecordingGitHubConnector(GitHubConnector.DEFAULT, path)) {
+ *     GitHub gitHub = new GitHubBuilder().withConnector(recorder).build();
+ *     // exercise the api
+ * }
+ * GitHub offline = new GitHubBuilder().withConnector(new ReplayGitHubConnector(path)).build();
+ * </pre>
+ *
+ * @see ReplayGitHubConnector
+ */
+public class RecordingGitHubConnector implements GitHubConnector, Closeable {
+
+    private final GitHubConnector delegate;
+    private final DataOutputStream out;
+
+    /**
+     * Instantiates a new recording connector, replacing any existing recording.
+     *
+     * @param delegate
+     *            the connector that sends the requests
+     * @param recording
+     *            the file to record to
+     * @throws IOException
+     *             if the file cannot be written
+     */
+    public RecordingGitHubConnector(@Nonnull GitHubConnector delegate, @Nonnull Path recording) throws IOException {
+        this.delegate = delegate;
+        this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(recording)));
+        out.writeInt(ReplayGitHubConnector.MAGIC);
+        out.writeInt(ReplayGitHubConnector.VERSION);
+        out.flush();
+    }
+
+    @Override
+    public GitHubConnectorResponse send(GitHubConnectorRequest connectorRequest) throws IOException {
+        String key = ReplayGitHubConnector.key(connectorRequest);
+        int statusCode;
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        byte[] body;
+        try (GitHubConnectorResponse response = delegate.send(connectorRequest)) {
+            statusCode = response.statusCode();
+            for (Map.Entry<String, List<String>> header : response.allHeaders().entrySet()) {
+                if (isRecorded(header.getKey())) {
+                    headers.put(header.getKey(), header.getValue());
+                }
+            }
+            body = readBody(response);
+        }
+        record(key, statusCode, headers, body);
+        return new ReplayGitHubConnector.ReplayResponse(connectorRequest,
+                statusCode,
+                headers,
+                body != null ? ByteBuffer.wrap(body).asReadOnlyBuffer() : null);
+    }
+
+    /**
+     * Reads the decoded body, or returns null for responses without one.
+     */
+    private static byte[] readBody(GitHubConnectorResponse response) throws IOException {
+        if (response.statusCode() == HTTP_NO_CONTENT || response.statusCode() == HTTP_NOT_MODIFIED) {
+            return null;
+        }
+        InputStream stream;
+        try {
+            stream = response.bodyStream();
+        } catch (FileNotFoundException e) {
+            // an HttpURLConnection reports an error response without a body this way
+            return null;
+        }
+        try (InputStream in = stream) {
+            return IOUtils.toByteArray(in);
+        }
+    }
+
+    private static boolean isRecorded(String name) {
+        // the status line has no name
+        return name != null && !name.equalsIgnoreCase("Content-Encoding") && !name.equalsIgnoreCase("Content-Length")
+                && !name.equalsIgnoreCase("Transfer-Encoding");
+    }
+
+    private synchronized void record(String key, int statusCode, Map<String, List<String>> headers, byte[] body)
+            throws IOException {
+        writeString(key);
+        out.writeInt(statusCode);
+        out.writeInt(headers.size());
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            writeString(header.getKey());
+            out.writeInt(header.getValue().size());
+            for (String value : header.getValue()) {
+                writeString(value);
+            }
+        }
+        if (body == null) {
+            out.writeInt(-1);
+        } else {
+            out.writeInt(body.length);
+            out.write(body);
+        }
+        // keep the file readable while recording continues
+        out.flush();
+    }
+
+    private void writeString(String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Closes the recording.
+     *
+     * @throws IOException
+     *             if the file cannot be closed
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        out.close();
+    }
+}
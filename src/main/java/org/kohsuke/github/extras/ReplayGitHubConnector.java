@@ -0,0 +1,309 @@
+package org.kohsuke.github.extras;
+
+import org.apache.commons.io.IOUtils;
+import org.kohsuke.github.connector.GitHubConnector;
+import org.kohsuke.github.connector.GitHubConnectorRequest;
+import org.kohsuke.github.connector.GitHubConnectorResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+
+/**
+ * {@link GitHubConnector} that answers requests from a recording made by {@link RecordingGitHubConnector}, without
+ * network access and without using any rate limit.
+ * <p>
+ * The recording is memory-mapped and indexed once. Response bodies are read straight from the mapping, so replaying
+ * costs no more than a lookup and a copy of the headers, and can serve thousands of requests per second to load-test
+ * services built on this library. A latency, with some random jitter, can be added to each response to get closer to
+ * the behavior of the real API.
+ * <p>
+ * Requests are matched on their method, url, {@code Accept} header and body. When a request was recorded several
+ * times, the responses are replayed in turn, starting over after the last one. Requests that were not recorded get a
+ * 404 response.
+ *
+ * @see RecordingGitHubConnector
+ */
+public class ReplayGitHubConnector implements GitHubConnector {
+
+    /** Marks the start of a recording. */
+    static final int MAGIC = 0x47485250;
+
+    /** The version of the recording format. */
+    static final int VERSION = 1;
+
+    private static final byte[] NOT_RECORDED = "{\"message\":\"Not Found\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final Map<String, Exchange[]> exchanges;
+    private final Map<String, AtomicInteger> positions = new HashMap<>();
+    private final int size;
+    private volatile long latencyNanos;
+    private volatile long jitterNanos;
+
+    /**
+     * Instantiates a new replay connector.
+     *
+     * @param recording
+     *            the file written by a {@link RecordingGitHubConnector}
+     * @throws IOException
+     *             if the recording cannot be read or is not valid
+     */
+    public ReplayGitHubConnector(@Nonnull Path recording) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(recording, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Recording is larger than 2 GB: " + recording);
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        Map<String, List<Exchange>> index = new LinkedHashMap<>();
+        int count = 0;
+        try {
+            if (buffer.remaining() < 8 || buffer.getInt() != MAGIC) {
+                throw new IOException("Not a recording: " + recording);
+            }
+            int version = buffer.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported recording version " + version + ": " + recording);
+            }
+            while (buffer.hasRemaining()) {
+                String key = readString(buffer);
+                index.computeIfAbsent(key, k -> new ArrayList<>()).add(readExchange(buffer));
+                count++;
+            }
+        } catch (RuntimeException e) {
+            // a truncated or corrupted file shows up as buffer underflows or bad lengths
+            throw new IOException("Invalid recording: " + recording, e);
+        }
+        this.exchanges = new HashMap<>();
+        for (Map.Entry<String, List<Exchange>> entry : index.entrySet()) {
+            exchanges.put(entry.getKey(), entry.getValue().toArray(new Exchange[0]));
+            positions.put(entry.getKey(), new AtomicInteger());
+        }
+        this.size = count;
+    }
+
+    /**
+     * Delays every response.
+     *
+     * @param latency
+     *            the minimum delay
+     * @param jitter
+     *            the most random delay added on top of the latency
+     * @return this connector
+     */
+    @Nonnull
+    public ReplayGitHubConnector withLatency(@Nonnull Duration latency, @Nonnull Duration jitter) {
+        if (latency.isNegative() || jitter.isNegative()) {
+            throw new IllegalArgumentException("Latency and jitter cannot be negative");
+        }
+        this.latencyNanos = latency.toNanos();
+        this.jitterNanos = jitter.toNanos();
+        return this;
+    }
+
+    /**
+     * Gets the number of recorded exchanges.
+     *
+     * @return the number of exchanges
+     */
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public GitHubConnectorResponse send(GitHubConnectorRequest connectorRequest) throws IOException {
+        String key = key(connectorRequest);
+        Exchange[] recorded = exchanges.get(key);
+        delay();
+        if (recorded == null) {
+            return new ReplayResponse(connectorRequest,
+                    404,
+                    Collections.emptyMap(),
+                    ByteBuffer.wrap(NOT_RECORDED).asReadOnlyBuffer());
+        }
+        int position = positions.get(key).getAndIncrement();
+        Exchange exchange = recorded[Math.floorMod(position, recorded.length)];
+        return new ReplayResponse(connectorRequest, exchange.statusCode, exchange.headers, exchange.body);
+    }
+
+    private void delay() throws InterruptedIOException {
+        long nanos = latencyNanos;
+        long jitter = jitterNanos;
+        if (jitter > 0) {
+            nanos += ThreadLocalRandom.current().nextLong(jitter);
+        }
+        if (nanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(nanos);
+            } catch (InterruptedException e) {
+                throw (InterruptedIOException) new InterruptedIOException().initCause(e);
+            }
+        }
+    }
+
+    /**
+     * Gets the key a request is recorded and matched under.
+     *
+     * @param request
+     *            the request
+     * @return the key
+     * @throws IOException
+     *             if the body cannot be read
+     */
+    static String key(GitHubConnectorRequest request) throws IOException {
+        StringBuilder key = new StringBuilder().append(request.method()).append(' ').append(request.url());
+        String accept = request.header("Accept");
+        if (accept != null) {
+            key.append(' ').append(accept);
+        }
+        if (request.hasBody()) {
+            CRC32 crc = new CRC32();
+            try (InputStream body = request.body()) {
+                crc.update(IOUtils.toByteArray(body));
+            }
+            key.append(' ').append(Long.toHexString(crc.getValue()));
+        }
+        return key.toString();
+    }
+
+    private static Exchange readExchange(ByteBuffer buffer) {
+        int statusCode = buffer.getInt();
+        int headerCount = buffer.getInt();
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (int i = 0; i < headerCount; i++) {
+            String name = readString(buffer);
+            int valueCount = buffer.getInt();
+            List<String> values = new ArrayList<>(valueCount);
+            for (int j = 0; j < valueCount; j++) {
+                values.add(readString(buffer));
+            }
+            headers.put(name, values);
+        }
+        ByteBuffer body = null;
+        int bodyLength = buffer.getInt();
+        if (bodyLength >= 0) {
+            body = slice(buffer, bodyLength);
+        }
+        return new Exchange(statusCode, headers, body);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        ByteBuffer bytes = slice(buffer, length);
+        return StandardCharsets.UTF_8.decode(bytes).toString();
+    }
+
+    private static ByteBuffer slice(ByteBuffer buffer, int length) {
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IllegalStateException("Invalid length " + length);
+        }
+        ByteBuffer slice = buffer.duplicate();
+        slice.limit(slice.position() + length);
+        buffer.position(buffer.position() + length);
+        return slice.slice().asReadOnlyBuffer();
+    }
+
+    /**
+     * A recorded response.
+     */
+    private static class Exchange {
+        final int statusCode;
+        final Map<String, List<String>> headers;
+        @CheckForNull
+        final ByteBuffer body;
+
+        Exchange(int statusCode, Map<String, List<String>> headers, ByteBuffer body) {
+            this.statusCode = statusCode;
+            this.headers = headers;
+            this.body = body;
+        }
+    }
+
+    /**
+     * A response whose body is read from a buffer, as many times as needed.
+     */
+    static class ReplayResponse extends GitHubConnectorResponse {
+        @CheckForNull
+        private final ByteBuffer body;
+
+        ReplayResponse(@Nonnull GitHubConnectorRequest request,
+                int statusCode,
+                @Nonnull Map<String, List<String>> headers,
+                @CheckForNull ByteBuffer body) {
+            super(request, statusCode, headers);
+            this.body = body;
+        }
+
+        @Nonnull
+        @Override
+        public InputStream bodyStream() throws IOException {
+            if (body == null) {
+                throw new IOException("Response body missing, stream null");
+            }
+            return new ByteBufferInputStream(body.duplicate());
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(len, buffer.remaining());
+            buffer.get(b, off, count);
+            return count;
+        }
+
+        @Override
+        public long skip(long n) {
+            int count = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
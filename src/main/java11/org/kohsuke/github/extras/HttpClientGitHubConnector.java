@@ -5,6 +5,7 @@ import org.kohsuke.github.connector.GitHubConnector;
 import org.kohsuke.github.connector.GitHubConnectorRequest;
 import org.kohsuke.github.connector.GitHubConnectorResponse;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InterruptedIOException;
@@ -14,6 +15,8 @@ import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 import javax.annotation.CheckForNull;
 import javax.annotation.Nonnull;
@@ -44,6 +47,17 @@ public class HttpClientGitHubConnector implements GitHubConnector {
         this(HttpClient.newBuilder().followRedirects(HttpClient.Redirect.NEVER).build());
     }
 
+    /**
+     * Instantiates a new HttpClientGitHubConnector with a default HttpClient that runs its asynchronous work, such as
+     * completing the futures of {@link #sendAsync(GitHubConnectorRequest)}, on the given executor.
+     *
+     * @param executor
+     *            the executor for the asynchronous work of the client
+     */
+    public HttpClientGitHubConnector(@Nonnull Executor executor) {
+        this(HttpClient.newBuilder().followRedirects(HttpClient.Redirect.NEVER).executor(executor).build());
+    }
+
     /**
      * Instantiates a new HttpClientGitHubConnector.
      *
@@ -56,6 +70,40 @@ public class HttpClientGitHubConnector implements GitHubConnector {
 
     @Override
     public GitHubConnectorResponse send(GitHubConnectorRequest connectorRequest) throws IOException {
+        HttpRequest request = toHttpRequest(connectorRequest);
+        try {
+            HttpResponse<InputStream> httpResponse = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            return new HttpClientGitHubConnectorResponse(connectorRequest, httpResponse);
+        } catch (InterruptedException e) {
+            throw (InterruptedIOException) new InterruptedIOException(e.getMessage()).initCause(e);
+        }
+    }
+
+    /**
+     * Sends a request without blocking the calling thread.
+     * <p>
+     * The future completes once the status and headers are received. The body is read as it is consumed, from the
+     * stream of the response.
+     * <p>
+     * This is for callers that drive the connector themselves; {@link org.kohsuke.github.GitHub} sends its requests
+     * through {@link #send(GitHubConnectorRequest)}.
+     *
+     * @param connectorRequest
+     *            the request data to be sent.
+     * @return a future completed with the response, or with the {@link IOException} that made the request fail
+     */
+    public CompletableFuture<GitHubConnectorResponse> sendAsync(GitHubConnectorRequest connectorRequest) {
+        HttpRequest request;
+        try {
+            request = toHttpRequest(connectorRequest);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofInputStream())
+                .thenApply(httpResponse -> new HttpClientGitHubConnectorResponse(connectorRequest, httpResponse));
+    }
+
+    private static HttpRequest toHttpRequest(GitHubConnectorRequest connectorRequest) throws IOException {
         HttpRequest.Builder builder = HttpRequest.newBuilder();
         try {
             builder.uri(connectorRequest.url().toURI());
@@ -63,26 +111,50 @@ public class HttpClientGitHubConnector implements GitHubConnector {
             throw new IOException("Invalid URL", e);
         }
 
+        // each value is sent as a header line of its own, which HTTP reads as the comma separated list the values
+        // used to be joined into
         for (Map.Entry<String, List<String>> e : connectorRequest.allHeaders().entrySet()) {
             List<String> v = e.getValue();
             if (v != null) {
-                builder.header(e.getKey(), String.join(", ", v));
+                for (String value : v) {
+                    builder.header(e.getKey(), value);
+                }
             }
         }
 
         HttpRequest.BodyPublisher publisher = HttpRequest.BodyPublishers.noBody();
         if (connectorRequest.hasBody()) {
-            publisher = HttpRequest.BodyPublishers.ofByteArray(IOUtils.toByteArray(connectorRequest.body()));
+            publisher = bodyPublisher(connectorRequest);
         }
         builder.method(connectorRequest.method(), publisher);
 
-        HttpRequest request = builder.build();
+        return builder.build();
+    }
 
+    /**
+     * Streams the body of a request. Bodies held in memory are read as they are sent rather than copied first, and
+     * their length is known, so they are not sent in chunks.
+     */
+    private static HttpRequest.BodyPublisher bodyPublisher(GitHubConnectorRequest connectorRequest)
+            throws IOException {
+        InputStream body = connectorRequest.body();
+        if (body == null) {
+            return HttpRequest.BodyPublishers.noBody();
+        }
+        if (body instanceof ByteArrayInputStream) {
+            int length = body.available();
+            body.close();
+            if (length == 0) {
+                return HttpRequest.BodyPublishers.noBody();
+            }
+            // each subscription gets a stream of its own, in case the request is sent again
+            return HttpRequest.BodyPublishers
+                    .fromPublisher(HttpRequest.BodyPublishers.ofInputStream(connectorRequest::body), length);
+        }
         try {
-            HttpResponse<InputStream> httpResponse = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
-            return new HttpClientGitHubConnectorResponse(connectorRequest, httpResponse);
-        } catch (InterruptedException e) {
-            throw (InterruptedIOException) new InterruptedIOException(e.getMessage()).initCause(e);
+            return HttpRequest.BodyPublishers.ofByteArray(IOUtils.toByteArray(body));
+        } finally {
+            body.close();
         }
     }
 
@@ -0,0 +1,101 @@
+package org.kohsuke.github;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.Collections;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThrows;
+
+/**
+ * Unit test for {@link Base64Streams}.
+ */
+public class Base64StreamsTest {
+
+    private static final String CI = "on: push\njobs:\n  build:\n    runs-on: ubuntu-latest\n    steps:\n"
+            + "      - uses: actions/checkout@v4\n      - run: mvn -B verify\n";
+
+    /**
+     * Decodes a field of a JSON object as it is read, skipping the fields before it.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testDecodeField() throws Exception {
+        String json = "{ \"sha\" : \"a\\\"b\", \"size\": 12 ,\"links\":{\"x\":[1,\"}\"]},\"ok\":true,"
+                + "\"content\":\"aGVs\\nbG8g\\r\\nd29yPz8\\/\\n\",\"encoding\":\"base64\"}";
+        assertThat(read(Base64Streams.decodeField(stream(json), "content")), equalTo("hello wor???"));
+
+        IOException missing = assertThrows(IOException.class,
+                () -> Base64Streams.decodeField(stream("{\"sha\":\"a\"}"), "content"));
+        assertThat(missing.getMessage(), containsString("Missing"));
+        assertThrows(IOException.class,
+                () -> read(Base64Streams.decodeField(stream("{\"content\":\"aG\\t\"}"), "content")));
+    }
+
+    /**
+     * Encodes bytes, files and streams into JSON as they are written, and decodes content broken into lines.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testEncodeAndDecode() throws Exception {
+        byte[] bytes = CI.getBytes(StandardCharsets.UTF_8);
+        String encoded = Base64.getEncoder().encodeToString(bytes);
+        Path file = Files.createTempFile("content", ".yml");
+        try {
+            Files.write(file, bytes);
+            assertThat(write(Base64Streams.encode(bytes)), equalTo(encoded));
+            assertThat(write(Base64Streams.encode(file)), equalTo(encoded));
+            // a file is read again each time the argument is written
+            assertThat(write(Base64Streams.encode(file)), equalTo(encoded));
+        } finally {
+            Files.delete(file);
+        }
+
+        Object stream = Base64Streams.encode(new ByteArrayInputStream(bytes));
+        assertThat(write(stream), equalTo(encoded));
+        assertThrows(IOException.class, () -> write(stream));
+
+        String lines = encoded.substring(0, 60) + "\n" + encoded.substring(60) + "\n";
+        assertThat(read(Base64Streams.decode(lines)), equalTo(CI));
+        GHContent content = GitHubClient.getMappingObjectReader(GitHub.offline())
+                .forType(GHContent.class)
+                .readValue("{\"type\":\"file\",\"encoding\":\"base64\",\"content\":\""
+                        + encoded.substring(0, 60) + "\\n" + encoded.substring(60) + "\"}");
+        assertThat(read(content.read()), equalTo(CI));
+    }
+
+    private static String write(Object argument) throws IOException {
+        byte[] json = GitHubClient.getMappingObjectWriter()
+                .writeValueAsBytes(Collections.singletonMap("content", argument));
+        JsonNode node = new ObjectMapper().readTree(json);
+        return node.get("content").asText();
+    }
+
+    private static InputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String read(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[16];
+        for (int read = in.read(buffer); read != -1; read = in.read(buffer)) {
+            out.write(buffer, 0, read);
+        }
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
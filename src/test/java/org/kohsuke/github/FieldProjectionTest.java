@@ -0,0 +1,98 @@
+package org.kohsuke.github;
+
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThrows;
+
+/**
+ * Unit test for {@link FieldProjection}.
+ */
+public class FieldProjectionTest extends AbstractGitHubWireMockTest {
+
+    /**
+     * Reads only the listed fields of each item.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testProjectArray() throws Exception {
+        snapshotNotAllowed();
+
+        List<GHRepository> repositories = gitHub.createRequest()
+                .withUrlPath("/repositories")
+                .toIterable(GHRepository[].class, null)
+                .withProjection("full_name", "pushed_at", "stargazers_count", "owner.login")
+                .toList();
+
+        assertThat(repositories, hasSize(2));
+        GHRepository repository = repositories.get(0);
+        assertThat(repository.getFullName(), equalTo("hub4j-test-org/github-api"));
+        assertThat(repository.getStargazersCount(), equalTo(1000));
+        assertThat(repository.getPushedAtEpochMillis(), equalTo(1577934245000L));
+        assertThat(repository.getOwnerName(), equalTo("hub4j-test-org"));
+        assertThat(repository.getId(), equalTo(0L));
+        assertThat(repository.getName(), nullValue());
+        assertThat(repository.getDescription(), nullValue());
+        assertThat(repository.hasAdminAccess(), equalTo(false));
+    }
+
+    /**
+     * Keeps the fields of a search result page and projects its items.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testProjectSearch() throws Exception {
+        snapshotNotAllowed();
+
+        PagedSearchIterable<GHRepository> search = gitHub.searchRepositories().q("github-api").list();
+        search.withProjection("full_name", "permissions");
+        List<GHRepository> repositories = search.toList();
+
+        assertThat(search.getTotalCount(), equalTo(1));
+        assertThat(repositories, hasSize(1));
+        assertThat(repositories.get(0).getFullName(), equalTo("hub4j-test-org/github-api"));
+        assertThat(repositories.get(0).hasAdminAccess(), equalTo(true));
+        assertThat(repositories.get(0).getStargazersCount(), equalTo(0));
+    }
+
+    /**
+     * Applies nested fields to the elements of arrays.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testProjectNestedArray() throws Exception {
+        snapshotNotAllowed();
+
+        GHIssue issue = gitHub.createRequest()
+                .withUrlPath("/repos/hub4j-test-org/github-api/issues/1")
+                .withProjection("number", "labels.name")
+                .fetch(GHIssue.class);
+
+        assertThat(issue.getNumber(), equalTo(1));
+        assertThat(issue.getTitle(), nullValue());
+        assertThat(issue.getLabels(), hasSize(2));
+        GHLabel label = issue.getLabels().iterator().next();
+        assertThat(label.getName(), equalTo("bug"));
+        assertThat(label.getColor(), equalTo(""));
+    }
+
+    /**
+     * Rejects invalid fields.
+     */
+    @Test
+    public void testInvalidFields() {
+        assertThrows(IllegalArgumentException.class, () -> FieldProjection.of(Collections.emptyList()));
+        assertThrows(IllegalArgumentException.class,
+                () -> FieldProjection.of(Collections.singletonList("owner..login")));
+    }
+}
@@ -0,0 +1,80 @@
+package org.kohsuke.github;
+
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThrows;
+
+/**
+ * Unit test for {@link GHAccessIndex}.
+ */
+public class GHAccessIndexTest extends AbstractGitHubWireMockTest {
+
+    /**
+     * Answers membership and permission checks from the listings.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testChecks() throws Exception {
+        snapshotNotAllowed();
+        GHOrganization organization = gitHub.getOrganization("hub4j-test-org");
+        GHRepository repository = gitHub.getRepository("hub4j-test-org/github-api");
+        GHRepository other = gitHub.getRepository("hub4j-test-org/other");
+        GHAccessIndex index = new GHAccessIndex(organization, Collections.singleton(repository));
+
+        assertThrows(IllegalStateException.class, () -> index.hasMember("kohsuke"));
+        assertThat(index.refresh(), equalTo(7));
+
+        assertThat(index.hasMember("kohsuke"), equalTo(true));
+        assertThat(index.hasMember("Bitwiseman"), equalTo(true));
+        assertThat(index.hasMember("octocat"), equalTo(false));
+        assertThat(index.hasMember("nobody"), equalTo(false));
+        assertThat(index.hasPublicMember("kohsuke"), equalTo(true));
+        assertThat(index.hasPublicMember("bitwiseman"), equalTo(false));
+        assertThat(index.isTeamMember("maintainers", "bitwiseman"), equalTo(true));
+        assertThat(index.isTeamMember("maintainers", "kohsuke"), equalTo(false));
+        assertThat(index.isTeamMember("missing", "kohsuke"), equalTo(false));
+
+        assertThat(index.getPermission(repository, "kohsuke"), equalTo(GHPermissionType.ADMIN));
+        assertThat(index.getPermission(repository, "octocat"), equalTo(GHPermissionType.READ));
+        // write through the team, on top of read as a collaborator
+        assertThat(index.getPermission(repository, "bitwiseman"), equalTo(GHPermissionType.WRITE));
+        assertThat(index.hasPermission(repository, "bitwiseman", GHPermissionType.WRITE), equalTo(true));
+        assertThat(index.hasPermission(repository, "octocat", GHPermissionType.WRITE), equalTo(false));
+        assertThat(index.isCollaborator(repository, "nobody"), equalTo(false));
+        assertThrows(IllegalArgumentException.class, () -> index.getPermission(other, "kohsuke"));
+    }
+
+    /**
+     * Reuses the pages that did not change, and picks up those that did.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testRefresh() throws Exception {
+        snapshotNotAllowed();
+        GHRepository repository = gitHub.getRepository("hub4j-test-org/github-api");
+        GHAccessIndex index = new GHAccessIndex(gitHub.getOrganization("hub4j-test-org"),
+                Collections.singleton(repository));
+        index.refresh();
+        int requests = mockGitHub.getRequestCount();
+
+        // every page is answered 304 to its ETag
+        assertThat(index.refresh(), equalTo(0));
+        assertThat(mockGitHub.getRequestCount(), equalTo(requests + 7));
+        assertThat(index.hasMember("bitwiseman"), equalTo(true));
+
+        // the second page of members is now empty, and octocat replaced bitwiseman in the team
+        assertThat(index.refresh(), equalTo(2));
+        assertThat(index.hasMember("bitwiseman"), equalTo(false));
+        assertThat(index.hasMember("kohsuke"), equalTo(true));
+        assertThat(index.getPermission(repository, "octocat"), equalTo(GHPermissionType.WRITE));
+        assertThat(index.getPermission(repository, "bitwiseman"), equalTo(GHPermissionType.READ));
+    }
+}
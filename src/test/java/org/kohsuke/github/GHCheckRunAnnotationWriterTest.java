@@ -0,0 +1,121 @@
+package org.kohsuke.github;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.verification.LoggedRequest;
+import org.junit.Test;
+import org.kohsuke.github.GHCheckRun.AnnotationLevel;
+import org.kohsuke.github.GHCheckRunBuilder.Annotation;
+import org.kohsuke.github.GHCheckRunBuilder.Output;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.patchRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThrows;
+
+/**
+ * Unit test for {@link GHCheckRunAnnotationWriter}.
+ */
+public class GHCheckRunAnnotationWriterTest extends AbstractGitHubWireMockTest {
+
+    private static final String CHECK_RUN_PATH = "/repos/hub4j-test-org/test-checks/check-runs/1424883451";
+
+    /**
+     * Sends full batches, drops duplicates and the annotations past a limit, then completes the run.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testBatches() throws Exception {
+        snapshotNotAllowed();
+        GHCheckRun checkRun = checkRun();
+
+        GHCheckRun completed;
+        try (GHCheckRunAnnotationWriter writer = checkRun
+                .writeAnnotations(new Output("Lint", "Lint findings").withText("details"))
+                .withLimit(AnnotationLevel.NOTICE, 10)
+                .withMaxInFlight(2)) {
+            for (int i = 0; i < 100; i++) {
+                assertThat(writer.add(new Annotation("A.java", i, AnnotationLevel.WARNING, "unused")), equalTo(true));
+                assertThat(writer.add(new Annotation("A.java", i, AnnotationLevel.WARNING, "unused")), equalTo(false));
+            }
+            for (int i = 0; i < 30; i++) {
+                writer.add(new Annotation("B.java", i, AnnotationLevel.NOTICE, "style"));
+            }
+            assertThat(writer.getAccepted(AnnotationLevel.WARNING), equalTo(100));
+            assertThat(writer.getAccepted(AnnotationLevel.NOTICE), equalTo(10));
+            assertThat(writer.getDropped(AnnotationLevel.NOTICE), equalTo(20));
+            assertThat(writer.getDropped(AnnotationLevel.WARNING), equalTo(0));
+
+            completed = writer.finish(GHCheckRun.Conclusion.NEUTRAL);
+            assertThrows(IllegalStateException.class,
+                    () -> writer.add(new Annotation("C.java", 1, AnnotationLevel.FAILURE, "late")));
+        }
+        assertThat(completed.getConclusion(), equalTo(GHCheckRun.Conclusion.NEUTRAL));
+
+        // three batches of annotations, then the completion
+        List<JsonNode> bodies = patches();
+        assertThat(bodies, hasSize(4));
+        int annotations = 0;
+        for (JsonNode body : bodies.subList(0, 3)) {
+            assertThat(body.get("output").get("title").asText(), equalTo("Lint"));
+            assertThat(body.get("output").get("text").asText(), equalTo("details"));
+            assertThat(body.get("output").get("annotations").size(), lessThanOrEqualTo(50));
+            assertThat(body.has("conclusion"), equalTo(false));
+            annotations += body.get("output").get("annotations").size();
+        }
+        assertThat(annotations, equalTo(110));
+        JsonNode last = bodies.get(3);
+        assertThat(last.get("conclusion").asText(), equalTo("neutral"));
+        assertThat(last.get("status").asText(), equalTo("completed"));
+        assertThat(last.get("output").has("annotations"), equalTo(false));
+    }
+
+    /**
+     * Reports a batch that could not be sent.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testFailure() throws Exception {
+        snapshotNotAllowed();
+        GHCheckRun checkRun = checkRun();
+
+        GHCheckRunAnnotationWriter writer = checkRun.writeAnnotations(new Output("Lint", "Lint findings"));
+        for (int i = 0; i < 50; i++) {
+            writer.add(new Annotation("A.java", i, AnnotationLevel.FAILURE, "broken"));
+        }
+        HttpException e = assertThrows(HttpException.class, writer::flush);
+        assertThat(e.getResponseCode(), equalTo(422));
+        assertThrows(HttpException.class, () -> writer.finish(GHCheckRun.Conclusion.FAILURE));
+        assertThrows(HttpException.class, writer::close);
+        assertThrows(IllegalStateException.class, writer::flush);
+        assertThat(patches(), hasSize(1));
+    }
+
+    private GHCheckRun checkRun() throws IOException {
+        return gitHub.getRepository("hub4j-test-org/test-checks")
+                .createCheckRun("lint", "89a9ae301e35e667756034fdc933b1fc94f63fc1")
+                .withStatus(GHCheckRun.Status.IN_PROGRESS)
+                .create();
+    }
+
+    /**
+     * Gets the bodies of the requests that updated the check run, in the order they were received.
+     */
+    private List<JsonNode> patches() throws IOException {
+        List<JsonNode> bodies = new ArrayList<>();
+        for (LoggedRequest request : mockGitHub.apiServer()
+                .findAll(patchRequestedFor(urlPathEqualTo(CHECK_RUN_PATH)))) {
+            bodies.add(new ObjectMapper().readTree(request.getBodyAsString()));
+        }
+        return bodies;
+    }
+}
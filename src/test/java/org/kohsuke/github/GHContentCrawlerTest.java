@@ -0,0 +1,95 @@
+package org.kohsuke.github;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThrows;
+
+/**
+ * Unit test for {@link GHContentCrawler}.
+ */
+public class GHContentCrawlerTest extends AbstractGitHubWireMockTest {
+
+    private static final String CI = "on: push\njobs:\n  build:\n    runs-on: ubuntu-latest\n    steps:\n"
+            + "      - uses: actions/checkout@v4\n      - run: mvn -B verify\n";
+
+    private static final String DEPENDABOT = "version: 2\nupdates:\n  - package-ecosystem: maven\n";
+
+    /**
+     * Finds the matching files with a single recursive tree request, and decodes their contents.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testRecursiveTree() throws Exception {
+        snapshotNotAllowed();
+        GHRepository repository = gitHub.getRepository("hub4j-test-org/github-api");
+
+        List<String> paths = new ArrayList<>();
+        for (GHContentCrawler.Entry entry : repository.crawlContent("/.github/", null)
+                .withFilter("**/*.{yml,yaml}")
+                .list()) {
+            paths.add(entry.getPath() + " " + entry.getSha());
+        }
+        assertThat(paths, contains(".github/dependabot.yaml b2", ".github/workflows/ci.yml b1"));
+
+        Map<String, String> contents = new ConcurrentHashMap<>();
+        repository.crawlContent("", null)
+                .withFilter("**/*.yml")
+                .withFilter("*.md")
+                .forEach((entry, content) -> contents.put(entry.getName(), read(content)));
+        assertThat(contents.keySet(), containsInAnyOrder("ci.yml", "README.md"));
+        assertThat(contents.get("ci.yml"), equalTo(CI));
+        assertThat(contents.get("README.md"), equalTo("readme"));
+        // the repository, the tree for each crawl, and the two blobs
+        assertThat(mockGitHub.getRequestCount(), equalTo(5));
+    }
+
+    /**
+     * Lists the directories one by one when the tree is truncated.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testTruncatedTree() throws Exception {
+        snapshotNotAllowed();
+        GHRepository repository = gitHub.getRepository("hub4j-test-org/github-api");
+
+        Map<String, String> contents = new ConcurrentHashMap<>();
+        repository.crawlContent(".github", "large")
+                .withParallelism(2)
+                .forEach((entry, content) -> contents.put(entry.getPath(), read(content)));
+
+        assertThat(contents.keySet(), containsInAnyOrder(".github/dependabot.yaml", ".github/workflows/ci.yml"));
+        assertThat(contents.get(".github/dependabot.yaml"), equalTo(DEPENDABOT));
+        // the repository, the truncated tree, the two directories and the two blobs
+        assertThat(mockGitHub.getRequestCount(), equalTo(6));
+
+        IOException e = assertThrows(IOException.class,
+                () -> repository.crawlContent(".github", "large").forEach((entry, content) -> {
+                    throw new IOException("handler failed");
+                }));
+        assertThat(e.getMessage(), equalTo("handler failed"));
+    }
+
+    private static String read(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[16];
+        for (int read = in.read(buffer); read != -1; read = in.read(buffer)) {
+            out.write(buffer, 0, read);
+        }
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
@@ -7,12 +7,14 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.hamcrest.Matchers.*;
 
@@ -496,6 +498,37 @@ public class GHContentIntegrationTest extends AbstractGitHubWireMockTest {
 
     // }
 
+    /**
+     * Test creating content and a blob from streams, which are sent again with a new token after a 401.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testCreateContentFromStreamWithExpiredToken() throws Exception {
+        snapshotNotAllowed();
+        AtomicInteger tokens = new AtomicInteger();
+        GitHub refreshing = getGitHubBuilder().withAuthorizationProvider(() -> "token " + tokens.incrementAndGet())
+                .withEndpoint(mockGitHub.apiServer().baseUrl())
+                .build();
+        GHRepository repo = refreshing.getRepository("hub4j-test-org/GHContentIntegrationTest");
+        byte[] content = ("on: push\njobs:\n  build:\n    runs-on: ubuntu-latest\n    steps:\n"
+                + "      - uses: actions/checkout@v4\n      - run: mvn -B verify\n").getBytes(StandardCharsets.UTF_8);
+
+        GHContentUpdateResponse response = repo.createContent()
+                .path("ci.yml")
+                .message("Add CI")
+                .content(new ByteArrayInputStream(content))
+                .commit();
+        assertThat(response.getContent().getPath(), equalTo("ci.yml"));
+        assertThat(response.getCommit().getSHA1(), equalTo("4e5f6a7b"));
+
+        GHBlob blob = repo.createBlob().binaryContent(new ByteArrayInputStream(content)).create();
+        assertThat(blob.getSha(), equalTo("0a1b2c3d"));
+        // the repository is also read by setUp, and each stream is sent twice
+        assertThat(mockGitHub.getRequestCount(), equalTo(6));
+    }
+
     /**
      * Test MIME small.
      *
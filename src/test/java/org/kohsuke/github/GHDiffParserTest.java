@@ -0,0 +1,119 @@
+package org.kohsuke.github;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThrows;
+
+/**
+ * Unit test for {@link GHDiffParser}.
+ */
+public class GHDiffParserTest {
+
+    private static final String DIFF = "diff --git a/README.md b/README.md\n" + "index 1b2c3d4..5e6f7a8 100644\n"
+            + "--- a/README.md\n" + "+++ b/README.md\n" + "@@ -1,5 +1,5 @@ # Title\n" + " line 1\n" + "-line 2\n"
+            + "+line two\n" + "+line 2.5\n" + " line 3\n" + "-line 4\n" + " line 5\n" + "@@ -10 +11 @@\n" + "-old\n"
+            + "+new\n" + "\\ No newline at end of file\n" + "diff --git a/src/New File.java b/src/New File.java\n"
+            + "new file mode 100644\n" + "index 0000000..1111111\n" + "--- /dev/null\n"
+            + "+++ b/src/New File.java\t\n" + "@@ -0,0 +1,2 @@\n" + "+class A {\n" + "+}\n"
+            + "diff --git a/old.txt b/new.txt\n" + "similarity index 100%\n" + "rename from old.txt\n"
+            + "rename to new.txt\n" + "diff --git a/logo.png b/logo.png\n" + "deleted file mode 100644\n"
+            + "index 2222222..0000000\n" + "Binary files a/logo.png and /dev/null differ\n"
+            + "diff --git \"a/caf\\303\\251.txt\" \"b/caf\\303\\251.txt\"\n" + "index 3333333..4444444 100644\n"
+            + "--- \"a/caf\\303\\251.txt\"\n" + "+++ \"b/caf\\303\\251.txt\"\n" + "@@ -1 +1 @@\n" + "-a\n" + "+b\n";
+
+    /**
+     * Parses files and hunks into line ranges.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testParse() throws Exception {
+        Recorder recorder = parse(DIFF);
+
+        assertThat(recorder.files, hasSize(5));
+        GHDiffParser.File readme = recorder.files.get(0);
+        assertThat(readme.getStatus(), equalTo(GHDiffParser.Status.MODIFIED));
+        assertThat(readme.getOldPath(), equalTo("README.md"));
+        assertThat(readme.getNewPath(), equalTo("README.md"));
+
+        GHDiffParser.File added = recorder.files.get(1);
+        assertThat(added.getStatus(), equalTo(GHDiffParser.Status.ADDED));
+        assertThat(added.getOldPath(), nullValue());
+        assertThat(added.getNewPath(), equalTo("src/New File.java"));
+
+        GHDiffParser.File renamed = recorder.files.get(2);
+        assertThat(renamed.getStatus(), equalTo(GHDiffParser.Status.RENAMED));
+        assertThat(renamed.getOldPath(), equalTo("old.txt"));
+        assertThat(renamed.getNewPath(), equalTo("new.txt"));
+
+        GHDiffParser.File removed = recorder.files.get(3);
+        assertThat(removed.getStatus(), equalTo(GHDiffParser.Status.REMOVED));
+        assertThat(removed.isBinary(), equalTo(true));
+        assertThat(removed.getPath(), equalTo("logo.png"));
+
+        assertThat(recorder.files.get(4).getPath(), equalTo("café.txt"));
+
+        assertThat(recorder.hunks, hasSize(4));
+        GHDiffParser.Hunk first = recorder.hunks.get(0);
+        assertThat(first.getFile(), sameInstance(readme));
+        assertThat(first.getOldStart(), equalTo(1));
+        assertThat(first.getNewCount(), equalTo(5));
+        assertThat(first.getSection(), equalTo("# Title"));
+        assertThat(first.getAdditions(), equalTo(2));
+        assertThat(first.getDeletions(), equalTo(2));
+        assertThat(first.getAddedRangeCount(), equalTo(1));
+        assertThat(first.getAddedRangeStart(0), equalTo(2));
+        assertThat(first.getAddedRangeEnd(0), equalTo(3));
+        assertThat(first.getDeletedRangeCount(), equalTo(2));
+        assertThat(first.getDeletedRangeStart(1), equalTo(4));
+        assertThat(first.isDeleted(2), equalTo(true));
+        assertThat(first.isDeleted(3), equalTo(false));
+
+        GHDiffParser.Hunk second = recorder.hunks.get(1);
+        assertThat(second.getOldStart(), equalTo(10));
+        assertThat(second.getOldCount(), equalTo(1));
+        assertThat(second.isAdded(11), equalTo(true));
+
+        assertThat(recorder.hunks.get(2).getFile(), sameInstance(added));
+        assertThat(recorder.hunks.get(2).getAddedRangeEnd(0), equalTo(2));
+    }
+
+    /**
+     * Rejects a diff that ends inside a hunk.
+     */
+    @Test
+    public void testTruncated() {
+        String truncated = DIFF.substring(0, DIFF.indexOf("+line 2.5"));
+        assertThrows(IOException.class, () -> parse(truncated));
+    }
+
+    private static Recorder parse(String diff) throws IOException {
+        Recorder recorder = new Recorder();
+        GHDiffParser.parse(new ByteArrayInputStream(diff.getBytes(StandardCharsets.UTF_8)), recorder);
+        return recorder;
+    }
+
+    private static class Recorder implements GHDiffParser.Listener {
+        final List<GHDiffParser.File> files = new ArrayList<>();
+        final List<GHDiffParser.Hunk> hunks = new ArrayList<>();
+
+        @Override
+        public void file(GHDiffParser.File file) {
+            files.add(file);
+        }
+
+        @Override
+        public void hunk(GHDiffParser.Hunk hunk) {
+            hunks.add(hunk);
+        }
+    }
+}
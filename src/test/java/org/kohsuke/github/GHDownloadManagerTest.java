@@ -0,0 +1,172 @@
+package org.kohsuke.github;
+
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import com.github.tomakehurst.wiremock.common.FileSource;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.github.tomakehurst.wiremock.extension.Parameters;
+import com.github.tomakehurst.wiremock.extension.ResponseDefinitionTransformer;
+import com.github.tomakehurst.wiremock.http.Request;
+import com.github.tomakehurst.wiremock.http.ResponseDefinition;
+import org.junit.Test;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThrows;
+
+/**
+ * Unit test for {@link GHDownloadManager}.
+ */
+public class GHDownloadManagerTest extends AbstractGitHubWireMockTest {
+
+    private static final byte[] LOGS = content(100_000, 7);
+
+    private static final byte[] DIST = content(3_000, 11);
+
+    /**
+     * Gets the wire mock options.
+     *
+     * @return the wire mock options
+     */
+    @Override
+    protected WireMockConfiguration getWireMockOptions() {
+        return super.getWireMockOptions().extensions(new ArtifactContent());
+    }
+
+    /**
+     * Downloads the artifacts of a run, resuming the one whose transfer breaks off with a range request, and starting
+     * over the one whose part file is longer than the artifact.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testDownloadArtifacts() throws Exception {
+        snapshotNotAllowed();
+        GHWorkflowRun run = gitHub.getRepository("hub4j-test-org/github-api").getWorkflowRun(7);
+        Path directory = Files.createTempDirectory("artifacts");
+        try {
+            Files.write(directory.resolve("dist.zip.2.part"), content(DIST.length + 10, 3));
+            List<GHDownloadManager.Result> results = new GHDownloadManager().withMaxConnections(2)
+                    .withBandwidthLimit(10_000_000)
+                    .downloadArtifacts(run, directory);
+
+            assertThat(results, hasSize(3));
+            assertThat(results.get(0).isSuccessful(), equalTo(true));
+            assertThat(results.get(0).getDownload().getName(), equalTo("logs"));
+            assertThat(results.get(0).getSize(), equalTo((long) LOGS.length));
+            assertThat(Files.readAllBytes(directory.resolve("logs.zip")), equalTo(LOGS));
+            assertThat(Files.readAllBytes(directory.resolve("dist.zip")), equalTo(DIST));
+            assertThat(Files.exists(directory.resolve("logs.zip.1.part")), equalTo(false));
+            assertThat(Files.exists(directory.resolve("dist.zip.2.part")), equalTo(false));
+            assertThat(count("/repos/hub4j-test-org/github-api/actions/artifacts/1/zip"), equalTo(2));
+            assertThat(count("/repos/hub4j-test-org/github-api/actions/artifacts/2/zip"), equalTo(1));
+            assertThat(results.get(2).getFailure(), instanceOf(GHFileNotFoundException.class));
+        } finally {
+            delete(directory);
+        }
+    }
+
+    /**
+     * Starts over when the range is ignored, gives up after the last attempt, and does not retry a missing artifact.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testRetries() throws Exception {
+        snapshotNotAllowed();
+        GHWorkflowRun run = gitHub.getRepository("hub4j-test-org/github-api").getWorkflowRun(7);
+        Path directory = Files.createTempDirectory("artifacts");
+        try {
+            List<GHArtifact> artifacts = run.listArtifacts().toList();
+            List<GHDownloadManager.Result> results = new GHDownloadManager().withMaxAttempts(3)
+                    .download(Arrays.asList(GHDownloadManager.Download.of(artifacts.get(0), directory.resolve("a")),
+                            GHDownloadManager.Download.of(artifacts.get(2), directory.resolve("b"))));
+
+            // every response is cut off half way, so the logs are never complete
+            assertThat(results.get(0).isSuccessful(), equalTo(false));
+            assertThat(results.get(0).getFailure(), instanceOf(EOFException.class));
+            assertThat(results.get(0).getSize(), equalTo(-1L));
+            assertThat(count("/repos/hub4j-test-org/github-api/actions/artifacts/1/zip"), equalTo(3));
+            assertThat(Files.exists(directory.resolve("a")), equalTo(false));
+            assertThat(Files.size(directory.resolve("a.1.part")), equalTo((long) LOGS.length / 2));
+
+            assertThat(results.get(1).getFailure(), instanceOf(GHFileNotFoundException.class));
+            assertThat(count("/repos/hub4j-test-org/github-api/actions/artifacts/3/zip"), equalTo(1));
+        } finally {
+            delete(directory);
+        }
+        assertThrows(IllegalArgumentException.class, () -> new GHDownloadManager().withBandwidthLimit(-1));
+    }
+
+    private int count(String path) {
+        return mockGitHub.apiServer().countRequestsMatching(getRequestedFor(urlPathEqualTo(path)).build()).getCount();
+    }
+
+    private static byte[] content(int length, int seed) {
+        byte[] content = new byte[length];
+        for (int i = 0; i < length; i++) {
+            content[i] = (byte) (i * seed);
+        }
+        return content;
+    }
+
+    private static void delete(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Collections.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    /**
+     * Answers artifact downloads with {@link #content(int, int)} of the {@code length} and {@code seed} of the mapping.
+     * The response breaks off at {@code end} when it is set, and the range asked for is sent unless {@code ranges} is
+     * false.
+     */
+    private static class ArtifactContent extends ResponseDefinitionTransformer {
+
+        @Override
+        public ResponseDefinition transform(Request request,
+                ResponseDefinition responseDefinition,
+                FileSource files,
+                Parameters parameters) {
+            int length = parameters.getInt("length");
+            byte[] content = content(length, parameters.getInt("seed"));
+            int start = 0;
+            String range = request.getHeader("Range");
+            if (range != null && parameters.getBoolean("ranges", true)) {
+                start = Integer.parseInt(range.substring("bytes=".length(), range.indexOf('-')));
+            }
+            int end = parameters.getInt("end", length);
+
+            ResponseDefinitionBuilder response = ResponseDefinitionBuilder.like(responseDefinition)
+                    .withHeader("Content-Type", "application/zip")
+                    .withBody(Arrays.copyOfRange(content, start, end));
+            if (start > 0) {
+                response.withStatus(206)
+                        .withHeader("Content-Range", "bytes " + start + "-" + (length - 1) + "/" + length);
+            }
+            return response.build();
+        }
+
+        @Override
+        public String getName() {
+            return "artifact-content";
+        }
+
+        @Override
+        public boolean applyGlobally() {
+            return false;
+        }
+    }
+}
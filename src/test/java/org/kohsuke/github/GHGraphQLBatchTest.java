@@ -0,0 +1,144 @@
+package org.kohsuke.github;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.verification.LoggedRequest;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThrows;
+
+/**
+ * Unit test for {@link GHGraphQLBatch}.
+ */
+public class GHGraphQLBatchTest extends AbstractGitHubWireMockTest {
+
+    /**
+     * Packs repository lookups into batches and leaves out those not found.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testRepositories() throws Exception {
+        snapshotNotAllowed();
+
+        Map<String, GHRepository> repositories = new GHGraphQLBatch(gitHub).withBatchSize(2)
+                .getRepositories(Arrays.asList("hub4j-test-org/github-api",
+                        "hub4j-test-org/missing",
+                        "hub4j-test-org/github-api",
+                        "jenkinsci/jenkins"));
+
+        assertThat(repositories.keySet(), contains("hub4j-test-org/github-api", "jenkinsci/jenkins"));
+        assertThat(graphQLRequests(), hasSize(2));
+
+        GHRepository repository = repositories.get("hub4j-test-org/github-api");
+        assertThat(repository.getName(), equalTo("github-api"));
+        assertThat(repository.getOwnerName(), equalTo("hub4j-test-org"));
+        assertThat(repository.getNodeId(), equalTo("R_1"));
+        assertThat(repository.getStargazersCount(), equalTo(1000));
+        assertThat(repository.getDefaultBranch(), equalTo("main"));
+        assertThat(repository.getLanguage(), nullValue());
+        assertThat(repository.getVisibility(), equalTo(GHRepository.Visibility.PUBLIC));
+        assertThat(repository.getCreatedAtEpochMillis(), equalTo(1262401445000L));
+        assertThat(repository.getPushedAtEpochMillis(), equalTo(1577934245000L));
+        assertThat(repository.getUrl().toString(), equalTo(gitHub.getApiUrl() + "/repos/hub4j-test-org/github-api"));
+        assertThat(mockGitHub.getRequestCount(), equalTo(2));
+    }
+
+    /**
+     * Reads pull requests of a repository without fetching them again.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testPullRequests() throws Exception {
+        snapshotNotAllowed();
+        GHRepository repository = gitHub.getRepository("hub4j-test-org/github-api");
+
+        Map<Integer, GHPullRequest> pullRequests = new GHGraphQLBatch(gitHub).getPullRequests(repository,
+                Arrays.asList(1, 2, 404));
+
+        assertThat(pullRequests.keySet(), contains(1, 2));
+        assertThat(graphQLRequests(), hasSize(1));
+        JsonNode body = new ObjectMapper().readTree(graphQLRequests().get(0).getBodyAsString());
+        assertThat(body.get("query").asText(), startsWith("query($v0: String!, $v1: String!, $v2: Int!, $v3: Int!,"));
+
+        GHPullRequest merged = pullRequests.get(1);
+        assertThat(merged.getRepository(), sameInstance(repository));
+        assertThat(merged.getState(), equalTo(GHIssueState.CLOSED));
+        assertThat(merged.isMerged(), equalTo(true));
+        assertThat(merged.getMergeable(), equalTo(true));
+        assertThat(merged.getMergeableState(), equalTo("clean"));
+        assertThat(merged.getAdditions(), equalTo(3));
+        assertThat(merged.getCommits(), equalTo(2));
+        assertThat(merged.getCommentsCount(), equalTo(5));
+        assertThat(merged.getHead().getRef(), equalTo("fix"));
+        assertThat(merged.getHead().getSha(), equalTo("abc"));
+        assertThat(merged.getBase().getRef(), equalTo("main"));
+        assertThat(merged.getUser().getLogin(), equalTo("kohsuke"));
+        assertThat(merged.getMergedBy(), nullValue());
+        assertThat(merged.getUrl().toString(),
+                equalTo(gitHub.getApiUrl() + "/repos/hub4j-test-org/github-api/pulls/1"));
+        assertThat(pullRequests.get(2).getState(), equalTo(GHIssueState.OPEN));
+        assertThat(graphQLRequests(), hasSize(1));
+    }
+
+    /**
+     * Reads users, remembering them, and objects of any supported type by node id.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testUsersAndNodes() throws Exception {
+        snapshotNotAllowed();
+
+        GHUser user = new GHGraphQLBatch(gitHub).getUsers(Collections.singletonList("kohsuke")).get("kohsuke");
+        assertThat(user.getName(), equalTo("Kohsuke"));
+        assertThat(user.getFollowersCount(), equalTo(7));
+        assertThat(user.getPublicRepoCount(), equalTo(3));
+        assertThat(gitHub.getUser("kohsuke"), sameInstance(user));
+        assertThat(mockGitHub.getRequestCount(), equalTo(1));
+
+        Map<String, GHObject> nodes = new GHGraphQLBatch(gitHub)
+                .getNodes(Arrays.asList("PR_1", "R_1", "U_1", "I_1", "X_1"));
+        assertThat(nodes.keySet(), contains("PR_1", "R_1", "U_1"));
+        GHPullRequest pullRequest = (GHPullRequest) nodes.get("PR_1");
+        assertThat(pullRequest.getRepository().getFullName(), equalTo("hub4j-test-org/github-api"));
+        assertThat(((GHRepository) nodes.get("R_1")).getFullName(), equalTo("hub4j-test-org/github-api"));
+        assertThat(((GHUser) nodes.get("U_1")).getLogin(), equalTo("kohsuke"));
+    }
+
+    /**
+     * Reports errors other than objects not found.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testErrors() throws Exception {
+        snapshotNotAllowed();
+        GHGraphQLBatch batch = new GHGraphQLBatch(gitHub);
+
+        assertThrows(GHIOException.class,
+                () -> batch.getRepositories(Collections.singletonList("hub4j-test-org/secret")));
+        assertThrows(IllegalArgumentException.class,
+                () -> batch.getRepositories(Collections.singletonList("hub4j-test-org")));
+        assertThrows(IllegalArgumentException.class, () -> batch.withBatchSize(0));
+        assertThrows(IllegalArgumentException.class, () -> batch.withBatchSize(101));
+    }
+
+    private List<LoggedRequest> graphQLRequests() {
+        return mockGitHub.apiServer().findAll(postRequestedFor(urlPathEqualTo("/graphql")));
+    }
+}
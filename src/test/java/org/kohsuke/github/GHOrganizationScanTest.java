@@ -0,0 +1,108 @@
+package org.kohsuke.github;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathMatching;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThrows;
+
+/**
+ * Unit test for {@link GHOrganizationScan} and the organization methods built on it.
+ */
+public class GHOrganizationScanTest extends AbstractGitHubWireMockTest {
+
+    /**
+     * Lists each pull request list once, keeping the order of the repositories.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testPullRequests() throws Exception {
+        snapshotNotAllowed();
+        GHOrganization organization = gitHub.getOrganization("hub4j-test-org");
+
+        List<Integer> numbers = new ArrayList<>();
+        for (GHPullRequest pullRequest : organization.getPullRequests()) {
+            numbers.add(pullRequest.getNumber());
+        }
+        assertThat(numbers, contains(1, 2, 3));
+        assertThat(pulls(), equalTo(3));
+
+        List<String> names = new ArrayList<>();
+        for (GHRepository repository : organization.getRepositoriesWithOpenPullRequests()) {
+            names.add(repository.getName());
+        }
+        assertThat(names, contains("a", "c"));
+        assertThat(pulls(), equalTo(6));
+    }
+
+    /**
+     * Reports the repositories a query failed on next to the results of the others.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testFailure() throws Exception {
+        snapshotNotAllowed();
+        GHOrganization organization = gitHub.getOrganization("hub4j-test-org");
+
+        Map<String, GHOrganizationScan.Result<Integer>> results = new TreeMap<>();
+        organization.scanRepositories(repository -> repository.getPullRequests(GHIssueState.OPEN).size())
+                .withParallelism(2)
+                .forEach(result -> results.put(result.getRepository().getName(), result));
+
+        assertThat(results.keySet(), contains("a", "b", "c"));
+        assertThat(results.get("a").isSuccessful(), equalTo(true));
+        assertThat(results.get("a").getValue(), equalTo(0));
+        assertThat(results.get("b").isSuccessful(), equalTo(false));
+        assertThat(((HttpException) results.get("b").getFailure()).getResponseCode(), equalTo(403));
+        assertThat(results.get("c").getPosition(), equalTo(2));
+
+        HttpException e = assertThrows(HttpException.class, organization::getPullRequests);
+        assertThat(e.getResponseCode(), equalTo(403));
+        assertThrows(IllegalArgumentException.class, () -> organization.scanRepositories(r -> r).withParallelism(0));
+    }
+
+    /**
+     * Queries several repositories at a time.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testConcurrency() throws Exception {
+        snapshotNotAllowed();
+        GHOrganization organization = gitHub.getOrganization("hub4j-test-org");
+        CyclicBarrier barrier = new CyclicBarrier(3);
+
+        List<String> names = new ArrayList<>();
+        organization.scanRepositories(repository -> {
+            try {
+                // only returns once all three queries are running
+                barrier.await(10, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            return repository.getName();
+        }).withParallelism(3).forEach(result -> names.add(result.getValue()));
+
+        assertThat(names, containsInAnyOrder("a", "b", "c"));
+    }
+
+    private int pulls() {
+        return mockGitHub.apiServer()
+                .countRequestsMatching(getRequestedFor(urlPathMatching("/repos/hub4j-test-org/\\w+/pulls")).build())
+                .getCount();
+    }
+}
@@ -0,0 +1,106 @@
+package org.kohsuke.github;
+
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThrows;
+
+/**
+ * Unit test for {@link GHPopulateMonitor} and {@link PagedIterable#withHydration(int)}.
+ */
+public class GHPopulateMonitorTest extends AbstractGitHubWireMockTest {
+
+    private static final int MEMBERS = 25;
+
+    /**
+     * Gets the wire mock options.
+     *
+     * @return the wire mock options
+     */
+    @Override
+    protected WireMockConfiguration getWireMockOptions() {
+        return super.getWireMockOptions().extensions(templating.newResponseTransformer());
+    }
+
+    /**
+     * Counts the requests made by a loop that reads a lazy getter of every item.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testCallSites() throws Exception {
+        snapshotNotAllowed();
+        GHOrganization organization = gitHub.getOrganization("hub4j-test-org");
+
+        List<String> names = new ArrayList<>();
+        for (GHUser user : organization.listMembers()) {
+            names.add(user.getName());
+        }
+        assertThat(names, hasSize(MEMBERS));
+        assertThat(names, hasItem("User 7"));
+
+        Map<String, Long> callSites = gitHub.getPopulateMonitor().getCallSites();
+        assertThat(callSites.size(), equalTo(1));
+        Map.Entry<String, Long> callSite = callSites.entrySet().iterator().next();
+        assertThat(callSite.getKey(), containsString(GHPopulateMonitorTest.class.getName() + ".testCallSites("));
+        assertThat(callSite.getValue(), equalTo((long) MEMBERS));
+
+        gitHub.getPopulateMonitor().reset();
+        assertThat(gitHub.getPopulateMonitor().getCallSites().isEmpty(), equalTo(true));
+    }
+
+    /**
+     * Populates the items of each page before returning them, without counting those requests.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testHydration() throws Exception {
+        snapshotNotAllowed();
+        GHOrganization organization = gitHub.getOrganization("hub4j-test-org");
+
+        PagedIterable<GHUser> members = organization.listMembers().withHydration(4);
+        List<GHUser> users = new ArrayList<>();
+        for (GHUser user : members) {
+            users.add(user);
+        }
+        int requests = mockGitHub.getRequestCount();
+        assertThat(mockGitHub.apiServer().countRequestsMatching(getRequestedFor(urlPathEqualTo("/users/u3")).build())
+                .getCount(), equalTo(1));
+
+        for (GHUser user : users) {
+            assertThat(user.getName(), startsWith("User "));
+        }
+        assertThat(mockGitHub.getRequestCount(), equalTo(requests));
+        assertThat(gitHub.getPopulateMonitor().getCallSites().isEmpty(), equalTo(true));
+        assertThat(organization.listMembers().withHydration(2).toList(), hasSize(MEMBERS));
+
+        assertThrows(IllegalArgumentException.class, () -> organization.listMembers().withHydration(-1));
+    }
+
+    /**
+     * Fails the iteration when an item cannot be populated.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testHydrationFailure() throws Exception {
+        snapshotNotAllowed();
+        GHOrganization organization = gitHub.getOrganization("hub4j-test-org");
+
+        GHException e = assertThrows(GHException.class,
+                () -> organization.listMembers().withHydration(4).iterator().hasNext());
+        assertThat(e.getCause(), instanceOf(GHFileNotFoundException.class));
+    }
+}
@@ -6,7 +6,9 @@ import org.junit.Test;
 import org.kohsuke.github.GHPullRequest.AutoMerge;
 
 import java.io.IOException;
+import java.net.SocketException;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
@@ -25,6 +27,8 @@ import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThrows;
 
 // TODO: Auto-generated Javadoc
 /**
@@ -1019,6 +1023,70 @@ public class GHPullRequestTest extends AbstractGitHubWireMockTest {
         pullRequestFromSearchResults.close();
     }
 
+    /**
+     * Read diff streams the files and hunks of the diff to the listener.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void readDiff() throws Exception {
+        snapshotNotAllowed();
+        GHPullRequest p = gitHub.getRepository("hub4j-test-org/github-api").getPullRequest(1);
+        List<GHDiffParser.File> files = new ArrayList<>();
+        List<GHDiffParser.Hunk> hunks = new ArrayList<>();
+
+        p.readDiff(new GHDiffParser.Listener() {
+            @Override
+            public void file(GHDiffParser.File file) {
+                files.add(file);
+            }
+
+            @Override
+            public void hunk(GHDiffParser.Hunk hunk) {
+                hunks.add(hunk);
+            }
+        });
+
+        assertThat(files, hasSize(5));
+        assertThat(files.get(1).getNewPath(), equalTo("src/New File.java"));
+        assertThat(files.get(4).getPath(), equalTo("café.txt"));
+        assertThat(hunks, hasSize(4));
+        assertThat(hunks.get(0).getFile(), sameInstance(files.get(0)));
+        assertThat(mockGitHub.getRequestCount(), equalTo(3));
+    }
+
+    /**
+     * Read diff is not sent again once the listener has been called, and its exception is thrown as it is.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void readDiffIsNotResent() throws Exception {
+        snapshotNotAllowed();
+        GHPullRequest p = gitHub.getRepository("hub4j-test-org/github-api").getPullRequest(1);
+        List<GHDiffParser.File> files = new ArrayList<>();
+        SocketException reset = new SocketException("Connection reset");
+
+        SocketException e = assertThrows(SocketException.class, () -> p.readDiff(new GHDiffParser.Listener() {
+            @Override
+            public void file(GHDiffParser.File file) {
+                files.add(file);
+            }
+
+            @Override
+            public void hunk(GHDiffParser.Hunk hunk) throws IOException {
+                // fails like a connection reset while the body is read
+                throw reset;
+            }
+        }));
+
+        assertThat(e, sameInstance(reset));
+        assertThat(files, hasSize(1));
+        assertThat(mockGitHub.getRequestCount(), equalTo(3));
+    }
+
     /**
      * Gets the repository.
      *
@@ -0,0 +1,109 @@
+package org.kohsuke.github;
+
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThrows;
+
+/**
+ * Unit test for {@link GHRepositoryStatisticsPoller}.
+ */
+public class GHRepositoryStatisticsPollerTest extends AbstractGitHubWireMockTest {
+
+    /**
+     * Polls until GitHub stops answering 202.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testPollUntilReady() throws Exception {
+        snapshotNotAllowed();
+        GHRepository repository = gitHub.getRepository("hub4j-test-org/github-api");
+
+        try (GHRepositoryStatisticsPoller poller = new GHRepositoryStatisticsPoller()
+                .withInitialDelay(Duration.ofMillis(10))) {
+            List<GHRepositoryStatistics.ContributorStats> stats = poller
+                    .poll(repository, GHRepositoryStatisticsPoller.Metric.CONTRIBUTOR_STATS)
+                    .get(10, TimeUnit.SECONDS);
+
+            assertThat(stats, hasSize(1));
+            assertThat(stats.get(0).getAuthor().getLogin(), equalTo("octocat"));
+            assertThat(stats.get(0).getWeek(1541289600).getNumberOfAdditions(), equalTo(63));
+        }
+        // the repository, then the statistics three times
+        assertThat(mockGitHub.getRequestCount(), equalTo(4));
+    }
+
+    /**
+     * Polls many repositories, one future each.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testPollAll() throws Exception {
+        snapshotNotAllowed();
+        GHRepository a = gitHub.getRepository("hub4j-test-org/github-api");
+        GHRepository b = gitHub.getRepository("hub4j-test-org/other");
+
+        try (GHRepositoryStatisticsPoller poller = new GHRepositoryStatisticsPoller(2)
+                .withInitialDelay(Duration.ofMillis(10))) {
+            Map<GHRepository, CompletableFuture<List<GHRepositoryStatistics.CodeFrequency>>> results = poller
+                    .pollAll(Arrays.asList(a, b, a), GHRepositoryStatisticsPoller.Metric.CODE_FREQUENCY);
+
+            assertThat(results.size(), equalTo(2));
+            List<GHRepositoryStatistics.CodeFrequency> frequency = results.get(a).get(10, TimeUnit.SECONDS);
+            assertThat(frequency, hasSize(1));
+            assertThat(frequency.get(0).getAdditions(), equalTo(1124L));
+            assertThat(results.get(b).get(10, TimeUnit.SECONDS), hasSize(0));
+        }
+    }
+
+    /**
+     * Fails the future when the statistics are never ready.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testPollTimeout() throws Exception {
+        snapshotNotAllowed();
+        GHRepository repository = gitHub.getRepository("hub4j-test-org/github-api");
+
+        try (GHRepositoryStatisticsPoller poller = new GHRepositoryStatisticsPoller()
+                .withInitialDelay(Duration.ofMillis(10))
+                .withTimeout(Duration.ofMillis(100))) {
+            CompletableFuture<List<GHRepositoryStatistics.CommitActivity>> future = poller.poll(repository,
+                    GHRepositoryStatisticsPoller.Metric.COMMIT_ACTIVITY);
+            ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(10, TimeUnit.SECONDS));
+            assertThat(e.getCause(), instanceOf(TimeoutException.class));
+        }
+    }
+
+    /**
+     * Test the backoff between re-checks.
+     */
+    @Test
+    public void testDelay() {
+        GHRepositoryStatisticsPoller poller = new GHRepositoryStatisticsPoller()
+                .withInitialDelay(Duration.ofSeconds(1))
+                .withMaxDelay(Duration.ofSeconds(5));
+        assertThat(poller.delayMillis(1), equalTo(1000L));
+        assertThat(poller.delayMillis(2), equalTo(2000L));
+        assertThat(poller.delayMillis(3), equalTo(4000L));
+        assertThat(poller.delayMillis(4), equalTo(5000L));
+        assertThat(poller.delayMillis(40), equalTo(5000L));
+        poller.close();
+    }
+}
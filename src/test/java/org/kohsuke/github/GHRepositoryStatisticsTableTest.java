@@ -0,0 +1,109 @@
+package org.kohsuke.github;
+
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Unit test for the columnar statistics of {@link GHRepositoryStatistics}.
+ */
+public class GHRepositoryStatisticsTableTest extends AbstractGitHubWireMockTest {
+
+    private static final long WEEK_1 = 1541289600L;
+    private static final long WEEK_2 = WEEK_1 + 7 * 24 * 3600;
+
+    /**
+     * Reads contributor statistics into primitive columns.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testContributorStatsTable() throws Exception {
+        snapshotNotAllowed();
+        GHRepository repository = gitHub.getRepository("hub4j-test-org/github-api");
+
+        GHRepositoryStatistics.ContributorStatsTable table = repository.getStatistics().getContributorStatsTable();
+
+        assertThat(table.size(), equalTo(3));
+        assertThat(table.getLogin(0), equalTo("octocat"));
+        assertThat(table.getAuthorId(1), equalTo(2L));
+        assertThat(table.getTotal(1), equalTo(7));
+        assertThat(table.getLogin(2), nullValue());
+        assertThat(table.getWeekCount(0), equalTo(2));
+        assertThat(table.getWeekCount(2), equalTo(0));
+        assertThat(table.getWeekTimestamp(0, 1), equalTo(WEEK_2));
+        assertThat(table.getAdditions(0, 0), equalTo(63));
+        assertThat(table.getDeletions(0, 0), equalTo(56));
+        assertThat(table.getCommits(0, 0), equalTo(3));
+        assertThat(table.indexOf("HUBOT"), equalTo(1));
+        assertThat(table.indexOf("nobody"), equalTo(-1));
+
+        assertThat(table.sumAdditions(0, WEEK_1, WEEK_2), equalTo(63L));
+        assertThat(table.sumDeletions(1, WEEK_1, Long.MAX_VALUE), equalTo(5L));
+        assertThat(table.sumCommits(WEEK_1, Long.MAX_VALUE), equalTo(11L));
+        assertThat(table.sumCommits(WEEK_2, Long.MAX_VALUE), equalTo(6L));
+
+        assertThat(table.topContributorsByCommits(5, WEEK_1, Long.MAX_VALUE), equalTo(new int[]{ 1, 0 }));
+        assertThat(table.topContributorsByCommits(1, WEEK_1, WEEK_2), equalTo(new int[]{ 0 }));
+        assertThat(table.topContributorsByCommits(0, WEEK_1, WEEK_2).length, equalTo(0));
+    }
+
+    /**
+     * Returns null while GitHub computes the statistics.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testNotReady() throws Exception {
+        snapshotNotAllowed();
+        GHRepository repository = gitHub.getRepository("hub4j-test-org/github-api");
+
+        assertThat(repository.getStatistics().getContributorStatsTable(), nullValue());
+    }
+
+    /**
+     * Reads commit activity into primitive columns.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testCommitActivityTable() throws Exception {
+        snapshotNotAllowed();
+        GHRepository repository = gitHub.getRepository("hub4j-test-org/github-api");
+
+        GHRepositoryStatistics.CommitActivityTable table = repository.getStatistics().getCommitActivityTable();
+
+        assertThat(table.size(), equalTo(2));
+        assertThat(table.getWeekTimestamp(1), equalTo(1336885200L));
+        assertThat(table.getTotal(0), equalTo(89));
+        assertThat(table.getDay(0, 4), equalTo(39));
+        assertThat(table.getDay(1, 6), equalTo(1));
+        assertThat(table.sumCommits(0, Long.MAX_VALUE), equalTo(91L));
+        assertThat(table.sumByDayOfWeek(0, Long.MAX_VALUE), equalTo(new long[]{ 1, 3, 26, 20, 39, 1, 1 }));
+    }
+
+    /**
+     * Reads code frequency into primitive columns.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testCodeFrequencyTable() throws Exception {
+        snapshotNotAllowed();
+        GHRepository repository = gitHub.getRepository("hub4j-test-org/github-api");
+
+        GHRepositoryStatistics.CodeFrequencyTable table = repository.getStatistics().getCodeFrequencyTable();
+
+        assertThat(table.size(), equalTo(3));
+        assertThat(table.getWeekTimestamp(2), equalTo(1304208000L));
+        assertThat(table.getAdditions(0), equalTo(1124));
+        assertThat(table.getDeletions(0), equalTo(-435));
+        assertThat(table.sumAdditions(1302998400L, Long.MAX_VALUE), equalTo(1134L));
+        assertThat(table.sumDeletions(1303603200L, Long.MAX_VALUE), equalTo(-2L));
+    }
+}
@@ -0,0 +1,121 @@
+package org.kohsuke.github;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Unit test for {@link GHSync}.
+ */
+public class GHSyncTest extends AbstractGitHubWireMockTest {
+
+    private static final String ISSUES = "/repos/hub4j-test-org/github-api/issues";
+
+    private Path directory;
+
+    /**
+     * Creates the cursor directory.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("github-api-sync");
+    }
+
+    /**
+     * Deletes the cursor directory.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @After
+    public void tearDown() throws Exception {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toArray(Path[]::new)) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    /**
+     * Passes only new and changed issues, and skips the run when GitHub reports no change.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testIncrementalIssues() throws Exception {
+        snapshotNotAllowed();
+        GHRepository repository = gitHub.getRepository("hub4j-test-org/github-api");
+        GHSync sync = new GHSync(directory).withOverlap(Duration.ofMinutes(3));
+        List<Integer> upserted = new ArrayList<>();
+
+        // the first run has no since, the second asks from the high-water mark less the overlap without an ETag
+        assertThat(sync.issues(repository, issue -> upserted.add(issue.getNumber())), equalTo(2));
+        assertThat(sync.issues(repository, issue -> upserted.add(issue.getNumber())), equalTo(1));
+
+        // the third sends the ETag of the second and is answered 304
+        assertThat(sync.issues(repository, issue -> upserted.add(issue.getNumber())), equalTo(0));
+
+        assertThat(sync.issues(repository, issue -> upserted.add(issue.getNumber())), equalTo(1));
+        assertThat(upserted, contains(1, 2, 3, 1));
+
+        GHSync.Cursor cursor = new GHSync.FileStore(directory).load(ISSUES);
+        assertThat(cursor.getHighWaterMark(), equalTo(GitHubClient.parseDate("2020-01-02T11:00:00Z").getTime()));
+        assertThat(cursor.getETag(), nullValue());
+        assertThat(cursor.getOverlap().keySet(), contains("1001"));
+    }
+
+    /**
+     * Passes on an item without an update time, without moving the high-water mark.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testMissingTimestamp() throws Exception {
+        snapshotNotAllowed();
+        GHRepository repository = gitHub.getRepository("hub4j-test-org/github-api");
+        List<Integer> upserted = new ArrayList<>();
+
+        assertThat(new GHSync(directory).issues(repository, issue -> upserted.add(issue.getNumber())), equalTo(2));
+        assertThat(upserted, contains(1, 2));
+        GHSync.Cursor cursor = new GHSync.FileStore(directory).load(ISSUES);
+        assertThat(cursor.getHighWaterMark(), equalTo(GitHubClient.parseDate("2020-01-02T10:00:00Z").getTime()));
+    }
+
+    /**
+     * Reads back a saved cursor.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testFileStore() throws Exception {
+        GHSync.FileStore store = new GHSync.FileStore(directory.resolve("nested"));
+        assertThat(store.load("/repos/a/b/issues"), nullValue());
+
+        store.save("/repos/a/b/issues", new GHSync.Cursor(42, "\"tag\"", Collections.singletonMap("7", 40L)));
+        store.save("/repos/a/b/commits", new GHSync.Cursor(1, null, Collections.emptyMap()));
+
+        GHSync.Cursor cursor = store.load("/repos/a/b/issues");
+        assertThat(cursor.getHighWaterMark(), equalTo(42L));
+        assertThat(cursor.getETag(), equalTo("\"tag\""));
+        assertThat(cursor.getOverlap(), equalTo(Collections.singletonMap("7", 40L)));
+        assertThat(store.load("/repos/a/b/commits").getETag(), nullValue());
+    }
+}
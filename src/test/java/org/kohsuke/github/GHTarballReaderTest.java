@@ -0,0 +1,158 @@
+package org.kohsuke.github;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThrows;
+
+/**
+ * Unit test for {@link GHTarballReader} and {@link PathGlob}.
+ */
+public class GHTarballReaderTest extends AbstractGitHubWireMockTest {
+
+    private static final String ROOT = "hub4j-test-org-github-api-0123abc/";
+
+    private static final String LONG_PATH = "src/main/java/org/kohsuke/github/" + String.join("/",
+            Collections.nCopies(12, "deeply-nested-directory")) + "/Example.java";
+
+    /**
+     * Hands the entries to a handler, with the paths of pax and ustar headers and without the root directory.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testForEach() throws Exception {
+        snapshotNotAllowed();
+        GHRepository repository = gitHub.getRepository("hub4j-test-org/github-api");
+
+        List<String> entries = new ArrayList<>();
+        repository.readTarball("main").forEach((entry, content) -> {
+            String text = new String(readAll(content), StandardCharsets.UTF_8);
+            entries.add(entry.getType() + " " + entry.getPath() + " " + entry.getSize() + " " + text);
+        });
+
+        assertThat(entries,
+                contains("DIRECTORY src 0 ",
+                        "FILE README.md 6 readme",
+                        "FILE src/App.java 13 class App {}\n",
+                        "FILE " + LONG_PATH + " 4 long",
+                        "SYMBOLIC_LINK docs 0 ",
+                        "FILE run.sh 9 #!/bin/sh"));
+
+        List<String> kept = new ArrayList<>();
+        repository.readTarball("main")
+                .withRootDirectory(true)
+                .withFilter("*/*.md")
+                .forEach((entry, content) -> kept.add(entry.getPath()));
+        assertThat(kept, contains(ROOT + "README.md"));
+    }
+
+    /**
+     * Writes the matching files to a directory, handling them on several threads.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testExtractTo() throws Exception {
+        snapshotNotAllowed();
+        GHRepository repository = gitHub.getRepository("hub4j-test-org/github-api");
+        Path directory = Files.createTempDirectory("tarball");
+        try {
+            long files = repository.readTarball("main")
+                    .withFilter("**/*.java")
+                    .withFilter("*.sh")
+                    .withParallelism(3)
+                    .extractTo(directory);
+
+            assertThat(files, equalTo(3L));
+            assertThat(new String(Files.readAllBytes(directory.resolve("src/App.java")), StandardCharsets.UTF_8),
+                    equalTo("class App {}\n"));
+            assertThat(Files.size(directory.resolve(LONG_PATH)), equalTo(4L));
+            assertThat(Files.exists(directory.resolve("README.md")), equalTo(false));
+            assertThat(Files.exists(directory.resolve("docs")), equalTo(false));
+
+            Map<String, Integer> sizes = new ConcurrentHashMap<>();
+            repository.readTarball("main")
+                    .withParallelism(4)
+                    .forEach((entry, content) -> sizes.put(entry.getPath(), readAll(content).length));
+            assertThat(sizes.size(), equalTo(6));
+            assertThat(sizes.get("src/App.java"), equalTo(13));
+        } finally {
+            delete(directory);
+        }
+    }
+
+    /**
+     * Refuses entries that would be written outside of the directory, and corrupt headers.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testUnsafeAndCorrupt() throws Exception {
+        snapshotNotAllowed();
+        GHRepository repository = gitHub.getRepository("hub4j-test-org/github-api");
+        Path directory = Files.createTempDirectory("tarball");
+        try {
+            IOException e = assertThrows(IOException.class, () -> repository.readTarball(null).extractTo(directory));
+            assertThat(e.getMessage(), containsString("outside"));
+        } finally {
+            delete(directory);
+        }
+
+        IOException checksum = assertThrows(IOException.class,
+                () -> repository.readTarball("corrupt").forEach((entry, content) -> {
+                }));
+        assertThat(checksum.getMessage(), containsString("checksum"));
+    }
+
+    /**
+     * Matches paths against globs.
+     */
+    @Test
+    public void testGlob() {
+        assertThat(new PathGlob("*.md").test("README.md"), equalTo(true));
+        assertThat(new PathGlob("*.md").test("docs/README.md"), equalTo(false));
+        assertThat(new PathGlob("**/*.md").test("README.md"), equalTo(true));
+        assertThat(new PathGlob("**/*.md").test("docs/a/README.md"), equalTo(true));
+        assertThat(new PathGlob("src/**").test("src/a/b.java"), equalTo(true));
+        assertThat(new PathGlob("?.txt").test("a.txt"), equalTo(true));
+        assertThat(new PathGlob("?.txt").test("/.txt"), equalTo(false));
+        assertThat(new PathGlob("*.{yml,yaml}").test("ci.yaml"), equalTo(true));
+        assertThat(new PathGlob("*.{yml,yaml}").test("ci.json"), equalTo(false));
+        assertThat(new PathGlob("[!a]*.(x)").test("b1.(x)"), equalTo(true));
+        assertThat(new PathGlob("[!a]*.(x)").test("a1.(x)"), equalTo(false));
+        assertThrows(IllegalArgumentException.class, () -> new PathGlob("{a,b"));
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        for (int read = in.read(buffer); read != -1; read = in.read(buffer)) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    private static void delete(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Collections.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package org.kohsuke.github;
+
+import org.junit.Test;
+import org.kohsuke.github.GHWorkflowRun.Conclusion;
+import org.kohsuke.github.GHWorkflowRun.Status;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThrows;
+
+/**
+ * Unit test for {@link GHWorkflowJobExtractor} and {@link GHWorkflowJobTable}.
+ */
+public class GHWorkflowJobExtractorTest extends AbstractGitHubWireMockTest {
+
+    /**
+     * Lists the jobs of every run of every repository into the table.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testExtract() throws Exception {
+        snapshotNotAllowed();
+        GHWorkflowRunQueryBuilder a = gitHub.getRepository("hub4j-test-org/github-api")
+                .queryWorkflowRuns()
+                .created(">=2024-01-01");
+        GHWorkflowRunQueryBuilder b = gitHub.getRepository("hub4j-test-org/other").queryWorkflowRuns();
+
+        GHWorkflowJobTable table = new GHWorkflowJobExtractor(Arrays.asList(a, b)).withParallelism(3).extract();
+
+        // runs 1 and 2 on the first page of github-api, 3 on the second, 4 in other; two jobs each
+        assertThat(table.size(), equalTo(8));
+        // the repositories, two pages of runs and the jobs of three runs, one page of runs and its jobs
+        assertThat(mockGitHub.getRequestCount(), equalTo(9));
+        int row = row(table, 31);
+        assertThat(table.getRepository(row), equalTo("hub4j-test-org/github-api"));
+        assertThat(table.getRunId(row), equalTo(3L));
+        assertThat(table.getRunAttempt(row), equalTo(2));
+        assertThat(table.getWorkflowName(row), equalTo("CI"));
+        assertThat(table.getName(row), equalTo("test"));
+        assertThat(table.getStatus(row), equalTo(Status.COMPLETED));
+        assertThat(table.getConclusion(row), equalTo(Conclusion.FAILURE));
+        assertThat(table.getRunnerLabels(row), contains("ubuntu-latest"));
+        assertThat(table.getDurationMillis(row), equalTo(3 * 60_000L));
+        assertThat(table.getRepository(row(table, 40)), equalTo("hub4j-test-org/other"));
+
+        int queued = row(table, 41);
+        assertThat(table.getStatus(queued), equalTo(Status.QUEUED));
+        assertThat(table.getConclusion(queued), nullValue());
+        assertThat(table.getStartedAtEpochMillis(queued), equalTo(0L));
+        assertThat(table.getDurationMillis(queued), equalTo(-1L));
+        assertThat(table.getRunnerLabels(queued), empty());
+
+        // builds took 1, 2, 3 and 4 minutes
+        assertThat(table.getDurationPercentile(r -> table.getName(r).equals("build"), 50), equalTo(2 * 60_000L));
+        assertThat(table.getDurationPercentile(r -> table.getName(r).equals("build"), 100), equalTo(4 * 60_000L));
+        assertThat(table.getDurationPercentile(r -> false, 50), equalTo(-1L));
+        assertThrows(IndexOutOfBoundsException.class, () -> table.getJobId(8));
+    }
+
+    /**
+     * Writes the jobs to a stream, and reads the same table back.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testStream() throws Exception {
+        snapshotNotAllowed();
+        List<GHWorkflowRunQueryBuilder> queries = Arrays.asList(
+                gitHub.getRepository("hub4j-test-org/github-api").queryWorkflowRuns(),
+                gitHub.getRepository("hub4j-test-org/other").queryWorkflowRuns());
+        GHWorkflowJobTable extracted = new GHWorkflowJobExtractor(queries).extract();
+
+        ByteArrayOutputStream streamed = new ByteArrayOutputStream();
+        new GHWorkflowJobExtractor(queries).withParallelism(1).extractTo(streamed);
+        GHWorkflowJobTable read = GHWorkflowJobTable.readFrom(new ByteArrayInputStream(streamed.toByteArray()));
+        assertThat(read.size(), equalTo(extracted.size()));
+        // statuses and conclusions are stored by name, not by their position in the enum
+        assertThat(new String(streamed.toByteArray(), StandardCharsets.ISO_8859_1), containsString("FAILURE"));
+
+        ByteArrayOutputStream written = new ByteArrayOutputStream();
+        read.writeTo(written);
+        GHWorkflowJobTable copy = GHWorkflowJobTable.readFrom(new ByteArrayInputStream(written.toByteArray()));
+        Map<Long, String> rows = new HashMap<>();
+        for (int row = 0; row < extracted.size(); row++) {
+            rows.put(extracted.getJobId(row), describe(extracted, row));
+        }
+        for (int row = 0; row < copy.size(); row++) {
+            assertThat(describe(copy, row), equalTo(rows.get(copy.getJobId(row))));
+        }
+        assertThrows(IOException.class,
+                () -> GHWorkflowJobTable.readFrom(new ByteArrayInputStream(new byte[8])));
+    }
+
+    /**
+     * Reports a job listing that failed.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testFailure() throws Exception {
+        snapshotNotAllowed();
+        GHWorkflowJobExtractor extractor = new GHWorkflowJobExtractor(
+                Collections.singletonList(gitHub.getRepository("hub4j-test-org/github-api").queryWorkflowRuns()));
+
+        HttpException e = assertThrows(HttpException.class, extractor::extract);
+        assertThat(e.getResponseCode(), equalTo(403));
+    }
+
+    private static int row(GHWorkflowJobTable table, long jobId) {
+        for (int row = 0; row < table.size(); row++) {
+            if (table.getJobId(row) == jobId) {
+                return row;
+            }
+        }
+        throw new AssertionError("No job " + jobId);
+    }
+
+    private static String describe(GHWorkflowJobTable table, int row) {
+        return String.join(",",
+                table.getRepository(row),
+                table.getWorkflowName(row),
+                Long.toString(table.getRunId(row)),
+                Integer.toString(table.getRunAttempt(row)),
+                table.getName(row),
+                String.valueOf(table.getStatus(row)),
+                String.valueOf(table.getConclusion(row)),
+                Long.toString(table.getStartedAtEpochMillis(row)),
+                Long.toString(table.getCompletedAtEpochMillis(row)),
+                table.getRunnerLabels(row).toString());
+    }
+}
@@ -0,0 +1,170 @@
+package org.kohsuke.github;
+
+import org.junit.Test;
+import org.kohsuke.github.connector.GitHubConnector;
+import org.kohsuke.github.connector.GitHubConnectorResponse;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.SocketException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThrows;
+
+/**
+ * Unit test for {@link GHWorkflowLogSearch}.
+ */
+public class GHWorkflowLogSearchTest extends AbstractGitHubWireMockTest {
+
+    private static final String LOG_1 = "setup\r\n"
+            + "Exception in thread \"main\" java.lang.OutOfMemoryError: heap\r\n"
+            + "step timed out after 30 s\r\n"
+            + "java.lang.Error: é OutOfMemoryError\r\n"
+            + "done";
+
+    private static final String LOG_2 = "compile\nBUILD FAILURE\nOutOfMemoryError";
+
+    /**
+     * Finds overlapping literals and patterns, with the number and position of each line.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testList() throws Exception {
+        snapshotNotAllowed();
+        List<GHWorkflowJob> jobs = Arrays.asList(job(1), job(2));
+
+        List<GHWorkflowLogSearch.Match> matches = search(jobs).list();
+
+        List<String> found = new ArrayList<>();
+        for (GHWorkflowLogSearch.Match match : matches) {
+            found.add(match.getJob().getId() + ":" + match.getLineNumber() + ":" + match.getSignature());
+        }
+        assertThat(found,
+                contains("1:2:oom",
+                        "1:2:error",
+                        "1:3:timeout",
+                        "1:4:oom",
+                        "1:4:error",
+                        "2:2:failure",
+                        "2:3:oom",
+                        "2:3:error"));
+
+        GHWorkflowLogSearch.Match match = matches.get(3);
+        assertThat(match.getLine(), equalTo("java.lang.Error: é OutOfMemoryError"));
+        assertThat(match.getOffset(), equalTo((long) LOG_1.indexOf("java.lang.Error")));
+        assertThat(matches.get(6).getOffset(), equalTo((long) LOG_2.lastIndexOf('\n') + 1));
+        assertThat(matches.get(6).getLine(), equalTo("OutOfMemoryError"));
+    }
+
+    /**
+     * Stops reading a log once the most matches are found.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testMaxMatches() throws Exception {
+        snapshotNotAllowed();
+
+        List<GHWorkflowLogSearch.Match> matches = search(Collections.singletonList(job(1))).withMaxMatches(3).list();
+
+        assertThat(matches, hasSize(3));
+        assertThat(matches.get(2).getSignature(), equalTo("timeout"));
+        assertThrows(IllegalArgumentException.class, () -> search(Collections.emptyList()).withLiteral("x", "a\nb"));
+    }
+
+    /**
+     * Reports a log that could not be downloaded next to the matches of the others.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testFailure() throws Exception {
+        snapshotNotAllowed();
+        GHWorkflowLogSearch search = search(Arrays.asList(job(1), job(3)));
+
+        List<GHWorkflowLogSearch.Result> results = new ArrayList<>();
+        search.forEach(results::add);
+        results.sort((a, b) -> Long.compare(a.getJob().getId(), b.getJob().getId()));
+
+        assertThat(results, hasSize(2));
+        assertThat(results.get(0).isSuccessful(), equalTo(true));
+        assertThat(results.get(0).getMatches(), hasSize(5));
+        assertThat(results.get(1).isSuccessful(), equalTo(false));
+        assertThat(results.get(1).getMatches(), empty());
+        assertThat(((HttpException) results.get(1).getFailure()).getResponseCode(), equalTo(410));
+
+        IOException e = assertThrows(IOException.class, search::list);
+        assertThat(((HttpException) e).getResponseCode(), equalTo(410));
+    }
+
+    /**
+     * Reports a log whose connection is reset part way through, without downloading and scanning it again.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testConnectionReset() throws Exception {
+        snapshotNotAllowed();
+        AtomicInteger sent = new AtomicInteger();
+        GitHubConnector connector = request -> {
+            GitHubConnectorResponse response = GitHubConnector.DEFAULT.send(request);
+            if (!request.url().getPath().endsWith("/jobs/4/logs")) {
+                return response;
+            }
+            sent.incrementAndGet();
+            return new GitHubConnectorResponse(request, response.statusCode(), response.allHeaders()) {
+                @Override
+                public InputStream bodyStream() throws IOException {
+                    // fails like a connection reset while the log is read
+                    return new FilterInputStream(response.bodyStream()) {
+                        @Override
+                        public int read(byte[] b, int off, int len) throws IOException {
+                            throw new SocketException("Connection reset");
+                        }
+                    };
+                }
+
+                @Override
+                public void close() throws IOException {
+                    response.close();
+                }
+            };
+        };
+        gitHub = getGitHubBuilder().withEndpoint(mockGitHub.apiServer().baseUrl()).withConnector(connector).build();
+        GHWorkflowLogSearch search = search(Arrays.asList(job(1), job(4)));
+
+        List<GHWorkflowLogSearch.Result> results = new ArrayList<>();
+        search.forEach(results::add);
+        results.sort((a, b) -> Long.compare(a.getJob().getId(), b.getJob().getId()));
+
+        assertThat(results.get(0).getMatches(), hasSize(5));
+        assertThat(results.get(1).getFailure(), instanceOf(SocketException.class));
+        assertThat(results.get(1).getMatches(), empty());
+        assertThat(sent.get(), equalTo(1));
+    }
+
+    private static GHWorkflowLogSearch search(List<GHWorkflowJob> jobs) {
+        return new GHWorkflowLogSearch(jobs).withLiteral("oom", "OutOfMemoryError")
+                .withLiteral("error", "Error")
+                .withLiteral("failure", "BUILD FAILURE")
+                .withPattern("timeout", Pattern.compile("timed out after \\d+ ?s$"))
+                .withParallelism(2);
+    }
+
+    private GHWorkflowJob job(long id) throws IOException {
+        return gitHub.getRepository("hub4j-test-org/github-api").getWorkflowJob(id);
+    }
+}
@@ -0,0 +1,88 @@
+package org.kohsuke.github;
+
+import org.junit.Test;
+
+import java.io.FileNotFoundException;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThrows;
+
+/**
+ * Unit test for the bulk lookups of {@link GitHub}.
+ */
+public class GitHubBulkLookupTest extends AbstractGitHubWireMockTest {
+
+    /**
+     * Reports keys that were not found next to those that were.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testRepositories() throws Exception {
+        snapshotNotAllowed();
+
+        GHBulkResult<GHRepository> result = gitHub.getRepositories(Arrays.asList("hub4j-test-org/other",
+                "hub4j-test-org/missing",
+                "hub4j-test-org/github-api",
+                "hub4j-test-org/blocked",
+                "hub4j-test-org/other"));
+
+        assertThat(result.getValues().keySet(), contains("hub4j-test-org/other", "hub4j-test-org/github-api"));
+        assertThat(result.getValues().get("hub4j-test-org/github-api").getName(), equalTo("github-api"));
+        assertThat(result.getFailures().keySet(), contains("hub4j-test-org/missing", "hub4j-test-org/blocked"));
+        assertThat(result.getFailures().get("hub4j-test-org/missing"), instanceOf(FileNotFoundException.class));
+        HttpException blocked = (HttpException) result.getFailures().get("hub4j-test-org/blocked");
+        assertThat(blocked.getResponseCode(), equalTo(451));
+        assertThat(result.isComplete(), equalTo(false));
+        assertThrows(FileNotFoundException.class, () -> result.get("hub4j-test-org/missing"));
+        // the duplicate key is only fetched once
+        assertThat(mockGitHub.getRequestCount(), equalTo(4));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> gitHub.getRepositories(Collections.singleton("hub4j-test-org")));
+    }
+
+    /**
+     * Takes users and organizations from the cache, and caches those it fetches.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testCaches() throws Exception {
+        snapshotNotAllowed();
+
+        GHUser kohsuke = gitHub.getUser("kohsuke");
+        GHBulkResult<GHUser> users = gitHub.getUsers(Arrays.asList("bitwiseman", "kohsuke"));
+        assertThat(users.getValues().keySet(), contains("bitwiseman", "kohsuke"));
+        assertThat(users.getValues().get("kohsuke"), sameInstance(kohsuke));
+        assertThat(gitHub.getUser("bitwiseman"), sameInstance(users.getValues().get("bitwiseman")));
+        assertThat(mockGitHub.getRequestCount(), equalTo(2));
+
+        GHBulkResult<GHOrganization> orgs = gitHub.getOrganizations(Arrays.asList("hub4j", "jenkinsci"));
+        assertThat(orgs.isComplete(), equalTo(true));
+        assertThat(gitHub.getOrganization("hub4j"), sameInstance(orgs.get("hub4j")));
+        assertThat(gitHub.getOrganizations(Collections.singleton("jenkinsci")).get("jenkinsci"),
+                sameInstance(orgs.get("jenkinsci")));
+        assertThat(mockGitHub.getRequestCount(), equalTo(4));
+    }
+
+    /**
+     * Fails the whole lookup on errors that are not about a single key.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testFailure() throws Exception {
+        snapshotNotAllowed();
+
+        HttpException e = assertThrows(HttpException.class,
+                () -> gitHub.getUsers(Arrays.asList("kohsuke", "bitwiseman")));
+        assertThat(e.getResponseCode(), equalTo(400));
+    }
+}
@@ -0,0 +1,171 @@
+package org.kohsuke.github;
+
+import org.junit.Test;
+import org.kohsuke.github.authorization.AuthorizationProvider;
+import org.kohsuke.github.authorization.ImmutableAuthorizationProvider;
+import org.kohsuke.github.connector.GitHubConnectorRequest;
+
+import java.io.ByteArrayInputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Unit test for {@link GitHubClient#prepareConnectorRequest(GitHubRequest, AuthorizationProvider)}.
+ */
+public class GitHubRequestPreparationTest {
+
+    private static final Logger LOGGER = Logger.getLogger(GitHubRequestPreparationTest.class.getName());
+
+    private static final AuthorizationProvider TOKEN = ImmutableAuthorizationProvider.fromOauthToken("secret");
+
+    /**
+     * Adds the default headers and the json body, sharing what does not change.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testJsonBody() throws Exception {
+        GitHubRequest request = GitHubRequest.newBuilder()
+                .method("POST")
+                .withUrlPath("/repos/hub4j/github-api/issues")
+                .with("title", "Bug")
+                .with("labels", Collections.singletonList("bug"))
+                .build();
+
+        GitHubRequest prepared = (GitHubRequest) GitHubClient.prepareConnectorRequest(request, TOKEN);
+
+        assertThat(prepared.header("Authorization"), equalTo("token secret"));
+        assertThat(prepared.header("Accept"), equalTo("application/vnd.github+json"));
+        assertThat(prepared.header("accept-encoding"), equalTo("gzip"));
+        assertThat(prepared.header("X-GitHub-Api-Version"), equalTo("2022-11-28"));
+        assertThat(prepared.contentType(), equalTo("application/json"));
+        assertThat(new String(prepared.bodyBytes(), StandardCharsets.UTF_8),
+                allOf(containsString("\"title\":\"Bug\""), containsString("\"labels\":[\"bug\"]")));
+        assertThat(prepared.url(), sameInstance(request.url()));
+        assertThat(prepared.args(), sameInstance(request.args()));
+        assertThat(request.allHeaders().isEmpty(), equalTo(true));
+    }
+
+    /**
+     * Keeps the headers and body set on the request.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testExplicitHeadersAndBody() throws Exception {
+        byte[] body = "raw".getBytes(StandardCharsets.UTF_8);
+        GitHubRequest request = GitHubRequest.newBuilder()
+                .method("POST")
+                .withUrlPath("/markdown/raw")
+                .setHeader("Authorization", "token other")
+                .withAccept("text/html")
+                .contentType("text/plain")
+                .with(new ByteArrayInputStream(body))
+                .build();
+
+        GitHubRequest prepared = (GitHubRequest) GitHubClient.prepareConnectorRequest(request, TOKEN);
+
+        assertThat(prepared.header("Authorization"), equalTo("token other"));
+        assertThat(prepared.header("Accept"), equalTo("text/html"));
+        assertThat(prepared.contentType(), equalTo("text/plain"));
+        assertThat(prepared.bodyBytes(), sameInstance(request.bodyBytes()));
+
+        GitHubRequest form = (GitHubRequest) GitHubClient.prepareConnectorRequest(
+                GitHubRequest.newBuilder().method("POST").with(new ByteArrayInputStream(body)).build(),
+                TOKEN);
+        assertThat(form.contentType(), equalTo("application/x-www-form-urlencoded"));
+    }
+
+    /**
+     * Encodes query parameters as {@link java.net.URLEncoder} does.
+     */
+    @Test
+    public void testQueryEncoding() {
+        GitHubRequest request = GitHubRequest.newBuilder()
+                .withUrlPath("/search/issues")
+                .with("q", "is:open label:\"help wanted\" é")
+                .with("per_page", 100)
+                .with("sort", "created")
+                .build();
+
+        assertThat(request.url().toString(),
+                equalTo(GitHubClient.GITHUB_URL
+                        + "/search/issues?q=is%3Aopen+label%3A%22help+wanted%22+%C3%A9&per_page=100&sort=created"));
+    }
+
+    /**
+     * Allocates less than going through a builder, as requests were prepared before.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testAllocations() throws Exception {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (!(threads instanceof com.sun.management.ThreadMXBean)
+                || !((com.sun.management.ThreadMXBean) threads).isThreadAllocatedMemorySupported()) {
+            return;
+        }
+        com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+        GitHubRequest request = GitHubRequest.newBuilder()
+                .method("PATCH")
+                .withUrlPath("/repos/hub4j/github-api/issues/1")
+                .with("title", "Bug")
+                .with("state", "closed")
+                .build();
+
+        long[] bytes = new long[2];
+        for (int round = 0; round < 3; round++) {
+            // the first rounds warm up
+            long start = allocations.getThreadAllocatedBytes(Thread.currentThread().getId());
+            for (int i = 0; i < 10000; i++) {
+                GitHubClient.prepareConnectorRequest(request, TOKEN);
+            }
+            long middle = allocations.getThreadAllocatedBytes(Thread.currentThread().getId());
+            for (int i = 0; i < 10000; i++) {
+                prepareWithBuilder(request, TOKEN);
+            }
+            long end = allocations.getThreadAllocatedBytes(Thread.currentThread().getId());
+            bytes[0] = (middle - start) / 10000;
+            bytes[1] = (end - middle) / 10000;
+        }
+        LOGGER.info(String.format("Bytes allocated per request: %d prepared, %d with a builder", bytes[0], bytes[1]));
+        assertThat(bytes[0], lessThan(bytes[1]));
+    }
+
+    /**
+     * Prepares a request the way it was done before, through a builder.
+     */
+    private static GitHubConnectorRequest prepareWithBuilder(GitHubRequest request,
+            AuthorizationProvider authorizationProvider) throws Exception {
+        GitHubRequest.Builder<?> builder = request.toBuilder();
+        if (!request.allHeaders().containsKey("Authorization")) {
+            String authorization = authorizationProvider.getEncodedAuthorization();
+            if (authorization != null) {
+                builder.setHeader("Authorization", authorization);
+            }
+        }
+        if (request.header("Accept") == null) {
+            builder.setHeader("Accept", "application/vnd.github+json");
+        }
+        builder.setHeader("Accept-Encoding", "gzip");
+        builder.setHeader("X-GitHub-Api-Version", "2022-11-28");
+        builder.contentType("application/json");
+        Map<String, Object> json = new HashMap<>();
+        for (GitHubRequest.Entry e : request.args()) {
+            json.put(e.key, e.value);
+        }
+        builder.with(new ByteArrayInputStream(GitHubClient.getMappingObjectWriter().writeValueAsBytes(json)));
+        return builder.build();
+    }
+}
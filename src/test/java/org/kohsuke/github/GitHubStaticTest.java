@@ -10,6 +10,7 @@ import java.net.URL;
 import java.text.SimpleDateFormat;
 import java.time.Duration;
 import java.time.Instant;
+import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.time.temporal.ChronoUnit;
 import java.util.Date;
@@ -60,6 +61,57 @@ public class GitHubStaticTest extends AbstractGitHubWireMockTest {
         assertThat(GitHubClient.parseInstant(null), nullValue());
     }
 
+    /**
+     * Test parse epoch millis against {@link java.time.format.DateTimeFormatter#ISO_OFFSET_DATE_TIME}.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testParseEpochMillis() throws Exception {
+        String[] timestamps = { "1970-01-01T00:00:00Z", "2018-08-08T09:40:22Z", "2018-08-08T09:40:22.255Z",
+                "2018-08-08T09:40:22.2Z", "2018-08-08T09:40:22.123456789Z", "2018-08-08T11:40:22+02:00",
+                "2018-08-07T23:10:22-10:30", "2000-02-29T23:59:59Z", "1900-03-01T00:00:00Z", "1969-12-31T23:59:59Z",
+                "2400-12-31T00:00:00Z" };
+        for (String timestamp : timestamps) {
+            assertThat(timestamp,
+                    GitHubClient.parseEpochMillis(timestamp),
+                    equalTo(Instant.from(DateTimeFormatter.ISO_OFFSET_DATE_TIME.parse(timestamp)).toEpochMilli()));
+        }
+        assertThat(GitHubClient.parseEpochMillis("2018/08/08 09:40:22 +0000"),
+                equalTo(GitHubClient.parseEpochMillis("2018-08-08T09:40:22Z")));
+
+        assertThrows(DateTimeParseException.class, () -> GitHubClient.parseEpochMillis("2019-02-29T00:00:00Z"));
+        assertThrows(DateTimeParseException.class, () -> GitHubClient.parseEpochMillis("2018-08-08T24:00:00Z"));
+        assertThat(GitHubClient.toEpochMillis("2018-08-08T24:00:00Z"), equalTo(0L));
+        assertThat(GitHubClient.toEpochMillis(null), equalTo(0L));
+    }
+
+    /**
+     * Test timestamps are decoded when an object is read.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testEpochMillisAccessors() throws Exception {
+        GHIssue issue = GitHubClient.getMappingObjectReader(gitHub)
+                .forType(GHIssue.class)
+                .readValue("{\"created_at\":\"2018-08-08T09:40:22Z\",\"updated_at\":\"2018-08-08T09:40:23Z\","
+                        + "\"closed_at\":\"2018-08-08T09:40:24Z\"}");
+
+        assertThat(issue.getCreatedAtEpochMillis(), equalTo(1533721222000L));
+        assertThat(issue.getUpdatedAtEpochMillis(), equalTo(1533721223000L));
+        assertThat(issue.getClosedAtEpochMillis(), equalTo(1533721224000L));
+        assertThat(issue.getClosedAt(), equalTo(new Date(1533721224000L)));
+        assertThat(GitHubClient.getMappingObjectWriter().writeValueAsString(issue),
+                containsString("\"closed_at\":\"2018-08-08T09:40:24Z\""));
+
+        GHIssue open = GitHubClient.getMappingObjectReader(gitHub).forType(GHIssue.class).readValue("{}");
+        assertThat(open.getClosedAtEpochMillis(), equalTo(0L));
+        assertThat(open.getClosedAt(), nullValue());
+    }
+
     /**
      * Test raw url path invalid.
      *
@@ -0,0 +1,87 @@
+package org.kohsuke.github;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThrows;
+
+/**
+ * Unit test for {@link PagedIterable#stream()}.
+ */
+public class PagedIterableStreamTest extends AbstractGitHubWireMockTest {
+
+    private static final int PAGES = 5;
+    private static final int PAGE_SIZE = 10;
+
+    /**
+     * Stops fetching once a short-circuiting operation is satisfied.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testShortCircuit() throws Exception {
+        snapshotNotAllowed();
+
+        assertThat(issues().stream().findFirst().get().getId(), equalTo(1L));
+        assertThat(mockGitHub.getRequestCount(), equalTo(1));
+
+        List<Long> ids = issues().stream().limit(15).map(GHObject::getId).collect(Collectors.toList());
+        assertThat(ids, hasSize(15));
+        assertThat(ids.get(14), equalTo(15L));
+        assertThat(mockGitHub.getRequestCount(), equalTo(1 + 2));
+
+        assertThat(issues().stream().anyMatch(issue -> issue.getId() == 25), equalTo(true));
+        assertThat(mockGitHub.getRequestCount(), equalTo(1 + 2 + 3));
+    }
+
+    /**
+     * Reads every item, in order when sequential.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testAllItems() throws Exception {
+        snapshotNotAllowed();
+
+        List<Long> ids = issues().stream().map(GHObject::getId).collect(Collectors.toList());
+        assertThat(ids, hasSize(PAGES * PAGE_SIZE));
+        for (int i = 0; i < ids.size(); i++) {
+            assertThat(ids.get(i), equalTo(i + 1L));
+        }
+
+        long sum = issues().stream().parallel().mapToLong(GHObject::getId).sum();
+        assertThat(sum, equalTo((long) PAGES * PAGE_SIZE * (PAGES * PAGE_SIZE + 1) / 2));
+
+        List<Long> ordered = issues().stream()
+                .parallel()
+                .map(GHObject::getId)
+                .filter(id -> id % 7 == 0)
+                .collect(Collectors.toList());
+        assertThat(ordered, hasSize(PAGES * PAGE_SIZE / 7));
+        assertThat(ordered.get(0), equalTo(7L));
+        assertThat(ordered.get(ordered.size() - 1), equalTo(49L));
+    }
+
+    /**
+     * Reports failures as {@link GHException}.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testFailure() throws Exception {
+        snapshotNotAllowed();
+
+        assertThrows(GHException.class, () -> issues().stream().count());
+    }
+
+    private PagedIterable<GHIssue> issues() {
+        return gitHub.createRequest().withUrlPath("/issues").toIterable(GHIssue[].class, null).withPageSize(PAGE_SIZE);
+    }
+}
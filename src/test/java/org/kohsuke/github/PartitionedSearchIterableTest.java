@@ -0,0 +1,225 @@
+package org.kohsuke.github;
+
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import com.github.tomakehurst.wiremock.common.FileSource;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.github.tomakehurst.wiremock.extension.Parameters;
+import com.github.tomakehurst.wiremock.extension.ResponseDefinitionTransformer;
+import com.github.tomakehurst.wiremock.http.Request;
+import com.github.tomakehurst.wiremock.http.ResponseDefinition;
+import com.github.tomakehurst.wiremock.verification.LoggedRequest;
+import org.junit.Test;
+
+import java.io.FileNotFoundException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThrows;
+
+/**
+ * Unit test for {@link PartitionedSearchIterable}.
+ */
+public class PartitionedSearchIterableTest extends AbstractGitHubWireMockTest {
+
+    private static final long START = Instant.parse("2020-01-01T00:00:00Z").getEpochSecond();
+
+    /**
+     * Gets the wire mock options.
+     *
+     * @return the wire mock options
+     */
+    @Override
+    protected WireMockConfiguration getWireMockOptions() {
+        return super.getWireMockOptions().extensions(new SearchPages());
+    }
+
+    /**
+     * Returns every result of a search that matches more than the cap, once each.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testListExhaustively() throws Exception {
+        snapshotNotAllowed();
+        // 1500 issues, one per hour. Issue 0 is returned by every search, to check it is only listed once.
+        List<GHIssue> issues = gitHub.searchIssues()
+                .q("repo:hub4j-test-org/github-api")
+                .q("created:2020-01-01..2020-12-31")
+                .listExhaustively()
+                .withParallelism(3)
+                .toList();
+
+        assertThat(issues, hasSize(1500));
+        Set<Long> ids = issues.stream().map(GHObject::getId).collect(Collectors.toSet());
+        assertThat(ids, hasSize(1500));
+        List<String> queries = searches().stream()
+                .map(request -> request.queryParameter("q").firstValue())
+                .collect(Collectors.toList());
+        for (String query : queries) {
+            assertThat(query, startsWith("repo:hub4j-test-org/github-api created:"));
+        }
+        assertThat(queries.get(0),
+                equalTo("repo:hub4j-test-org/github-api created:2020-01-01T00:00:00Z..2020-12-31T23:59:59Z"));
+        // the year is split four times, down to ranges of less than 1000 issues
+        assertThat(queries, hasSize(23));
+    }
+
+    /**
+     * Stops splitting at a single second.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testUnsplittable() throws Exception {
+        snapshotNotAllowed();
+        // 1200 issues created in the same second
+        List<GHIssue> issues = gitHub.searchIssues()
+                .q("created:>=2020-01-01")
+                .q("created:<2020-01-02")
+                .listExhaustively()
+                .toList();
+
+        assertThat(issues, hasSize(PartitionedSearchIterable.RESULT_CAP));
+    }
+
+    /**
+     * Stops searching when an iterator is abandoned before the end of the results.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testAbandonedIterator() throws Exception {
+        snapshotNotAllowed();
+        PartitionedSearchIterable<GHIssue> search = gitHub.searchIssues()
+                .q("created:2020-01-01..2020-12-31")
+                .listExhaustively()
+                .withPageSize(10);
+        assertThat(searchThreads(), equalTo(0L));
+        assertThat(search.iterator(), notNullValue());
+        assertThat(mockGitHub.getRequestCount(), equalTo(0));
+
+        assertThat(search.withParallelism(1).stream().findFirst().isPresent(), equalTo(true));
+        for (int i = 0; i < 100 && searchThreads() > 0; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        assertThat(searchThreads(), equalTo(0L));
+    }
+
+    /**
+     * Stops searching when a stream is closed before the end of the results.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testCloseStream() throws Exception {
+        snapshotNotAllowed();
+        try (Stream<GHIssue> issues = gitHub.searchIssues()
+                .q("created:2020-01-01..2020-12-31")
+                .listExhaustively()
+                .withPageSize(10)
+                .stream()) {
+            assertThat(issues.findFirst().isPresent(), equalTo(true));
+            assertThat(searchThreads(), greaterThan(0L));
+        }
+        for (int i = 0; i < 50 && searchThreads() > 0; i++) {
+            Thread.sleep(10);
+        }
+        assertThat(searchThreads(), equalTo(0L));
+    }
+
+    /**
+     * Reports failed searches.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testFailure() throws Exception {
+        snapshotNotAllowed();
+        assertThrows(FileNotFoundException.class,
+                () -> gitHub.searchIssues().q("created:2020-01-01").listExhaustively().toList());
+        assertThrows(IllegalArgumentException.class,
+                () -> gitHub.searchIssues().q("created:yesterday").listExhaustively());
+    }
+
+    private List<LoggedRequest> searches() {
+        return mockGitHub.apiServer().findAll(getRequestedFor(urlPathEqualTo("/search/issues")));
+    }
+
+    private static long searchThreads() {
+        return Thread.getAllStackTraces()
+                .keySet()
+                .stream()
+                .filter(thread -> thread.getName().startsWith("github-api-search"))
+                .count();
+    }
+
+    /**
+     * Answers issue searches from an index of {@code count} issues, created every {@code interval} seconds from
+     * {@link #START}. Only the total count and the ids are returned, which is all the search reads.
+     */
+    private static class SearchPages extends ResponseDefinitionTransformer {
+
+        @Override
+        public ResponseDefinition transform(Request request,
+                ResponseDefinition responseDefinition,
+                FileSource files,
+                Parameters parameters) {
+            String query = request.queryParameter("q").firstValue();
+            String range = query.substring(query.indexOf("created:") + "created:".length());
+            long from = Instant.parse(range.substring(0, range.indexOf(".."))).getEpochSecond();
+            long to = Instant.parse(range.substring(range.indexOf("..") + 2)).getEpochSecond();
+            int perPage = Integer.parseInt(request.queryParameter("per_page").firstValue());
+            int page = request.queryParameter("page").isPresent()
+                    ? Integer.parseInt(request.queryParameter("page").firstValue())
+                    : 1;
+
+            List<Integer> matches = new ArrayList<>();
+            matches.add(0);
+            for (int i = 1; i < parameters.getInt("count"); i++) {
+                long created = START + i * (long) parameters.getInt("interval");
+                if (created >= from && created <= to) {
+                    matches.add(i);
+                }
+            }
+            int available = Math.min(matches.size(), PartitionedSearchIterable.RESULT_CAP);
+            StringBuilder body = new StringBuilder("{\"total_count\":" + matches.size() + ",\"items\":[");
+            for (int i = (page - 1) * perPage; i < Math.min(page * perPage, available); i++) {
+                body.append(i % perPage == 0 ? "" : ",").append("{\"id\":").append(matches.get(i)).append('}');
+            }
+            body.append("]}");
+
+            ResponseDefinitionBuilder response = ResponseDefinitionBuilder.like(responseDefinition)
+                    .withHeader("Content-Type", "application/json; charset=utf-8")
+                    .withBody(body.toString());
+            if (page * perPage < available) {
+                String next = request.getAbsoluteUrl().replaceAll("&page=\\d+", "") + "&page=" + (page + 1);
+                response.withHeader("Link", "<" + next + ">; rel=\"next\"");
+            }
+            return response.build();
+        }
+
+        @Override
+        public String getName() {
+            return "search-pages";
+        }
+
+        @Override
+        public boolean applyGlobally() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package org.kohsuke.github;
+
+import org.junit.Test;
+
+import java.io.InterruptedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Unit test for {@link RateLimitedExecutor}.
+ */
+public class RateLimitedExecutorTest {
+
+    /**
+     * Completes the futures of the tasks that were still queued when the executor was closed.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testCloseCompletesQueuedTasks() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture<String> running;
+        CompletableFuture<String> queued;
+        try (RateLimitedExecutor executor = new RateLimitedExecutor(GitHub.offline(),
+                RateLimitTarget.CORE,
+                1,
+                "github-api-test")) {
+            running = executor.submit(() -> {
+                started.countDown();
+                try {
+                    Thread.sleep(10000);
+                } catch (InterruptedException e) {
+                    throw new InterruptedIOException();
+                }
+                return "running";
+            });
+            queued = executor.submit(() -> "queued");
+            started.await();
+        }
+
+        assertThat(running.handle((result, e) -> e).get(), instanceOf(InterruptedIOException.class));
+        assertThat(queued.isCancelled(), equalTo(true));
+    }
+}
@@ -0,0 +1,78 @@
+package org.kohsuke.github;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Unit test for {@link ResponseHeaderMode}.
+ */
+public class ResponseHeaderModeTest extends AbstractGitHubWireMockTest {
+
+    /**
+     * Every object keeps the headers by default.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testAll() throws Exception {
+        snapshotNotAllowed();
+
+        GHIssue issue = fetch(gitHub);
+        assertThat(issue.getResponseHeaderFields(), hasKey("ETag"));
+        assertThat(issue.getUser().getResponseHeaderFields(), notNullValue());
+        assertThat(list(gitHub).get(0).getResponseHeaderFields(), notNullValue());
+    }
+
+    /**
+     * Only objects fetched on their own keep the headers.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testTopLevel() throws Exception {
+        snapshotNotAllowed();
+        GitHub gitHub = gitHub(ResponseHeaderMode.TOP_LEVEL);
+
+        GHIssue issue = fetch(gitHub);
+        assertThat(issue.getResponseHeaderFields(), hasKey("ETag"));
+        assertThat(issue.getUser().getResponseHeaderFields(), nullValue());
+        assertThat(list(gitHub).get(0).getResponseHeaderFields(), nullValue());
+    }
+
+    /**
+     * No object keeps the headers.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testNone() throws Exception {
+        snapshotNotAllowed();
+        GitHub gitHub = gitHub(ResponseHeaderMode.NONE);
+
+        assertThat(fetch(gitHub).getResponseHeaderFields(), nullValue());
+        assertThat(list(gitHub).get(0).getResponseHeaderFields(), nullValue());
+    }
+
+    private GitHub gitHub(ResponseHeaderMode mode) throws IOException {
+        return getGitHubBuilder().withEndpoint(mockGitHub.apiServer().baseUrl()).withResponseHeaderMode(mode).build();
+    }
+
+    private static GHIssue fetch(GitHub gitHub) throws IOException {
+        return gitHub.createRequest().withUrlPath("/repos/hub4j-test-org/github-api/issues/1").fetch(GHIssue.class);
+    }
+
+    private static List<GHIssue> list(GitHub gitHub) throws IOException {
+        return gitHub.createRequest()
+                .withUrlPath("/repos/hub4j-test-org/github-api/issues")
+                .toIterable(GHIssue[].class, null)
+                .toList();
+    }
+}
@@ -0,0 +1,207 @@
+package org.kohsuke.github.connector;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThrows;
+
+/**
+ * Unit test for {@link PooledGzipInputStream} and the body decoding of
+ * {@link GitHubConnectorResponse.ByteArrayResponse}.
+ */
+public class PooledGzipInputStreamTest {
+
+    /**
+     * Decodes what {@link GZIPInputStream} decodes, including concatenated members and trailing data.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testDecode() throws Exception {
+        byte[] data = new byte[100000];
+        Random random = new Random(42);
+        for (int i = 0; i < data.length; i++) {
+            // compressible, but not trivially
+            data[i] = (byte) ('a' + random.nextInt(8));
+        }
+        byte[] gzipped = gzip(data);
+        assertThat(decode(gzipped), equalTo(data));
+        byte[] expected = IOUtils.toByteArray(new GZIPInputStream(new ByteArrayInputStream(gzipped)));
+        assertThat(decode(gzipped), equalTo(expected));
+
+        byte[] hello = "hello ".getBytes(StandardCharsets.UTF_8);
+        byte[] world = "world".getBytes(StandardCharsets.UTF_8);
+        byte[] concatenated = concat(gzip(hello), gzip(world), new byte[] { 1, 2, 3 });
+        assertThat(new String(decode(concatenated), StandardCharsets.UTF_8), equalTo("hello world"));
+        // trailing data too short to be a header, which ends where a header would go on
+        byte[] fragment = concat(gzip(hello), new byte[] { 0x1f, (byte) 0x8b, 8 });
+        assertThat(new String(decode(fragment), StandardCharsets.UTF_8), equalTo("hello "));
+        assertThat(IOUtils.toByteArray(new GZIPInputStream(new ByteArrayInputStream(fragment))), equalTo(hello));
+
+        byte[] empty = gzip(new byte[0]);
+        assertThat(decode(empty).length, equalTo(0));
+    }
+
+    /**
+     * Skips the optional header fields.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testHeaderFields() throws Exception {
+        byte[] gzipped = gzip("body".getBytes(StandardCharsets.UTF_8));
+        byte[] extra = { 2, 0, 'x', 'y' };
+        byte[] name = { 'f', '.', 'j', 's', 'o', 'n', 0 };
+        byte[] comment = { 'c', 0 };
+        byte[] headerCrc = { 0, 0 };
+        byte[] header = Arrays.copyOf(gzipped, 10);
+        header[3] = 2 | 4 | 8 | 16;
+        byte[] withFields = concat(header,
+                extra,
+                name,
+                comment,
+                headerCrc,
+                Arrays.copyOfRange(gzipped, 10, gzipped.length));
+
+        assertThat(new String(decode(withFields), StandardCharsets.UTF_8), equalTo("body"));
+    }
+
+    /**
+     * Rejects input that is not gzip or whose trailer does not match, and returns its decoder to the pool.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testInvalid() throws Exception {
+        assertThrows(ZipException.class,
+                () -> new PooledGzipInputStream(new ByteArrayInputStream("{}".getBytes(StandardCharsets.UTF_8))));
+
+        byte[] corrupt = gzip("body".getBytes(StandardCharsets.UTF_8));
+        corrupt[corrupt.length - 5]++;
+        assertThrows(ZipException.class, () -> decode(corrupt));
+
+        byte[] truncated = gzip("body".getBytes(StandardCharsets.UTF_8));
+        assertThrows(IOException.class, () -> decode(Arrays.copyOf(truncated, truncated.length - 12)));
+        assertThat(PooledGzipInputStream.pooled(), greaterThan(0));
+    }
+
+    /**
+     * Reuses decoders instead of creating one per stream.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testPooling() throws Exception {
+        byte[] gzipped = gzip("body".getBytes(StandardCharsets.UTF_8));
+        decode(gzipped);
+        int pooled = PooledGzipInputStream.pooled();
+        assertThat(pooled, greaterThan(0));
+
+        InputStream open = new PooledGzipInputStream(new ByteArrayInputStream(gzipped));
+        assertThat(PooledGzipInputStream.pooled(), equalTo(pooled - 1));
+        open.close();
+        open.close();
+        assertThat(PooledGzipInputStream.pooled(), equalTo(pooled));
+        assertThrows(IOException.class, open::read);
+
+        for (int i = 0; i < 100; i++) {
+            decode(gzipped);
+        }
+        assertThat(PooledGzipInputStream.pooled(), equalTo(pooled));
+    }
+
+    /**
+     * Reads bodies into arrays sized from the length header, whether or not it is right.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testResponseBody() throws Exception {
+        byte[] data = new byte[20000];
+        Arrays.fill(data, (byte) 'a');
+        byte[] gzipped = gzip(data);
+
+        assertThat(body(data, null, data.length), equalTo(data));
+        assertThat(body(data, null, 10), equalTo(data));
+        assertThat(body(data, null, 100000), equalTo(data));
+        assertThat(body(data, null, -1), equalTo(data));
+        assertThat(body(gzipped, "gzip", gzipped.length), equalTo(data));
+        assertThat(body(gzipped, "gzip", -1), equalTo(data));
+        assertThat(body(new byte[0], null, 0).length, equalTo(0));
+    }
+
+    private static byte[] body(byte[] raw, String encoding, int contentLength) throws IOException {
+        Map<String, List<String>> headers = new HashMap<>();
+        if (encoding != null) {
+            headers.put("Content-Encoding", Collections.singletonList(encoding));
+        }
+        if (contentLength >= 0) {
+            headers.put("Content-Length", Collections.singletonList(Integer.toString(contentLength)));
+        }
+        // the response does not use its request
+        GitHubConnectorRequest request = (GitHubConnectorRequest) Proxy.newProxyInstance(
+                GitHubConnectorRequest.class.getClassLoader(),
+                new Class<?>[] { GitHubConnectorRequest.class },
+                (proxy, method, args) -> null);
+        try (GitHubConnectorResponse response = new GitHubConnectorResponse.ByteArrayResponse(request, 200, headers) {
+            @Override
+            protected InputStream rawBodyStream() {
+                return new ByteArrayInputStream(raw);
+            }
+        }) {
+            return IOUtils.toByteArray(response.bodyStream());
+        }
+    }
+
+    private static byte[] decode(byte[] gzipped) throws IOException {
+        try (InputStream in = new PooledGzipInputStream(new ByteArrayInputStream(gzipped))) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            // small reads exercise the member boundaries
+            byte[] buffer = new byte[7];
+            int n;
+            while ((n = in.read(buffer)) != -1) {
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        }
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(gzipped)) {
+            out.write(data);
+        }
+        return gzipped.toByteArray();
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (byte[] part : parts) {
+            out.write(part, 0, part.length);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,200 @@
+package org.kohsuke.github.extras;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.kohsuke.github.GHFileNotFoundException;
+import org.kohsuke.github.GHRepository;
+import org.kohsuke.github.GitHub;
+import org.kohsuke.github.GitHubBuilder;
+import org.kohsuke.github.connector.GitHubConnector;
+import org.kohsuke.github.connector.GitHubConnectorRequest;
+import org.kohsuke.github.connector.GitHubConnectorResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThrows;
+
+/**
+ * Unit test for {@link RecordingGitHubConnector} and {@link ReplayGitHubConnector}.
+ */
+public class ReplayGitHubConnectorTest {
+
+    private static final String API_URL = "https://api.github.invalid";
+
+    private final AtomicInteger sent = new AtomicInteger();
+
+    private Path recording;
+
+    /**
+     * Creates the recording file.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        recording = Files.createTempFile("github-api", ".recording");
+    }
+
+    /**
+     * Deletes the recording file.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @After
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(recording);
+    }
+
+    /**
+     * Replays what was recorded without sending any request.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testRecordAndReplay() throws Exception {
+        try (RecordingGitHubConnector recorder = new RecordingGitHubConnector(this::live, recording)) {
+            GitHub gitHub = gitHub(recorder);
+            assertThat(gitHub.getRepository("hub4j/github-api").getStargazersCount(), equalTo(1));
+            assertThat(gitHub.getRepository("hub4j/github-api").getStargazersCount(), equalTo(2));
+            assertThrows(GHFileNotFoundException.class, () -> gitHub.getRepository("hub4j/missing"));
+        }
+        assertThat(sent.get(), equalTo(3));
+
+        ReplayGitHubConnector replay = new ReplayGitHubConnector(recording);
+        assertThat(replay.size(), equalTo(3));
+        GitHub gitHub = gitHub(replay);
+        GHRepository repository = gitHub.getRepository("hub4j/github-api");
+        assertThat(repository.getFullName(), equalTo("hub4j/github-api"));
+        assertThat(repository.getResponseHeaderFields(), hasEntry("ETag", Collections.singletonList("\"1\"")));
+        assertThat(repository.getResponseHeaderFields(), not(hasKey("Content-Encoding")));
+        assertThat(gitHub.getRepository("hub4j/github-api").getStargazersCount(), equalTo(2));
+        assertThat(gitHub.getRepository("hub4j/github-api").getStargazersCount(), equalTo(1));
+        assertThrows(GHFileNotFoundException.class, () -> gitHub.getRepository("hub4j/missing"));
+        assertThrows(GHFileNotFoundException.class, () -> gitHub.getRepository("hub4j/never-recorded"));
+        assertThat(sent.get(), equalTo(3));
+    }
+
+    /**
+     * Delays each response by the latency.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testLatency() throws Exception {
+        try (RecordingGitHubConnector recorder = new RecordingGitHubConnector(this::live, recording)) {
+            gitHub(recorder).getRepository("hub4j/github-api");
+        }
+
+        GitHub gitHub = gitHub(
+                new ReplayGitHubConnector(recording).withLatency(Duration.ofMillis(50), Duration.ofMillis(10)));
+        long start = System.nanoTime();
+        gitHub.getRepository("hub4j/github-api");
+        assertThat(System.nanoTime() - start, greaterThanOrEqualTo(Duration.ofMillis(50).toNanos()));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new ReplayGitHubConnector(recording).withLatency(Duration.ofMillis(-1), Duration.ZERO));
+    }
+
+    /**
+     * Fails the request, rather than recording a response without a body, when the body cannot be read.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testBodyFailure() throws Exception {
+        try (RecordingGitHubConnector recorder = new RecordingGitHubConnector(this::live, recording)) {
+            GitHub gitHub = gitHub(recorder);
+            gitHub.getRepository("hub4j/github-api");
+            IOException e = assertThrows(IOException.class, () -> gitHub.getRepository("hub4j/reset"));
+            assertThat(e.getCause().getMessage(), equalTo("Connection reset"));
+        }
+
+        assertThat(new ReplayGitHubConnector(recording).size(), equalTo(1));
+    }
+
+    /**
+     * Rejects files that are not recordings.
+     *
+     * @throws Exception
+     *             the exception
+     */
+    @Test
+    public void testInvalidRecording() throws Exception {
+        assertThrows(IOException.class, () -> new ReplayGitHubConnector(recording));
+
+        try (RecordingGitHubConnector recorder = new RecordingGitHubConnector(this::live, recording)) {
+            gitHub(recorder).getRepository("hub4j/github-api");
+        }
+        byte[] bytes = Files.readAllBytes(recording);
+        Files.write(recording, Arrays.copyOf(bytes, bytes.length - 3));
+        assertThrows(IOException.class, () -> new ReplayGitHubConnector(recording));
+    }
+
+    private static GitHub gitHub(GitHubConnector connector) throws IOException {
+        return new GitHubBuilder().withEndpoint(API_URL).withConnector(connector).build();
+    }
+
+    /**
+     * Answers like the api would, with gzip encoded bodies and an ETag and a count that goes up with every request.
+     */
+    private GitHubConnectorResponse live(GitHubConnectorRequest request) throws IOException {
+        int count = sent.incrementAndGet();
+        String path = request.url().getPath();
+        Map<String, List<String>> headers = new HashMap<>();
+        headers.put("Content-Encoding", Collections.singletonList("gzip"));
+        if (path.equals("/repos/hub4j/github-api")) {
+            headers.put("ETag", Collections.singletonList("\"" + count + "\""));
+            return response(request,
+                    200,
+                    headers,
+                    "{\"full_name\":\"hub4j/github-api\",\"name\":\"github-api\",\"stargazers_count\":" + count + "}");
+        }
+        if (path.equals("/repos/hub4j/reset")) {
+            return new GitHubConnectorResponse.ByteArrayResponse(request, 200, Collections.emptyMap()) {
+                @Override
+                protected InputStream rawBodyStream() throws IOException {
+                    throw new IOException("Connection reset");
+                }
+            };
+        }
+        return response(request, 404, headers, "{\"message\":\"Not Found\"}");
+    }
+
+    private static GitHubConnectorResponse response(GitHubConnectorRequest request,
+            int statusCode,
+            Map<String, List<String>> headers,
+            String body) throws IOException {
+        ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(gzipped)) {
+            out.write(body.getBytes(StandardCharsets.UTF_8));
+        }
+        return new GitHubConnectorResponse.ByteArrayResponse(request, statusCode, headers) {
+            @Override
+            protected InputStream rawBodyStream() {
+                return new ByteArrayInputStream(gzipped.toByteArray());
+            }
+        };
+    }
+}